@@ -0,0 +1,102 @@
+package com.aurorasmp.launcher.benchmarks;
+
+import com.aurorasmp.launcher.util.TreeDeleter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Remoção de um modpack instalado (pastas de mods e configs). Cada invocação
+// recria a árvore, então só a remoção é medida.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DirectoryDeletionBenchmark {
+
+    @Param({"5000"})
+    public int files;
+
+    private Path workDir;
+    private Path tree;
+
+    @Setup(Level.Trial)
+    public void createWorkDir() throws IOException {
+        workDir = Files.createTempDirectory("aurora-delete-bench");
+    }
+
+    @Setup(Level.Invocation)
+    public void createTree() throws IOException {
+        tree = workDir.resolve("modpack");
+        SyntheticPack.deleteTree(tree);
+        SyntheticPack.createTree(tree, files, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkDir() throws IOException {
+        SyntheticPack.deleteTree(workDir);
+    }
+
+    @Benchmark
+    public void legacyWalkSorted() throws IOException {
+        legacyDelete(tree);
+    }
+
+    @Benchmark
+    public void walkFileTree() throws IOException {
+        Files.walkFileTree(tree, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Benchmark
+    public void parallelTreeDeleter() throws IOException {
+        new TreeDeleter().delete(tree);
+    }
+
+    // O deleteDirectory antigo do launcher, mantido como linha de base
+    static void legacyDelete(Path path) throws IOException {
+        if (Files.exists(path)) {
+            try (Stream<Path> walk = Files.walk(path)) {
+                walk.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.aurorasmp.launcher.benchmarks;
+
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Tamanho do buffer de cópia de um download (resposta HTTP → arquivo) contra um
+// servidor HTTP local. Sem a rede no meio, o que aparece é o custo de cópia e de
+// chamadas de sistema por buffer; 1 KB era o tamanho usado pelo launcher original.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DownloadBufferBenchmark {
+
+    @Param({"1024", "8192", "65536", "262144", "1048576"})
+    public int bufferSize;
+
+    @Param({"33554432"})
+    public int payloadSize;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private LauncherHttp http;
+    private String url;
+    private Path workDir;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        byte[] payload = new byte[payloadSize];
+        new Random(42).nextBytes(payload);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/file.bin", exchange -> {
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(payload);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(2);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/file.bin";
+        http = new LauncherHttp(LauncherHttp.DEFAULT_CONNECT_TIMEOUT, LauncherHttp.DEFAULT_REQUEST_TIMEOUT,
+                LauncherHttp.DEFAULT_READ_TIMEOUT, 0);
+        workDir = Files.createTempDirectory("aurora-download-bench");
+        target = workDir.resolve("file.bin");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        SyntheticPack.deleteTree(workDir);
+    }
+
+    @Benchmark
+    public long download() throws IOException {
+        HttpResponse<InputStream> response = http.get(url);
+        long total = 0;
+        try (InputStream in = response.body();
+             OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                total += read;
+            }
+        }
+        return total;
+    }
+}
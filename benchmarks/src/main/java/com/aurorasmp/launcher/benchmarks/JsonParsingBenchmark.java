@@ -0,0 +1,124 @@
+package com.aurorasmp.launcher.benchmarks;
+
+import com.aurorasmp.launcher.account.Account;
+import com.aurorasmp.launcher.account.AccountStore;
+import com.aurorasmp.launcher.account.TokenCipher;
+import com.aurorasmp.launcher.launch.LaunchEngine;
+import com.aurorasmp.launcher.launch.LaunchPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Leitura dos JSONs que ficam no caminho da abertura e do botão JOGAR:
+// - accounts.json: só a conta ativa (leitura em fluxo) contra a lista inteira
+// - JSONs de versão: plano resolvido da cadeia Forge → vanilla contra o plano em cache
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonParsingBenchmark {
+
+    private static final int ACCOUNTS = 20;
+    private static final String VERSION = "bench-forge";
+
+    private Path workDir;
+    private Path accountsFile;
+    private TokenCipher cipher;
+    private Path versionsDir;
+    private Path librariesDir;
+    private Path cacheDir;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        workDir = Files.createTempDirectory("aurora-json-bench");
+
+        cipher = TokenCipher.forKeyFile(workDir.resolve("launcher.key"));
+        accountsFile = workDir.resolve("accounts.json");
+        try (AccountStore store = new AccountStore(accountsFile, cipher)) {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                Account account = new Account("Jogador" + i, UUID.randomUUID().toString(), "token-" + i, true);
+                account.setMicrosoftAccountId("ms-" + i);
+                account.setTokenExpiresAt(System.currentTimeMillis() + 86_400_000L);
+                store.add(account);
+            }
+        }
+
+        versionsDir = workDir.resolve("versions");
+        librariesDir = workDir.resolve("libraries");
+        cacheDir = workDir.resolve("launch-cache");
+        SyntheticVersions.create(versionsDir, "bench", VERSION, 120, 60);
+        // Aquece o cache usado por planCached
+        newEngine(cacheDir).plan(VERSION);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        SyntheticPack.deleteTree(workDir);
+    }
+
+    @Benchmark
+    public Account accountsLoadActive() throws IOException {
+        try (AccountStore store = new AccountStore(accountsFile, cipher)) {
+            return store.loadActive();
+        }
+    }
+
+    @Benchmark
+    public List<Account> accountsLoadAll() throws IOException {
+        try (AccountStore store = new AccountStore(accountsFile, cipher)) {
+            return store.getAccounts();
+        }
+    }
+
+    @Benchmark
+    public LaunchPlan versionPlanResolved(ColdCache cold) throws IOException {
+        return newEngine(cold.dir).plan(VERSION);
+    }
+
+    @Benchmark
+    public LaunchPlan versionPlanCached() throws IOException {
+        return newEngine(cacheDir).plan(VERSION);
+    }
+
+    private LaunchEngine newEngine(Path cache) {
+        // Todos os JSONs da cadeia estão no disco: o HttpCache nunca é usado
+        return new LaunchEngine(versionsDir, librariesDir, workDir.resolve("assets"), cache, null);
+    }
+
+    // Cache vazio a cada chamada, separado para não pesar nos outros benchmarks
+    @State(Scope.Thread)
+    public static class ColdCache {
+        Path dir;
+
+        @Setup(Level.Invocation)
+        public void clear() throws IOException {
+            if (dir == null) {
+                dir = Files.createTempDirectory("aurora-launch-cache");
+            }
+            SyntheticPack.deleteTree(dir);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            SyntheticPack.deleteTree(dir);
+        }
+    }
+}
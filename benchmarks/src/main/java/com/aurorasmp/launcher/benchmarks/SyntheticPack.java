@@ -0,0 +1,79 @@
+package com.aurorasmp.launcher.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Gera um modpack sintético parecido com o real: jars já comprimidos (STORED,
+// conteúdo aleatório) misturados com configs de texto (DEFLATED), em várias pastas.
+final class SyntheticPack {
+
+    private SyntheticPack() {
+    }
+
+    static void create(Path zip, int entries, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (OutputStream file = Files.newOutputStream(zip);
+             ZipOutputStream out = new ZipOutputStream(file)) {
+            for (int i = 0; i < entries; i++) {
+                if (i % 3 == 0) {
+                    byte[] data = new byte[8 * 1024 + random.nextInt(256 * 1024)];
+                    random.nextBytes(data);
+                    CRC32 crc = new CRC32();
+                    crc.update(data);
+
+                    ZipEntry entry = new ZipEntry("mods/mod-" + i + ".jar");
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(data.length);
+                    entry.setCompressedSize(data.length);
+                    entry.setCrc(crc.getValue());
+                    out.putNextEntry(entry);
+                    out.write(data);
+                } else {
+                    StringBuilder text = new StringBuilder();
+                    int lines = 20 + random.nextInt(400);
+                    for (int line = 0; line < lines; line++) {
+                        text.append("option_").append(line).append('=').append(random.nextInt(1000)).append('\n');
+                    }
+                    out.putNextEntry(new ZipEntry("config/pack-" + (i % 40) + "/file-" + i + ".cfg"));
+                    out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    // A mesma distribuição do ZIP, já extraída: jars de 8-40 KB e configs em 40 pastas
+    static void createTree(Path root, int files, long seed) throws IOException {
+        Random random = new Random(seed);
+        Path mods = Files.createDirectories(root.resolve("mods"));
+        for (int i = 0; i < files; i++) {
+            if (i % 3 == 0) {
+                byte[] data = new byte[8 * 1024 + random.nextInt(32 * 1024)];
+                random.nextBytes(data);
+                Files.write(mods.resolve("mod-" + i + ".jar"), data);
+            } else {
+                Path dir = Files.createDirectories(root.resolve("config/pack-" + (i % 40)));
+                Files.write(dir.resolve("file-" + i + ".cfg"),
+                        ("option=" + random.nextInt(1000) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (var paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted((a, b) -> b.compareTo(a))::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.aurorasmp.launcher.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Gera uma cadeia de JSONs de versão no formato da Mojang: um vanilla com
+// bibliotecas (algumas só para macOS/Windows, como no real) e um Forge que herda
+// dele, com bibliotecas próprias e argumentos extras.
+final class SyntheticVersions {
+
+    private static final Gson GSON = new Gson();
+
+    private SyntheticVersions() {
+    }
+
+    static void create(Path versionsDir, String vanillaId, String forgeId, int vanillaLibraries, int forgeLibraries)
+            throws IOException {
+        JsonObject vanilla = new JsonObject();
+        vanilla.addProperty("id", vanillaId);
+        vanilla.addProperty("type", "release");
+        vanilla.addProperty("mainClass", "net.minecraft.client.main.Main");
+        vanilla.addProperty("assets", "1.19");
+        JsonObject assetIndex = new JsonObject();
+        assetIndex.addProperty("id", "1.19");
+        assetIndex.addProperty("sha1", sha1(0));
+        assetIndex.addProperty("size", 385_000);
+        assetIndex.addProperty("url", "https://piston-meta.mojang.com/v1/packages/index/1.19.json");
+        vanilla.add("assetIndex", assetIndex);
+        JsonObject javaVersion = new JsonObject();
+        javaVersion.addProperty("component", "java-runtime-gamma");
+        javaVersion.addProperty("majorVersion", 17);
+        vanilla.add("javaVersion", javaVersion);
+        JsonObject downloads = new JsonObject();
+        downloads.add("client", artifact(null, 1, 21_000_000));
+        vanilla.add("downloads", downloads);
+        vanilla.add("libraries", libraries("com.mojang", vanillaLibraries, true));
+        vanilla.add("arguments", arguments(
+                new String[] {"--username", "${auth_player_name}", "--version", "${version_name}",
+                        "--gameDir", "${game_directory}", "--assetsDir", "${assets_root}",
+                        "--uuid", "${auth_uuid}", "--accessToken", "${auth_access_token}"},
+                new String[] {"-Djava.library.path=${natives_directory}", "-cp", "${classpath}"}));
+        write(versionsDir, vanillaId, vanilla);
+
+        JsonObject forge = new JsonObject();
+        forge.addProperty("id", forgeId);
+        forge.addProperty("inheritsFrom", vanillaId);
+        forge.addProperty("type", "release");
+        forge.addProperty("mainClass", "cpw.mods.bootstraplauncher.BootstrapLauncher");
+        forge.add("libraries", libraries("net.minecraftforge", forgeLibraries, false));
+        forge.add("arguments", arguments(
+                new String[] {"--launchTarget", "forgeclient", "--fml.forgeVersion", "43.2.0"},
+                new String[] {"-DignoreList=bootstraplauncher,securejarhandler", "-DlibraryDirectory=${library_directory}",
+                        "-p", "${library_directory}/cpw/mods/bootstraplauncher/1.1.2/bootstraplauncher-1.1.2.jar",
+                        "--add-modules", "ALL-MODULE-PATH"}));
+        write(versionsDir, forgeId, forge);
+    }
+
+    private static JsonArray libraries(String group, int count, boolean withRules) {
+        JsonArray libraries = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            String artifactId = "lib" + i;
+            String path = group.replace('.', '/') + "/" + artifactId + "/1.0/" + artifactId + "-1.0.jar";
+            JsonObject library = new JsonObject();
+            library.addProperty("name", group + ":" + artifactId + ":1.0");
+            JsonObject downloads = new JsonObject();
+            downloads.add("artifact", artifact(path, i + 2, 50_000 + i * 1000));
+            library.add("downloads", downloads);
+            if (withRules && i % 10 == 0) {
+                JsonArray rules = new JsonArray();
+                JsonObject rule = new JsonObject();
+                rule.addProperty("action", "allow");
+                JsonObject os = new JsonObject();
+                os.addProperty("name", i % 20 == 0 ? "osx" : "windows");
+                rule.add("os", os);
+                rules.add(rule);
+                library.add("rules", rules);
+            }
+            libraries.add(library);
+        }
+        return libraries;
+    }
+
+    private static JsonObject arguments(String[] game, String[] jvm) {
+        JsonObject arguments = new JsonObject();
+        JsonArray gameArray = new JsonArray();
+        for (String argument : game) {
+            gameArray.add(argument);
+        }
+        JsonArray jvmArray = new JsonArray();
+        for (String argument : jvm) {
+            jvmArray.add(argument);
+        }
+        arguments.add("game", gameArray);
+        arguments.add("jvm", jvmArray);
+        return arguments;
+    }
+
+    private static JsonObject artifact(String path, int seed, long size) {
+        JsonObject artifact = new JsonObject();
+        if (path != null) {
+            artifact.addProperty("path", path);
+        }
+        artifact.addProperty("sha1", sha1(seed));
+        artifact.addProperty("size", size);
+        artifact.addProperty("url", "https://libraries.minecraft.net/" + (path != null ? path : "client.jar"));
+        return artifact;
+    }
+
+    private static String sha1(int seed) {
+        return String.format("%040x", seed);
+    }
+
+    private static void write(Path versionsDir, String id, JsonObject json) throws IOException {
+        Path dir = Files.createDirectories(versionsDir.resolve(id));
+        Files.write(dir.resolve(id + ".json"), GSON.toJson(json).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.aurorasmp.launcher.benchmarks;
+
+import com.aurorasmp.launcher.zip.ParallelZipExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Compara a extração antiga (ZipInputStream sequencial, buffer de 1 KB) com o
+// ParallelZipExtractor em um pacote sintético de 2.000 entradas.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipExtractionBenchmark {
+
+    @Param({"2000"})
+    public int entries;
+
+    private Path workDir;
+    private Path zip;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void createPack() throws IOException {
+        workDir = Files.createTempDirectory("aurora-zip-bench");
+        zip = workDir.resolve("modpack.zip");
+        SyntheticPack.create(zip, entries, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void cleanOutput() throws IOException {
+        output = workDir.resolve("out");
+        SyntheticPack.deleteTree(output);
+        Files.createDirectories(output);
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePack() throws IOException {
+        SyntheticPack.deleteTree(workDir);
+    }
+
+    @Benchmark
+    public void legacyZipInputStream() throws IOException {
+        legacyExtract(zip.toString(), output.toString());
+    }
+
+    @Benchmark
+    public void parallelExtractor() throws IOException {
+        new ParallelZipExtractor().extract(zip, output);
+    }
+
+    @Benchmark
+    public void parallelExtractorSingleThread() throws IOException {
+        new ParallelZipExtractor(1).extract(zip, output);
+    }
+
+    // Cópia fiel do extractZipFile original do launcher, mantida como linha de base
+    static void legacyExtract(String zipFilePath, String destDir) throws IOException {
+        try (ZipInputStream zipIn = new ZipInputStream(new FileInputStream(zipFilePath))) {
+            ZipEntry entry = zipIn.getNextEntry();
+
+            while (entry != null) {
+                String filePath = destDir + File.separator + entry.getName();
+                if (!entry.isDirectory()) {
+                    new File(filePath).getParentFile().mkdirs();
+
+                    try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(filePath))) {
+                        byte[] buffer = new byte[1024];
+                        int read;
+                        while ((read = zipIn.read(buffer)) != -1) {
+                            bos.write(buffer, 0, read);
+                        }
+                    }
+                } else {
+                    Files.createDirectories(Paths.get(filePath));
+                }
+                zipIn.closeEntry();
+                entry = zipIn.getNextEntry();
+            }
+        }
+    }
+}
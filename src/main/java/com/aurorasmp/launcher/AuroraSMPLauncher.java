@@ -1,7 +1,9 @@
 package com.aurorasmp.launcher;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,23 +14,72 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.scene.paint.Color;
 
+import com.aurorasmp.launcher.account.Account;
+import com.aurorasmp.launcher.account.AccountStore;
+import com.aurorasmp.launcher.account.TokenCipher;
+import com.aurorasmp.launcher.auth.AuthException;
+import com.aurorasmp.launcher.auth.MinecraftAuth;
+import com.aurorasmp.launcher.auth.MinecraftSession;
+import com.aurorasmp.launcher.download.BulkDownloader;
+import com.aurorasmp.launcher.download.Throttle;
+import com.aurorasmp.launcher.http.HttpCache;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.instance.Instance;
+import com.aurorasmp.launcher.instance.InstanceStore;
+import com.aurorasmp.launcher.instance.ModpackInstaller;
+import com.aurorasmp.launcher.jvm.JavaDiscovery;
+import com.aurorasmp.launcher.jvm.JavaInstallation;
+import com.aurorasmp.launcher.jvm.JvmProfile;
+import com.aurorasmp.launcher.jvm.JvmTuner;
+import com.aurorasmp.launcher.jvm.SystemResources;
+import com.aurorasmp.launcher.launch.GameFiles;
+import com.aurorasmp.launcher.launch.LaunchEngine;
+import com.aurorasmp.launcher.launch.LaunchPlan;
+import com.aurorasmp.launcher.metrics.GameLaunchEvent;
+import com.aurorasmp.launcher.metrics.ModpackUpdateEvent;
+import com.aurorasmp.launcher.metrics.SessionMetrics;
+import com.aurorasmp.launcher.metrics.StartupTimer;
+import com.aurorasmp.launcher.mods.ModScan;
+import com.aurorasmp.launcher.mods.ModScanner;
+import com.aurorasmp.launcher.peer.PeerCache;
+import com.aurorasmp.launcher.process.GameExit;
+import com.aurorasmp.launcher.process.GameProcess;
+import com.aurorasmp.launcher.progress.ProgressPublisher;
+import com.aurorasmp.launcher.progress.ProgressTracker;
+import com.aurorasmp.launcher.server.ServerStatus;
+import com.aurorasmp.launcher.server.ServerStatusMonitor;
+import com.aurorasmp.launcher.skin.AvatarCache;
+import com.aurorasmp.launcher.task.Task;
+import com.aurorasmp.launcher.task.TaskScheduler;
+import com.aurorasmp.launcher.update.ContentStore;
+import com.aurorasmp.launcher.update.StagedInstall;
+import com.aurorasmp.launcher.update.VersionInfo;
+import com.aurorasmp.launcher.util.TreeDeleter;
+
 import java.io.*;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class AuroraSMPLauncher extends Application {
 
     private static final String MODPACK_URL = "https://www.curseforge.com/minecraft/modpacks/aurora-smp-br-server";
     private static final String MODPACK_FILE_URL = "https://edge.forgecdn.net/files/4743/756/Aurora_SMP_BR_Server-1.0.zip"; // Substitua pela URL real do arquivo do modpack
+    private static final String MODPACK_VERSION_URL = "https://aurorasmp.com.br/launcher/version.json"; // Substitua pela URL real da versão publicada
+    private static final String MODPACK_MANIFEST_URL = "https://aurorasmp.com.br/launcher/manifest.json"; // Substitua pela URL real do manifesto do modpack
     private static final String LAUNCHER_VERSION = "1.0.0";
     private static final String MINECRAFT_VERSION = "1.19.2"; // Substitua pela versão correta do Minecraft
+    private static final String FORGE_VERSION = MINECRAFT_VERSION + "-forge-43.2.0"; // Substitua pela versão do Forge usada no modpack
+    static final String SERVER_ADDRESS = System.getProperty("aurora.server", "aurorasmp.com.br:25565"); // Substitua pelo endereço real do servidor
+    private static final String MICROSOFT_CLIENT_ID = System.getProperty("aurora.auth.clientId",
+            "00000000-0000-0000-0000-000000000000"); // Substitua pelo ID do aplicativo registrado no Azure
 
     // Cores do tema roxo
     private static final String BACKGROUND_COLOR = "#2E1A47"; // Roxo escuro para o fundo
@@ -37,15 +88,54 @@ public class AuroraSMPLauncher extends Application {
     private static final String TEXT_COLOR = "#E6D5FF";      // Roxo claro para texto
     private static final String SECONDARY_TEXT = "#B39DDB";  // Roxo pastel para texto secundário
 
-    private static final String LAUNCHER_DIR = System.getProperty("user.home") + File.separator + "AuroraSMP";
+    static final String LAUNCHER_DIR = System.getProperty("user.home") + File.separator + "AuroraSMP";
     private static final String ACCOUNTS_FILE = LAUNCHER_DIR + File.separator + "accounts.json";
-    private static final String MODPACK_DIR = LAUNCHER_DIR + File.separator + "modpack";
-    private static final String VERSIONS_FILE = LAUNCHER_DIR + File.separator + "versions.json";
+    private static final String ACCOUNTS_KEY_FILE = LAUNCHER_DIR + File.separator + "launcher.key";
+    private static final String MSAL_CACHE_FILE = LAUNCHER_DIR + File.separator + "msal-cache.bin";
+    static final String INSTANCES_FILE = LAUNCHER_DIR + File.separator + "instances.json";
+    static final String INSTANCES_DIR = LAUNCHER_DIR + File.separator + "instances";
+    static final String STORE_DIR = LAUNCHER_DIR + File.separator + "store";
+    static final String HTTP_CACHE_DIR = LAUNCHER_DIR + File.separator + "http-cache";
+    private static final String STARTUP_LOG_FILE = LAUNCHER_DIR + File.separator + "startup-times.log";
+    private static final String AVATAR_CACHE_DIR = LAUNCHER_DIR + File.separator + "avatars";
+    static final String VERSIONS_DIR = LAUNCHER_DIR + File.separator + "versions";
+    static final String LIBRARIES_DIR = LAUNCHER_DIR + File.separator + "libraries";
+    static final String ASSETS_DIR = LAUNCHER_DIR + File.separator + "assets";
+    static final String LAUNCH_CACHE_DIR = LAUNCHER_DIR + File.separator + "launch-cache";
+    static final String FILES_INDEX_FILE = LAUNCHER_DIR + File.separator + "files-index.json";
+    static final String JVM_PROFILES_FILE = LAUNCHER_DIR + File.separator + "jvm-profiles.json";
+    static final String RUNTIMES_DIR = LAUNCHER_DIR + File.separator + "runtimes";
+    private static final String GAME_LOG_FILE = LAUNCHER_DIR + File.separator + "logs" + File.separator + "game.log";
+    private static final String METRICS_FILE = LAUNCHER_DIR + File.separator + "metrics.jsonl";
+    // Taxa do download em segundo plano, em KB/s (-Daurora.prefetch.rate); -Daurora.prefetch=false desliga
+    private static final long PREFETCH_RATE = Long.getLong("aurora.prefetch.rate", 2048) * 1024;
+    private static final Throttle NO_LIMIT = new Throttle(Throttle.UNLIMITED);
+    // Chaves das tarefas: enquanto uma está em andamento, pedir de novo devolve a mesma
+    private static final String UPDATE_TASK = "modpack-update";
+    private static final String LAUNCH_TASK = "launch";
+    // Estado do servidor: vale por 15 s, consultado a cada 30 s e, fora do ar, com espera dobrando até 5 min
+    private static final Duration SERVER_PING_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration SERVER_STATUS_TTL = Duration.ofSeconds(15);
+    private static final Duration SERVER_STATUS_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration SERVER_STATUS_MAX_BACKOFF = Duration.ofMinutes(5);
 
     private Account currentAccount;
-    private List<Account> accounts = new ArrayList<>();
-    private String modpackVersion = "unknown";
-    private String installedVersion = "none";
+    private AccountStore accountStore;
+    private MinecraftAuth minecraftAuth;
+    // Gravados pelas tarefas de verificação e atualização, lidos na thread da interface
+    private volatile String modpackVersion = "unknown";
+    private volatile String installedVersion = "none";
+    private volatile VersionInfo latestVersionInfo;
+    // Todo o trabalho em segundo plano da janela; ver TaskScheduler
+    private final TaskScheduler tasks = new TaskScheduler();
+    private final HttpCache httpCache = new HttpCache(LauncherHttp.shared(), Paths.get(HTTP_CACHE_DIR));
+    private final AvatarCache avatarCache = new AvatarCache(
+            new HttpCache(LauncherHttp.shared(), Paths.get(AVATAR_CACHE_DIR)),
+            tasks.ioExecutor(), AvatarCache.DEFAULT_MEMORY_BUDGET);
+    private final LaunchEngine launchEngine = new LaunchEngine(Paths.get(VERSIONS_DIR), Paths.get(LIBRARIES_DIR),
+            Paths.get(ASSETS_DIR), Paths.get(LAUNCH_CACHE_DIR), httpCache);
+    private Image steveHead;
+    private final StartupTimer startupTimer = new StartupTimer();
 
     private Label statusLabel;
     private Button playButton;
@@ -54,6 +144,32 @@ public class AuroraSMPLauncher extends Application {
     private Label usernameLabel;
     private ProgressBar progressBar;
     private Label progressLabel;
+    private Button cancelButton;
+    private final ProgressTracker progressTracker = new ProgressTracker();
+    private final TreeDeleter treeDeleter = new TreeDeleter();
+    private final ContentStore contentStore = new ContentStore(Paths.get(STORE_DIR));
+    // Instância em uso (modpack, versões, JVM e diretório), lida no início em segundo plano
+    private CompletableFuture<Instance> instanceLoaded;
+    private ModScanner modScanner;
+    private ModpackInstaller installer;
+    private Label versionLabel;
+    private Label serverStatusLabel;
+    private ServerStatusMonitor serverStatus;
+    // Só existe com -Daurora.lan=true (eventos com muitos jogadores na mesma rede)
+    private volatile PeerCache peerCache;
+    private final Throttle prefetchThrottle = new Throttle(PREFETCH_RATE);
+    // Uma thread de prioridade baixa para o trabalho de fundo (índice dos mods, armazenamento
+    // compartilhado): não disputa com a interface
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-prefetch");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    // Protegidos por this: depois que o JOGAR começa uma atualização, nenhum preparo novo começa
+    private Task<Void> prefetch;
+    private boolean updateStarted;
+    private ProgressPublisher progressPublisher;
 
     public static void main(String[] args) {
         launch(args);
@@ -61,28 +177,25 @@ public class AuroraSMPLauncher extends Application {
 
     @Override
     public void start(Stage primaryStage) {
-        // Inicializa diretórios
-        createDirectories();
-        
-        // Carrega contas salvas
-        loadAccounts();
-        
-        // Verifica a versão do modpack
-        checkModpackVersion();
+        startupTimer.mark("fx-start");
 
-        // Cria a interface do launcher
+        // Cria a interface do launcher antes de qualquer I/O; os dados chegam depois
         VBox root = new VBox(15);
         root.setPadding(new Insets(25));
         root.setAlignment(Pos.TOP_CENTER);
         root.setStyle("-fx-background-color: " + BACKGROUND_COLOR + ";");
 
-        // Banner do modpack
-        ImageView banner = new ImageView(new Image(getClass().getResourceAsStream("/images/banner.png")));
+        // Banner do modpack, decodificado em segundo plano
+        ImageView banner = new ImageView();
         banner.setFitWidth(600);
         banner.setPreserveRatio(true);
         
         // Aplicando efeito de borda no banner
         banner.setStyle("-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.4), 10, 0, 0, 5);");
+        
+        // Reserva o espaço do banner (1500x500 em 600 de largura) para o layout não pular ao carregar
+        StackPane bannerHolder = new StackPane(banner);
+        bannerHolder.setMinHeight(200);
 
         // Painel de informações
         HBox infoPanel = createInfoPanel();
@@ -123,20 +236,226 @@ public class AuroraSMPLauncher extends Application {
         );
 
         // Adiciona tudo ao layout principal
-        root.getChildren().addAll(infoPanel, banner, progressPanel, playButton);
+        root.getChildren().addAll(infoPanel, bannerHolder, progressPanel, playButton);
 
         // Configura a cena
         Scene scene = new Scene(root, 750, 550);
         primaryStage.setTitle("Aurora SMP BR Launcher " + LAUNCHER_VERSION);
         primaryStage.setScene(scene);
         primaryStage.setResizable(false);
-        primaryStage.getIcons().add(new Image(getClass().getResourceAsStream("/images/icon.png")));
+        URL icon = getClass().getResource("/images/icon.png");
+        if (icon != null) {
+            primaryStage.getIcons().add(new Image(icon.toExternalForm(), true));
+        }
         primaryStage.show();
+        markFirstFrame();
+
+        // Gravação JFR da sessão inteira, só quando pedida (ex.: para anexar em um relato de lentidão)
+        if (Boolean.getBoolean("aurora.jfr")) {
+            tasks.io("jfr", () -> {
+                Path recording = Paths.get(LAUNCHER_DIR, "logs", "launcher-" + System.currentTimeMillis() + ".jfr");
+                try {
+                    SessionMetrics.shared().startRecording(recording);
+                    System.out.println("Gravando JFR em " + recording);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                return null;
+            });
+        }
+
+        // Estado do servidor em segundo plano; -Daurora.server.status=false desliga
+        if (!"false".equals(System.getProperty("aurora.server.status"))) {
+            serverStatus = ServerStatusMonitor.forAddress(SERVER_ADDRESS, SERVER_PING_TIMEOUT, SERVER_STATUS_TTL,
+                    SERVER_STATUS_INTERVAL, SERVER_STATUS_MAX_BACKOFF,
+                    status -> Platform.runLater(() -> showServerStatus(status)));
+            serverStatus.start();
+        } else {
+            serverStatusLabel.setVisible(false);
+        }
+
+        // Diretórios, contas, banner e versão carregam em paralelo com a janela já visível
+        Task<Instance> instanceTask = tasks.io("instance", () -> startupTimer.time("instance", this::loadInstance));
+        instanceLoaded = instanceTask.future();
+        Task<Void> directoriesTask = tasks.submit(TaskScheduler.Pool.IO, "directories", null, List.of(instanceTask),
+                () -> {
+                    startupTimer.time("directories", this::createDirectories);
+                    return null;
+                });
+        CompletableFuture<Void> directories = directoriesTask.future();
+        CompletableFuture<Void> accountsLoaded = tasks.<Void>io("accounts", () -> {
+            startupTimer.time("accounts", this::loadAccounts);
+            return null;
+        }).future();
+        CompletableFuture<Void> bannerLoaded = loadBanner(banner);
+        CompletableFuture<Void> versionChecked = checkModpackVersion(instanceTask).future();
+        if (Boolean.getBoolean("aurora.lan")) {
+            // Depois da recuperação do staging, para não servir uma instalação pela metade
+            tasks.submit(TaskScheduler.Pool.IO, "lan", null, List.of(directoriesTask), () -> {
+                startPeerCache();
+                return null;
+            });
+        }
 
         // Verifica se precisa fazer login
-        if (currentAccount == null) {
-            showLoginDialog();
+        accountsLoaded.thenRun(() -> Platform.runLater(() -> {
+            if (currentAccount == null) {
+                showLoginDialog();
+            }
+        }));
+
+        // Com a versão conhecida e a instalação recuperada, a atualização já pode ir sendo preparada
+        CompletableFuture.allOf(directories, versionChecked).thenRun(this::startPrefetch);
+        // Deixa o índice dos mods em dia antes do JOGAR; lá a conferência só lista a pasta
+        directories.thenRunAsync(() -> {
+            try {
+                ModScan scan = modScanner.scan(instance().getGameDir().resolve("mods"));
+                System.out.println("Mods: " + scan.getModCount() + " em " + scan.getJars().size() + " jars ("
+                        + scan.getRead() + " lidos, " + scan.getMillis() + " ms)");
+            } catch (IOException e) {
+                System.err.println("Falha ao ler a pasta mods: " + e.getMessage());
+            }
+        }, prefetchExecutor);
+        // Instalações feitas antes do armazenamento compartilhado entram nele uma vez
+        directories.thenRunAsync(this::shareInstanceFiles, prefetchExecutor);
+
+        CompletableFuture.allOf(directories, accountsLoaded, bannerLoaded, versionChecked).whenComplete((ignored, e) -> {
+            startupTimer.mark("ready");
+            System.out.println("Inicialização: " + startupTimer.summary());
+            SessionMetrics.shared().setStartup(startupTimer.summary());
+            try {
+                startupTimer.append(Paths.get(STARTUP_LOG_FILE), LAUNCHER_VERSION);
+            } catch (IOException ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+
+    // Instância de -Daurora.instance=<id> ou a selecionada em instances.json; sem o
+    // arquivo, a instância original com o modpack e as versões fixas do launcher
+    private Instance loadInstance() {
+        InstanceStore instances = InstanceStore.load(Paths.get(INSTANCES_FILE), originalInstance());
+        String requested = System.getProperty("aurora.instance");
+        Instance instance = requested != null ? instances.get(requested) : null;
+        if (requested != null && instance == null) {
+            System.err.println("Instância inexistente: " + requested + ", usando " + instances.getSelected().getId());
         }
+        if (instance == null) {
+            instance = instances.getSelected();
+        }
+        modScanner = new ModScanner(instance.getModsIndexFile());
+        installer = new ModpackInstaller(instance, httpCache, contentStore, treeDeleter);
+        Instance selected = instance;
+        Platform.runLater(() -> versionLabel.setText(
+                "Modpack: " + selected.getName() + " - Minecraft " + selected.getMinecraftVersion()));
+        return instance;
+    }
+
+    // O modpack e as versões fixas do launcher, no diretório de sempre
+    static Instance originalInstance() {
+        return new Instance("aurora", "Aurora SMP BR", Paths.get(LAUNCHER_DIR), MODPACK_VERSION_URL,
+                MODPACK_MANIFEST_URL, MODPACK_FILE_URL, MINECRAFT_VERSION, FORGE_VERSION, JvmProfile.DEFAULT);
+    }
+
+    private Instance instance() {
+        return instanceLoaded.join();
+    }
+
+    private ModpackInstaller installer() {
+        instanceLoaded.join();
+        return installer;
+    }
+
+    // Guarda no armazenamento compartilhado os arquivos da instância e apaga os
+    // objetos que nenhuma instância usa mais
+    private void shareInstanceFiles() {
+        try {
+            installer().share();
+            int removed = ModpackInstaller.pruneStore(contentStore,
+                    InstanceStore.load(Paths.get(INSTANCES_FILE), originalInstance()).list());
+            if (removed > 0) {
+                System.out.println("Armazenamento: " + removed + " arquivos sem uso removidos");
+            }
+        } catch (IOException e) {
+            System.err.println("Falha no armazenamento compartilhado: " + e.getMessage());
+        }
+    }
+
+    private void startPeerCache() {
+        try {
+            Instance instance = instance();
+            PeerCache cache = new PeerCache(instance.getGameDir(), instance.getIndexFile());
+            cache.start();
+            peerCache = cache;
+            installer().setPeerCache(cache);
+        } catch (IOException e) {
+            // Sem rede local o launcher segue só com o CDN
+            System.err.println("Rede local indisponível: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Interrompe o que ainda roda (uma atualização pela metade é recuperada na próxima abertura)
+        tasks.close();
+        if (serverStatus != null) {
+            serverStatus.close();
+        }
+        if (peerCache != null) {
+            peerCache.close();
+        }
+        if (minecraftAuth != null) {
+            minecraftAuth.close();
+        }
+        // Uma linha por sessão em metrics.jsonl (e o .jfr, se a gravação estava ligada)
+        try {
+            SessionMetrics.shared().close(Paths.get(METRICS_FILE), LAUNCHER_VERSION);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        // Garante que uma gravação de contas ainda agendada chegue ao disco
+        if (accountStore != null) {
+            try {
+                accountStore.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Marca o primeiro pulso de renderização depois de a janela aparecer
+    private void markFirstFrame() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                startupTimer.mark("first-frame");
+                stop();
+            }
+        }.start();
+    }
+
+    private CompletableFuture<Void> loadBanner(ImageView banner) {
+        CompletableFuture<Void> loaded = new CompletableFuture<>();
+        long start = System.nanoTime();
+        Image image = new Image(getClass().getResource("/images/banner.png").toExternalForm(), true);
+        
+        // Termina ao carregar por completo ou ao falhar; o listener pode disparar depois de já estar pronto
+        Runnable finish = () -> {
+            if (loaded.complete(null)) {
+                startupTimer.recordDuration("banner", (System.nanoTime() - start) / 1_000_000);
+            }
+        };
+        image.progressProperty().addListener((obs, oldValue, progress) -> {
+            if (progress.doubleValue() >= 1.0) {
+                finish.run();
+            }
+        });
+        image.errorProperty().addListener((obs, oldValue, error) -> finish.run());
+        if (image.getProgress() >= 1.0 || image.isError()) {
+            finish.run();
+        }
+        banner.setImage(image);
+        return loaded;
     }
 
     private HBox createInfoPanel() {
@@ -181,12 +500,21 @@ public class AuroraSMPLauncher extends Application {
         );
 
         // Labels de versão
-        Label versionLabel = new Label("Modpack: Aurora SMP BR - Minecraft " + MINECRAFT_VERSION);
+        versionLabel = new Label("Modpack: Aurora SMP BR - Minecraft " + MINECRAFT_VERSION);
         versionLabel.setStyle("-fx-text-fill: " + SECONDARY_TEXT + "; -fx-font-size: 12px;");
 
         VBox versionInfo = new VBox(5);
         versionInfo.setAlignment(Pos.CENTER_RIGHT);
-        versionInfo.getChildren().add(versionLabel);
+        // Estado do servidor; um clique consulta de novo (ou repete o resultado ainda válido)
+        serverStatusLabel = new Label("Servidor: verificando...");
+        serverStatusLabel.setStyle("-fx-text-fill: " + SECONDARY_TEXT + "; -fx-font-size: 12px;");
+        serverStatusLabel.setOnMouseClicked(e -> {
+            if (serverStatus != null) {
+                serverStatus.refresh();
+            }
+        });
+
+        versionInfo.getChildren().addAll(versionLabel, serverStatusLabel);
         
         HBox.setHgrow(versionInfo, Priority.ALWAYS);
 
@@ -194,6 +522,26 @@ public class AuroraSMPLauncher extends Application {
         return infoPanel;
     }
 
+    private void showServerStatus(ServerStatus status) {
+        String text;
+        String color;
+        if (!status.isOnline()) {
+            text = "● Servidor offline";
+            color = "#FF6B6B";
+        } else {
+            text = (status.isFull() ? "● Servidor lotado · " : "● Online · ") + status.getPlayersOnline() + "/"
+                    + status.getPlayersMax() + " jogadores · " + status.getLatencyMillis() + " ms";
+            color = status.isFull() ? "#FFC857" : "#7CFC9A";
+        }
+        serverStatusLabel.setText(text);
+        serverStatusLabel.setStyle("-fx-text-fill: " + color + "; -fx-font-size: 12px;");
+        String details = status.isOnline()
+                ? (status.getMotd() != null && !status.getMotd().isEmpty() ? status.getMotd() + "\n" : "")
+                        + "Versão: " + status.getVersion()
+                : status.getError();
+        serverStatusLabel.setTooltip(new Tooltip(serverStatus.getAddress() + "\n" + details));
+    }
+
     private VBox createProgressPanel() {
         VBox progressPanel = new VBox(8);
         progressPanel.setAlignment(Pos.CENTER);
@@ -215,47 +563,76 @@ public class AuroraSMPLauncher extends Application {
         progressLabel = new Label("0%");
         progressLabel.setStyle("-fx-text-fill: " + SECONDARY_TEXT + ";");
         
-        progressPanel.getChildren().addAll(statusLabel, progressBar, progressLabel);
+        // Publica o progresso dos downloads em uma taxa fixa, sem um runLater por chunk
+        progressPublisher = new ProgressPublisher(progressTracker, progressBar, progressLabel);
+        
+        // Só aparece durante uma atualização
+        cancelButton = new Button("Cancelar");
+        cancelButton.setStyle("-fx-background-color: #6D4C9F; -fx-text-fill: " + TEXT_COLOR + "; " +
+                            "-fx-font-size: 12px; -fx-background-radius: 5px;");
+        cancelButton.setVisible(false);
+        cancelButton.setManaged(false);
+        cancelButton.setOnAction(e -> {
+            if (tasks.cancel(UPDATE_TASK)) {
+                cancelButton.setDisable(true);
+                statusLabel.setText("Cancelando...");
+            }
+        });
+        
+        progressPanel.getChildren().addAll(statusLabel, progressBar, progressLabel, cancelButton);
         return progressPanel;
     }
 
     private void createDirectories() {
         try {
             Files.createDirectories(Paths.get(LAUNCHER_DIR));
-            Files.createDirectories(Paths.get(MODPACK_DIR));
+            // Antes de criar o diretório do modpack: se uma troca de versão foi
+            // interrompida, ele pode estar faltando e precisa ser restaurado
+            installer().stagedInstall().recover();
+            Files.createDirectories(instance().getGameDir());
         } catch (IOException e) {
-            showError("Erro ao criar diretórios", "Não foi possível criar os diretórios necessários.");
+            Platform.runLater(() -> showError("Erro ao criar diretórios", "Não foi possível criar os diretórios necessários."));
             e.printStackTrace();
         }
     }
 
     private void loadAccounts() {
         try {
-            if (Files.exists(Paths.get(ACCOUNTS_FILE))) {
-                String json = new String(Files.readAllBytes(Paths.get(ACCOUNTS_FILE)));
-                // Aqui você precisaria de uma biblioteca JSON como Gson ou Jackson
-                // para parsear o JSON corretamente, estou simplificando
-                // accounts = parseJsonToAccounts(json);
-                
-                // Para fins de exemplo, vamos assumir que existe uma conta
-                if (!accounts.isEmpty()) {
-                    currentAccount = accounts.get(0);
-                    updateAccountDisplay();
-                }
+            // Só a conta ativa é lida agora; a lista completa fica para quando for usada
+            TokenCipher cipher = TokenCipher.forKeyFile(Paths.get(ACCOUNTS_KEY_FILE));
+            accountStore = new AccountStore(Paths.get(ACCOUNTS_FILE), cipher);
+            minecraftAuth = new MinecraftAuth(MICROSOFT_CLIENT_ID, Paths.get(MSAL_CACHE_FILE), cipher);
+            currentAccount = accountStore.loadActive();
+            if (currentAccount != null) {
+                keepTokenFresh(currentAccount);
+                Platform.runLater(this::updateAccountDisplay);
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
-    private void saveAccounts() {
-        try {
-            // Aqui você precisaria de uma biblioteca JSON
-            // String json = convertAccountsToJson(accounts);
-            String json = "{}"; // Placeholder
-            Files.write(Paths.get(ACCOUNTS_FILE), json.getBytes());
-        } catch (IOException e) {
-            e.printStackTrace();
+    // Mantém o token da conta Microsoft renovado em segundo plano
+    private void keepTokenFresh(Account account) {
+        if (minecraftAuth == null) {
+            return;
+        }
+        if (!account.isPremium() || account.getMicrosoftAccountId() == null) {
+            minecraftAuth.cancelRefresh();
+            return;
+        }
+        minecraftAuth.keepFresh(account.getMicrosoftAccountId(), account.getTokenExpiresAt(),
+                session -> applySession(account, session),
+                failure -> Platform.runLater(() -> statusLabel.setText(failure.getMessage())));
+    }
+
+    private void applySession(Account account, MinecraftSession session) {
+        account.setUuid(session.getUuid());
+        account.setAccessToken(session.getAccessToken());
+        account.setTokenExpiresAt(session.getExpiresAt());
+        account.setMicrosoftAccountId(session.getMicrosoftAccountId());
+        if (accountStore != null) {
+            accountStore.save();
         }
     }
 
@@ -276,175 +653,235 @@ public class AuroraSMPLauncher extends Application {
     }
 
     private void setSteveHead(ImageView imageView) {
-        // Carrega a imagem padrão do Steve
-        imageView.setImage(new Image(getClass().getResourceAsStream("/images/steve.png")));
+        // Carrega a imagem padrão do Steve uma única vez
+        if (steveHead == null) {
+            steveHead = new Image(getClass().getResourceAsStream("/images/steve.png"));
+        }
+        imageView.setImage(steveHead);
     }
 
     private void loadSkinFromMojang(String uuid) {
-        // Esta é uma simplificação. Na implementação real, você faria uma requisição à
-        // API da Mojang para obter a URL da textura da skin
-        CompletableFuture.runAsync(() -> {
-            try {
-                URL url = new URL("https://crafatar.com/avatars/" + uuid + "?overlay");
-                Image skinImage = new Image(url.openStream());
-                Platform.runLater(() -> skinImageView.setImage(skinImage));
-            } catch (Exception e) {
-                Platform.runLater(() -> setSteveHead(skinImageView));
-                e.printStackTrace();
-            }
-        });
+        // Mostra na hora o avatar em cache (memória ou disco) e atualiza em segundo plano se ele venceu
+        avatarCache.load(uuid,
+                skinImage -> Platform.runLater(() -> {
+                    // A conta pode ter sido trocada enquanto o avatar carregava
+                    if (currentAccount != null && uuid.equals(currentAccount.getUuid())) {
+                        skinImageView.setImage(skinImage);
+                    }
+                }),
+                e -> {
+                    Platform.runLater(() -> setSteveHead(skinImageView));
+                    e.printStackTrace();
+                });
     }
 
-    private void checkModpackVersion() {
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Esta é uma simplificação. Na implementação real,
-                // você faria um scraping da página ou uma requisição à API do CurseForge
-                // para obter a versão mais recente do modpack
-                
-                // Verifica a versão instalada
-                if (Files.exists(Paths.get(VERSIONS_FILE))) {
-                    String json = new String(Files.readAllBytes(Paths.get(VERSIONS_FILE)));
-                    // Parseia o JSON para obter a versão instalada
-                    // installedVersion = parseVersionFromJson(json);
-                    installedVersion = "1.0"; // Placeholder
-                }
+    private Task<Void> checkModpackVersion(Task<Instance> instanceTask) {
+        return tasks.submit(TaskScheduler.Pool.IO, "version-check", "version-check", List.of(instanceTask), () -> {
+            startupTimer.time("version-check", () -> {
+                try {
+                    // Verifica a versão instalada
+                    String installed = installer().getInstalledVersion();
+                    if (installed != null) {
+                        installedVersion = installed;
+                    }
                 
-                // Obter a versão mais recente do modpack
-                modpackVersion = "1.0"; // Placeholder
+                    // Obtém a versão mais recente publicada, com a URL e o SHA-256 do ZIP
+                    latestVersionInfo = installer().fetchLatestVersion();
+                    modpackVersion = latestVersionInfo.getVersion();
                 
-                final String installedVer = installedVersion;
-                final String latestVer = modpackVersion;
+                    final String installedVer = installedVersion;
+                    final String latestVer = modpackVersion;
                 
-                Platform.runLater(() -> {
-                    if (!installedVer.equals(latestVer)) {
-                        statusLabel.setText("Atualização disponível: " + latestVer);
-                    } else {
-                        statusLabel.setText("Modpack atualizado: " + installedVer);
-                    }
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> statusLabel.setText("Erro ao verificar atualizações"));
-                e.printStackTrace();
-            }
+                    Platform.runLater(() -> {
+                        if (!installedVer.equals(latestVer)) {
+                            statusLabel.setText("Atualização disponível: " + latestVer);
+                        } else {
+                            statusLabel.setText("Modpack atualizado: " + installedVer);
+                        }
+                    });
+                } catch (Exception e) {
+                    Platform.runLater(() -> statusLabel.setText("Erro ao verificar atualizações"));
+                    e.printStackTrace();
+                }
+            });
+            return null;
         });
     }
 
-    private void downloadModpack() {
-        CompletableFuture.runAsync(() -> {
+    // Uma atualização por vez: chamar de novo enquanto ela roda devolve a mesma tarefa.
+    // Falha e cancelamento são repassados a quem depende dela (ex.: o JOGAR que a pediu).
+    private Task<Void> downloadModpack() {
+        return tasks.submit(TaskScheduler.Pool.IO, "atualização do modpack", UPDATE_TASK, List.of(), () -> {
+            ModpackUpdateEvent updateEvent = new ModpackUpdateEvent();
+            updateEvent.start();
+            boolean updated = false;
             try {
                 Platform.runLater(() -> {
                     statusLabel.setText("Baixando modpack...");
                     progressBar.setProgress(0);
                     progressLabel.setText("0%");
                     playButton.setDisable(true);
+                    showCancelButton(true);
+                    progressPublisher.start();
                 });
                 
-                // Baixa o arquivo do modpack
-                String zipFile = LAUNCHER_DIR + File.separator + "modpack.zip";
-                downloadFile(MODPACK_FILE_URL, zipFile);
-                
-                // Extrai os arquivos
-                Platform.runLater(() -> {
-                    statusLabel.setText("Extraindo arquivos...");
-                    progressBar.setProgress(0.5);
-                    progressLabel.setText("50%");
-                });
-                
-                // Limpa o diretório do modpack
-                deleteDirectory(Paths.get(MODPACK_DIR));
-                Files.createDirectories(Paths.get(MODPACK_DIR));
-                
-                // Extrai o arquivo ZIP
-                extractZipFile(zipFile, MODPACK_DIR);
-                
-                // Atualiza o arquivo de versões
-                String versionJson = "{\"version\":\"" + modpackVersion + "\"}";
-                Files.write(Paths.get(VERSIONS_FILE), versionJson.getBytes());
+                VersionInfo latest = latestVersionInfo != null ? latestVersionInfo : installer().fetchLatestVersion();
+                updateEvent.setVersion(modpackVersion);
+
+                // Se a atualização está sendo preparada em segundo plano, tira o limite e espera por ela
+                Task<Void> background;
+                synchronized (this) {
+                    updateStarted = true;
+                    background = prefetch;
+                }
+                if (background != null) {
+                    if (!background.isDone()) {
+                        prefetchThrottle.setRate(Throttle.UNLIMITED);
+                        Platform.runLater(() -> statusLabel.setText("Concluindo a atualização..."));
+                    }
+                    try {
+                        // O cancelamento desta tarefa interrompe a espera
+                        background.await();
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // Falhou em segundo plano: tenta de novo agora, do jeito normal
+                        System.err.println("Atualização em segundo plano falhou: " + e);
+                    }
+                }
+
+                // Usa o que o preparo deixou no staging, troca a instalação e grava a versão;
+                // a versão antiga é apagada em segundo plano e o jogo já pode abrir
+                installer().install(latest, NO_LIMIT, progressTracker, updateEvent,
+                        text -> Platform.runLater(() -> statusLabel.setText(text)));
                 
                 installedVersion = modpackVersion;
+                updated = true;
+                // Os arquivos novos ficam disponíveis para as outras instâncias
+                prefetchExecutor.execute(this::shareInstanceFiles);
                 
                 Platform.runLater(() -> {
+                    progressPublisher.stop();
+                    showCancelButton(false);
                     statusLabel.setText("Modpack atualizado: " + installedVersion);
                     progressBar.setProgress(1);
                     progressLabel.setText("100%");
                     playButton.setDisable(false);
                 });
-                
-                // Remove o arquivo ZIP temporário
-                Files.deleteIfExists(Paths.get(zipFile));
+                return null;
                 
             } catch (Exception e) {
+                boolean cancelled = TaskScheduler.isCurrentCancelled();
+                if (cancelled) {
+                    updateCancelled();
+                } else {
+                    e.printStackTrace();
+                }
                 Platform.runLater(() -> {
-                    statusLabel.setText("Erro ao baixar o modpack");
+                    progressPublisher.stop();
+                    showCancelButton(false);
+                    statusLabel.setText(cancelled ? "Atualização cancelada" : "Erro ao baixar o modpack");
                     playButton.setDisable(false);
                 });
-                e.printStackTrace();
+                throw e;
+            } finally {
+                updateEvent.finish(updated);
             }
         });
     }
 
-    private void downloadFile(String urlStr, String dest) throws Exception {
-        URL url = new URL(urlStr);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        int fileSize = connection.getContentLength();
-        
-        try (InputStream in = new BufferedInputStream(connection.getInputStream());
-             FileOutputStream fileOut = new FileOutputStream(dest)) {
-            
-            byte[] dataBuffer = new byte[1024];
-            int bytesRead;
-            int totalRead = 0;
-            
-            while ((bytesRead = in.read(dataBuffer, 0, 1024)) != -1) {
-                fileOut.write(dataBuffer, 0, bytesRead);
-                totalRead += bytesRead;
-                
-                final int percentage = (int) ((totalRead / (double) fileSize) * 100);
-                final double progress = totalRead / (double) fileSize;
-                
-                Platform.runLater(() -> {
-                    progressBar.setProgress(progress);
-                    progressLabel.setText(percentage + "%");
-                });
-            }
+    // O cancelamento pode ter interrompido a troca no meio. O preparo em segundo plano,
+    // se ainda roda, é cancelado e esperado antes da recuperação: senão ele continuaria
+    // gravando no staging que recover() apaga, e o índice marcaria completa uma
+    // instalação com arquivos faltando.
+    private void updateCancelled() {
+        Task<Void> background;
+        synchronized (this) {
+            updateStarted = false;
+            background = prefetch;
+            prefetch = null;
         }
+        if (background != null) {
+            background.cancelAndWait();
+        }
+        prefetchThrottle.setRate(PREFETCH_RATE);
+        try {
+            installer().stagedInstall().recover();
+        } catch (IOException e) {
+            System.err.println("Falha ao recuperar a instalação depois do cancelamento: " + e.getMessage());
+        }
+        System.out.println("Atualização cancelada");
     }
 
-    private void extractZipFile(String zipFilePath, String destDir) throws IOException {
-        try (ZipInputStream zipIn = new ZipInputStream(new FileInputStream(zipFilePath))) {
-            ZipEntry entry = zipIn.getNextEntry();
-            
-            while (entry != null) {
-                String filePath = destDir + File.separator + entry.getName();
-                if (!entry.isDirectory()) {
-                    // Cria o diretório pai se não existir
-                    new File(filePath).getParentFile().mkdirs();
-                    
-                    // Extrai o arquivo
-                    try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(filePath))) {
-                        byte[] buffer = new byte[1024];
-                        int read;
-                        while ((read = zipIn.read(buffer)) != -1) {
-                            bos.write(buffer, 0, read);
-                        }
-                    }
-                } else {
-                    // Cria o diretório
-                    Files.createDirectories(Paths.get(filePath));
-                }
-                zipIn.closeEntry();
-                entry = zipIn.getNextEntry();
+    private void showCancelButton(boolean visible) {
+        cancelButton.setDisable(false);
+        cancelButton.setVisible(visible);
+        cancelButton.setManaged(visible);
+    }
+
+    // Quando a verificação de versão acha uma versão nova, ela é baixada com taxa
+    // limitada e montada no staging enquanto o launcher está parado. O JOGAR só faz
+    // a troca (ou, se o preparo ainda não terminou, tira o limite e espera).
+    private void startPrefetch() {
+        VersionInfo latest = latestVersionInfo;
+        String version = modpackVersion;
+        if (!Boolean.parseBoolean(System.getProperty("aurora.prefetch", "true"))
+                || latest == null || installedVersion.equals(version)) {
+            return;
+        }
+        StagedInstall staged = installer().stagedInstall();
+        // Sem staging o preparo mexeria na instalação em uso
+        if (!staged.isSupported()) {
+            return;
+        }
+        if (version.equals(staged.getStagedVersion())) {
+            // Preparada em uma sessão anterior
+            Platform.runLater(() -> statusLabel.setText("Atualização " + version + " pronta: clique em JOGAR"));
+            return;
+        }
+
+        synchronized (this) {
+            if (updateStarted || prefetch != null) {
+                return;
             }
+            Platform.runLater(() -> statusLabel.setText("Preparando a atualização " + version + " em segundo plano..."));
+            prefetchThrottle.setRate(PREFETCH_RATE);
+            // Uma tarefa, e não um futuro solto: o cancelamento da atualização consegue pará-la
+            prefetch = tasks.io("preparo da atualização", () -> {
+                // Prioridade baixa enquanto prepara, como o resto do trabalho de fundo
+                Thread thread = Thread.currentThread();
+                int priority = thread.getPriority();
+                thread.setPriority(Thread.MIN_PRIORITY);
+                try {
+                    prefetch(latest, staged);
+                } finally {
+                    thread.setPriority(priority);
+                }
+                return null;
+            });
         }
     }
 
-    private void deleteDirectory(Path path) throws IOException {
-        if (Files.exists(path)) {
-            Files.walk(path)
-                .sorted(Comparator.reverseOrder())
-                .map(Path::toFile)
-                .forEach(File::delete);
+    private void prefetch(VersionInfo latest, StagedInstall staged) throws Exception {
+        String version = latest.getVersion();
+        ModpackUpdateEvent event = new ModpackUpdateEvent();
+        event.start();
+        event.setVersion(version);
+        boolean prepared = false;
+        try {
+            installer().prepare(latest, staged, true, prefetchThrottle, progressTracker, event, text -> { });
+            prepared = true;
+            System.out.println("Atualização " + version + " pronta no staging");
+            Platform.runLater(() -> statusLabel.setText("Atualização " + version + " pronta: clique em JOGAR"));
+        } catch (Exception e) {
+            if (TaskScheduler.isCurrentCancelled()) {
+                System.out.println("Preparo da atualização " + version + " cancelado");
+            } else {
+                e.printStackTrace();
+            }
+            throw e;
+        } finally {
+            event.finish(prepared);
         }
     }
 
@@ -454,48 +891,115 @@ public class AuroraSMPLauncher extends Application {
             return;
         }
         
-        // Verifica se o modpack está atualizado
-        if (!installedVersion.equals(modpackVersion)) {
-            downloadModpack();
-            return;
-        }
+        // Modpack desatualizado: o jogo abre quando a atualização terminar (e não abre se ela
+        // falhar ou for cancelada). Cliques repetidos devolvem as mesmas duas tarefas
+        List<Task<Void>> before = installedVersion.equals(modpackVersion) ? List.of() : List.of(downloadModpack());
         
         // Lança o jogo
-        CompletableFuture.runAsync(() -> {
+        tasks.submit(TaskScheduler.Pool.IO, "launch", LAUNCH_TASK, before, () -> {
+            // Cada etapa até o menu do jogo vira um campo do evento (e do resumo da sessão)
+            Instance instance = instance();
+            // A conferência dos mods (leitura de jars) corre junto com o login, o plano e os arquivos
+            Task<ModScan> modsScanned = "false".equals(System.getProperty("aurora.mods.check")) ? null
+                    : tasks.cpu("mods-check", () -> modScanner.scan(instance.getGameDir().resolve("mods")));
+            GameLaunchEvent launchEvent = new GameLaunchEvent(instance.getForgeVersion());
+            launchEvent.start();
+            boolean launched = false;
             try {
                 Platform.runLater(() -> {
                     statusLabel.setText("Iniciando o jogo...");
                     playButton.setDisable(true);
                 });
+
+                // Normalmente o token já foi renovado em segundo plano; só espera
+                // aqui se ele expirou (ex.: o computador ficou suspenso)
+                Account account = currentAccount;
+                if (account.isPremium() && account.getMicrosoftAccountId() != null
+                        && account.getTokenExpiresAt() <= System.currentTimeMillis() && minecraftAuth != null) {
+                    applySession(account, minecraftAuth.refresh(account.getMicrosoftAccountId()).join());
+                    keepTokenFresh(account);
+                }
+                launchEvent.setAuthMillis(launchEvent.lap());
                 
-                // Comando para iniciar o Minecraft com o modpack
-                String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
-                
-                List<String> command = new ArrayList<>();
-                command.add(javaPath);
-                command.add("-Xmx3G"); // Memoria alocada
-                command.add("-jar");
-                
-                // Aqui você precisa do caminho para o arquivo forge ou fabric loader
-                String loaderJar = MODPACK_DIR + File.separator + "forge.jar"; // Ajuste conforme necessário
-                command.add(loaderJar);
-                
-                // Adiciona os parâmetros de autenticação
-                if (currentAccount.isPremium()) {
-                    command.add("--username");
-                    command.add(currentAccount.getUsername());
-                    command.add("--uuid");
-                    command.add(currentAccount.getUuid());
-                    command.add("--accessToken");
-                    command.add(currentAccount.getAccessToken());
+                // Resolve a versão do Forge (ou usa o plano em cache) e monta o comando
+                LaunchPlan plan = launchEngine.plan(instance.getForgeVersion());
+                launchEvent.setPlanFromCache(launchEngine.wasLastFromCache());
+                launchEvent.setPlanMillis(launchEvent.lap());
+
+                // Bibliotecas e assets: o que já está no índice nem é lido do disco
+                Platform.runLater(() -> {
+                    statusLabel.setText("Verificando arquivos do jogo...");
+                    progressPublisher.start();
+                });
+                try {
+                    new GameFiles(Paths.get(ASSETS_DIR), new BulkDownloader(LauncherHttp.downloads(), Paths.get(FILES_INDEX_FILE)))
+                            .ensure(plan, progressTracker);
+                } finally {
+                    Platform.runLater(() -> {
+                        progressPublisher.stop();
+                        statusLabel.setText("Iniciando o jogo...");
+                    });
+                }
+                launchEvent.setFilesMillis(launchEvent.lap());
+
+                // Mod faltando, duplicado ou para outro Forge: avisa aqui em vez de o Forge
+                // parar na tela de carregamento. -Daurora.mods.check=false pula a conferência
+                if (modsScanned != null) {
+                    ModScan scan = modsScanned.await();
+                    List<String> problems = scan.problems(instance.getMinecraftVersion(), instance.getForgeNumber());
+                    System.out.println("Conferência dos mods: " + scan.getJars().size() + " jars, "
+                            + scan.getRead() + " lidos, " + scan.getMillis() + " ms");
+                    if (!problems.isEmpty()) {
+                        Platform.runLater(() -> {
+                            statusLabel.setText("Problemas nos mods");
+                            playButton.setDisable(false);
+                            showError("Problemas nos mods", String.join("\n", problems));
+                        });
+                        return null;
+                    }
+                }
+                launchEvent.setModsMillis(launchEvent.lap());
+                launchEngine.prepareNatives(plan);
+                launchEvent.setNativesMillis(launchEvent.lap());
+
+                // Java compatível com a versão do jogo e opções da JVM ajustadas à máquina
+                JvmProfile jvmProfile = JvmProfile.load(Paths.get(JVM_PROFILES_FILE), instance.getJvmProfile());
+                JavaInstallation java = new JavaDiscovery(List.of(Paths.get(RUNTIMES_DIR)))
+                        .select(jvmProfile, plan.getJavaMajor());
+                String javaPath = java.getExecutable().toString();
+                List<String> jvmOptions = new JvmTuner(SystemResources.detect()).arguments(jvmProfile, java);
+                System.out.println("Java do jogo: " + java + " " + jvmOptions);
+                launchEvent.setJavaMillis(launchEvent.lap());
+
+                Map<String, String> variables = new HashMap<>();
+                variables.put("auth_player_name", account.getUsername());
+                variables.put("auth_uuid", account.getUuid());
+                variables.put("game_directory", instance.getGameDir().toString());
+                // Contas offline não têm token; o jogo só exige que o argumento exista
+                if (account.isPremium()) {
+                    variables.put("auth_access_token", account.getAccessToken());
+                    variables.put("user_type", "msa");
                 } else {
-                    command.add("--username");
-                    command.add(currentAccount.getUsername());
+                    variables.put("auth_access_token", "0");
+                    variables.put("user_type", "legacy");
                 }
-                
+
+                List<String> command = launchEngine.buildCommand(plan, javaPath, jvmOptions, variables);
+
                 ProcessBuilder pb = new ProcessBuilder(command);
-                pb.directory(new File(MODPACK_DIR));
-                Process process = pb.start();
+                pb.directory(instance.getGameDir().toFile());
+                // A saída do jogo é lida em segundo plano: vai para logs/game.log e
+                // é analisada em busca de crashes conhecidos enquanto o jogo roda
+                GameProcess game = GameProcess.start(pb, Paths.get(GAME_LOG_FILE),
+                        signature -> System.err.println("Crash detectado no log do jogo: " + signature));
+                launchEvent.setSpawnMillis(launchEvent.lap());
+                launched = true;
+                // O evento fecha quando o jogo chega no menu (ou fecha antes disso)
+                game.whenReady().thenRun(() -> {
+                    launchEvent.setWindowMillis(game.getWindowMillis());
+                    launchEvent.setReadyMillis(game.getReadyMillis());
+                    launchEvent.finish(game.getReadyMillis() >= 0);
+                });
                 
                 // Minimiza o launcher quando o jogo inicia
                 Platform.runLater(() -> {
@@ -503,21 +1007,36 @@ public class AuroraSMPLauncher extends Application {
                 });
                 
                 // Aguarda o término do processo
-                int exitCode = process.waitFor();
+                GameExit exit = game.waitFor();
                 
                 Platform.runLater(() -> {
-                    statusLabel.setText(exitCode == 0 ? "Jogo encerrado." : "Erro ao iniciar o jogo.");
+                    statusLabel.setText(exit.isCrash() ? "O jogo fechou com erro." : "Jogo encerrado.");
                     playButton.setDisable(false);
                     ((Stage) playButton.getScene().getWindow()).setIconified(false);
+                    if (exit.isCrash()) {
+                        showError("O jogo fechou inesperadamente", exit.summary());
+                    }
                 });
                 
+            } catch (CompletionException e) {
+                AuthException failure = MinecraftAuth.unwrap(e);
+                Platform.runLater(() -> {
+                    statusLabel.setText(failure.getMessage());
+                    playButton.setDisable(false);
+                });
             } catch (Exception e) {
                 Platform.runLater(() -> {
                     statusLabel.setText("Erro ao iniciar o jogo");
                     playButton.setDisable(false);
                 });
                 e.printStackTrace();
+            } finally {
+                // Depois que o processo existe, quem fecha o evento é o whenReady
+                if (!launched) {
+                    launchEvent.finish(false);
+                }
             }
+            return null;
         });
     }
 
@@ -551,7 +1070,11 @@ public class AuroraSMPLauncher extends Application {
         microsoftContent.setStyle("-fx-background-color: " + PANEL_COLOR + ";");
         Button microsoftLoginButton = new Button("Login com Microsoft");
         microsoftLoginButton.setStyle("-fx-background-color: #00a4ef; -fx-text-fill: white; -fx-font-size: 14px; -fx-background-radius: 5px;");
-        microsoftContent.getChildren().add(microsoftLoginButton);
+        Label microsoftStatus = new Label();
+        microsoftStatus.setWrapText(true);
+        microsoftStatus.setStyle("-fx-text-fill: " + SECONDARY_TEXT + ";");
+        microsoftLoginButton.setOnAction(e -> startMicrosoftLogin(dialog, microsoftLoginButton, microsoftStatus));
+        microsoftContent.getChildren().addAll(microsoftLoginButton, microsoftStatus);
         microsoftTab.setContent(microsoftContent);
         
         // Conteúdo da aba Crack
@@ -576,6 +1099,13 @@ public class AuroraSMPLauncher extends Application {
         // Estiliza o botão de login
         Button loginButton = (Button) dialog.getDialogPane().lookupButton(loginButtonType);
         loginButton.setStyle("-fx-background-color: " + ACCENT_COLOR + "; -fx-text-fill: " + TEXT_COLOR + ";");
+        // Na aba Microsoft o login é assíncrono: o diálogo fica aberto até o navegador responder
+        loginButton.addEventFilter(ActionEvent.ACTION, e -> {
+            if (tabPane.getSelectionModel().getSelectedItem() == microsoftTab) {
+                e.consume();
+                startMicrosoftLogin(dialog, microsoftLoginButton, microsoftStatus);
+            }
+        });
         
         // Define o resultado do diálogo
         dialog.setResultConverter(dialogButton -> {
@@ -585,9 +1115,6 @@ public class AuroraSMPLauncher extends Application {
                     if (username != null && !username.trim().isEmpty()) {
                         return new Account(username, false);
                     }
-                } else {
-                    // O login com Microsoft seria implementado aqui, usando OAuth2
-                    showError("Não implementado", "O login com Microsoft não está implementado neste exemplo.");
                 }
             }
             return null;
@@ -597,12 +1124,41 @@ public class AuroraSMPLauncher extends Application {
         Optional<Account> result = dialog.showAndWait();
         result.ifPresent(account -> {
             currentAccount = account;
-            accounts.add(account);
-            saveAccounts();
+            if (accountStore != null) {
+                try {
+                    // A gravação acontece em segundo plano, sem travar a interface
+                    accountStore.add(account);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            keepTokenFresh(account);
             updateAccountDisplay();
         });
     }
 
+    private void startMicrosoftLogin(Dialog<Account> dialog, Button button, Label status) {
+        if (minecraftAuth == null) {
+            status.setText("O launcher ainda está carregando, tente novamente em instantes.");
+            return;
+        }
+        button.setDisable(true);
+        status.setText("Continue o login na janela do navegador...");
+
+        minecraftAuth.login().whenComplete((session, e) -> Platform.runLater(() -> {
+            button.setDisable(false);
+            if (e != null) {
+                status.setText(MinecraftAuth.unwrap(e).getMessage());
+                return;
+            }
+            Account account = new Account(session.getUsername(), session.getUuid(), session.getAccessToken(), true);
+            account.setMicrosoftAccountId(session.getMicrosoftAccountId());
+            account.setTokenExpiresAt(session.getExpiresAt());
+            dialog.setResult(account);
+            dialog.close();
+        }));
+    }
+
     private void showError(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -620,47 +1176,4 @@ public class AuroraSMPLauncher extends Application {
         
         alert.showAndWait();
     }
-
-    // Classe para representar uma conta
-    private static class Account {
-        private String username;
-        private String uuid;
-        private String accessToken;
-        private boolean premium;
-
-        public Account(String username, boolean premium) {
-            this.username = username;
-            this.premium = premium;
-            
-            // Gera um UUID aleatório para contas não premium
-            if (!premium) {
-                this.uuid = UUID.randomUUID().toString().replace("-", "");
-                this.accessToken = "";
-            }
-        }
-
-        public String getUsername() {
-            return username;
-        }
-
-        public String getUuid() {
-            return uuid;
-        }
-
-        public String getAccessToken() {
-            return accessToken;
-        }
-
-        public boolean isPremium() {
-            return premium;
-        }
-
-        public void setUuid(String uuid) {
-            this.uuid = uuid;
-        }
-
-        public void setAccessToken(String accessToken) {
-            this.accessToken = accessToken;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,592 @@
+package com.aurorasmp.launcher;
+
+import com.aurorasmp.launcher.download.BulkDownloader;
+import com.aurorasmp.launcher.download.Throttle;
+import com.aurorasmp.launcher.http.HttpCache;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.instance.Instance;
+import com.aurorasmp.launcher.instance.InstanceStore;
+import com.aurorasmp.launcher.instance.ModpackInstaller;
+import com.aurorasmp.launcher.jvm.JavaDiscovery;
+import com.aurorasmp.launcher.jvm.JavaInstallation;
+import com.aurorasmp.launcher.jvm.JvmProfile;
+import com.aurorasmp.launcher.jvm.JvmTuner;
+import com.aurorasmp.launcher.jvm.SystemResources;
+import com.aurorasmp.launcher.launch.GameFiles;
+import com.aurorasmp.launcher.launch.LaunchEngine;
+import com.aurorasmp.launcher.launch.LaunchPlan;
+import com.aurorasmp.launcher.metrics.ModpackUpdateEvent;
+import com.aurorasmp.launcher.mods.ModScan;
+import com.aurorasmp.launcher.mods.ModScanner;
+import com.aurorasmp.launcher.progress.ProgressTracker;
+import com.aurorasmp.launcher.server.ServerStatus;
+import com.aurorasmp.launcher.server.ServerStatusMonitor;
+import com.aurorasmp.launcher.update.ContentStore;
+import com.aurorasmp.launcher.update.DeltaPatch;
+import com.aurorasmp.launcher.update.PackManifest;
+import com.aurorasmp.launcher.update.VersionInfo;
+import com.aurorasmp.launcher.util.Hashes;
+import com.aurorasmp.launcher.util.TreeDeleter;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Modo sem janela, para preparar máquinas de laboratório e medir atualizações em CI.
+// Usa o mesmo caminho de atualização, conferência e montagem do comando do jogo
+// que a janela (ModpackInstaller, LaunchEngine, ModScanner):
+//
+//   java -cp aurora-smp-launcher.jar com.aurorasmp.launcher.LauncherCli <comando> [opções]
+//
+//   update [--force]              atualiza o modpack (--force: mesmo se já estiver na versão publicada)
+//   verify [--full] [--repair]    confere os arquivos instalados (--full: hash de todos;
+//                                 --repair: regrava os que não batem)
+//   launch --dry-run [--user N]   resolve a versão, baixa bibliotecas e assets, confere os
+//                                 mods e monta o comando do jogo, sem abrir o jogo
+//   instances                     lista as instâncias
+//   status [--server HOST:PORTA]  estado do servidor (Server List Ping)
+//   create <id> [--name N] [--from ID]
+//   patch <antigo> <novo> <saída> [--url URL]
+//                                 na publicação: gera o DeltaPatch de antigo para novo e
+//                                 imprime a entrada de "patches" do manifesto para ele
+//
+// Alvos: --instance ID (repetível), --all, --dir DIR (instância avulsa em DIR com o
+// modpack da selecionada); sem nenhum, a instância selecionada. Até --parallel N
+// alvos rodam ao mesmo tempo (padrão 4).
+//
+// A saída padrão só tem JSON, uma linha por evento: {"t": ms desde o início,
+// "target": id, "event": "start" | "phase" | "status" | "progress" | "done" | ...}.
+// Os logs dos componentes vão para a saída de erro. Código de saída: 0 = tudo
+// certo, 1 = algum alvo falhou, 2 = uso incorreto.
+//
+// Não é a classe principal do jar: a JVM recusa iniciar uma subclasse de
+// Application sem o JavaFX como módulo, o que não existe numa máquina sem tela.
+public class LauncherCli {
+
+    private static final String USAGE = "Uso: LauncherCli update|verify|launch|instances|create|status|patch"
+            + " [--instance ID]... [--all] [--dir DIR]... [--parallel N] [--force] [--full] [--repair]"
+            + " [--dry-run] [--user NOME] [--name NOME] [--from ID] [--server HOST:PORTA] [--url URL]";
+    private static final Gson GSON = new Gson();
+    private static final Throttle NO_LIMIT = new Throttle(Throttle.UNLIMITED);
+    private static final long PROGRESS_INTERVAL_MILLIS = 500;
+    private static final Duration SERVER_PING_TIMEOUT = Duration.ofSeconds(5);
+    // Uma lista de arquivos danificados maior que isso sai só como contagem
+    private static final int MAX_LISTED = 50;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final PrintStream out;
+    private final long start = System.nanoTime();
+    private final HttpCache httpCache = new HttpCache(LauncherHttp.shared(), Paths.get(AuroraSMPLauncher.HTTP_CACHE_DIR));
+    private final ContentStore store = new ContentStore(Paths.get(AuroraSMPLauncher.STORE_DIR));
+    private final TreeDeleter deleter = new TreeDeleter();
+    private final InstanceStore instances = InstanceStore.load(Paths.get(AuroraSMPLauncher.INSTANCES_FILE),
+            AuroraSMPLauncher.originalInstance());
+    // Versões, bibliotecas, assets e o índice deles são de todas as instâncias: uma por vez
+    private final Object sharedFiles = new Object();
+
+    private LauncherCli(PrintStream out) {
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        // O JSON fica sozinho na saída padrão; os System.out dos componentes vão para a de erro
+        PrintStream json = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        int code;
+        try {
+            code = new LauncherCli(json).run(Options.parse(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            code = 2;
+        }
+        System.exit(code);
+    }
+
+    private int run(Options options) {
+        switch (options.command) {
+            case "instances":
+                listInstances();
+                return 0;
+            case "create":
+                return create(options);
+            case "status":
+                return serverStatus(options);
+            case "patch":
+                return createPatch(options);
+            case "update":
+            case "verify":
+                break;
+            case "launch":
+                if (!options.dryRun) {
+                    throw new IllegalArgumentException("Sem janela, launch só existe com --dry-run");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Comando desconhecido: " + options.command);
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        for (Instance instance : targets(options)) {
+            jobs.add(new Job(instance));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.parallel, jobs.size()), r -> {
+            Thread thread = new Thread(r, "aurora-cli-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "aurora-cli-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> jobs.forEach(this::reportProgress),
+                PROGRESS_INTERVAL_MILLIS, PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        int failed = 0;
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Job job : jobs) {
+                results.add(executor.submit(() -> run(job, options)));
+            }
+            for (Future<Boolean> result : results) {
+                try {
+                    if (!result.get()) {
+                        failed++;
+                    }
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            reporter.shutdownNow();
+            executor.shutdownNow();
+        }
+
+        // Só depois de todas as atualizações: o que uma delas ainda ia buscar no armazenamento não é apagado
+        if (options.command.equals("update") || options.repair) {
+            try {
+                List<Instance> all = new ArrayList<>(instances.list());
+                all.addAll(targets(options));
+                emit("*", "pruned", Map.of("objects", ModpackInstaller.pruneStore(store, all)));
+            } catch (Exception e) {
+                emit("*", "error", Map.of("message", String.valueOf(e)));
+            }
+        }
+        emit("*", "summary", Map.of("targets", jobs.size(), "failed", failed, "millis", millisSinceStart()));
+        return failed == 0 ? 0 : 1;
+    }
+
+    private boolean run(Job job, Options options) {
+        emit(job.id(), "start", Map.of("command", options.command, "dir", job.instance.getDir().toString()));
+        JsonObject result = new JsonObject();
+        boolean ok;
+        try {
+            ModpackInstaller installer = new ModpackInstaller(job.instance, httpCache, store, deleter);
+            job.phase("recover", () -> {
+                installer.stagedInstall().recover();
+                Files.createDirectories(job.instance.getGameDir());
+                return null;
+            });
+            switch (options.command) {
+                case "update":
+                    ok = update(job, installer, options.force, result);
+                    break;
+                case "verify":
+                    ok = verify(job, installer, options, result);
+                    break;
+                default:
+                    ok = dryRun(job, options.user, result);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.addProperty("error", String.valueOf(e.getMessage() != null ? e.getMessage() : e));
+            ok = false;
+        }
+        result.addProperty("ok", ok);
+        result.add("phases", GSON.toJsonTree(job.phases));
+        result.addProperty("millis", (System.nanoTime() - job.started) / 1_000_000);
+        job.done = true;
+        emit(job.id(), "done", result);
+        return ok;
+    }
+
+    private boolean update(Job job, ModpackInstaller installer, boolean force, JsonObject result) throws Exception {
+        String installed = installer.getInstalledVersion();
+        VersionInfo latest = job.phase("version-check", installer::fetchLatestVersion);
+        result.addProperty("installed", installed);
+        result.addProperty("version", latest.getVersion());
+        if (!force && latest.getVersion().equals(installed)) {
+            result.addProperty("status", "up-to-date");
+            return true;
+        }
+
+        ModpackUpdateEvent event = new ModpackUpdateEvent();
+        event.start();
+        event.setVersion(latest.getVersion());
+        boolean updated = false;
+        try {
+            CompletableFuture<TreeDeleter.Result> cleanup = job.phase("update", () -> installer.install(latest,
+                    NO_LIMIT, job.progress, event, text -> emit(job.id(), "status", Map.of("message", text))));
+            updated = true;
+            result.addProperty("bytes", job.progress.snapshot().getDone());
+            job.phase("share", installer::share);
+            job.phase("cleanup", cleanup::join);
+        } finally {
+            event.finish(updated);
+        }
+        result.addProperty("status", "updated");
+        return true;
+    }
+
+    private boolean verify(Job job, ModpackInstaller installer, Options options, JsonObject result) throws Exception {
+        List<String> damaged = job.phase("verify", () -> installer.verify(options.full, options.repair));
+        result.addProperty("damaged", damaged.size());
+        if (!damaged.isEmpty() && damaged.size() <= MAX_LISTED) {
+            result.add("files", GSON.toJsonTree(damaged));
+        }
+        if (damaged.isEmpty() || !options.repair) {
+            return damaged.isEmpty();
+        }
+        // Fora do índice, os arquivos danificados são conferidos e regravados pela atualização
+        return update(job, installer, true, result);
+    }
+
+    private boolean dryRun(Job job, String user, JsonObject result) throws Exception {
+        Instance instance = job.instance;
+        LaunchEngine engine = new LaunchEngine(Paths.get(AuroraSMPLauncher.VERSIONS_DIR),
+                Paths.get(AuroraSMPLauncher.LIBRARIES_DIR), Paths.get(AuroraSMPLauncher.ASSETS_DIR),
+                Paths.get(AuroraSMPLauncher.LAUNCH_CACHE_DIR), httpCache);
+        LaunchPlan plan;
+        synchronized (sharedFiles) {
+            plan = job.phase("plan", () -> engine.plan(instance.getForgeVersion()));
+            result.addProperty("planFromCache", engine.wasLastFromCache());
+            job.phase("files", () -> {
+                new GameFiles(Paths.get(AuroraSMPLauncher.ASSETS_DIR), new BulkDownloader(LauncherHttp.downloads(),
+                        Paths.get(AuroraSMPLauncher.FILES_INDEX_FILE))).ensure(plan, job.progress);
+                return null;
+            });
+            job.phase("natives", () -> engine.prepareNatives(plan));
+        }
+
+        ModScan scan = job.phase("mods",
+                () -> new ModScanner(instance.getModsIndexFile()).scan(instance.getGameDir().resolve("mods")));
+        List<String> problems = scan.problems(instance.getMinecraftVersion(), instance.getForgeNumber());
+        result.addProperty("jars", scan.getJars().size());
+        result.add("modProblems", GSON.toJsonTree(problems));
+
+        JvmProfile profile = JvmProfile.load(Paths.get(AuroraSMPLauncher.JVM_PROFILES_FILE), instance.getJvmProfile());
+        JavaInstallation java = job.phase("java", () -> new JavaDiscovery(
+                List.of(Paths.get(AuroraSMPLauncher.RUNTIMES_DIR))).select(profile, plan.getJavaMajor()));
+        List<String> jvmOptions = new JvmTuner(SystemResources.detect()).arguments(profile, java);
+        result.addProperty("java", java.toString());
+
+        // Conta offline: o comando fica completo sem login
+        Map<String, String> variables = new HashMap<>();
+        variables.put("auth_player_name", user);
+        variables.put("auth_uuid", "00000000-0000-0000-0000-000000000000");
+        variables.put("auth_access_token", "0");
+        variables.put("user_type", "legacy");
+        variables.put("game_directory", instance.getGameDir().toString());
+        List<String> command = job.phase("command",
+                () -> engine.buildCommand(plan, java.getExecutable().toString(), jvmOptions, variables));
+        result.add("command", GSON.toJsonTree(command));
+        return problems.isEmpty();
+    }
+
+    private void listInstances() {
+        Instance selected = instances.getSelected();
+        for (Instance instance : instances.list()) {
+            VersionInfo installed = VersionInfo.load(instance.getVersionFile());
+            JsonObject line = new JsonObject();
+            line.addProperty("name", instance.getName());
+            line.addProperty("dir", instance.getDir().toString());
+            line.addProperty("minecraft", instance.getMinecraftVersion());
+            line.addProperty("forge", instance.getForgeVersion());
+            line.addProperty("installed", installed != null ? installed.getVersion() : null);
+            line.addProperty("selected", instance.getId().equals(selected.getId()));
+            emit(instance.getId(), "instance", line);
+        }
+    }
+
+    private int create(Options options) {
+        if (options.positional.isEmpty()) {
+            throw new IllegalArgumentException("create precisa do id da instância");
+        }
+        String id = options.positional.get(0);
+        Instance template = options.from != null ? instances.get(options.from) : instances.getSelected();
+        if (template == null) {
+            throw new IllegalArgumentException("Instância inexistente: " + options.from);
+        }
+        try {
+            Instance instance = instances.create(id, options.name != null ? options.name : id, template,
+                    Paths.get(AuroraSMPLauncher.INSTANCES_DIR));
+            instances.save();
+            emit(id, "created", Map.of("dir", instance.getDir().toString(), "from", template.getId()));
+            return 0;
+        } catch (Exception e) {
+            emit(id, "error", Map.of("message", String.valueOf(e.getMessage())));
+            return 1;
+        }
+    }
+
+    private int serverStatus(Options options) {
+        String address = options.server != null ? options.server : AuroraSMPLauncher.SERVER_ADDRESS;
+        CompletableFuture<ServerStatus> result = new CompletableFuture<>();
+        ServerStatusMonitor monitor;
+        try {
+            // Uma consulta só: a próxima agendada nunca chega a rodar
+            monitor = ServerStatusMonitor.forAddress(address, SERVER_PING_TIMEOUT, Duration.ZERO, Duration.ofHours(1),
+                    Duration.ofHours(1), result::complete);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Endereço inválido: " + address);
+        }
+        try (monitor) {
+            monitor.start();
+            ServerStatus status = result.join();
+            JsonObject line = new JsonObject();
+            line.addProperty("online", status.isOnline());
+            if (status.isOnline()) {
+                line.addProperty("players", status.getPlayersOnline());
+                line.addProperty("max", status.getPlayersMax());
+                line.addProperty("latency", status.getLatencyMillis());
+                line.addProperty("motd", status.getMotd());
+                line.addProperty("version", status.getVersion());
+            } else {
+                line.addProperty("error", status.getError());
+            }
+            emit(monitor.getAddress(), "server", line);
+            return status.isOnline() ? 0 : 1;
+        }
+    }
+
+    // O campo "patch" da saída vai como está para a lista "patches" da entrada do
+    // arquivo novo no manifesto; sem --url, a url é o nome do arquivo gerado
+    private int createPatch(Options options) {
+        if (options.positional.size() != 3) {
+            throw new IllegalArgumentException("patch precisa de <antigo> <novo> <saída>");
+        }
+        Path oldFile = Paths.get(options.positional.get(0));
+        Path newFile = Paths.get(options.positional.get(1));
+        Path patchFile = Paths.get(options.positional.get(2));
+        String target = newFile.getFileName().toString();
+        try {
+            DeltaPatch.create(oldFile, newFile, patchFile);
+            // Confere o patch gerado do mesmo jeito que o cliente vai aplicá-lo
+            Path check = patchFile.resolveSibling(patchFile.getFileName() + ".check");
+            String sha256;
+            try {
+                sha256 = DeltaPatch.apply(oldFile, patchFile, check);
+            } finally {
+                Files.deleteIfExists(check);
+            }
+            if (!sha256.equalsIgnoreCase(Hashes.sha256(newFile))) {
+                throw new IOException("O patch gerado não reproduz " + newFile);
+            }
+
+            long size = Files.size(patchFile);
+            String url = options.url != null ? options.url : patchFile.getFileName().toString();
+            JsonObject line = new JsonObject();
+            line.add("patch", GSON.toJsonTree(new PackManifest.Patch(Hashes.sha256(oldFile), url, size,
+                    Hashes.sha256(patchFile))));
+            line.addProperty("sha256", sha256);
+            line.addProperty("fileSize", Files.size(newFile));
+            // O cliente ignora patches do tamanho do arquivo ou maiores
+            line.addProperty("worthwhile", size < Files.size(newFile));
+            emit(target, "patch", line);
+            return 0;
+        } catch (Exception e) {
+            emit(target, "error", Map.of("message", String.valueOf(e.getMessage())));
+            return 1;
+        }
+    }
+
+    private List<Instance> targets(Options options) {
+        Map<Path, Instance> targets = new LinkedHashMap<>();
+        if (options.all) {
+            for (Instance instance : instances.list()) {
+                targets.putIfAbsent(instance.getDir(), instance);
+            }
+        }
+        for (String id : options.instances) {
+            Instance instance = instances.get(id);
+            if (instance == null) {
+                throw new IllegalArgumentException("Instância inexistente: " + id);
+            }
+            targets.putIfAbsent(instance.getDir(), instance);
+        }
+        for (String dir : options.dirs) {
+            Path path = Paths.get(dir).toAbsolutePath().normalize();
+            String id = path.getFileName() != null ? path.getFileName().toString() : dir;
+            targets.putIfAbsent(path, instances.getSelected().copy(id, id, path));
+        }
+        if (targets.isEmpty()) {
+            Instance selected = instances.getSelected();
+            targets.put(selected.getDir(), selected);
+        }
+        return new ArrayList<>(targets.values());
+    }
+
+    private void reportProgress(Job job) {
+        if (job.done) {
+            return;
+        }
+        ProgressTracker.Snapshot snapshot = job.progress.snapshot();
+        if (snapshot.getTotal() <= 0 || snapshot.getDone() == job.lastReported) {
+            return;
+        }
+        job.lastReported = snapshot.getDone();
+        JsonObject line = new JsonObject();
+        line.addProperty("phase", job.current);
+        line.addProperty("done", snapshot.getDone());
+        line.addProperty("total", snapshot.getTotal());
+        line.addProperty("mbps", Math.round(snapshot.getMegabytesPerSecond() * 100) / 100.0);
+        line.addProperty("eta", snapshot.getEtaSeconds());
+        emit(job.id(), "progress", line);
+    }
+
+    private void emit(String target, String event, Map<String, ?> fields) {
+        emit(target, event, GSON.toJsonTree(fields).getAsJsonObject());
+    }
+
+    private void emit(String target, String event, JsonObject fields) {
+        JsonObject line = new JsonObject();
+        line.addProperty("t", millisSinceStart());
+        line.addProperty("target", target);
+        line.addProperty("event", event);
+        for (Map.Entry<String, com.google.gson.JsonElement> field : fields.entrySet()) {
+            line.add(field.getKey(), field.getValue());
+        }
+        String text = GSON.toJson(line);
+        synchronized (out) {
+            out.println(text);
+        }
+    }
+
+    private long millisSinceStart() {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // Um alvo em execução: tempo de cada etapa e progresso dos downloads
+    private final class Job {
+        final Instance instance;
+        final ProgressTracker progress = new ProgressTracker();
+        final Map<String, Long> phases = new LinkedHashMap<>();
+        final long started = System.nanoTime();
+        volatile String current;
+        volatile boolean done;
+        long lastReported = -1;
+
+        Job(Instance instance) {
+            this.instance = instance;
+        }
+
+        String id() {
+            return instance.getId();
+        }
+
+        <T> T phase(String name, Callable<T> step) throws Exception {
+            current = name;
+            long phaseStart = System.nanoTime();
+            try {
+                return step.call();
+            } finally {
+                long millis = (System.nanoTime() - phaseStart) / 1_000_000;
+                synchronized (phases) {
+                    phases.put(name, millis);
+                }
+                emit(id(), "phase", Map.of("phase", name, "millis", millis));
+            }
+        }
+    }
+
+    private static final class Options {
+        String command;
+        final List<String> positional = new ArrayList<>();
+        final List<String> instances = new ArrayList<>();
+        final List<String> dirs = new ArrayList<>();
+        boolean all;
+        int parallel = 4;
+        boolean force;
+        boolean full;
+        boolean repair;
+        boolean dryRun;
+        String user = "Player";
+        String name;
+        String from;
+        String server;
+        String url;
+
+        static Options parse(String[] args) {
+            if (args.length == 0) {
+                throw new IllegalArgumentException("Nenhum comando");
+            }
+            Options options = new Options();
+            options.command = args[0];
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--instance": options.instances.add(value(args, ++i, arg)); break;
+                    case "--dir": options.dirs.add(value(args, ++i, arg)); break;
+                    case "--all": options.all = true; break;
+                    case "--force": options.force = true; break;
+                    case "--full": options.full = true; break;
+                    case "--repair": options.repair = true; break;
+                    case "--dry-run": options.dryRun = true; break;
+                    case "--user": options.user = value(args, ++i, arg); break;
+                    case "--name": options.name = value(args, ++i, arg); break;
+                    case "--from": options.from = value(args, ++i, arg); break;
+                    case "--server": options.server = value(args, ++i, arg); break;
+                    case "--url": options.url = value(args, ++i, arg); break;
+                    case "--parallel":
+                        try {
+                            options.parallel = Integer.parseInt(value(args, ++i, arg));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("--parallel precisa de um número");
+                        }
+                        if (options.parallel < 1) {
+                            throw new IllegalArgumentException("--parallel deve ser >= 1");
+                        }
+                        break;
+                    default:
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Opção desconhecida: " + arg);
+                        }
+                        options.positional.add(arg);
+                }
+            }
+            return options;
+        }
+
+        private static String value(String[] args, int i, String option) {
+            if (i >= args.length) {
+                throw new IllegalArgumentException(option + " precisa de um valor");
+            }
+            return args[i];
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.aurorasmp.launcher.account;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+// Classe para representar uma conta
+public class Account {
+    private String username;
+    private String uuid;
+    private String accessToken;
+    private boolean premium;
+    private String microsoftAccountId;
+    private long tokenExpiresAt;
+
+    public Account(String username, boolean premium) {
+        this.username = username;
+        this.premium = premium;
+        
+        // Contas não premium usam o mesmo UUID que um servidor em modo offline calcula
+        if (!premium) {
+            this.uuid = offlineUuid(username);
+            this.accessToken = "";
+        }
+    }
+
+    // Usado ao carregar uma conta salva
+    public Account(String username, String uuid, String accessToken, boolean premium) {
+        this.username = username;
+        this.uuid = uuid;
+        this.accessToken = accessToken;
+        this.premium = premium;
+    }
+
+    // UUID v3 de "OfflinePlayer:<nome>", como o servidor faz: o mesmo nome é sempre a
+    // mesma conta, e o inventário e as permissões no servidor continuam valendo
+    public static String offlineUuid(String username) {
+        return UUID.nameUUIDFromBytes(("OfflinePlayer:" + username).getBytes(StandardCharsets.UTF_8))
+                .toString().replace("-", "");
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public boolean isPremium() {
+        return premium;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getMicrosoftAccountId() {
+        return microsoftAccountId;
+    }
+
+    public void setMicrosoftAccountId(String microsoftAccountId) {
+        this.microsoftAccountId = microsoftAccountId;
+    }
+
+    // Epoch em ms em que o accessToken expira; 0 quando desconhecido
+    public long getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    public void setTokenExpiresAt(long tokenExpiresAt) {
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+}
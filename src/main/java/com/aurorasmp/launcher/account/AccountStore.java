@@ -0,0 +1,300 @@
+package com.aurorasmp.launcher.account;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Guarda as contas em accounts.json:
+// {"active": "<uuid>", "accounts": [{"uuid": "...", "username": "...", "premium": true, "accessToken": "v1:..."}]}
+//
+// Na abertura só a conta ativa é lida (o resto do arquivo é pulado pelo leitor em
+// fluxo); a lista completa é carregada quando alguém pede. As gravações vão para
+// uma thread própria, que junta várias chamadas seguidas de save() em uma escrita
+// só, sempre em um arquivo temporário movido por cima do original.
+public class AccountStore implements Closeable {
+
+    private static final long SAVE_DELAY_MS = 300;
+    private static final long CLOSE_TIMEOUT_MS = 5_000;
+
+    private final Path file;
+    private final TokenCipher cipher;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-account-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Account active;
+    private List<Account> accounts;
+    private boolean savePending;
+
+    public AccountStore(Path file, TokenCipher cipher) {
+        this.file = file;
+        this.cipher = cipher;
+    }
+
+    // Lê só a entrada da conta ativa; null se não houver
+    public synchronized Account loadActive() throws IOException {
+        if (active != null || !Files.exists(file)) {
+            return active;
+        }
+
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(in)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+
+            String activeUuid = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("active") && reader.peek() == JsonToken.STRING) {
+                    activeUuid = reader.nextString();
+                } else if (name.equals("accounts") && activeUuid != null) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Account account = readAccount(reader, activeUuid);
+                        if (account != null) {
+                            active = account;
+                            return active;
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IllegalStateException e) {
+            throw new IOException("accounts.json inválido", e);
+        }
+        return active;
+    }
+
+    public synchronized List<Account> getAccounts() throws IOException {
+        ensureLoaded();
+        return Collections.unmodifiableList(new ArrayList<>(accounts));
+    }
+
+    public synchronized Account getActive() {
+        return active;
+    }
+
+    // Adiciona (ou substitui, pelo UUID) a conta e a torna ativa. Uma conta offline
+    // também substitui as offline de mesmo nome, salvas antes com UUID aleatório.
+    public synchronized void add(Account account) throws IOException {
+        ensureLoaded();
+        accounts.removeIf(existing -> (existing.getUuid() != null && existing.getUuid().equals(account.getUuid()))
+                || (!account.isPremium() && !existing.isPremium()
+                && existing.getUsername() != null && existing.getUsername().equals(account.getUsername())));
+        accounts.add(account);
+        active = account;
+        save();
+    }
+
+    public synchronized void remove(Account account) throws IOException {
+        ensureLoaded();
+        accounts.remove(account);
+        if (active == account) {
+            active = accounts.isEmpty() ? null : accounts.get(0);
+        }
+        save();
+    }
+
+    // Agenda a gravação; chamadas dentro de SAVE_DELAY_MS viram uma escrita só
+    public synchronized void save() {
+        if (savePending) {
+            return;
+        }
+        savePending = true;
+        writer.schedule(() -> {
+            try {
+                write();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Grava agora o que estiver pendente (usado ao fechar o launcher)
+    public void flush() throws IOException {
+        write();
+    }
+
+    // Espera a gravação agendada ou em andamento terminar antes da última: sem isso o
+    // launcher podia sair com a thread ainda escrevendo o temporário
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                System.err.println("Gravação das contas não terminou a tempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void write() throws IOException {
+        List<Account> snapshot;
+        Account activeSnapshot;
+        synchronized (this) {
+            if (!savePending) {
+                return;
+            }
+            savePending = false;
+            ensureLoaded();
+            snapshot = new ArrayList<>(accounts);
+            activeSnapshot = active;
+        }
+
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            // "active" vem primeiro para que loadActive ache a conta sem ler o resto
+            writer.name("active").value(activeSnapshot != null ? activeSnapshot.getUuid() : null);
+            writer.name("accounts").beginArray();
+            for (Account account : snapshot) {
+                writer.beginObject();
+                writer.name("uuid").value(account.getUuid());
+                writer.name("username").value(account.getUsername());
+                writer.name("premium").value(account.isPremium());
+                writer.name("accessToken").value(cipher.encrypt(account.getAccessToken()));
+                if (account.getMicrosoftAccountId() != null) {
+                    writer.name("microsoftAccountId").value(account.getMicrosoftAccountId());
+                    writer.name("tokenExpiresAt").value(account.getTokenExpiresAt());
+                }
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (accounts != null) {
+            return;
+        }
+        List<Account> loaded = new ArrayList<>();
+        if (Files.exists(file)) {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                 JsonReader reader = new JsonReader(in)) {
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals("accounts")) {
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                loaded.add(readAccount(reader, null));
+                            }
+                            reader.endArray();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                }
+            } catch (IllegalStateException e) {
+                throw new IOException("accounts.json inválido", e);
+            }
+        }
+
+        // A conta ativa já carregada precisa ser a mesma instância da lista
+        if (active != null) {
+            for (int i = 0; i < loaded.size(); i++) {
+                if (active.getUuid().equals(loaded.get(i).getUuid())) {
+                    loaded.set(i, active);
+                }
+            }
+        }
+        accounts = loaded;
+    }
+
+    // Lê uma conta do array. Com onlyUuid, as outras contas são puladas sem
+    // decodificar (nem descriptografar) o restante dos campos e o método retorna null.
+    private Account readAccount(JsonReader reader, String onlyUuid) throws IOException {
+        String uuid = null;
+        String username = null;
+        String token = null;
+        String microsoftAccountId = null;
+        long tokenExpiresAt = 0;
+        boolean premium = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "uuid":
+                    uuid = reader.nextString();
+                    if (onlyUuid != null && !onlyUuid.equals(uuid)) {
+                        while (reader.hasNext()) {
+                            reader.skipValue();
+                        }
+                        reader.endObject();
+                        return null;
+                    }
+                    break;
+                case "username":
+                    username = reader.nextString();
+                    break;
+                case "premium":
+                    premium = reader.nextBoolean();
+                    break;
+                case "accessToken":
+                    token = reader.nextString();
+                    break;
+                case "microsoftAccountId":
+                    microsoftAccountId = reader.nextString();
+                    break;
+                case "tokenExpiresAt":
+                    tokenExpiresAt = reader.nextLong();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (onlyUuid != null && !onlyUuid.equals(uuid)) {
+            return null;
+        }
+        String accessToken = cipher.decrypt(token);
+        if (accessToken == null) {
+            // Token ilegível: mantém a conta, mas vai ser preciso logar de novo
+            accessToken = "";
+        }
+        Account account = new Account(username, uuid, accessToken, premium);
+        account.setMicrosoftAccountId(microsoftAccountId);
+        account.setTokenExpiresAt(tokenExpiresAt);
+        return account;
+    }
+}
@@ -0,0 +1,89 @@
+package com.aurorasmp.launcher.account;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Criptografa os tokens das contas antes de irem para o disco (AES-256-GCM).
+// A chave fica em um arquivo separado, legível só pelo usuário onde o sistema
+// de arquivos permite, então copiar accounts.json sozinho não expõe os tokens.
+public class TokenCipher {
+
+    private static final String PREFIX = "v1:";
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    private TokenCipher(byte[] key) {
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    public static TokenCipher forKeyFile(Path keyFile) throws IOException {
+        if (Files.exists(keyFile)) {
+            byte[] key = Files.readAllBytes(keyFile);
+            if (key.length == KEY_BYTES) {
+                return new TokenCipher(key);
+            }
+        }
+
+        byte[] key = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(key);
+        Files.createDirectories(keyFile.getParent());
+        Files.write(keyFile, key);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(keyFile, PosixFilePermissions.fromString("rw-------"));
+        }
+        return new TokenCipher(key);
+    }
+
+    public String encrypt(String token) {
+        if (token == null || token.isEmpty()) {
+            return token;
+        }
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(token.getBytes(StandardCharsets.UTF_8));
+
+            ByteBuffer out = ByteBuffer.allocate(iv.length + encrypted.length);
+            out.put(iv).put(encrypted);
+            return PREFIX + Base64.getEncoder().encodeToString(out.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao criptografar o token", e);
+        }
+    }
+
+    // Retorna null se o token não puder ser lido (chave trocada ou arquivo adulterado)
+    public String decrypt(String stored) {
+        if (stored == null || stored.isEmpty()) {
+            return stored;
+        }
+        if (!stored.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            byte[] plain = cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES);
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
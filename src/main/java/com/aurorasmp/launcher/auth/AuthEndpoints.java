@@ -0,0 +1,61 @@
+package com.aurorasmp.launcher.auth;
+
+// Endereços usados na cadeia Microsoft → Xbox Live → XSTS → Minecraft. Ficam
+// separados para que a cadeia possa ser apontada para um servidor local de testes.
+public class AuthEndpoints {
+
+    public static final AuthEndpoints DEFAULT = new AuthEndpoints(
+            "https://login.microsoftonline.com/consumers/",
+            "https://user.auth.xboxlive.com/user/authenticate",
+            "https://xsts.auth.xboxlive.com/xsts/authorize",
+            "https://api.minecraftservices.com/authentication/login_with_xbox",
+            "https://api.minecraftservices.com/minecraft/profile");
+
+    private final String microsoftAuthority;
+    private final String xboxUserAuth;
+    private final String xstsAuthorize;
+    private final String minecraftLogin;
+    private final String minecraftProfile;
+
+    public AuthEndpoints(String microsoftAuthority, String xboxUserAuth, String xstsAuthorize,
+                         String minecraftLogin, String minecraftProfile) {
+        this.microsoftAuthority = microsoftAuthority;
+        this.xboxUserAuth = xboxUserAuth;
+        this.xstsAuthorize = xstsAuthorize;
+        this.minecraftLogin = minecraftLogin;
+        this.minecraftProfile = minecraftProfile;
+    }
+
+    // Mesmos caminhos dos serviços reais, mas todos sob uma única base (ex.: http://localhost:8080).
+    // O MSAL só aceita autoridades https: com uma base http o login da Microsoft continua
+    // indo para a Microsoft, e só Xbox Live, XSTS e Minecraft vão para o servidor local.
+    public static AuthEndpoints local(String baseUrl) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return new AuthEndpoints(
+                base.startsWith("https:") ? base + "/consumers/" : DEFAULT.microsoftAuthority,
+                base + "/user/authenticate",
+                base + "/xsts/authorize",
+                base + "/authentication/login_with_xbox",
+                base + "/minecraft/profile");
+    }
+
+    public String getMicrosoftAuthority() {
+        return microsoftAuthority;
+    }
+
+    public String getXboxUserAuth() {
+        return xboxUserAuth;
+    }
+
+    public String getXstsAuthorize() {
+        return xstsAuthorize;
+    }
+
+    public String getMinecraftLogin() {
+        return minecraftLogin;
+    }
+
+    public String getMinecraftProfile() {
+        return minecraftProfile;
+    }
+}
@@ -0,0 +1,29 @@
+package com.aurorasmp.launcher.auth;
+
+import java.io.IOException;
+
+// Falha em alguma etapa do login. A mensagem já é adequada para mostrar ao jogador.
+public class AuthException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean interactionRequired;
+
+    public AuthException(String message) {
+        this(message, false, null);
+    }
+
+    public AuthException(String message, Throwable cause) {
+        this(message, false, cause);
+    }
+
+    public AuthException(String message, boolean interactionRequired, Throwable cause) {
+        super(message, cause);
+        this.interactionRequired = interactionRequired;
+    }
+
+    // true quando a renovação silenciosa não é possível e o jogador precisa logar de novo
+    public boolean isInteractionRequired() {
+        return interactionRequired;
+    }
+}
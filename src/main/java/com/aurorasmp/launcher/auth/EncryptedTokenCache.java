@@ -0,0 +1,66 @@
+package com.aurorasmp.launcher.auth;
+
+import com.aurorasmp.launcher.account.TokenCipher;
+import com.microsoft.aad.msal4j.ITokenCacheAccessAspect;
+import com.microsoft.aad.msal4j.ITokenCacheAccessContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Cache de tokens do MSAL persistido em disco. Guardar o refresh token entre uma
+// execução e outra é o que permite renovar o login sem abrir o navegador de novo.
+// O conteúdo é criptografado com a mesma chave dos tokens de accounts.json.
+class EncryptedTokenCache implements ITokenCacheAccessAspect {
+
+    private final Path file;
+    private final TokenCipher cipher;
+    private boolean loaded;
+
+    EncryptedTokenCache(Path file, TokenCipher cipher) {
+        this.file = file;
+        this.cipher = cipher;
+    }
+
+    @Override
+    public synchronized void beforeCacheAccess(ITokenCacheAccessContext context) {
+        // O launcher é o único escritor do arquivo, então basta ler uma vez
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        try {
+            if (Files.exists(file)) {
+                String data = cipher.decrypt(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+                if (data != null && !data.isEmpty()) {
+                    context.tokenCache().deserialize(data);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Cache ilegível equivale a cache vazio: o jogador só precisa logar de novo
+            System.err.println("Cache de login ignorado: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void afterCacheAccess(ITokenCacheAccessContext context) {
+        if (!context.hasCacheChanged()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, cipher.encrypt(context.tokenCache().serialize()).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
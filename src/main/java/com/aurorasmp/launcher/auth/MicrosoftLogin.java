@@ -0,0 +1,78 @@
+package com.aurorasmp.launcher.auth;
+
+import com.aurorasmp.launcher.account.TokenCipher;
+import com.microsoft.aad.msal4j.IAccount;
+import com.microsoft.aad.msal4j.IAuthenticationResult;
+import com.microsoft.aad.msal4j.InteractiveRequestParameters;
+import com.microsoft.aad.msal4j.MsalInteractionRequiredException;
+import com.microsoft.aad.msal4j.PublicClientApplication;
+import com.microsoft.aad.msal4j.SilentParameters;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+// Login da conta Microsoft via MSAL. O primeiro login abre o navegador do sistema
+// (redirecionamento para localhost); depois disso o refresh token fica no cache
+// persistente e as renovações acontecem sem interação.
+class MicrosoftLogin {
+
+    private static final Set<String> SCOPES = Set.of("XboxLive.signin");
+    private static final URI REDIRECT_URI = URI.create("http://localhost");
+
+    private final PublicClientApplication app;
+
+    MicrosoftLogin(String clientId, AuthEndpoints endpoints, Path cacheFile, TokenCipher cipher,
+                   ExecutorService executor) throws MalformedURLException {
+        PublicClientApplication.Builder builder = PublicClientApplication.builder(clientId)
+                .authority(endpoints.getMicrosoftAuthority())
+                .setTokenCacheAccessAspect(new EncryptedTokenCache(cacheFile, cipher))
+                .executorService(executor);
+        if (!endpoints.getMicrosoftAuthority().equals(AuthEndpoints.DEFAULT.getMicrosoftAuthority())) {
+            // Servidor local de testes (https): não há descoberta de instância nem autoridade conhecida
+            builder.validateAuthority(false).instanceDiscovery(false);
+        }
+        this.app = builder.build();
+    }
+
+    CompletableFuture<IAuthenticationResult> interactive() {
+        return app.acquireToken(InteractiveRequestParameters.builder(REDIRECT_URI)
+                .scopes(SCOPES)
+                .build());
+    }
+
+    // Usa o token em cache ou o renova com o refresh token; nunca abre o navegador
+    CompletableFuture<IAuthenticationResult> silent(String homeAccountId) {
+        return app.getAccounts().thenCompose(accounts -> {
+            IAccount account = null;
+            for (IAccount candidate : accounts) {
+                if (candidate.homeAccountId().equals(homeAccountId)) {
+                    account = candidate;
+                }
+            }
+            if (account == null) {
+                throw new CompletionException(new AuthException(
+                        "Login expirado. Entre novamente com sua conta Microsoft.", true, null));
+            }
+            try {
+                return app.acquireTokenSilently(SilentParameters.builder(SCOPES, account).build());
+            } catch (MalformedURLException e) {
+                throw new CompletionException(e);
+            }
+        }).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof AuthException) {
+                throw new CompletionException(cause);
+            }
+            if (cause instanceof MsalInteractionRequiredException) {
+                throw new CompletionException(new AuthException(
+                        "Login expirado. Entre novamente com sua conta Microsoft.", true, cause));
+            }
+            throw new CompletionException(new AuthException("Não foi possível renovar o login da Microsoft.", cause));
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.aurorasmp.launcher.auth;
+
+import com.aurorasmp.launcher.account.TokenCipher;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.microsoft.aad.msal4j.IAuthenticationResult;
+
+import java.io.Closeable;
+import java.net.MalformedURLException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Ponto de entrada do login premium. Encadeia o MSAL com o XboxAuthenticator e
+// mantém o token do Minecraft sempre válido: a renovação é agendada para alguns
+// minutos antes de expirar, então o botão JOGAR não precisa esperar pela autenticação.
+public class MinecraftAuth implements Closeable {
+
+    // Renova com essa folga antes da expiração
+    private static final long REFRESH_MARGIN_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "aurora-auth-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-auth-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // null quando a etapa da Microsoft é substituída (testes)
+    private final MicrosoftLogin microsoft;
+    private final SilentLogin silent;
+    private final XboxAuthenticator xbox;
+    private final long refreshMarginMs;
+    private final long retryDelayMs;
+    private ScheduledFuture<?> scheduledRefresh;
+    // Muda a cada keepFresh/cancelRefresh; uma renovação que já estava em andamento
+    // confere a sua ao terminar e, se for de um ciclo cancelado, é descartada
+    private long refreshGeneration;
+
+    public MinecraftAuth(String clientId, Path tokenCacheFile, TokenCipher cipher) throws MalformedURLException {
+        this(clientId, tokenCacheFile, cipher, LauncherHttp.shared(), AuthEndpoints.DEFAULT);
+    }
+
+    public MinecraftAuth(String clientId, Path tokenCacheFile, TokenCipher cipher, LauncherHttp http,
+                         AuthEndpoints endpoints) throws MalformedURLException {
+        this.microsoft = new MicrosoftLogin(clientId, endpoints, tokenCacheFile, cipher, executor);
+        this.silent = accountId -> microsoft.silent(accountId).thenApply(IAuthenticationResult::accessToken);
+        this.xbox = new XboxAuthenticator(http, endpoints, executor);
+        this.refreshMarginMs = REFRESH_MARGIN_MS;
+        this.retryDelayMs = RETRY_DELAY_MS;
+    }
+
+    // A etapa da Microsoft trocada por silent: o MSAL só aceita autoridades https, então
+    // um servidor local de testes cobre apenas Xbox Live → XSTS → Minecraft
+    MinecraftAuth(SilentLogin silent, LauncherHttp http, AuthEndpoints endpoints, long refreshMarginMs,
+                  long retryDelayMs) {
+        this.microsoft = null;
+        this.silent = silent;
+        this.xbox = new XboxAuthenticator(http, endpoints, executor);
+        this.refreshMarginMs = refreshMarginMs;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    // Login completo; abre o navegador do sistema para a conta Microsoft
+    public CompletableFuture<MinecraftSession> login() {
+        return microsoft.interactive()
+                .thenCompose(result -> xbox.authenticate(result.accessToken(), result.account().homeAccountId()))
+                .exceptionally(MinecraftAuth::rethrow);
+    }
+
+    // Renova a sessão sem interação, a partir do cache do MSAL
+    public CompletableFuture<MinecraftSession> refresh(String microsoftAccountId) {
+        return silent.accessToken(microsoftAccountId)
+                .thenCompose(token -> xbox.authenticate(token, microsoftAccountId))
+                .exceptionally(MinecraftAuth::rethrow);
+    }
+
+    // Agenda a próxima renovação para antes de expiresAt. Cada renovação bem-sucedida
+    // é entregue a onRefreshed e agenda a seguinte; falhas de rede tentam de novo em
+    // um minuto, e se o MSAL exigir interação o ciclo para e onFailure é chamado.
+    // Depois de cancelRefresh (ou de um novo keepFresh) retornar, nenhum callback do
+    // ciclo anterior é chamado, mesmo que a renovação já estivesse em andamento.
+    public synchronized void keepFresh(String microsoftAccountId, long expiresAt,
+                                       Consumer<MinecraftSession> onRefreshed, Consumer<AuthException> onFailure) {
+        cancelRefresh();
+        long generation = refreshGeneration;
+        long delay = Math.max(0, expiresAt - refreshMarginMs - System.currentTimeMillis());
+        scheduledRefresh = scheduler.schedule(() -> refresh(microsoftAccountId).whenComplete((session, e) -> {
+            synchronized (this) {
+                if (generation != refreshGeneration) {
+                    return;
+                }
+                if (session != null) {
+                    onRefreshed.accept(session);
+                    keepFresh(microsoftAccountId, session.getExpiresAt(), onRefreshed, onFailure);
+                    return;
+                }
+                AuthException failure = unwrap(e);
+                if (failure.isInteractionRequired()) {
+                    onFailure.accept(failure);
+                } else {
+                    keepFresh(microsoftAccountId, System.currentTimeMillis() + refreshMarginMs + retryDelayMs,
+                            onRefreshed, onFailure);
+                }
+            }
+        }), delay, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void cancelRefresh() {
+        refreshGeneration++;
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    // Extrai a AuthException de uma falha vinda de um CompletableFuture
+    public static AuthException unwrap(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof AuthException) {
+            return (AuthException) cause;
+        }
+        return new AuthException("Falha no login: " + cause.getMessage(), cause);
+    }
+
+    private static MinecraftSession rethrow(Throwable e) {
+        throw new CompletionException(unwrap(e));
+    }
+
+    // Renovação silenciosa da conta Microsoft; devolve o access token
+    interface SilentLogin {
+        CompletableFuture<String> accessToken(String microsoftAccountId);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
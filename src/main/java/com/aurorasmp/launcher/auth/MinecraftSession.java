@@ -0,0 +1,42 @@
+package com.aurorasmp.launcher.auth;
+
+// Resultado da cadeia de login: perfil do jogo e o token dos serviços do Minecraft
+public class MinecraftSession {
+
+    private final String username;
+    private final String uuid;
+    private final String accessToken;
+    private final long expiresAt;
+    private final String microsoftAccountId;
+
+    public MinecraftSession(String username, String uuid, String accessToken, long expiresAt,
+                            String microsoftAccountId) {
+        this.username = username;
+        this.uuid = uuid;
+        this.accessToken = accessToken;
+        this.expiresAt = expiresAt;
+        this.microsoftAccountId = microsoftAccountId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    // Instante (epoch em ms) em que o token do Minecraft deixa de valer
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    // homeAccountId do MSAL, usado para renovar o login sem abrir o navegador
+    public String getMicrosoftAccountId() {
+        return microsoftAccountId;
+    }
+}
@@ -0,0 +1,177 @@
+package com.aurorasmp.launcher.auth;
+
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// Troca o token da Microsoft por uma sessão do Minecraft:
+// Xbox Live (user token) → XSTS (token para os serviços do Minecraft) → login_with_xbox → perfil.
+// Cada etapa é uma requisição que depende da anterior; a cadeia roda no executor
+// recebido e nunca na thread da interface.
+public class XboxAuthenticator {
+
+    private static final long XERR_NO_XBOX_ACCOUNT = 2148916233L;
+    private static final long XERR_COUNTRY_BLOCKED = 2148916235L;
+    private static final long XERR_CHILD_ACCOUNT = 2148916238L;
+
+    private static final Map<String, String> JSON_HEADERS = Map.of(
+            "Content-Type", "application/json",
+            "Accept", "application/json");
+
+    private final LauncherHttp http;
+    private final AuthEndpoints endpoints;
+    private final Executor executor;
+
+    public XboxAuthenticator(LauncherHttp http, AuthEndpoints endpoints, Executor executor) {
+        this.http = http;
+        this.endpoints = endpoints;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<MinecraftSession> authenticate(String microsoftToken, String microsoftAccountId) {
+        return CompletableFuture
+                .supplyAsync(() -> step(() -> xboxLive(microsoftToken)), executor)
+                .thenApplyAsync(xbl -> step(() -> xsts(xbl)), executor)
+                .thenApplyAsync(xsts -> step(() -> minecraftLogin(xsts)), executor)
+                .thenApplyAsync(login -> step(() -> profile(login, microsoftAccountId)), executor);
+    }
+
+    private XboxToken xboxLive(String microsoftToken) throws IOException {
+        JsonObject properties = new JsonObject();
+        properties.addProperty("AuthMethod", "RPS");
+        properties.addProperty("SiteName", "user.auth.xboxlive.com");
+        properties.addProperty("RpsTicket", "d=" + microsoftToken);
+
+        JsonObject body = new JsonObject();
+        body.add("Properties", properties);
+        body.addProperty("RelyingParty", "http://auth.xboxlive.com");
+        body.addProperty("TokenType", "JWT");
+
+        return XboxToken.from(postJson(endpoints.getXboxUserAuth(), body, "Xbox Live"));
+    }
+
+    private XboxToken xsts(XboxToken xbl) throws IOException {
+        JsonArray userTokens = new JsonArray();
+        userTokens.add(xbl.token);
+
+        JsonObject properties = new JsonObject();
+        properties.addProperty("SandboxId", "RETAIL");
+        properties.add("UserTokens", userTokens);
+
+        JsonObject body = new JsonObject();
+        body.add("Properties", properties);
+        body.addProperty("RelyingParty", "rp://api.minecraftservices.com/");
+        body.addProperty("TokenType", "JWT");
+
+        return XboxToken.from(postJson(endpoints.getXstsAuthorize(), body, "XSTS"));
+    }
+
+    private JsonObject minecraftLogin(XboxToken xsts) throws IOException {
+        JsonObject body = new JsonObject();
+        body.addProperty("identityToken", "XBL3.0 x=" + xsts.userHash + ";" + xsts.token);
+        return postJson(endpoints.getMinecraftLogin(), body, "Minecraft");
+    }
+
+    private MinecraftSession profile(JsonObject login, String microsoftAccountId) throws IOException {
+        if (!login.has("access_token")) {
+            throw new AuthException("Resposta inválida dos serviços do Minecraft.");
+        }
+        String accessToken = login.get("access_token").getAsString();
+        long expiresIn = login.has("expires_in") ? login.get("expires_in").getAsLong() : 86400;
+        long expiresAt = System.currentTimeMillis() + expiresIn * 1000;
+
+        HttpResponse<InputStream> response = http.get(endpoints.getMinecraftProfile(),
+                Map.of("Authorization", "Bearer " + accessToken, "Accept", "application/json"));
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == 404) {
+                throw new AuthException("Esta conta não possui o Minecraft: Java Edition.");
+            }
+            if (response.statusCode() != 200) {
+                throw new AuthException("Falha ao obter o perfil do Minecraft (HTTP " + response.statusCode() + ").");
+            }
+            JsonObject profile = parse(body);
+            return new MinecraftSession(profile.get("name").getAsString(), profile.get("id").getAsString(),
+                    accessToken, expiresAt, microsoftAccountId);
+        }
+    }
+
+    private JsonObject postJson(String url, JsonObject json, String service) throws IOException {
+        HttpResponse<InputStream> response = http.post(url, JSON_HEADERS, json.toString().getBytes(StandardCharsets.UTF_8));
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == 401 && service.equals("XSTS")) {
+                throw xstsError(parse(body));
+            }
+            if (response.statusCode() != 200) {
+                throw new AuthException("Falha na autenticação " + service + " (HTTP " + response.statusCode() + ").",
+                        response.statusCode() == 401, null);
+            }
+            return parse(body);
+        }
+    }
+
+    private static AuthException xstsError(JsonObject error) {
+        long code = error.has("XErr") ? error.get("XErr").getAsLong() : 0;
+        if (code == XERR_NO_XBOX_ACCOUNT) {
+            return new AuthException("Esta conta Microsoft não tem um perfil Xbox. Crie um em xbox.com e tente de novo.");
+        }
+        if (code == XERR_COUNTRY_BLOCKED) {
+            return new AuthException("O Xbox Live não está disponível no país desta conta.");
+        }
+        if (code == XERR_CHILD_ACCOUNT) {
+            return new AuthException("Contas de menores precisam ser adicionadas a uma Família Microsoft por um adulto.");
+        }
+        return new AuthException("O Xbox Live recusou o login (XErr " + code + ").");
+    }
+
+    private static JsonObject parse(InputStream body) throws IOException {
+        try {
+            return JsonParser.parseString(new String(body.readAllBytes(), StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new AuthException("Resposta inválida do servidor de autenticação.", e);
+        }
+    }
+
+    private static <T> T step(IoSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private static final class XboxToken {
+        final String token;
+        final String userHash;
+
+        XboxToken(String token, String userHash) {
+            this.token = token;
+            this.userHash = userHash;
+        }
+
+        static XboxToken from(JsonObject response) throws AuthException {
+            try {
+                String token = response.get("Token").getAsString();
+                String userHash = response.getAsJsonObject("DisplayClaims").getAsJsonArray("xui")
+                        .get(0).getAsJsonObject().get("uhs").getAsString();
+                return new XboxToken(token, userHash);
+            } catch (RuntimeException e) {
+                throw new AuthException("Resposta inválida do Xbox Live.", e);
+            }
+        }
+    }
+}
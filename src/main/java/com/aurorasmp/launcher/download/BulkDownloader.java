@@ -0,0 +1,308 @@
+package com.aurorasmp.launcher.download;
+
+import com.aurorasmp.launcher.http.HttpStatusException;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.metrics.BulkDownloadEvent;
+import com.aurorasmp.launcher.util.Hashes;
+import com.aurorasmp.launcher.util.Pools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Baixa muitos arquivos pequenos (bibliotecas, assets) de uma vez. Primeiro
+// confere o que já está no disco pelo índice (tamanho + data de modificação),
+// sem ler os arquivos; só os que não batem são verificados pelo SHA-1 ou baixados,
+// com um número limitado de downloads simultâneos sobre o HttpClient compartilhado.
+public class BulkDownloader {
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ATTEMPTS = 3;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final LauncherHttp http;
+    private final Path indexFile;
+    private final FileIndex index;
+    private final int concurrency;
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    public BulkDownloader(LauncherHttp http, Path indexFile) {
+        this(http, indexFile, Integer.getInteger("aurora.download.concurrency", DEFAULT_CONCURRENCY));
+    }
+
+    public BulkDownloader(LauncherHttp http, Path indexFile, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency deve ser >= 1");
+        }
+        this.http = http;
+        this.indexFile = indexFile;
+        this.index = FileIndex.load(indexFile);
+        this.concurrency = concurrency;
+    }
+
+    public Result fetch(Collection<RemoteFile> files, DownloadListener listener) throws IOException {
+        BulkDownloadEvent event = new BulkDownloadEvent();
+        event.start();
+        Result result = null;
+        try {
+            result = fetch(files, listener, event);
+            return result;
+        } finally {
+            if (result != null) {
+                event.setCounts(result.getSkipped(), result.getVerified(), result.getDownloaded());
+                event.setBytes(result.getBytesDownloaded());
+            }
+            event.finish(result != null);
+        }
+    }
+
+    private Result fetch(Collection<RemoteFile> files, DownloadListener listener, BulkDownloadEvent event)
+            throws IOException {
+        // O mesmo destino pode aparecer mais de uma vez (assets com conteúdo igual)
+        Map<Path, RemoteFile> unique = new LinkedHashMap<>();
+        for (RemoteFile file : files) {
+            unique.putIfAbsent(file.getPath().toAbsolutePath().normalize(), file);
+        }
+        event.setEntries(unique.size());
+
+        // Passo rápido: só metadados do sistema de arquivos
+        List<RemoteFile> pending = new ArrayList<>();
+        long pendingBytes = 0;
+        for (RemoteFile file : unique.values()) {
+            if (!isIndexed(file)) {
+                pending.add(file);
+                pendingBytes += Math.max(0, file.getSize());
+            }
+        }
+        Result result = new Result(unique.size() - pending.size());
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        listener.onStart(pendingBytes, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, pending.size()), r -> {
+            Thread thread = new Thread(r, "aurora-bulk-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        IOException failure = null;
+        boolean interrupted = false;
+        AtomicBoolean aborted = new AtomicBoolean();
+        try {
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (RemoteFile file : pending) {
+                futures.add(executor.submit(() -> {
+                    ensure(file, listener, result, aborted);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    IOException cause = e.getCause() instanceof IOException
+                            ? (IOException) e.getCause()
+                            : new IOException("Falha ao baixar arquivo", e.getCause());
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            aborted.set(true);
+            executor.shutdownNow();
+            // Os downloads em andamento ainda gravam .part e o índice: só salva depois que pararem
+            interrupted |= Pools.awaitTermination(executor, "download");
+            try {
+                // O que já foi conferido vale mesmo se algum arquivo falhou
+                index.save(indexFile);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        if (interrupted) {
+            throw new InterruptedIOException("Download interrompido");
+        }
+        if (failure != null) {
+            int failed = 1 + failure.getSuppressed().length;
+            throw new IOException(failed + " arquivo(s) não puderam ser baixados: " + failure.getMessage(), failure);
+        }
+        return result;
+    }
+
+    private boolean isIndexed(RemoteFile file) {
+        FileIndex.Entry known = index.get(file.getPath().toString());
+        if (known == null || (file.getSha1() != null && !file.getSha1().equalsIgnoreCase(known.sha1))) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file.getPath(), BasicFileAttributes.class);
+            return attrs.size() == known.size
+                    && attrs.lastModifiedTime().toMillis() == known.modified
+                    && (file.getSize() < 0 || attrs.size() == file.getSize());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void ensure(RemoteFile file, DownloadListener listener, Result result, AtomicBoolean aborted)
+            throws IOException {
+        Path target = file.getPath();
+
+        // Arquivo presente mas fora do índice (ex.: primeira execução): confere pelo hash
+        if (file.getSha1() != null) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(target, BasicFileAttributes.class);
+                if ((file.getSize() < 0 || attrs.size() == file.getSize())
+                        && Hashes.sha1(target).equalsIgnoreCase(file.getSha1())) {
+                    record(target, file.getSha1());
+                    listener.onBytes(Math.max(0, file.getSize()));
+                    result.verified.incrementAndGet();
+                    return;
+                }
+            } catch (NoSuchFileException e) {
+                // Não existe ainda: baixa
+            }
+        } else if (Files.isRegularFile(target) && file.getSize() < 0) {
+            // Sem hash nem tamanho publicados, não há como conferir: vale o que existe
+            result.verified.incrementAndGet();
+            return;
+        }
+
+        IOException last = null;
+        for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+            try {
+                download(file, listener, result, aborted);
+                result.downloaded.incrementAndGet();
+                return;
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                // Falha causada pelo cancelamento (ex.: conexão interrompida) não é tentada de novo
+                if (aborted.get()) {
+                    throw new InterruptedIOException("Download interrompido");
+                }
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    private void download(RemoteFile file, DownloadListener listener, Result result, AtomicBoolean aborted)
+            throws IOException {
+        Path target = file.getPath();
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".part");
+
+        MessageDigest digest = Hashes.sha1();
+        byte[] buffer = buffers.get();
+        long written = 0;
+        try {
+            HttpResponse<InputStream> response = http.get(file.getUrl());
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new HttpStatusException(file.getUrl(), response.statusCode());
+                }
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        // O corpo do HttpClient ignora a interrupção da thread: confere a cada bloco
+                        if (aborted.get()) {
+                            throw new InterruptedIOException("Download interrompido");
+                        }
+                        out.write(buffer, 0, read);
+                        digest.update(buffer, 0, read);
+                        written += read;
+                        listener.onBytes(read);
+                    }
+                }
+            }
+
+            String sha1 = Hashes.toHex(digest.digest());
+            if (file.getSize() >= 0 && written != file.getSize()) {
+                throw new IOException("Tamanho inválido para " + file.getUrl() + ": " + written + " de " + file.getSize());
+            }
+            if (file.getSha1() != null && !sha1.equalsIgnoreCase(file.getSha1())) {
+                throw new IOException("Hash inválido para " + file.getUrl());
+            }
+
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            record(target, sha1);
+            result.bytes.addAndGet(written);
+        } catch (IOException e) {
+            // Desconta do progresso o que foi baixado nesta tentativa
+            listener.onBytes(-written);
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    private void record(Path file, String sha1) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        index.put(file.toString(), attrs.size(), attrs.lastModifiedTime().toMillis(), sha1);
+    }
+
+    public static final class Result {
+        private final int skipped;
+        private final AtomicInteger verified = new AtomicInteger();
+        private final AtomicInteger downloaded = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+
+        Result(int skipped) {
+            this.skipped = skipped;
+        }
+
+        // Arquivos aceitos só pelo índice, sem ler o conteúdo
+        public int getSkipped() {
+            return skipped;
+        }
+
+        // Arquivos que já existiam e foram conferidos pelo hash
+        public int getVerified() {
+            return verified.get();
+        }
+
+        public int getDownloaded() {
+            return downloaded.get();
+        }
+
+        public long getBytesDownloaded() {
+            return bytes.get();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.aurorasmp.launcher.download;
+
+// Recebe o progresso de um download. Pode ser chamado de várias threads ao mesmo tempo.
+public interface DownloadListener {
+
+    DownloadListener NONE = new DownloadListener() {
+        @Override
+        public void onStart(long totalBytes, long alreadyDownloaded) {
+        }
+
+        @Override
+        public void onBytes(long bytes) {
+        }
+    };
+
+    // totalBytes é -1 quando o servidor não informa o tamanho
+    void onStart(long totalBytes, long alreadyDownloaded);
+
+    void onBytes(long bytes);
+}
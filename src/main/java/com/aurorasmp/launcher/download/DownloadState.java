@@ -0,0 +1,119 @@
+package com.aurorasmp.launcher.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+// Estado persistido ao lado do arquivo parcial (".state"), usado para retomar
+// um download segmentado depois de uma falha ou de o launcher ser fechado.
+final class DownloadState {
+
+    final String url;
+    final long length;
+    final String validator; // ETag ou Last-Modified do servidor, se houver
+    final long[] starts;
+    final long[] ends;      // inclusivo
+    final long[] written;
+
+    DownloadState(String url, long length, String validator, int segments) {
+        this.url = url;
+        this.length = length;
+        this.validator = validator == null ? "" : validator;
+        this.starts = new long[segments];
+        this.ends = new long[segments];
+        this.written = new long[segments];
+
+        long segmentSize = length / segments;
+        for (int i = 0; i < segments; i++) {
+            starts[i] = i * segmentSize;
+            ends[i] = i == segments - 1 ? length - 1 : (i + 1) * segmentSize - 1;
+        }
+    }
+
+    private DownloadState(String url, long length, String validator, long[] starts, long[] ends, long[] written) {
+        this.url = url;
+        this.length = length;
+        this.validator = validator;
+        this.starts = starts;
+        this.ends = ends;
+        this.written = written;
+    }
+
+    int segments() {
+        return starts.length;
+    }
+
+    synchronized long written(int segment) {
+        return written[segment];
+    }
+
+    synchronized void advance(int segment, long bytes) {
+        written[segment] += bytes;
+    }
+
+    synchronized long totalWritten() {
+        long total = 0;
+        for (long w : written) {
+            total += w;
+        }
+        return total;
+    }
+
+    long segmentLength(int segment) {
+        return ends[segment] - starts[segment] + 1;
+    }
+
+    boolean matches(String url, long length, String validator) {
+        return this.url.equals(url)
+                && this.length == length
+                && this.validator.equals(validator == null ? "" : validator);
+    }
+
+    // Grava em um arquivo temporário e move por cima, para nunca deixar um estado corrompido
+    synchronized void save(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("url", url);
+        props.setProperty("length", Long.toString(length));
+        props.setProperty("validator", validator);
+        props.setProperty("segments", Integer.toString(starts.length));
+        for (int i = 0; i < starts.length; i++) {
+            props.setProperty("segment." + i, starts[i] + "," + ends[i] + "," + written[i]);
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            props.store(out, null);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Retorna null se o arquivo não existir ou estiver ilegível
+    static DownloadState load(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            Properties props = new Properties();
+            props.load(in);
+
+            int segments = Integer.parseInt(props.getProperty("segments"));
+            long[] starts = new long[segments];
+            long[] ends = new long[segments];
+            long[] written = new long[segments];
+            for (int i = 0; i < segments; i++) {
+                String[] parts = props.getProperty("segment." + i).split(",");
+                starts[i] = Long.parseLong(parts[0]);
+                ends[i] = Long.parseLong(parts[1]);
+                written[i] = Long.parseLong(parts[2]);
+            }
+            return new DownloadState(props.getProperty("url"), Long.parseLong(props.getProperty("length")),
+                    props.getProperty("validator", ""), starts, ends, written);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aurorasmp.launcher.download;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// Índice dos arquivos já conferidos pelo BulkDownloader (caminho → tamanho, data
+// de modificação e SHA-1). Se tamanho e data continuam iguais, o arquivo não
+// precisa ser lido de novo para saber que está íntegro.
+class FileIndex {
+
+    private static final Gson GSON = new Gson();
+
+    private Map<String, Entry> files = new HashMap<>();
+
+    static FileIndex load(Path file) {
+        if (!Files.exists(file)) {
+            return new FileIndex();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            FileIndex index = GSON.fromJson(reader, FileIndex.class);
+            if (index == null || index.files == null) {
+                return new FileIndex();
+            }
+            return index;
+        } catch (IOException | JsonParseException e) {
+            // Índice corrompido: os arquivos voltam a ser conferidos pelo hash
+            e.printStackTrace();
+            return new FileIndex();
+        }
+    }
+
+    synchronized void save(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    synchronized Entry get(String path) {
+        return files.get(path);
+    }
+
+    synchronized void put(String path, long size, long modified, String sha1) {
+        files.put(path, new Entry(size, modified, sha1));
+    }
+
+    static final class Entry {
+        long size;
+        long modified;
+        String sha1;
+
+        Entry(long size, long modified, String sha1) {
+            this.size = size;
+            this.modified = modified;
+            this.sha1 = sha1;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.aurorasmp.launcher.download;
+
+import com.aurorasmp.launcher.util.Hashes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+
+// Calcula o SHA-256 do arquivo enquanto os segmentos chegam fora de ordem.
+// A "fronteira" é o fim do trecho contíguo já gravado desde o byte 0: os bytes do
+// segmento que está na fronteira entram no hash direto do buffer de rede; os que
+// chegaram adiantados são lidos de volta (do cache de páginas) quando a fronteira
+// os alcança. O mesmo trecho contíguo pode ser lido em ordem por um InputStream,
+// o que permite extrair o ZIP enquanto o final ainda está sendo baixado.
+final class HashingFrontier {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long[] starts;
+    private final long[] writtenEnd;
+    private final MessageDigest digest = Hashes.sha256();
+    private final ByteBuffer catchUpBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private long frontier;
+    private int segment;
+    private boolean finished;
+    private IOException failure;
+
+    HashingFrontier(FileChannel channel, long[] starts, long[] written) {
+        this.channel = channel;
+        this.starts = starts.clone();
+        this.writtenEnd = new long[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            writtenEnd[i] = starts[i] + written[i];
+        }
+    }
+
+    // Ao retomar um download, os bytes já existentes precisam entrar no hash
+    synchronized void initialize() throws IOException {
+        catchUp();
+        notifyAll();
+    }
+
+    // Chamado pelo segmento logo depois de gravar os bytes de data em position
+    synchronized void onWritten(int segment, long position, ByteBuffer data) throws IOException {
+        int length = data.remaining();
+        if (position == frontier) {
+            digest.update(data);
+            frontier += length;
+        }
+        writtenEnd[segment] = position + length;
+        catchUp();
+        notifyAll();
+    }
+
+    synchronized String finish(long expectedLength) throws IOException {
+        catchUp();
+        if (expectedLength >= 0 && frontier != expectedLength) {
+            throw new IOException("Download incompleto: " + frontier + " de " + expectedLength + " bytes");
+        }
+        finished = true;
+        notifyAll();
+        return Hashes.toHex(digest.digest());
+    }
+
+    synchronized void fail(IOException e) {
+        failure = e;
+        notifyAll();
+    }
+
+    private void catchUp() throws IOException {
+        while (true) {
+            while (segment + 1 < starts.length && frontier >= starts[segment + 1]) {
+                segment++;
+            }
+            long available = writtenEnd[segment] - frontier;
+            if (available <= 0) {
+                return;
+            }
+
+            while (available > 0) {
+                catchUpBuffer.clear();
+                if (available < catchUpBuffer.capacity()) {
+                    catchUpBuffer.limit((int) available);
+                }
+                int read = channel.read(catchUpBuffer, frontier);
+                if (read <= 0) {
+                    throw new IOException("Falha ao reler o arquivo parcial na posição " + frontier);
+                }
+                catchUpBuffer.flip();
+                digest.update(catchUpBuffer);
+                frontier += read;
+                available -= read;
+            }
+        }
+    }
+
+    // Espera até haver bytes contíguos depois de position; retorna o limite disponível ou -1 no fim
+    private synchronized long awaitAvailable(long position) throws IOException {
+        try {
+            while (position >= frontier && !finished && failure == null) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Leitura do download interrompida", e);
+        }
+        if (failure != null) {
+            throw new IOException("O download falhou", failure);
+        }
+        return position >= frontier ? -1 : frontier;
+    }
+
+    InputStream openStream() {
+        return new InputStream() {
+            private long position;
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                long limit = awaitAvailable(position);
+                if (limit < 0) {
+                    return -1;
+                }
+                ByteBuffer target = ByteBuffer.wrap(b, off, (int) Math.min(len, limit - position));
+                int read = channel.read(target, position);
+                if (read < 0) {
+                    return -1;
+                }
+                position += read;
+                return read;
+            }
+        };
+    }
+}
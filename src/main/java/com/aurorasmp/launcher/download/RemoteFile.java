@@ -0,0 +1,36 @@
+package com.aurorasmp.launcher.download;
+
+import java.nio.file.Path;
+
+// Um arquivo a baixar: destino, origem e, quando conhecidos, SHA-1 e tamanho
+public class RemoteFile {
+
+    private final String url;
+    private final String sha1;
+    private final long size;
+    private final Path path;
+
+    // sha1 pode ser null e size pode ser -1 quando a origem não os publica
+    public RemoteFile(String url, String sha1, long size, Path path) {
+        this.url = url;
+        this.sha1 = sha1;
+        this.size = size;
+        this.path = path;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getSha1() {
+        return sha1;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,486 @@
+package com.aurorasmp.launcher.download;
+
+import com.aurorasmp.launcher.http.HttpStatusException;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.metrics.DownloadEvent;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Baixa um arquivo em vários segmentos HTTP Range em paralelo, gravando cada um
+// direto na sua posição de um arquivo pré-alocado. O progresso de cada segmento
+// é salvo em "<destino>.state", então uma falha ou reinício continua de onde parou.
+public class SegmentedDownloader {
+
+    public static final int DEFAULT_SEGMENTS = 4;
+    public static final int DEFAULT_RETRIES = 5;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+    private static final long CHECKPOINT_BYTES = 4L * 1024 * 1024;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+    private static final long INITIAL_BACKOFF_MS = 500;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final LauncherHttp http;
+    private final int segments;
+    private final int maxRetries;
+
+    public SegmentedDownloader() {
+        this(LauncherHttp.downloads(), DEFAULT_SEGMENTS, DEFAULT_RETRIES);
+    }
+
+    public SegmentedDownloader(int segments, int maxRetries) {
+        this(LauncherHttp.downloads(), segments, maxRetries);
+    }
+
+    public SegmentedDownloader(LauncherHttp http, int segments, int maxRetries) {
+        if (segments < 1) {
+            throw new IllegalArgumentException("segments deve ser >= 1");
+        }
+        this.http = http;
+        this.segments = segments;
+        this.maxRetries = maxRetries;
+    }
+
+    public String download(String url, Path dest, DownloadListener listener) throws IOException {
+        return download(url, dest, listener, null, null);
+    }
+
+    // Baixa o arquivo calculando o SHA-256 enquanto os bytes chegam, sem reler o
+    // arquivo no final. Se expectedSha256 não for null e o hash não bater, o arquivo
+    // parcial é descartado. Se streamConsumer não for null, ele recebe o arquivo em
+    // ordem, em outra thread, à medida que o trecho inicial fica completo.
+    // Retorna o SHA-256 do arquivo baixado.
+    public String download(String url, Path dest, DownloadListener listener, String expectedSha256,
+                           StreamConsumer streamConsumer) throws IOException {
+        DownloadEvent event = new DownloadEvent(url);
+        event.start();
+        boolean success = false;
+        try {
+            String sha256 = download(url, dest, listener, expectedSha256, streamConsumer, event);
+            success = true;
+            return sha256;
+        } finally {
+            event.finish(success);
+        }
+    }
+
+    private String download(String url, Path dest, DownloadListener listener, String expectedSha256,
+                            StreamConsumer streamConsumer, DownloadEvent event) throws IOException {
+        Path partFile = dest.resolveSibling(dest.getFileName() + ".part");
+        Path stateFile = dest.resolveSibling(dest.getFileName() + ".state");
+
+        Probe probe = probe(url);
+        // Sem suporte a Range não tem como retomar: baixa tudo em um fluxo só
+        boolean segmented = probe.rangesSupported && probe.length > 0;
+
+        DownloadState state = null;
+        boolean resumable = false;
+        if (segmented) {
+            state = DownloadState.load(stateFile);
+            resumable = state != null
+                    && state.matches(url, probe.length, probe.validator)
+                    && Files.exists(partFile)
+                    && Files.size(partFile) == probe.length;
+            if (!resumable) {
+                int count = (int) Math.max(1, Math.min(segments, probe.length / MIN_SEGMENT_SIZE));
+                state = new DownloadState(url, probe.length, probe.validator, count);
+                Files.deleteIfExists(partFile);
+            }
+        } else {
+            Files.deleteIfExists(stateFile);
+            Files.deleteIfExists(partFile);
+        }
+
+        String sha256;
+        IOException[] consumerFailure = new IOException[1];
+        try (FileChannel channel = FileChannel.open(partFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            HashingFrontier frontier;
+            event.setSegments(segmented ? state.starts.length : 1);
+            event.setResumed(resumable);
+            long alreadyWritten = resumable ? state.totalWritten() : 0;
+            if (segmented) {
+                if (!resumable) {
+                    // Pré-aloca o arquivo inteiro para que cada segmento grave na sua posição
+                    channel.write(ByteBuffer.allocate(1), probe.length - 1);
+                    state.save(stateFile);
+                }
+                frontier = new HashingFrontier(channel, state.starts, state.written);
+            } else {
+                frontier = new HashingFrontier(channel, new long[] {0}, new long[] {0});
+            }
+            frontier.initialize();
+
+            Thread consumerThread = startConsumer(frontier, streamConsumer, consumerFailure);
+            try {
+                if (segmented) {
+                    listener.onStart(probe.length, state.totalWritten());
+                    fetchSegments(url, channel, state, stateFile, listener, frontier, probe.ifRange);
+                } else {
+                    downloadSingle(url, channel, probe.length, listener, frontier);
+                }
+                sha256 = frontier.finish(segmented ? probe.length : -1);
+                event.setBytes(channel.size() - alreadyWritten);
+            } catch (IOException e) {
+                if (e instanceof RemoteChangedException) {
+                    // Sem o estado, a próxima tentativa recomeça do zero com a versão nova
+                    Files.deleteIfExists(stateFile);
+                }
+                frontier.fail(e);
+                throw e;
+            } catch (RuntimeException | Error e) {
+                // Falha no listener, no limite de taxa ou na fronteira: o consumidor
+                // ainda espera bytes e o join abaixo ficaria parado para sempre
+                frontier.fail(new IOException("Download interrompido: " + e, e));
+                throw e;
+            } finally {
+                // O consumidor lê do mesmo canal: precisa terminar antes de fechá-lo
+                joinQuietly(consumerThread);
+            }
+            channel.force(true);
+        }
+
+        if (expectedSha256 != null && !sha256.equalsIgnoreCase(expectedSha256)) {
+            Files.deleteIfExists(partFile);
+            Files.deleteIfExists(stateFile);
+            throw new IOException("SHA-256 do download não confere: esperado " + expectedSha256 + ", obtido " + sha256);
+        }
+
+        moveIntoPlace(partFile, dest);
+        Files.deleteIfExists(stateFile);
+
+        if (consumerFailure[0] != null) {
+            throw consumerFailure[0];
+        }
+        return sha256;
+    }
+
+    private static Thread startConsumer(HashingFrontier frontier, StreamConsumer consumer, IOException[] failure) {
+        if (consumer == null) {
+            return null;
+        }
+        Thread thread = new Thread(() -> {
+            try (InputStream in = frontier.openStream()) {
+                consumer.consume(in);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        }, "aurora-download-stream-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    // Espera o consumidor mesmo com a thread interrompida (cancelamento da tarefa):
+    // ele lê do canal que vamos fechar. A interrupção é restaurada no fim.
+    private static void joinQuietly(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fetchSegments(String url, FileChannel channel, DownloadState state, Path stateFile,
+                               DownloadListener listener, HashingFrontier frontier, String ifRange)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(state.segments(), r -> {
+            Thread thread = new Thread(r, "aurora-download-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Não interrompemos as threads: interromper uma escrita no FileChannel fecha o canal para todas
+        AtomicBoolean aborted = new AtomicBoolean();
+        boolean interrupted = false;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < state.segments(); i++) {
+                final int segment = i;
+                futures.add(executor.submit(() -> {
+                    fetchSegment(url, channel, state, segment, stateFile, listener, frontier, ifRange, aborted);
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    aborted.set(true);
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IOException("Falha ao baixar segmento", cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            // O cancelamento de uma tarefa interrompe esta thread. Com a interrupção
+            // pendente a espera abaixo voltaria na hora, e o force do checkpoint lançaria
+            // ClosedByInterruptException, fechando o canal sob os segmentos que ainda gravam.
+            // Por isso ela é guardada e só restaurada depois do checkpoint.
+            interrupted |= Thread.interrupted();
+            aborted.set(true);
+            executor.shutdown();
+            interrupted |= awaitTermination(executor);
+            try {
+                // Salva o que já foi gravado para a próxima tentativa continuar daqui
+                checkpoint(channel, state, stateFile);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        if (interrupted) {
+            throw new InterruptedIOException("Download interrompido");
+        }
+    }
+
+    private void fetchSegment(String url, FileChannel channel, DownloadState state, int segment,
+                              Path stateFile, DownloadListener listener, HashingFrontier frontier,
+                              String ifRange, AtomicBoolean aborted)
+            throws IOException {
+        int attempt = 0;
+        while (true) {
+            long done = state.written(segment);
+            long remaining = state.segmentLength(segment) - done;
+            if (remaining <= 0) {
+                return;
+            }
+
+            long position = state.starts[segment] + done;
+            try {
+                // If-Range: se o arquivo mudou no servidor desde a sonda (ou desde a sessão
+                // em que o estado foi salvo), a resposta é 200 com o arquivo novo, e não um
+                // pedaço dele que seria costurado ao que já está gravado
+                Map<String, String> headers = new HashMap<>();
+                headers.put("Range", "bytes=" + position + "-" + state.ends[segment]);
+                if (ifRange != null) {
+                    headers.put("If-Range", ifRange);
+                }
+                HttpResponse<InputStream> response = http.get(url, headers);
+
+                try (InputStream in = response.body()) {
+                    if (response.statusCode() == 200 && ifRange != null) {
+                        throw new RemoteChangedException(url);
+                    }
+                    if (response.statusCode() != 206) {
+                        throw new IOException("Servidor não respeitou o Range (HTTP " + response.statusCode() + ")");
+                    }
+
+                    byte[] data = new byte[BUFFER_SIZE];
+                    ByteBuffer buffer = ByteBuffer.wrap(data);
+                    long sinceCheckpoint = 0;
+                    int read;
+
+                    while (remaining > 0 && (read = in.read(data, 0, (int) Math.min(data.length, remaining))) != -1) {
+                        buffer.clear().limit(read);
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                        frontier.onWritten(segment, position - read, ByteBuffer.wrap(data, 0, read));
+                        state.advance(segment, read);
+                        listener.onBytes(read);
+                        remaining -= read;
+
+                        sinceCheckpoint += read;
+                        if (sinceCheckpoint >= CHECKPOINT_BYTES) {
+                            checkpoint(channel, state, stateFile);
+                            sinceCheckpoint = 0;
+                        }
+                        if (aborted.get()) {
+                            throw new InterruptedIOException("Download interrompido");
+                        }
+                    }
+                }
+
+                if (remaining > 0) {
+                    throw new EOFException("Conexão encerrada antes do fim do segmento " + segment);
+                }
+                return;
+            } catch (InterruptedIOException | RemoteChangedException e) {
+                throw e;
+            } catch (IOException e) {
+                // Se a tentativa avançou, a conexão está funcionando: zera a contagem
+                if (state.written(segment) > done) {
+                    attempt = 0;
+                }
+                if (++attempt > maxRetries || aborted.get()) {
+                    throw e;
+                }
+                backoff(INITIAL_BACKOFF_MS << Math.min(attempt - 1, 5), aborted);
+            }
+        }
+    }
+
+    private void downloadSingle(String url, FileChannel channel, long length, DownloadListener listener,
+                                HashingFrontier frontier) throws IOException {
+        HttpResponse<InputStream> response = http.get(url);
+        try (InputStream in = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new HttpStatusException(url, response.statusCode());
+            }
+            listener.onStart(length, 0);
+
+            byte[] data = new byte[BUFFER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = 0;
+            int read;
+            while ((read = in.read(data)) != -1) {
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                frontier.onWritten(0, position - read, ByteBuffer.wrap(data, 0, read));
+                listener.onBytes(read);
+            }
+        }
+    }
+
+    private void checkpoint(FileChannel channel, DownloadState state, Path stateFile) throws IOException {
+        synchronized (state) {
+            if (!channel.isOpen()) {
+                return;
+            }
+            // Garante que os bytes estão no disco antes de registrá-los no estado
+            channel.force(false);
+            state.save(stateFile);
+        }
+    }
+
+    // Pede só o primeiro byte para descobrir o tamanho e se o servidor aceita Range
+    private Probe probe(String url) throws IOException {
+        HttpResponse<InputStream> response = http.get(url, Map.of("Range", "bytes=0-0"));
+        try {
+            HttpHeaders headers = response.headers();
+            int code = response.statusCode();
+            String etag = headers.firstValue("ETag").orElse(null);
+            String lastModified = headers.firstValue("Last-Modified").orElse(null);
+            String validator = etag != null ? etag : lastModified;
+            // If-Range só aceita ETag forte ou data
+            String ifRange = etag != null && !etag.startsWith("W/") ? etag : lastModified;
+
+            if (code == 206) {
+                String contentRange = headers.firstValue("Content-Range").orElse(null);
+                long length = -1;
+                if (contentRange != null && contentRange.contains("/")) {
+                    String total = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+                    if (!total.equals("*")) {
+                        length = Long.parseLong(total);
+                    }
+                }
+                return new Probe(length, true, validator, ifRange);
+            }
+            if (code >= 400) {
+                throw new HttpStatusException(url, code);
+            }
+            return new Probe(headers.firstValueAsLong("Content-Length").orElse(-1), false, validator, null);
+        } finally {
+            response.body().close();
+        }
+    }
+
+    // Espera os segmentos terminarem sem ser interrompível: eles gravam no canal e no
+    // estado que o chamador vai salvar e fechar. Retorna se houve interrupção no caminho.
+    private static boolean awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return interrupted;
+                }
+                // Um segmento preso numa leitura é derrubado pelo timeout de leitura do LauncherHttp
+                System.err.println("Aguardando os segmentos do download terminarem...");
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+
+    // Espera da nova tentativa de um segmento; volta logo se o download foi abortado
+    private static void backoff(long millis, AtomicBoolean aborted) throws InterruptedIOException {
+        long deadline = System.currentTimeMillis() + millis;
+        try {
+            while (!aborted.get() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(Math.min(100, Math.max(1, deadline - System.currentTimeMillis())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download interrompido");
+        }
+        if (aborted.get()) {
+            throw new InterruptedIOException("Download interrompido");
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class Probe {
+        final long length;
+        final boolean rangesSupported;
+        final String validator;
+        // Valor do If-Range dos pedidos de segmento, ou null se o servidor não deu um utilizável
+        final String ifRange;
+
+        Probe(long length, boolean rangesSupported, String validator, String ifRange) {
+            this.length = length;
+            this.rangesSupported = rangesSupported;
+            this.validator = validator;
+            this.ifRange = ifRange;
+        }
+    }
+
+    // O arquivo foi trocado no servidor no meio do download; tentar de novo o mesmo segmento não adianta
+    private static final class RemoteChangedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        RemoteChangedException(String url) {
+            super("O arquivo mudou no servidor durante o download: " + url);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.aurorasmp.launcher.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Lê o arquivo em ordem enquanto ele ainda está sendo baixado. O InputStream só
+// entrega bytes que já chegaram de forma contígua e bloqueia esperando o resto.
+public interface StreamConsumer {
+
+    void consume(InputStream in) throws IOException;
+}
@@ -0,0 +1,82 @@
+package com.aurorasmp.launcher.download;
+
+// Limita a taxa de download somando os bytes de todos os downloads que passam pelo
+// mesmo Throttle (balde de fichas). O limite age no próprio onBytes: a thread que
+// leu um bloco espera antes de ler o próximo, então a conexão desacelera de verdade
+// e a gravação em disco acompanha. O limite pode mudar a qualquer momento, ex.:
+// uma atualização em segundo plano passa a ir na velocidade máxima quando o
+// jogador clica em JOGAR.
+public class Throttle {
+
+    public static final long UNLIMITED = 0;
+
+    // Rajada máxima acumulada enquanto ninguém baixa, em fração de segundo
+    private static final double BURST_SECONDS = 0.25;
+
+    private long bytesPerSecond;
+    private double available;
+    private long lastRefill = System.nanoTime();
+
+    public Throttle(long bytesPerSecond) {
+        setRate(bytesPerSecond);
+    }
+
+    // UNLIMITED (0) tira o limite e libera quem está esperando
+    public synchronized void setRate(long bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new IllegalArgumentException("bytesPerSecond deve ser >= 0");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        available = 0;
+        lastRefill = System.nanoTime();
+        notifyAll();
+    }
+
+    public synchronized long getRate() {
+        return bytesPerSecond;
+    }
+
+    // Listener que repassa o progresso para delegate e segura a thread conforme o limite
+    public DownloadListener wrap(DownloadListener delegate) {
+        return new DownloadListener() {
+            @Override
+            public void onStart(long totalBytes, long alreadyDownloaded) {
+                delegate.onStart(totalBytes, alreadyDownloaded);
+            }
+
+            @Override
+            public void onBytes(long bytes) {
+                delegate.onBytes(bytes);
+                consume(bytes);
+            }
+        };
+    }
+
+    // Desconta os bytes e espera até a taxa voltar ao limite
+    synchronized void consume(long bytes) {
+        if (bytesPerSecond == UNLIMITED || bytes <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        available = Math.min(bytesPerSecond * BURST_SECONDS,
+                available + (now - lastRefill) * bytesPerSecond / 1e9);
+        lastRefill = now;
+        available -= bytes;
+        if (available >= 0) {
+            return;
+        }
+
+        // Quem chegar enquanto esta thread espera fica com um prazo ainda maior
+        long deadline = now + (long) (-available * 1e9 / bytesPerSecond);
+        long remaining;
+        while (bytesPerSecond != UNLIMITED && (remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            } catch (InterruptedException e) {
+                // O downloader trata a interrupção na próxima leitura
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.aurorasmp.launcher.http;
+
+import com.aurorasmp.launcher.util.Hashes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cache em disco para GETs condicionais. Guarda o corpo junto com o ETag e o
+// Last-Modified; na próxima consulta envia If-None-Match/If-Modified-Since e, com
+// um 304, devolve o corpo salvo sem baixá-lo de novo. Sem rede, devolve a última
+// cópia conhecida.
+public class HttpCache {
+
+    // Temporários com nome único: a mesma URL pode ser buscada por duas threads ao mesmo tempo
+    private static final AtomicLong TMP_COUNTER = new AtomicLong();
+
+    private final LauncherHttp http;
+    private final Path directory;
+
+    public HttpCache(LauncherHttp http, Path directory) {
+        this.http = http;
+        this.directory = directory;
+    }
+
+    public byte[] get(String url) throws IOException {
+        return fetch(url).getBody();
+    }
+
+    // Só a cópia em disco, sem tocar na rede; null se a URL nunca foi baixada
+    public Result peek(String url) throws IOException {
+        Path bodyFile = bodyFile(url);
+        Path metaFile = metaFile(url);
+        if (!Files.exists(bodyFile) || !Files.exists(metaFile)) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+        }
+        return new Result(Files.readAllBytes(bodyFile), meta, false, false);
+    }
+
+    public Result fetch(String url) throws IOException {
+        Files.createDirectories(directory);
+        Path bodyFile = bodyFile(url);
+        Path metaFile = metaFile(url);
+
+        Properties meta = new Properties();
+        boolean cached = Files.exists(bodyFile) && Files.exists(metaFile);
+        if (cached) {
+            try (InputStream in = Files.newInputStream(metaFile)) {
+                meta.load(in);
+            }
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        if (cached && meta.getProperty("etag") != null) {
+            headers.put("If-None-Match", meta.getProperty("etag"));
+        }
+        if (cached && meta.getProperty("lastModified") != null) {
+            headers.put("If-Modified-Since", meta.getProperty("lastModified"));
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = http.get(url, headers);
+        } catch (IOException e) {
+            if (cached) {
+                return new Result(Files.readAllBytes(bodyFile), meta, false, true);
+            }
+            throw e;
+        }
+
+        try (InputStream body = response.body()) {
+            int status = response.statusCode();
+            if (status == 304 && cached) {
+                meta.setProperty("validated", Long.toString(System.currentTimeMillis()));
+                store(metaFile, meta);
+                return new Result(Files.readAllBytes(bodyFile), meta, false, false);
+            }
+            if (status != 200) {
+                throw new HttpStatusException(url, status);
+            }
+
+            byte[] data = body.readAllBytes();
+            Properties fresh = new Properties();
+            response.headers().firstValue("ETag").ifPresent(v -> fresh.setProperty("etag", v));
+            response.headers().firstValue("Last-Modified").ifPresent(v -> fresh.setProperty("lastModified", v));
+            response.headers().firstValue("Cache-Control").ifPresent(v -> fresh.setProperty("cacheControl", v));
+            fresh.setProperty("validated", Long.toString(System.currentTimeMillis()));
+
+            Path tmp = bodyFile.resolveSibling(bodyFile.getFileName() + ".tmp-" + TMP_COUNTER.incrementAndGet());
+            Files.write(tmp, data);
+            move(tmp, bodyFile);
+            store(metaFile, fresh);
+            return new Result(data, fresh, true, false);
+        }
+    }
+
+    private Path bodyFile(String url) {
+        return directory.resolve(key(url) + ".body");
+    }
+
+    private Path metaFile(String url) {
+        return directory.resolve(key(url) + ".properties");
+    }
+
+    private static String key(String url) {
+        return Hashes.toHex(Hashes.sha256().digest(url.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void store(Path file, Properties meta) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp-" + TMP_COUNTER.incrementAndGet());
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            meta.store(out, null);
+        }
+        move(tmp, file);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static final class Result {
+        private final byte[] body;
+        private final Properties meta;
+        private final boolean modified;
+        private final boolean offline;
+
+        Result(byte[] body, Properties meta, boolean modified, boolean offline) {
+            this.body = body;
+            this.meta = meta;
+            this.modified = modified;
+            this.offline = offline;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        // Verdadeiro se o corpo veio da rede agora (não de um 304 ou do disco)
+        public boolean isModified() {
+            return modified;
+        }
+
+        // Verdadeiro se a rede falhou e o corpo é a última cópia salva
+        public boolean isOffline() {
+            return offline;
+        }
+
+        // Momento da última confirmação com o servidor, em milissegundos
+        public long getValidatedAt() {
+            return Long.parseLong(meta.getProperty("validated", "0"));
+        }
+
+        public String getCacheControl() {
+            return meta.getProperty("cacheControl");
+        }
+
+        // Segue o max-age do Cache-Control; sem ele, usa defaultTtlMillis.
+        // no-cache e no-store sempre pedem revalidação.
+        public boolean isFresh(long defaultTtlMillis) {
+            long ttl = defaultTtlMillis;
+            String cacheControl = getCacheControl();
+            if (cacheControl != null) {
+                for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+                    directive = directive.trim();
+                    if (directive.equals("no-cache") || directive.equals("no-store")) {
+                        return false;
+                    }
+                    if (directive.startsWith("max-age=")) {
+                        try {
+                            ttl = Long.parseLong(directive.substring(8).trim()) * 1000;
+                        } catch (NumberFormatException ignored) {
+                            // Valor inválido: fica com o padrão
+                        }
+                    }
+                }
+            }
+            return System.currentTimeMillis() - getValidatedAt() < ttl;
+        }
+    }
+}
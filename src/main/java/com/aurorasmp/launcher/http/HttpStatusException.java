@@ -0,0 +1,20 @@
+package com.aurorasmp.launcher.http;
+
+import java.io.IOException;
+
+// Resposta HTTP com código inesperado
+public class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public HttpStatusException(String url, int statusCode) {
+        super("HTTP " + statusCode + " ao acessar " + url);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
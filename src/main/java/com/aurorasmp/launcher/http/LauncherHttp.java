@@ -0,0 +1,308 @@
+package com.aurorasmp.launcher.http;
+
+import javax.net.ssl.SSLSession;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Camada HTTP única do launcher. Cada instância tem um só HttpClient que mantém as
+// conexões abertas (keep-alive):
+//
+// - shared(): HTTP/2 quando o servidor aceita, para os pedidos pequenos (versão,
+//   manifestos, skins, autenticação) dividirem a mesma conexão TLS.
+// - downloads(): HTTP/1.1, para os segmentos e arquivos baixados em paralelo irem
+//   cada um pela sua conexão TCP em vez de disputarem uma só conexão HTTP/2.
+//
+// GETs que falham por erro de rede ou 429/5xx são repetidos com backoff exponencial.
+// POSTs só são repetidos com 429: depois de um erro de rede não há como saber se o
+// servidor já processou o pedido.
+public class LauncherHttp {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(15);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_RETRIES = 3;
+
+    private static final long INITIAL_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 15_000;
+    private static final String USER_AGENT = "AuroraSMPLauncher/1.0.0";
+
+    private static volatile LauncherHttp shared;
+    private static volatile LauncherHttp downloads;
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final Duration readTimeout;
+    private final int maxRetries;
+
+    // O HttpClient não tem timeout de leitura do corpo: um vigia fecha fluxos parados
+    private final Set<WatchedStream> openStreams = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-http-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LauncherHttp(Duration connectTimeout, Duration requestTimeout, Duration readTimeout, int maxRetries) {
+        this(HttpClient.Version.HTTP_2, connectTimeout, requestTimeout, readTimeout, maxRetries);
+    }
+
+    public LauncherHttp(HttpClient.Version version, Duration connectTimeout, Duration requestTimeout,
+                        Duration readTimeout, int maxRetries) {
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.readTimeout = readTimeout;
+        this.maxRetries = maxRetries;
+        watchdog.scheduleWithFixedDelay(this::closeStalledStreams, 1, 1, TimeUnit.SECONDS);
+    }
+
+    // Instância compartilhada por todo o launcher. Os tempos podem ser ajustados com
+    // -Daurora.http.connectTimeout=15, -Daurora.http.readTimeout=30 (segundos) e -Daurora.http.retries=3
+    public static LauncherHttp shared() {
+        LauncherHttp instance = shared;
+        if (instance == null) {
+            synchronized (LauncherHttp.class) {
+                instance = shared;
+                if (instance == null) {
+                    instance = configured(HttpClient.Version.HTTP_2);
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Instância dos downloaders (SegmentedDownloader, BulkDownloader); mesmos ajustes de shared()
+    public static LauncherHttp downloads() {
+        LauncherHttp instance = downloads;
+        if (instance == null) {
+            synchronized (LauncherHttp.class) {
+                instance = downloads;
+                if (instance == null) {
+                    instance = configured(HttpClient.Version.HTTP_1_1);
+                    downloads = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static LauncherHttp configured(HttpClient.Version version) {
+        return new LauncherHttp(version,
+                Duration.ofSeconds(Long.getLong("aurora.http.connectTimeout", DEFAULT_CONNECT_TIMEOUT.getSeconds())),
+                Duration.ofSeconds(Long.getLong("aurora.http.requestTimeout", DEFAULT_REQUEST_TIMEOUT.getSeconds())),
+                Duration.ofSeconds(Long.getLong("aurora.http.readTimeout", DEFAULT_READ_TIMEOUT.getSeconds())),
+                Integer.getInteger("aurora.http.retries", DEFAULT_RETRIES));
+    }
+
+    // GET com o corpo em fluxo. Quem chama precisa fechar o corpo da resposta.
+    // Não lança exceção para códigos HTTP: só 429/5xx são repetidos.
+    public HttpResponse<InputStream> get(String url, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", USER_AGENT)
+                .GET();
+        headers.forEach(builder::header);
+        return send(builder.build(), url, true);
+    }
+
+    public HttpResponse<InputStream> get(String url) throws IOException {
+        return get(url, Collections.emptyMap());
+    }
+
+    // POST com corpo pronto (usado pela autenticação). Só repetido com 429, que garante
+    // que o servidor recusou o pedido sem processá-lo.
+    public HttpResponse<InputStream> post(String url, Map<String, String> headers, byte[] body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", USER_AGENT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(builder::header);
+        return send(builder.build(), url, false);
+    }
+
+    // idempotent: pode repetir depois de erro de rede ou 5xx, quando o pedido pode ter sido processado
+    private HttpResponse<InputStream> send(HttpRequest request, String url, boolean idempotent) throws IOException {
+        int attempt = 0;
+        while (true) {
+            HttpResponse<InputStream> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Requisição interrompida: " + url);
+            } catch (IOException e) {
+                if (!idempotent || ++attempt > maxRetries) {
+                    throw e;
+                }
+                backoff(attempt, null);
+                continue;
+            }
+
+            int status = response.statusCode();
+            if ((status == 429 || (idempotent && status >= 500)) && attempt < maxRetries) {
+                response.body().close();
+                attempt++;
+                backoff(attempt, response.headers());
+                continue;
+            }
+            return new WatchedResponse(response, watch(response.body()));
+        }
+    }
+
+    public byte[] getBytes(String url) throws IOException {
+        HttpResponse<InputStream> response = get(url);
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new HttpStatusException(url, response.statusCode());
+            }
+            return body.readAllBytes();
+        }
+    }
+
+    private void backoff(int attempt, HttpHeaders headers) throws InterruptedIOException {
+        long delay = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt - 1, 10));
+        if (headers != null) {
+            // Retry-After em segundos tem prioridade sobre o backoff calculado
+            String retryAfter = headers.firstValue("Retry-After").orElse(null);
+            if (retryAfter != null && retryAfter.chars().allMatch(Character::isDigit)) {
+                delay = Math.min(MAX_BACKOFF_MS, Long.parseLong(retryAfter) * 1000);
+            }
+        }
+        // Jitter para que vários segmentos não voltem todos ao mesmo tempo
+        delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Requisição interrompida");
+        }
+    }
+
+    private InputStream watch(InputStream body) {
+        WatchedStream stream = new WatchedStream(body);
+        openStreams.add(stream);
+        return stream;
+    }
+
+    private void closeStalledStreams() {
+        long limit = System.nanoTime() - readTimeout.toNanos();
+        for (WatchedStream stream : openStreams) {
+            if (stream.lastActivity < limit) {
+                stream.stalled = true;
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // O fluxo já está sendo descartado
+                }
+            }
+        }
+    }
+
+    private final class WatchedStream extends FilterInputStream {
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean stalled;
+
+        WatchedStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = checked(super.read());
+            lastActivity = System.nanoTime();
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = checked(super.read(b, off, len));
+            lastActivity = System.nanoTime();
+            return read;
+        }
+
+        private int checked(int result) throws IOException {
+            if (stalled) {
+                throw new InterruptedIOException("Tempo de leitura esgotado");
+            }
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            openStreams.remove(this);
+            super.close();
+        }
+    }
+
+    // Mesma resposta, mas com o corpo vigiado pelo timeout de leitura
+    private static final class WatchedResponse implements HttpResponse<InputStream> {
+        private final HttpResponse<InputStream> delegate;
+        private final InputStream body;
+
+        WatchedResponse(HttpResponse<InputStream> delegate, InputStream body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public int statusCode() {
+            return delegate.statusCode();
+        }
+
+        @Override
+        public HttpRequest request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<InputStream>> previousResponse() {
+            return delegate.previousResponse();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return delegate.headers();
+        }
+
+        @Override
+        public InputStream body() {
+            return body;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return delegate.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return delegate.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return delegate.version();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.aurorasmp.launcher.instance;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Uma instalação do jogo com o seu próprio modpack (URLs de versão e manifesto),
+// versões do Minecraft/Forge, perfil da JVM e diretório. Tudo que é da instância
+// fica em dir: o jogo em dir/modpack e, ao lado, o índice, a versão instalada e o
+// índice dos mods. A instância original usa o próprio diretório do launcher, com
+// os mesmos nomes de antes, então instalações existentes continuam valendo.
+public class Instance {
+
+    private String id;
+    private String name;
+    private String dir;
+    private String versionUrl;
+    private String manifestUrl;
+    // ZIP usado quando a versão publicada não traz a URL
+    private String zipUrl;
+    private String minecraftVersion;
+    // Ex.: "1.19.2-forge-43.2.0"
+    private String forgeVersion;
+    // Nome do perfil em jvm-profiles.json
+    private String jvmProfile;
+
+    public Instance(String id, String name, Path dir, String versionUrl, String manifestUrl, String zipUrl,
+                    String minecraftVersion, String forgeVersion, String jvmProfile) {
+        this.id = id;
+        this.name = name;
+        this.dir = dir.toString();
+        this.versionUrl = versionUrl;
+        this.manifestUrl = manifestUrl;
+        this.zipUrl = zipUrl;
+        this.minecraftVersion = minecraftVersion;
+        this.forgeVersion = forgeVersion;
+        this.jvmProfile = jvmProfile;
+    }
+
+    // Mesmo modpack e ajustes em outro diretório
+    public Instance copy(String id, String name, Path dir) {
+        return new Instance(id, name, dir, versionUrl, manifestUrl, zipUrl, minecraftVersion, forgeVersion, jvmProfile);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name != null ? name : id;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Path getDir() {
+        return Paths.get(dir);
+    }
+
+    public Path getGameDir() {
+        return getDir().resolve("modpack");
+    }
+
+    public Path getIndexFile() {
+        return getDir().resolve("modpack-index.json");
+    }
+
+    public Path getVersionFile() {
+        return getDir().resolve("versions.json");
+    }
+
+    public Path getModsIndexFile() {
+        return getDir().resolve("mods-index.json");
+    }
+
+    public String getVersionUrl() {
+        return versionUrl;
+    }
+
+    public void setVersionUrl(String versionUrl) {
+        this.versionUrl = versionUrl;
+    }
+
+    public String getManifestUrl() {
+        return manifestUrl;
+    }
+
+    public void setManifestUrl(String manifestUrl) {
+        this.manifestUrl = manifestUrl;
+    }
+
+    public String getZipUrl() {
+        return zipUrl;
+    }
+
+    public void setZipUrl(String zipUrl) {
+        this.zipUrl = zipUrl;
+    }
+
+    public String getMinecraftVersion() {
+        return minecraftVersion;
+    }
+
+    public String getForgeVersion() {
+        return forgeVersion;
+    }
+
+    public void setVersions(String minecraftVersion, String forgeVersion) {
+        this.minecraftVersion = minecraftVersion;
+        this.forgeVersion = forgeVersion;
+    }
+
+    // Só o número do Forge ("43.2.0"), como os mods.toml pedem
+    public String getForgeNumber() {
+        int split = forgeVersion.indexOf("-forge-");
+        return split >= 0 ? forgeVersion.substring(split + "-forge-".length()) : forgeVersion;
+    }
+
+    public String getJvmProfile() {
+        return jvmProfile;
+    }
+
+    public void setJvmProfile(String jvmProfile) {
+        this.jvmProfile = jvmProfile;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + id + ")";
+    }
+}
@@ -0,0 +1,131 @@
+package com.aurorasmp.launcher.instance;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Lista de instâncias e a selecionada, em instances.json. Sem o arquivo (ou com
+// ele corrompido) existe só a instância original, que é a que o launcher sempre
+// usou.
+//
+// Formato: {"selected": "aurora", "instances": [{"id": "aurora", "name": "...", "dir": "...", ...}]}
+public class InstanceStore {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    // Vira nome de diretório: nada de separadores ou ".."
+    private static final Pattern ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,31}");
+
+    private transient Path file;
+    private String selected;
+    private List<Instance> instances = new ArrayList<>();
+
+    public static InstanceStore load(Path file, Instance original) {
+        InstanceStore store = null;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                store = GSON.fromJson(reader, InstanceStore.class);
+            } catch (IOException | JsonParseException e) {
+                e.printStackTrace();
+            }
+        }
+        if (store == null) {
+            store = new InstanceStore();
+        }
+        if (store.instances == null) {
+            store.instances = new ArrayList<>();
+        }
+        store.instances.removeIf(instance -> instance == null || instance.getId() == null);
+        store.file = file;
+        if (store.find(original.getId()) == null) {
+            store.instances.add(0, original);
+        }
+        if (store.selected == null || store.find(store.selected) == null) {
+            store.selected = original.getId();
+        }
+        return store;
+    }
+
+    public synchronized void save() throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public synchronized List<Instance> list() {
+        return new ArrayList<>(instances);
+    }
+
+    public synchronized Instance get(String id) {
+        return find(id);
+    }
+
+    public synchronized Instance getSelected() {
+        return find(selected);
+    }
+
+    public synchronized void select(String id) {
+        if (find(id) == null) {
+            throw new IllegalArgumentException("Instância inexistente: " + id);
+        }
+        selected = id;
+    }
+
+    // Nova instância com o modpack e os ajustes de template, em instancesDir/id.
+    // Os arquivos só aparecem na primeira atualização, vindos do ContentStore
+    // quando a versão já está em outra instância.
+    public synchronized Instance create(String id, String name, Instance template, Path instancesDir) {
+        if (!ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Id de instância inválido (use a-z, 0-9, - e _): " + id);
+        }
+        if (find(id) != null) {
+            throw new IllegalArgumentException("Instância já existe: " + id);
+        }
+        Instance instance = template.copy(id, name, instancesDir.resolve(id));
+        instances.add(instance);
+        return instance;
+    }
+
+    // Tira da lista; os arquivos ficam para quem chamou apagar (ex.: com o TreeDeleter)
+    public synchronized Instance remove(String id) {
+        Instance instance = find(id);
+        if (instance == null) {
+            throw new IllegalArgumentException("Instância inexistente: " + id);
+        }
+        if (instances.size() == 1) {
+            throw new IllegalArgumentException("A única instância não pode ser removida");
+        }
+        instances.remove(instance);
+        if (id.equals(selected)) {
+            selected = instances.get(0).getId();
+        }
+        return instance;
+    }
+
+    private Instance find(String id) {
+        for (Instance instance : instances) {
+            if (instance.getId().equals(id)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.aurorasmp.launcher.instance;
+
+import com.aurorasmp.launcher.download.DownloadListener;
+import com.aurorasmp.launcher.download.SegmentedDownloader;
+import com.aurorasmp.launcher.download.Throttle;
+import com.aurorasmp.launcher.http.HttpCache;
+import com.aurorasmp.launcher.metrics.ModpackUpdateEvent;
+import com.aurorasmp.launcher.peer.PeerCache;
+import com.aurorasmp.launcher.progress.ProgressTracker;
+import com.aurorasmp.launcher.update.ContentStore;
+import com.aurorasmp.launcher.update.IncrementalUpdater;
+import com.aurorasmp.launcher.update.PackManifest;
+import com.aurorasmp.launcher.update.StagedInstall;
+import com.aurorasmp.launcher.update.UpdatePlan;
+import com.aurorasmp.launcher.update.VersionInfo;
+import com.aurorasmp.launcher.util.TreeDeleter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Atualização do modpack de uma instância, sem nada de interface: a janela do
+// launcher e o modo de linha de comando (LauncherCli) passam pelo mesmo caminho.
+// O progresso vai para um ProgressTracker e as mensagens de etapa para um Consumer.
+public class ModpackInstaller {
+
+    private final Instance instance;
+    private final HttpCache httpCache;
+    private final ContentStore store;
+    private final TreeDeleter deleter;
+    // Só existe com a rede local ligada
+    private volatile PeerCache peers;
+
+    public ModpackInstaller(Instance instance, HttpCache httpCache, ContentStore store, TreeDeleter deleter) {
+        this.instance = instance;
+        this.httpCache = httpCache;
+        this.store = store;
+        this.deleter = deleter;
+    }
+
+    public Instance getInstance() {
+        return instance;
+    }
+
+    public void setPeerCache(PeerCache peers) {
+        this.peers = peers;
+    }
+
+    // Versão gravada na última atualização concluída, ou null
+    public String getInstalledVersion() {
+        VersionInfo installed = VersionInfo.load(instance.getVersionFile());
+        return installed != null ? installed.getVersion() : null;
+    }
+
+    public VersionInfo fetchLatestVersion() {
+        // Requisição condicional: se nada mudou, o servidor responde 304 sem corpo
+        try (Reader reader = new InputStreamReader(
+                new ByteArrayInputStream(httpCache.get(instance.getVersionUrl())), StandardCharsets.UTF_8)) {
+            return VersionInfo.parse(reader);
+        } catch (Exception e) {
+            // Sem versão publicada: usa o ZIP fixo, sem hash para conferir
+            System.err.println("Versão publicada indisponível: " + e.getMessage());
+            return new VersionInfo("1.0", instance.getZipUrl(), null); // Placeholder
+        }
+    }
+
+    public PackManifest fetchManifest() {
+        try (Reader reader = new InputStreamReader(
+                new ByteArrayInputStream(httpCache.get(instance.getManifestUrl())), StandardCharsets.UTF_8)) {
+            return PackManifest.parse(reader);
+        } catch (Exception e) {
+            // Manifesto indisponível: o manifesto será gerado a partir do ZIP
+            System.err.println("Manifesto do modpack indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public StagedInstall stagedInstall() {
+        return new StagedInstall(instance.getGameDir(), instance.getIndexFile(), deleter);
+    }
+
+    public String zipUrl(VersionInfo latest) {
+        return latest.getUrl() != null ? latest.getUrl() : instance.getZipUrl();
+    }
+
+    // Atualização completa: prepara (ou usa o que já está no staging), troca e grava
+    // a versão instalada. Retorna a remoção da instalação antiga, que continua em
+    // segundo plano; o jogo já pode ser iniciado.
+    public CompletableFuture<TreeDeleter.Result> install(VersionInfo latest, Throttle throttle,
+                                                         ProgressTracker progress, ModpackUpdateEvent event,
+                                                         Consumer<String> status) throws Exception {
+        StagedInstall staged = stagedInstall();
+        boolean staging = staged.isSupported();
+        if (staging && latest.getVersion().equals(staged.getStagedVersion())) {
+            // A nova versão já está inteira no staging: só falta a troca
+            event.setMode("staged");
+        } else {
+            prepare(latest, staged, staging, throttle, progress, event, status);
+        }
+
+        CompletableFuture<TreeDeleter.Result> cleanup = staging
+                ? staged.commit()
+                : CompletableFuture.completedFuture(null);
+        new VersionInfo(latest.getVersion(), zipUrl(latest), latest.getSha256()).save(instance.getVersionFile());
+        return cleanup;
+    }
+
+    // Baixa e grava a nova versão. Com staging, a gravação vai para uma cópia
+    // (hardlinks) da instalação e a troca fica para quem chamou; uma falha no meio
+    // não estraga o modpack. Sem hardlinks, grava direto na instalação.
+    public void prepare(VersionInfo latest, StagedInstall staged, boolean staging, Throttle throttle,
+                        ProgressTracker progress, ModpackUpdateEvent event, Consumer<String> status)
+            throws Exception {
+        // O prune espera: o que vem do armazenamento só entra no índice do staging no final
+        try (ContentStore.Use use = store.use()) {
+            prepareWithStore(latest, staged, staging, throttle, progress, event, status);
+        }
+    }
+
+    private void prepareWithStore(VersionInfo latest, StagedInstall staged, boolean staging, Throttle throttle,
+                                  ProgressTracker progress, ModpackUpdateEvent event, Consumer<String> status)
+            throws Exception {
+        // Compara o que está instalado com a nova versão e grava só o que mudou
+        IncrementalUpdater updater = new IncrementalUpdater(instance.getGameDir(), instance.getIndexFile());
+        PackManifest manifest = fetchManifest();
+        Path zipFile = instance.getDir().resolve("modpack.zip");
+        String zipUrl = zipUrl(latest);
+        SegmentedDownloader downloader = new SegmentedDownloader();
+        DownloadListener aggregate = throttle.wrap(progress.aggregate());
+
+        if (manifest != null && manifest.hasUrls()) {
+            UpdatePlan plan = updater.plan(manifest);
+            describe(event, "urls", plan);
+            status.accept("Baixando " + plan.getChanged().size() + " arquivos alterados...");
+            progress.reset(plan.getBytesToWrite());
+            IncrementalUpdater writer = target(updater, staged, staging, plan);
+            UpdatePlan rest = fromPeers(writer, fromStore(writer, plan, aggregate, status), aggregate, status);
+            writer.applyFromUrls(rest, downloader, aggregate);
+        } else if (manifest != null) {
+            // Extrai as entradas alteradas enquanto o final do ZIP ainda está chegando
+            UpdatePlan plan = updater.plan(manifest);
+            describe(event, "stream", plan);
+            progress.reset(plan.getBytesToWrite());
+            IncrementalUpdater writer = target(updater, staged, staging, plan);
+            UpdatePlan rest = fromPeers(writer, fromStore(writer, plan, aggregate, status), aggregate, status);
+            if (rest.getChanged().isEmpty()) {
+                // O armazenamento ou a rede local tinham tudo: o ZIP nem precisa ser baixado
+                writer.complete(rest);
+            } else {
+                writer.applyWhileDownloading(rest, zipUrl, zipFile, downloader, throttle.wrap(progress),
+                        latest.getSha256());
+            }
+        } else {
+            // Sem manifesto publicado: baixa o ZIP (em segmentos paralelos, retomável e
+            // conferido pelo SHA-256) e extrai só as entradas alteradas
+            downloader.download(zipUrl, zipFile, throttle.wrap(progress), latest.getSha256(), null);
+            status.accept("Extraindo arquivos...");
+            manifest = PackManifest.fromZip(zipFile, latest.getVersion());
+            UpdatePlan plan = updater.plan(manifest);
+            describe(event, "zip", plan);
+            target(updater, staged, staging, plan).applyFromZip(plan, zipFile);
+        }
+
+        // Remove o arquivo ZIP temporário
+        Files.deleteIfExists(zipFile);
+    }
+
+    // Arquivos instalados que sumiram ou não batem com o índice (ver IncrementalUpdater.verify).
+    // Com repair, saem do índice para que a próxima atualização os grave de novo.
+    public List<String> verify(boolean full, boolean repair) throws IOException {
+        IncrementalUpdater updater = new IncrementalUpdater(instance.getGameDir(), instance.getIndexFile());
+        List<String> damaged = updater.verify(full);
+        if (repair && !damaged.isEmpty()) {
+            updater.forget(damaged);
+        }
+        return damaged;
+    }
+
+    // Guarda no armazenamento compartilhado os arquivos desta instância que ainda não estão nele
+    public int share() throws IOException {
+        return store.absorb(instance.getGameDir(), instance.getIndexFile());
+    }
+
+    // Apaga do armazenamento os objetos que nenhuma das instâncias usa. Com uma
+    // atualização em preparo (prepare) não apaga nada: o que ela ainda vai buscar no
+    // armazenamento só entra no índice dela no final. Ver ContentStore.use.
+    public static int pruneStore(ContentStore store, Collection<Instance> instances) throws IOException {
+        List<Path> indexes = new ArrayList<>();
+        for (Instance other : instances) {
+            indexes.add(other.getIndexFile());
+            indexes.add(other.getIndexFile().resolveSibling(other.getIndexFile().getFileName() + ".staging"));
+        }
+        return store.prune(indexes);
+    }
+
+    // Onde a atualização é gravada: no staging ou, se o disco não tem hardlinks, direto na instalação
+    private static IncrementalUpdater target(IncrementalUpdater updater, StagedInstall staged, boolean staging,
+                                             UpdatePlan plan) throws IOException {
+        return staging ? staged.prepare(updater, plan) : updater;
+    }
+
+    // O que já está no armazenamento compartilhado (outra instância, versão anterior) vira link, sem download
+    private UpdatePlan fromStore(IncrementalUpdater writer, UpdatePlan plan, DownloadListener listener,
+                                 Consumer<String> status) throws IOException {
+        if (plan.getChanged().isEmpty()) {
+            return plan;
+        }
+        status.accept("Copiando arquivos de outras instâncias...");
+        return writer.applyFromStore(plan, store, listener);
+    }
+
+    // Com a rede local ligada, o que algum launcher próximo já tem vem dele; o resto segue pelo CDN
+    private UpdatePlan fromPeers(IncrementalUpdater writer, UpdatePlan plan, DownloadListener listener,
+                                 Consumer<String> status) throws IOException {
+        PeerCache cache = peers;
+        if (cache == null || plan.getChanged().isEmpty() || cache.getPeerCount() == 0) {
+            return plan;
+        }
+        status.accept("Buscando arquivos na rede local...");
+        return writer.applyFromPeers(plan, cache, listener);
+    }
+
+    private static void describe(ModpackUpdateEvent event, String mode, UpdatePlan plan) {
+        event.setMode(mode);
+        event.setEntries(plan.getChanged().size());
+        event.setBytes(plan.getBytesToWrite());
+        event.setRemoved(plan.getRemoved().size());
+        event.setUnchanged(plan.getUnchanged());
+    }
+}
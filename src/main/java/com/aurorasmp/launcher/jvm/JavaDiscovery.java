@@ -0,0 +1,131 @@
+package com.aurorasmp.launcher.jvm;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Procura os Javas instalados nos lugares usuais de cada sistema (e nos runtimes
+// do próprio launcher) e escolhe o mais adequado para a versão do Minecraft.
+public class JavaDiscovery {
+
+    private final List<Path> extraRoots;
+
+    // extraRoots: diretórios cujos filhos são instalações de Java (ex.: LAUNCHER_DIR/runtimes)
+    public JavaDiscovery(List<Path> extraRoots) {
+        this.extraRoots = extraRoots;
+    }
+
+    public List<JavaInstallation> discover() {
+        Map<Path, JavaInstallation> found = new LinkedHashMap<>();
+        addHome(found, Paths.get(System.getProperty("java.home")));
+        String javaHome = System.getenv("JAVA_HOME");
+        if (javaHome != null && !javaHome.isEmpty()) {
+            addHome(found, Paths.get(javaHome));
+        }
+        for (Path root : roots()) {
+            addChildren(found, root);
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    // Prefere exatamente a versão exigida; senão a menor acima dela. Entre iguais, 64 bits
+    // e a atualização mais recente. Retorna null se nenhum Java instalado servir.
+    public JavaInstallation best(int requiredMajor) {
+        Comparator<JavaInstallation> preference = Comparator
+                .comparing((JavaInstallation java) -> java.getMajor() != requiredMajor)
+                .thenComparingInt(JavaInstallation::getMajor)
+                .thenComparing(java -> !java.is64Bit())
+                .thenComparing((a, b) -> JavaInstallation.compareVersions(b.getVersion(), a.getVersion()));
+
+        return discover().stream()
+                .filter(java -> requiredMajor <= 0 || java.getMajor() >= requiredMajor)
+                .min(preference)
+                .orElse(null);
+    }
+
+    // Java escolhido no perfil, senão o mais adequado entre os instalados, senão o do próprio launcher
+    public JavaInstallation select(JvmProfile profile, int requiredMajor) {
+        if (profile.getJavaHome() != null) {
+            JavaInstallation chosen = JavaInstallation.probe(Paths.get(profile.getJavaHome()));
+            if (chosen != null) {
+                return chosen;
+            }
+            System.err.println("Java do perfil inválido, procurando outro: " + profile.getJavaHome());
+        }
+        JavaInstallation best = best(requiredMajor);
+        if (best != null) {
+            return best;
+        }
+        JavaInstallation own = JavaInstallation.probe(Paths.get(System.getProperty("java.home")));
+        if (own == null) {
+            throw new IllegalStateException("Nenhum Java " + requiredMajor + " encontrado");
+        }
+        return own;
+    }
+
+    private List<Path> roots() {
+        List<Path> roots = new ArrayList<>(extraRoots);
+        String home = System.getProperty("user.home");
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (os.contains("win")) {
+            for (String programFiles : new String[]{System.getenv("ProgramFiles"), System.getenv("ProgramFiles(x86)")}) {
+                if (programFiles == null) {
+                    continue;
+                }
+                for (String vendor : new String[]{"Java", "Eclipse Adoptium", "Eclipse Foundation", "AdoptOpenJDK",
+                        "Zulu", "Microsoft", "Amazon Corretto", "BellSoft"}) {
+                    roots.add(Paths.get(programFiles, vendor));
+                }
+            }
+        } else if (os.contains("mac")) {
+            roots.add(Paths.get("/Library/Java/JavaVirtualMachines"));
+            roots.add(Paths.get(home, "Library", "Java", "JavaVirtualMachines"));
+        } else {
+            roots.add(Paths.get("/usr/lib/jvm"));
+            roots.add(Paths.get("/usr/java"));
+            roots.add(Paths.get("/opt/java"));
+        }
+        roots.add(Paths.get(home, ".sdkman", "candidates", "java"));
+        roots.add(Paths.get(home, ".jdks"));
+        return roots;
+    }
+
+    private static void addChildren(Map<Path, JavaInstallation> found, Path root) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(root)) {
+            for (Path child : children) {
+                addHome(found, child);
+                // Layout do macOS: <jdk>/Contents/Home
+                addHome(found, child.resolve("Contents").resolve("Home"));
+            }
+        } catch (IOException e) {
+            // Diretório sem permissão de leitura: ignora
+        }
+    }
+
+    private static void addHome(Map<Path, JavaInstallation> found, Path home) {
+        Path key;
+        try {
+            key = home.toRealPath();
+        } catch (IOException e) {
+            return;
+        }
+        if (found.containsKey(key)) {
+            return;
+        }
+        JavaInstallation java = JavaInstallation.probe(key);
+        if (java != null) {
+            found.put(key, java);
+        }
+    }
+}
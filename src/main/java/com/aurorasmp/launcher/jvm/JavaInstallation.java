@@ -0,0 +1,141 @@
+package com.aurorasmp.launcher.jvm;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+// Um Java instalado na máquina. As informações vêm do arquivo "release" que todo
+// JDK/JRE desde o 9 traz na raiz, então não é preciso executar o java para saber
+// a versão.
+public class JavaInstallation {
+
+    private final Path home;
+    private final Path executable;
+    private final int major;
+    private final String version;
+    private final String implementor;
+    private final String arch;
+
+    JavaInstallation(Path home, Path executable, int major, String version, String implementor, String arch) {
+        this.home = home;
+        this.executable = executable;
+        this.major = major;
+        this.version = version;
+        this.implementor = implementor;
+        this.arch = arch;
+    }
+
+    // null se o diretório não for um Java válido
+    public static JavaInstallation probe(Path home) {
+        Path executable = home.resolve("bin").resolve(isWindows() ? "javaw.exe" : "java");
+        if (isWindows() && !Files.isRegularFile(executable)) {
+            executable = home.resolve("bin").resolve("java.exe");
+        }
+        Path release = home.resolve("release");
+        if (!Files.isRegularFile(executable) || !Files.isRegularFile(release)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(release, StandardCharsets.ISO_8859_1)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+
+        String version = unquote(properties.getProperty("JAVA_VERSION"));
+        if (version == null) {
+            return null;
+        }
+        return new JavaInstallation(home, executable, parseMajor(version), version,
+                unquote(properties.getProperty("IMPLEMENTOR", "")), unquote(properties.getProperty("OS_ARCH", "")));
+    }
+
+    // "1.8.0_352" → 8, "17.0.5" → 17, "21" → 21
+    static int parseMajor(String version) {
+        String[] parts = version.split("[._+-]");
+        try {
+            int first = Integer.parseInt(parts[0]);
+            return first == 1 && parts.length > 1 ? Integer.parseInt(parts[1]) : first;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Compara "17.0.9" e "17.0.10" numericamente, parte por parte
+    static int compareVersions(String a, String b) {
+        String[] left = a.split("[._+-]");
+        String[] right = b.split("[._+-]");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            int l = i < left.length ? parseIntOrZero(left[i]) : 0;
+            int r = i < right.length ? parseIntOrZero(right[i]) : 0;
+            if (l != r) {
+                return Integer.compare(l, r);
+            }
+        }
+        return 0;
+    }
+
+    private static int parseIntOrZero(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public Path getHome() {
+        return home;
+    }
+
+    public Path getExecutable() {
+        return executable;
+    }
+
+    public int getMajor() {
+        return major;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getImplementor() {
+        return implementor;
+    }
+
+    public boolean is64Bit() {
+        return arch.contains("64") || arch.equals("aarch64");
+    }
+
+    // ZGC é de produção desde o Java 15 em x64 e aarch64
+    public boolean supportsZgc() {
+        return major >= 15 && is64Bit();
+    }
+
+    // Shenandoah vem nas builds do OpenJDK (Temurin, Zulu, Corretto, Microsoft...),
+    // mas não no JDK da Oracle
+    public boolean supportsShenandoah() {
+        return major >= 12 && !implementor.toLowerCase(Locale.ROOT).contains("oracle");
+    }
+
+    @Override
+    public String toString() {
+        return implementor + " " + version + " (" + home + ")";
+    }
+
+    private static String unquote(String value) {
+        if (value != null && value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+    }
+}
@@ -0,0 +1,121 @@
+package com.aurorasmp.launcher.jvm;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Ajustes da JVM do jogo escolhidos pelo jogador. Tudo que fica vazio (ou 0) é
+// decidido automaticamente pelo JvmTuner a partir da máquina.
+//
+// Guardado em jvm-profiles.json, um objeto por perfil:
+// {"default": {"maxHeapMb": 6144, "gc": "g1", "alwaysPreTouch": false, "javaHome": null, "extraArguments": ""}}
+public class JvmProfile {
+
+    public static final String DEFAULT = "default";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type PROFILES = new TypeToken<TreeMap<String, JvmProfile>>() { }.getType();
+
+    // 0 = automático
+    private int maxHeapMb;
+    // "auto", "g1", "zgc" ou "shenandoah"
+    private String gc = "auto";
+    private boolean alwaysPreTouch;
+    private boolean stringDeduplication = true;
+    // Diretório do Java (o JAVA_HOME); null = escolher entre os instalados
+    private String javaHome;
+    private String extraArguments = "";
+
+    public static Map<String, JvmProfile> loadAll(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, JvmProfile> profiles = GSON.fromJson(reader, PROFILES);
+            return profiles != null ? profiles : new TreeMap<>();
+        } catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+            return new TreeMap<>();
+        }
+    }
+
+    // Perfil salvo com esse nome ou, se não houver, um perfil todo automático
+    public static JvmProfile load(Path file, String name) {
+        JvmProfile profile = loadAll(file).get(name);
+        return profile != null ? profile : new JvmProfile();
+    }
+
+    public static void saveAll(Path file, Map<String, JvmProfile> profiles) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(profiles, PROFILES, writer);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public int getMaxHeapMb() {
+        return maxHeapMb;
+    }
+
+    public void setMaxHeapMb(int maxHeapMb) {
+        this.maxHeapMb = maxHeapMb;
+    }
+
+    public String getGc() {
+        return gc != null ? gc : "auto";
+    }
+
+    public void setGc(String gc) {
+        this.gc = gc;
+    }
+
+    public boolean isAlwaysPreTouch() {
+        return alwaysPreTouch;
+    }
+
+    public void setAlwaysPreTouch(boolean alwaysPreTouch) {
+        this.alwaysPreTouch = alwaysPreTouch;
+    }
+
+    public boolean isStringDeduplication() {
+        return stringDeduplication;
+    }
+
+    public void setStringDeduplication(boolean stringDeduplication) {
+        this.stringDeduplication = stringDeduplication;
+    }
+
+    public String getJavaHome() {
+        return javaHome;
+    }
+
+    public void setJavaHome(String javaHome) {
+        this.javaHome = javaHome;
+    }
+
+    public String getExtraArguments() {
+        return extraArguments != null ? extraArguments : "";
+    }
+
+    public void setExtraArguments(String extraArguments) {
+        this.extraArguments = extraArguments;
+    }
+}
@@ -0,0 +1,115 @@
+package com.aurorasmp.launcher.jvm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Escolhe heap e coletor de lixo para o processo do jogo de acordo com a máquina.
+// Em modo automático o heap fica em metade da RAM, entre 1,5 GB e 8 GB e sempre
+// deixando 2 GB para o sistema: mais que isso não ajuda um modpack e só deixa as
+// pausas do G1 maiores. ZGC só entra sozinho com heap grande e muitos núcleos.
+public class JvmTuner {
+
+    private static final int MIN_HEAP_MB = 1536;
+    private static final int MAX_AUTO_HEAP_MB = 8192;
+    private static final int SYSTEM_RESERVE_MB = 2048;
+    private static final int ZGC_MIN_HEAP_MB = 12288;
+    private static final int ZGC_MIN_CORES = 8;
+
+    private final SystemResources resources;
+
+    public JvmTuner(SystemResources resources) {
+        this.resources = resources;
+    }
+
+    public int heapMb(JvmProfile profile) {
+        long total = resources.getTotalMemoryMb();
+        if (profile.getMaxHeapMb() > 0) {
+            // O valor do jogador vale, mas sem passar da memória física
+            return (int) Math.max(512, Math.min(profile.getMaxHeapMb(), total - 1024));
+        }
+        long heap = Math.min(total / 2, MAX_AUTO_HEAP_MB);
+        heap = Math.min(heap, total - SYSTEM_RESERVE_MB);
+        return (int) Math.max(MIN_HEAP_MB, heap);
+    }
+
+    public String collector(JvmProfile profile, JavaInstallation java, int heapMb) {
+        String gc = profile.getGc().toLowerCase(Locale.ROOT);
+        if (gc.equals("zgc") && java.supportsZgc()) {
+            return "zgc";
+        }
+        if (gc.equals("shenandoah") && java.supportsShenandoah()) {
+            return "shenandoah";
+        }
+        if (gc.equals("auto") && java.supportsZgc()
+                && heapMb >= ZGC_MIN_HEAP_MB && resources.getCores() >= ZGC_MIN_CORES) {
+            return "zgc";
+        }
+        return "g1";
+    }
+
+    public List<String> arguments(JvmProfile profile, JavaInstallation java) {
+        int heap = heapMb(profile);
+        String gc = collector(profile, java, heap);
+
+        List<String> args = new ArrayList<>();
+        args.add("-Xmx" + heap + "M");
+        // Com pre-touch o heap inteiro é reservado e tocado na partida; sem ele, começa pela metade
+        args.add("-Xms" + (profile.isAlwaysPreTouch() ? heap : heap / 2) + "M");
+        if (profile.isAlwaysPreTouch()) {
+            args.add("-XX:+AlwaysPreTouch");
+        }
+
+        switch (gc) {
+            case "zgc":
+                args.add("-XX:+UseZGC");
+                if (java.getMajor() >= 21) {
+                    args.add("-XX:+ZGenerational");
+                }
+                break;
+            case "shenandoah":
+                if (java.getMajor() < 15) {
+                    args.add("-XX:+UnlockExperimentalVMOptions");
+                }
+                args.add("-XX:+UseShenandoahGC");
+                break;
+            default:
+                addG1(args, heap);
+        }
+
+        // Deduplicação de strings: só G1 no Java 8-17, todos os coletores a partir do 18
+        if (profile.isStringDeduplication() && (gc.equals("g1") || java.getMajor() >= 18)) {
+            args.add("-XX:+UseStringDeduplication");
+        }
+        args.add("-XX:+DisableExplicitGC");
+        args.add("-XX:+PerfDisableSharedMem");
+
+        String extra = profile.getExtraArguments().trim();
+        if (!extra.isEmpty()) {
+            args.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+        return args;
+    }
+
+    // Ajustes do G1 para o padrão de alocação do Minecraft: muitos objetos de vida
+    // curta por tick, então a geração nova é maior e a coleta mista começa cedo
+    private static void addG1(List<String> args, int heapMb) {
+        String region = heapMb < 4096 ? "4M" : heapMb < 12288 ? "8M" : "16M";
+        args.add("-XX:+UseG1GC");
+        args.add("-XX:+ParallelRefProcEnabled");
+        args.add("-XX:MaxGCPauseMillis=200");
+        args.add("-XX:+UnlockExperimentalVMOptions");
+        args.add("-XX:G1NewSizePercent=" + (heapMb >= 12288 ? 40 : 30));
+        args.add("-XX:G1MaxNewSizePercent=" + (heapMb >= 12288 ? 50 : 40));
+        args.add("-XX:G1HeapRegionSize=" + region);
+        args.add("-XX:G1ReservePercent=" + (heapMb >= 12288 ? 15 : 20));
+        args.add("-XX:G1HeapWastePercent=5");
+        args.add("-XX:G1MixedGCCountTarget=4");
+        args.add("-XX:InitiatingHeapOccupancyPercent=" + (heapMb >= 12288 ? 20 : 15));
+        args.add("-XX:G1MixedGCLiveThresholdPercent=90");
+        args.add("-XX:G1RSetUpdatingPauseTimePercent=5");
+        args.add("-XX:SurvivorRatio=32");
+        args.add("-XX:MaxTenuringThreshold=1");
+    }
+}
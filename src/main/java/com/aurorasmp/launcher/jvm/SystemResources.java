@@ -0,0 +1,38 @@
+package com.aurorasmp.launcher.jvm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+// Memória física e número de núcleos da máquina do jogador
+public class SystemResources {
+
+    private static final long FALLBACK_MEMORY_MB = 4096;
+
+    private final long totalMemoryMb;
+    private final int cores;
+
+    public SystemResources(long totalMemoryMb, int cores) {
+        this.totalMemoryMb = totalMemoryMb;
+        this.cores = cores;
+    }
+
+    public static SystemResources detect() {
+        long totalMemoryMb = FALLBACK_MEMORY_MB;
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            long bytes = ((com.sun.management.OperatingSystemMXBean) os).getTotalMemorySize();
+            if (bytes > 0) {
+                totalMemoryMb = bytes / (1024 * 1024);
+            }
+        }
+        return new SystemResources(totalMemoryMb, Runtime.getRuntime().availableProcessors());
+    }
+
+    public long getTotalMemoryMb() {
+        return totalMemoryMb;
+    }
+
+    public int getCores() {
+        return cores;
+    }
+}
@@ -0,0 +1,85 @@
+package com.aurorasmp.launcher.launch;
+
+import com.aurorasmp.launcher.download.BulkDownloader;
+import com.aurorasmp.launcher.download.DownloadListener;
+import com.aurorasmp.launcher.download.RemoteFile;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Garante que bibliotecas, jar do cliente e assets de um LaunchPlan estão no disco.
+// Os assets ficam em assets/objects/<2 primeiros caracteres>/<sha1>, endereçados
+// pelo conteúdo: versões diferentes do modpack (e do Minecraft) compartilham os
+// mesmos arquivos e nada é baixado duas vezes.
+public class GameFiles {
+
+    private static final String RESOURCES_URL = "https://resources.download.minecraft.net/";
+
+    private final Path assetsDir;
+    private final BulkDownloader downloader;
+
+    public GameFiles(Path assetsDir, BulkDownloader downloader) {
+        this.assetsDir = assetsDir;
+        this.downloader = downloader;
+    }
+
+    public void ensure(LaunchPlan plan, DownloadListener listener) throws IOException {
+        List<RemoteFile> files = new ArrayList<>();
+        for (LaunchPlan.Download download : plan.getDownloads()) {
+            files.add(new RemoteFile(download.getUrl(), download.getSha1(), download.getSize(),
+                    Path.of(download.getPath())));
+        }
+
+        // O índice de assets vai junto com as bibliotecas: os objetos dependem dele
+        LaunchPlan.Download assetIndex = plan.getAssetIndex();
+        Path indexFile = null;
+        if (assetIndex != null) {
+            indexFile = assetsDir.resolve(assetIndex.getPath());
+            files.add(new RemoteFile(assetIndex.getUrl(), assetIndex.getSha1(), assetIndex.getSize(), indexFile));
+        }
+
+        long start = System.nanoTime();
+        report("bibliotecas", downloader.fetch(files, listener), start);
+
+        if (indexFile != null) {
+            start = System.nanoTime();
+            report("assets", downloader.fetch(assetObjects(indexFile), listener), start);
+        }
+    }
+
+    private List<RemoteFile> assetObjects(Path indexFile) throws IOException {
+        JsonObject objects;
+        try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            objects = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("objects");
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Índice de assets inválido: " + indexFile, e);
+        }
+
+        Path objectsDir = assetsDir.resolve("objects");
+        List<RemoteFile> files = new ArrayList<>(objects.size());
+        for (Map.Entry<String, JsonElement> entry : objects.entrySet()) {
+            JsonObject object = entry.getValue().getAsJsonObject();
+            String hash = object.get("hash").getAsString();
+            String prefix = hash.substring(0, 2);
+            files.add(new RemoteFile(RESOURCES_URL + prefix + "/" + hash, hash, object.get("size").getAsLong(),
+                    objectsDir.resolve(prefix).resolve(hash)));
+        }
+        return files;
+    }
+
+    private static void report(String name, BulkDownloader.Result result, long startNanos) {
+        System.out.println("Arquivos do jogo (" + name + "): " + result.getSkipped() + " no índice, "
+                + result.getVerified() + " conferidos, " + result.getDownloaded() + " baixados em "
+                + (System.nanoTime() - startNanos) / 1_000_000 + "ms");
+    }
+}
@@ -0,0 +1,175 @@
+package com.aurorasmp.launcher.launch;
+
+import com.aurorasmp.launcher.http.HttpCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Monta o comando de lançamento do jogo. A resolução da versão (cadeia de JSONs,
+// regras, bibliotecas) é feita uma vez e guardada em launch-cache/<chave>.json;
+// a chave é o SHA-256 dos JSONs da cadeia, então qualquer mudança neles (ex.:
+// nova versão do Forge) gera um plano novo e o antigo simplesmente deixa de ser usado.
+public class LaunchEngine {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{([a-zA-Z_]+)}");
+    private static final String NATIVES_MARKER = ".extracted";
+
+    private final Path versionsDir;
+    private final Path librariesDir;
+    private final Path assetsDir;
+    private final Path cacheDir;
+    private final VersionResolver resolver;
+
+    private long lastResolveMillis = -1;
+    private boolean lastFromCache;
+
+    public LaunchEngine(Path versionsDir, Path librariesDir, Path assetsDir, Path cacheDir, HttpCache httpCache) {
+        this(versionsDir, librariesDir, assetsDir, cacheDir, httpCache, Collections.emptyMap());
+    }
+
+    // features: recursos avaliados nas regras dos argumentos (ex.: has_custom_resolution)
+    public LaunchEngine(Path versionsDir, Path librariesDir, Path assetsDir, Path cacheDir, HttpCache httpCache,
+                        Map<String, Boolean> features) {
+        this.versionsDir = versionsDir;
+        this.librariesDir = librariesDir;
+        this.assetsDir = assetsDir;
+        this.cacheDir = cacheDir;
+        this.resolver = new VersionResolver(versionsDir, librariesDir, httpCache, features);
+    }
+
+    public LaunchPlan plan(String versionId) throws IOException {
+        long start = System.nanoTime();
+        VersionResolver.Chain chain = resolver.chain(versionId);
+        Path cached = cacheDir.resolve(chain.key + ".json");
+
+        LaunchPlan plan = LaunchPlan.load(cached);
+        lastFromCache = plan != null;
+        if (plan == null) {
+            plan = resolver.resolve(chain);
+            plan.save(cached);
+        }
+
+        lastResolveMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Plano de lançamento de " + versionId + ": " + lastResolveMillis + "ms"
+                + (lastFromCache ? " (cache)" : " (resolvido)"));
+        return plan;
+    }
+
+    // Duração da última chamada a plan(), em ms; -1 se ainda não houve nenhuma
+    public long getLastResolveMillis() {
+        return lastResolveMillis;
+    }
+
+    public boolean wasLastFromCache() {
+        return lastFromCache;
+    }
+
+    // Extrai os natives do plano uma única vez por chave; retorna o diretório
+    public Path prepareNatives(LaunchPlan plan) throws IOException {
+        Path nativesDir = nativesDir(plan);
+        if (plan.getNatives().isEmpty() || Files.exists(nativesDir.resolve(NATIVES_MARKER))) {
+            Files.createDirectories(nativesDir);
+            return nativesDir;
+        }
+
+        Files.createDirectories(nativesDir);
+        for (LaunchPlan.NativeJar jar : plan.getNatives()) {
+            try (ZipFile zip = new ZipFile(jar.getPath())) {
+                for (ZipEntry entry : Collections.list(zip.entries())) {
+                    if (entry.isDirectory() || excluded(entry.getName(), jar.getExclude())) {
+                        continue;
+                    }
+                    Path target = nativesDir.resolve(entry.getName()).normalize();
+                    if (!target.startsWith(nativesDir)) {
+                        throw new IOException("Entrada fora do diretório de natives: " + entry.getName());
+                    }
+                    Files.createDirectories(target.getParent());
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+        }
+        Files.createFile(nativesDir.resolve(NATIVES_MARKER));
+        return nativesDir;
+    }
+
+    // java + opções da JVM + mainClass + argumentos do jogo, com as variáveis já substituídas.
+    // variables traz os dados da conta e do jogo (auth_player_name, auth_uuid,
+    // auth_access_token, user_type, game_directory...); o resto é preenchido aqui.
+    public List<String> buildCommand(LaunchPlan plan, String javaPath, List<String> extraJvmArguments,
+                                     Map<String, String> variables) {
+        Map<String, String> values = new HashMap<>();
+        values.put("natives_directory", nativesDir(plan).toString());
+        values.put("launcher_name", "AuroraSMPLauncher");
+        values.put("launcher_version", "1.0.0");
+        values.put("classpath", String.join(File.pathSeparator, plan.getClasspath()));
+        values.put("classpath_separator", File.pathSeparator);
+        values.put("library_directory", librariesDir.toString());
+        values.put("version_name", plan.getVersionId());
+        values.put("version_type", plan.getVersionType());
+        values.put("assets_root", assetsDir.toString());
+        values.put("game_assets", assetsDir.resolve("virtual").resolve(plan.getAssetsId()).toString());
+        values.put("assets_index_name", plan.getAssetsId());
+        values.put("clientid", "");
+        values.put("auth_xuid", "");
+        values.put("user_properties", "{}");
+        values.putAll(variables);
+        if (!values.containsKey("auth_session") && values.containsKey("auth_access_token")) {
+            values.put("auth_session", "token:" + values.get("auth_access_token") + ":" + values.get("auth_uuid"));
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(javaPath);
+        command.addAll(extraJvmArguments);
+        for (String argument : plan.getJvmArguments()) {
+            command.add(substitute(argument, values));
+        }
+        command.add(plan.getMainClass());
+        for (String argument : plan.getGameArguments()) {
+            command.add(substitute(argument, values));
+        }
+        return command;
+    }
+
+    private Path nativesDir(LaunchPlan plan) {
+        return versionsDir.resolve(plan.getVersionId()).resolve("natives-" + plan.getKey().substring(0, 12));
+    }
+
+    private static boolean excluded(String name, List<String> exclude) {
+        for (String prefix : exclude) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Variáveis desconhecidas ficam como estão, igual ao launcher oficial
+    private static String substitute(String argument, Map<String, String> values) {
+        if (argument.indexOf('$') < 0) {
+            return argument;
+        }
+        Matcher matcher = VARIABLE.matcher(argument);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,190 @@
+package com.aurorasmp.launcher.launch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Resultado da resolução de uma versão: classpath, argumentos (ainda com as
+// variáveis ${...}), natives e os arquivos que precisam existir no disco.
+// É gravado em cache pela chave da versão, então nos lançamentos seguintes não
+// é preciso reler a cadeia de JSONs nem reavaliar as regras.
+public class LaunchPlan {
+
+    private static final Gson GSON = new Gson();
+
+    // Incrementar quando o formato mudar, para descartar planos antigos do cache
+    static final int FORMAT = 1;
+
+    private int format = FORMAT;
+    private String key;
+    private String versionId;
+    private String versionType;
+    private String mainClass;
+    private String assetsId;
+    private int javaMajor;
+    private List<String> classpath = new ArrayList<>();
+    private List<String> jvmArguments = new ArrayList<>();
+    private List<String> gameArguments = new ArrayList<>();
+    private List<NativeJar> natives = new ArrayList<>();
+    private List<Download> downloads = new ArrayList<>();
+    private Download assetIndex;
+
+    LaunchPlan() {
+    }
+
+    LaunchPlan(String key, String versionId, String versionType, String mainClass, String assetsId, int javaMajor) {
+        this.key = key;
+        this.versionId = versionId;
+        this.versionType = versionType;
+        this.mainClass = mainClass;
+        this.assetsId = assetsId;
+        this.javaMajor = javaMajor;
+    }
+
+    // Retorna null se não existir, estiver inválido ou for de um formato antigo
+    static LaunchPlan load(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            LaunchPlan plan = GSON.fromJson(reader, LaunchPlan.class);
+            return plan != null && plan.format == FORMAT ? plan : null;
+        } catch (IOException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    void save(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getVersionId() {
+        return versionId;
+    }
+
+    public String getVersionType() {
+        return versionType;
+    }
+
+    public String getMainClass() {
+        return mainClass;
+    }
+
+    public String getAssetsId() {
+        return assetsId;
+    }
+
+    // Versão do Java exigida pelo JSON; 0 se não informada
+    public int getJavaMajor() {
+        return javaMajor;
+    }
+
+    public List<String> getClasspath() {
+        return classpath;
+    }
+
+    public List<String> getJvmArguments() {
+        return jvmArguments;
+    }
+
+    public List<String> getGameArguments() {
+        return gameArguments;
+    }
+
+    public List<NativeJar> getNatives() {
+        return natives;
+    }
+
+    // Bibliotecas e o jar do cliente (caminhos absolutos), com URL e SHA-1 para baixar o que faltar
+    public List<Download> getDownloads() {
+        return downloads;
+    }
+
+    // Índice de assets; o caminho é relativo ao diretório de assets
+    public Download getAssetIndex() {
+        return assetIndex;
+    }
+
+    void setAssetIndex(Download assetIndex) {
+        this.assetIndex = assetIndex;
+    }
+
+    public static class NativeJar {
+        private String path;
+        private List<String> exclude = new ArrayList<>();
+
+        NativeJar() {
+        }
+
+        NativeJar(String path, List<String> exclude) {
+            this.path = path;
+            if (exclude != null) {
+                this.exclude = exclude;
+            }
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public List<String> getExclude() {
+            return exclude;
+        }
+    }
+
+    public static class Download {
+        private String path;
+        private String url;
+        private String sha1;
+        private long size;
+
+        Download() {
+        }
+
+        public Download(String path, String url, String sha1, long size) {
+            this.path = path;
+            this.url = url;
+            this.sha1 = sha1;
+            this.size = size;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
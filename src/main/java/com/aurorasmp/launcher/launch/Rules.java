@@ -0,0 +1,78 @@
+package com.aurorasmp.launcher.launch;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+// Avalia as regras dos JSONs de versão ("allow"/"disallow" por sistema, arquitetura
+// e recursos). Sem regras, o item vale; com regras, vale a última que casar.
+final class Rules {
+
+    static final String OS_NAME = detectOs();
+    static final String OS_VERSION = System.getProperty("os.version", "");
+    static final String OS_ARCH = System.getProperty("os.arch", "");
+
+    private Rules() {
+    }
+
+    static boolean allowed(List<VersionJson.Rule> rules, Map<String, Boolean> features) {
+        if (rules == null || rules.isEmpty()) {
+            return true;
+        }
+        boolean allowed = false;
+        for (VersionJson.Rule rule : rules) {
+            if (matches(rule, features)) {
+                allowed = "allow".equals(rule.action);
+            }
+        }
+        return allowed;
+    }
+
+    private static boolean matches(VersionJson.Rule rule, Map<String, Boolean> features) {
+        if (rule.os != null) {
+            if (rule.os.name != null && !rule.os.name.equals(OS_NAME)) {
+                return false;
+            }
+            if (rule.os.arch != null && !archMatches(rule.os.arch)) {
+                return false;
+            }
+            if (rule.os.version != null && !Pattern.compile(rule.os.version).matcher(OS_VERSION).find()) {
+                return false;
+            }
+        }
+        if (rule.features != null) {
+            for (Map.Entry<String, Boolean> feature : rule.features.entrySet()) {
+                // equals: comparar Boolean com != compara referências, não valores
+                if (!Objects.equals(features.getOrDefault(feature.getKey(), false), feature.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean archMatches(String arch) {
+        if (arch.equals("x86")) {
+            return OS_ARCH.equals("x86") || OS_ARCH.equals("i386") || OS_ARCH.equals("i686");
+        }
+        return OS_ARCH.equals(arch);
+    }
+
+    // Valor de ${arch} nos classificadores de natives antigos ("natives-windows-${arch}")
+    static String bitness() {
+        return OS_ARCH.contains("64") ? "64" : "32";
+    }
+
+    private static String detectOs() {
+        String name = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (name.contains("win")) {
+            return "windows";
+        }
+        if (name.contains("mac") || name.contains("darwin")) {
+            return "osx";
+        }
+        return "linux";
+    }
+}
@@ -0,0 +1,101 @@
+package com.aurorasmp.launcher.launch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Modelo do JSON de versão do Minecraft (versions/<id>/<id>.json), tanto o da
+// Mojang quanto o gerado pelo instalador do Forge, que herda do vanilla via
+// "inheritsFrom". Só os campos usados para montar o lançamento são lidos.
+final class VersionJson {
+
+    private static final Gson GSON = new Gson();
+
+    String id;
+    String inheritsFrom;
+    String jar;
+    String type;
+    String mainClass;
+    String assets;
+    // Formato antigo (até 1.12): argumentos do jogo em uma única string
+    String minecraftArguments;
+    Arguments arguments;
+    AssetIndex assetIndex;
+    JavaVersion javaVersion;
+    Map<String, Artifact> downloads;
+    List<Library> libraries = new ArrayList<>();
+
+    static VersionJson parse(Reader reader) {
+        VersionJson version = GSON.fromJson(reader, VersionJson.class);
+        if (version == null || version.id == null) {
+            throw new JsonParseException("JSON de versão sem o campo \"id\"");
+        }
+        if (version.libraries == null) {
+            version.libraries = new ArrayList<>();
+        }
+        return version;
+    }
+
+    static final class Arguments {
+        // Cada item é uma string ou {"rules": [...], "value": string | [strings]}
+        List<JsonElement> game;
+        List<JsonElement> jvm;
+    }
+
+    static final class AssetIndex {
+        String id;
+        String sha1;
+        long size;
+        long totalSize;
+        String url;
+    }
+
+    static final class JavaVersion {
+        String component;
+        int majorVersion;
+    }
+
+    static final class Artifact {
+        String path;
+        String sha1;
+        long size;
+        String url;
+    }
+
+    static final class Library {
+        // group:artifact:version[:classifier][@extensão]
+        String name;
+        // Repositório Maven para bibliotecas sem "downloads" (comum no Forge antigo)
+        String url;
+        Downloads downloads;
+        Map<String, String> natives;
+        Extract extract;
+        List<Rule> rules;
+    }
+
+    static final class Downloads {
+        Artifact artifact;
+        Map<String, Artifact> classifiers;
+    }
+
+    static final class Extract {
+        List<String> exclude;
+    }
+
+    static final class Rule {
+        String action;
+        Os os;
+        Map<String, Boolean> features;
+    }
+
+    static final class Os {
+        String name;
+        String version;
+        String arch;
+    }
+}
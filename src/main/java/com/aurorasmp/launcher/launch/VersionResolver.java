@@ -0,0 +1,330 @@
+package com.aurorasmp.launcher.launch;
+
+import com.aurorasmp.launcher.http.HttpCache;
+import com.aurorasmp.launcher.util.Hashes;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Lê a cadeia de JSONs de uma versão (ex.: 1.19.2-forge-43.2.0 → 1.19.2) e a
+// transforma em um LaunchPlan: bibliotecas filtradas pelas regras do sistema,
+// classpath, argumentos da JVM e do jogo e natives a extrair.
+class VersionResolver {
+
+    private static final String MOJANG_VERSION_MANIFEST = "https://piston-meta.mojang.com/mc/game/version_manifest_v2.json";
+    private static final String MOJANG_LIBRARIES = "https://libraries.minecraft.net/";
+    private static final int MAX_CHAIN = 8;
+    private static final Gson GSON = new Gson();
+
+    // Formato antigo: sem "arguments.jvm" o launcher monta o mínimo necessário
+    private static final List<String> LEGACY_JVM_ARGUMENTS = Arrays.asList(
+            "-Djava.library.path=${natives_directory}", "-cp", "${classpath}");
+
+    private final Path versionsDir;
+    private final Path librariesDir;
+    private final HttpCache httpCache;
+    private final Map<String, Boolean> features;
+
+    VersionResolver(Path versionsDir, Path librariesDir, HttpCache httpCache, Map<String, Boolean> features) {
+        this.versionsDir = versionsDir;
+        this.librariesDir = librariesDir;
+        this.httpCache = httpCache;
+        this.features = new TreeMap<>(features);
+    }
+
+    // Bytes dos JSONs da cadeia, do mais específico para o vanilla, e a chave que os identifica
+    static final class Chain {
+        final List<byte[]> jsons;
+        final String key;
+
+        Chain(List<byte[]> jsons, String key) {
+            this.jsons = jsons;
+            this.key = key;
+        }
+    }
+
+    // Lê só o necessário para calcular a chave: os bytes de cada JSON e o "inheritsFrom"
+    Chain chain(String versionId) throws IOException {
+        MessageDigest digest = Hashes.sha256();
+        digest.update(("plan-v" + LaunchPlan.FORMAT + "|" + Rules.OS_NAME + "|" + Rules.OS_ARCH + "|"
+                + features + "|" + librariesDir.toAbsolutePath() + "|").getBytes(StandardCharsets.UTF_8));
+
+        List<byte[]> jsons = new ArrayList<>();
+        String id = versionId;
+        while (id != null) {
+            if (jsons.size() >= MAX_CHAIN) {
+                throw new IOException("Cadeia de inheritsFrom longa demais a partir de " + versionId);
+            }
+            byte[] json = readVersionJson(id);
+            jsons.add(json);
+            digest.update(json);
+            id = inheritsFrom(json);
+        }
+        return new Chain(jsons, Hashes.toHex(digest.digest()));
+    }
+
+    LaunchPlan resolve(Chain chain) throws IOException {
+        List<VersionJson> versions = new ArrayList<>(chain.jsons.size());
+        try {
+            for (byte[] json : chain.jsons) {
+                try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+                    versions.add(VersionJson.parse(reader));
+                }
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("JSON de versão inválido: " + e.getMessage(), e);
+        }
+
+        VersionJson top = versions.get(0);
+        VersionJson base = versions.get(versions.size() - 1);
+
+        String mainClass = null;
+        String assetsId = null;
+        String type = null;
+        String legacyArguments = null;
+        int javaMajor = 0;
+        VersionJson.AssetIndex assetIndex = null;
+        for (VersionJson version : versions) {
+            if (mainClass == null) {
+                mainClass = version.mainClass;
+            }
+            if (assetsId == null) {
+                assetsId = version.assets;
+            }
+            if (type == null) {
+                type = version.type;
+            }
+            if (legacyArguments == null) {
+                legacyArguments = version.minecraftArguments;
+            }
+            if (javaMajor == 0 && version.javaVersion != null) {
+                javaMajor = version.javaVersion.majorVersion;
+            }
+            if (assetIndex == null) {
+                assetIndex = version.assetIndex;
+            }
+        }
+        if (mainClass == null) {
+            throw new IOException("Versão " + top.id + " não define mainClass");
+        }
+        if (assetsId == null && assetIndex != null) {
+            assetsId = assetIndex.id;
+        }
+
+        LaunchPlan plan = new LaunchPlan(chain.key, top.id, type != null ? type : "release", mainClass,
+                assetsId != null ? assetsId : "legacy", javaMajor);
+        if (assetIndex != null) {
+            plan.setAssetIndex(new LaunchPlan.Download("indexes/" + assetIndex.id + ".json", assetIndex.url,
+                    assetIndex.sha1, assetIndex.size));
+        }
+
+        addLibraries(plan, versions);
+
+        // Jar do cliente: o "jar" declarado pela versão mais específica ou o do vanilla
+        String jarId = top.jar != null ? top.jar : base.id;
+        String clientJar = versionsDir.resolve(jarId).resolve(jarId + ".jar").toString();
+        plan.getClasspath().add(clientJar);
+        VersionJson.Artifact client = base.downloads != null ? base.downloads.get("client") : null;
+        if (client != null && client.url != null) {
+            plan.getDownloads().add(new LaunchPlan.Download(clientJar, client.url, client.sha1, client.size));
+        }
+
+        // Argumentos: os do vanilla primeiro, depois os que o Forge acrescenta
+        if (legacyArguments != null) {
+            plan.getGameArguments().addAll(Arrays.asList(legacyArguments.trim().split("\\s+")));
+        }
+        boolean hasJvmArguments = false;
+        for (int i = versions.size() - 1; i >= 0; i--) {
+            VersionJson.Arguments arguments = versions.get(i).arguments;
+            if (arguments == null) {
+                continue;
+            }
+            if (legacyArguments == null) {
+                addArguments(plan.getGameArguments(), arguments.game);
+            }
+            if (arguments.jvm != null) {
+                hasJvmArguments = true;
+                addArguments(plan.getJvmArguments(), arguments.jvm);
+            }
+        }
+        if (!hasJvmArguments) {
+            plan.getJvmArguments().addAll(LEGACY_JVM_ARGUMENTS);
+        }
+        return plan;
+    }
+
+    private void addLibraries(LaunchPlan plan, List<VersionJson> versions) {
+        // A mesma biblioteca pode aparecer no Forge e no vanilla: vale a da versão mais específica
+        Set<String> seen = new HashSet<>();
+        for (VersionJson version : versions) {
+            for (VersionJson.Library library : version.libraries) {
+                if (library.name == null || !Rules.allowed(library.rules, features)) {
+                    continue;
+                }
+                String[] coordinates = library.name.split(":");
+                if (coordinates.length < 3) {
+                    continue;
+                }
+
+                if (library.natives != null) {
+                    addNatives(plan, library, coordinates);
+                    continue;
+                }
+
+                String identity = coordinates[0] + ":" + coordinates[1] + (coordinates.length > 3 ? ":" + coordinates[3] : "");
+                if (!seen.add(identity)) {
+                    continue;
+                }
+
+                VersionJson.Artifact artifact = library.downloads != null ? library.downloads.artifact : null;
+                String path = artifact != null && artifact.path != null ? artifact.path : mavenPath(library.name, null);
+                plan.getClasspath().add(librariesDir.resolve(path).toString());
+                addDownload(plan, library, artifact, path);
+            }
+        }
+    }
+
+    // Natives no formato antigo (LWJGL 2/3 até a 1.18): jar separado por sistema, extraído antes do jogo
+    private void addNatives(LaunchPlan plan, VersionJson.Library library, String[] coordinates) {
+        String classifier = library.natives.get(Rules.OS_NAME);
+        if (classifier == null) {
+            return;
+        }
+        classifier = classifier.replace("${arch}", Rules.bitness());
+
+        VersionJson.Artifact artifact = null;
+        if (library.downloads != null && library.downloads.classifiers != null) {
+            artifact = library.downloads.classifiers.get(classifier);
+        }
+        String path = artifact != null && artifact.path != null ? artifact.path : mavenPath(library.name, classifier);
+        plan.getNatives().add(new LaunchPlan.NativeJar(librariesDir.resolve(path).toString(),
+                library.extract != null ? library.extract.exclude : null));
+        addDownload(plan, library, artifact, path);
+    }
+
+    private void addDownload(LaunchPlan plan, VersionJson.Library library, VersionJson.Artifact artifact,
+                             String path) {
+        String target = librariesDir.resolve(path).toString();
+        if (artifact != null) {
+            // O jar do próprio Forge vem com URL vazia: é gerado pelo instalador
+            if (artifact.url != null && !artifact.url.isEmpty()) {
+                plan.getDownloads().add(new LaunchPlan.Download(target, artifact.url, artifact.sha1, artifact.size));
+            }
+            return;
+        }
+        String repository = library.url != null ? library.url : MOJANG_LIBRARIES;
+        if (!repository.endsWith("/")) {
+            repository += "/";
+        }
+        plan.getDownloads().add(new LaunchPlan.Download(target, repository + path, null, -1));
+    }
+
+    private void addArguments(List<String> target, List<JsonElement> arguments) {
+        if (arguments == null) {
+            return;
+        }
+        for (JsonElement argument : arguments) {
+            if (argument.isJsonPrimitive()) {
+                target.add(argument.getAsString());
+                continue;
+            }
+            JsonObject conditional = argument.getAsJsonObject();
+            List<VersionJson.Rule> rules = conditional.has("rules")
+                    ? Arrays.asList(GSON.fromJson(conditional.getAsJsonArray("rules"), VersionJson.Rule[].class))
+                    : null;
+            if (!Rules.allowed(rules, features)) {
+                continue;
+            }
+            JsonElement value = conditional.get("value");
+            if (value == null) {
+                continue;
+            }
+            if (value.isJsonArray()) {
+                for (JsonElement item : value.getAsJsonArray()) {
+                    target.add(item.getAsString());
+                }
+            } else {
+                target.add(value.getAsString());
+            }
+        }
+    }
+
+    // group:artifact:version[:classifier][@ext] → group/artifact/version/artifact-version[-classifier].ext
+    static String mavenPath(String name, String extraClassifier) {
+        String extension = "jar";
+        int at = name.indexOf('@');
+        if (at >= 0) {
+            extension = name.substring(at + 1);
+            name = name.substring(0, at);
+        }
+        String[] parts = name.split(":");
+        String classifier = parts.length > 3 ? parts[3] : extraClassifier;
+        return parts[0].replace('.', '/') + "/" + parts[1] + "/" + parts[2] + "/"
+                + parts[1] + "-" + parts[2] + (classifier != null ? "-" + classifier : "") + "." + extension;
+    }
+
+    private byte[] readVersionJson(String id) throws IOException {
+        Path file = versionsDir.resolve(id).resolve(id + ".json");
+        if (Files.exists(file)) {
+            return Files.readAllBytes(file);
+        }
+        if (httpCache == null) {
+            throw new IOException("Versão não instalada: " + id);
+        }
+
+        // Versões vanilla ausentes vêm da lista oficial da Mojang
+        String url = null;
+        JsonObject manifest = JsonParser.parseString(new String(httpCache.get(MOJANG_VERSION_MANIFEST),
+                StandardCharsets.UTF_8)).getAsJsonObject();
+        for (JsonElement entry : manifest.getAsJsonArray("versions")) {
+            JsonObject version = entry.getAsJsonObject();
+            if (id.equals(version.get("id").getAsString())) {
+                url = version.get("url").getAsString();
+                break;
+            }
+        }
+        if (url == null) {
+            throw new IOException("Versão não encontrada: " + id);
+        }
+
+        byte[] json = httpCache.get(url);
+        Files.createDirectories(file.getParent());
+        Files.write(file, json);
+        return json;
+    }
+
+    private static String inheritsFrom(byte[] json) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("inheritsFrom") && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
+            }
+            return null;
+        } catch (IllegalStateException e) {
+            throw new IOException("JSON de versão inválido", e);
+        }
+    }
+}
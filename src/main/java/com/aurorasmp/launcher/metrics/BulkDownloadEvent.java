@@ -0,0 +1,32 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// entries = arquivos pedidos; bytes = bytes baixados de fato
+@Name("com.aurorasmp.BulkDownload")
+@Label("Download de bibliotecas e assets")
+@Description("Um lote de arquivos pequenos conferidos pelo índice e baixados em paralelo")
+public class BulkDownloadEvent extends LauncherEvent {
+
+    @Label("Pulados pelo índice")
+    int skipped;
+
+    @Label("Conferidos por hash")
+    int verified;
+
+    @Label("Baixados")
+    int downloaded;
+
+    public void setCounts(int skipped, int verified, int downloaded) {
+        this.skipped = skipped;
+        this.verified = verified;
+        this.downloaded = downloaded;
+    }
+
+    @Override
+    protected String operation() {
+        return "bulk-download";
+    }
+}
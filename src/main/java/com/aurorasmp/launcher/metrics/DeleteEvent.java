@@ -0,0 +1,24 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// entries = arquivos e diretórios apagados; bytes = espaço liberado
+@Name("com.aurorasmp.Delete")
+@Label("Remoção de diretório")
+@Description("Um diretório apagado recursivamente")
+public class DeleteEvent extends LauncherEvent {
+
+    @Label("Caminho")
+    String path;
+
+    public DeleteEvent(String path) {
+        this.path = path;
+    }
+
+    @Override
+    protected String operation() {
+        return "delete";
+    }
+}
@@ -0,0 +1,37 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aurorasmp.Download")
+@Label("Download de arquivo")
+@Description("Um arquivo baixado em segmentos (ZIP do modpack ou arquivo do manifesto)")
+public class DownloadEvent extends LauncherEvent {
+
+    @Label("URL")
+    String url;
+
+    @Label("Segmentos")
+    int segments;
+
+    @Label("Retomado")
+    boolean resumed;
+
+    public DownloadEvent(String url) {
+        this.url = url;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public void setResumed(boolean resumed) {
+        this.resumed = resumed;
+    }
+
+    @Override
+    protected String operation() {
+        return "download";
+    }
+}
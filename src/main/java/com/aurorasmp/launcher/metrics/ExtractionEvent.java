@@ -0,0 +1,28 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// entries = arquivos extraídos; bytes = tamanho descomprimido
+@Name("com.aurorasmp.Extraction")
+@Label("Extração de ZIP")
+@Description("Entradas de um ZIP extraídas em paralelo")
+public class ExtractionEvent extends LauncherEvent {
+
+    @Label("Arquivo")
+    String archive;
+
+    @Label("Threads")
+    int threads;
+
+    public ExtractionEvent(String archive, int threads) {
+        this.archive = archive;
+        this.threads = threads;
+    }
+
+    @Override
+    protected String operation() {
+        return "extraction";
+    }
+}
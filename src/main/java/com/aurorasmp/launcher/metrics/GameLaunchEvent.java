@@ -0,0 +1,142 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Do clique em JOGAR até o menu do jogo; cada etapa em milissegundos, -1 se não chegou nela
+@Name("com.aurorasmp.GameLaunch")
+@Label("Início do jogo")
+@Description("Etapas entre o clique em JOGAR e o jogo pronto")
+public class GameLaunchEvent extends LauncherEvent {
+
+    @Label("Versão")
+    String versionId;
+
+    @Label("Plano em cache")
+    boolean planFromCache;
+
+    @Label("Renovação do token")
+    @Timespan(Timespan.MILLISECONDS)
+    long authMillis = -1;
+
+    @Label("Plano de lançamento")
+    @Timespan(Timespan.MILLISECONDS)
+    long planMillis = -1;
+
+    @Label("Conferência de arquivos")
+    @Timespan(Timespan.MILLISECONDS)
+    long filesMillis = -1;
+
+    @Label("Conferência dos mods")
+    @Timespan(Timespan.MILLISECONDS)
+    long modsMillis = -1;
+
+    @Label("Natives")
+    @Timespan(Timespan.MILLISECONDS)
+    long nativesMillis = -1;
+
+    @Label("Escolha do Java")
+    @Timespan(Timespan.MILLISECONDS)
+    long javaMillis = -1;
+
+    @Label("Criação do processo")
+    @Timespan(Timespan.MILLISECONDS)
+    long spawnMillis = -1;
+
+    @Label("Até a janela")
+    @Timespan(Timespan.MILLISECONDS)
+    long windowMillis = -1;
+
+    @Label("Até o menu")
+    @Timespan(Timespan.MILLISECONDS)
+    long readyMillis = -1;
+
+    private transient long phaseStart;
+
+    public GameLaunchEvent(String versionId) {
+        this.versionId = versionId;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        phaseStart = System.nanoTime();
+    }
+
+    // Milissegundos desde a etapa anterior; cada chamada fecha uma etapa
+    public long lap() {
+        long now = System.nanoTime();
+        long millis = (now - phaseStart) / 1_000_000;
+        phaseStart = now;
+        return millis;
+    }
+
+    public void setPlanFromCache(boolean planFromCache) {
+        this.planFromCache = planFromCache;
+    }
+
+    public void setAuthMillis(long authMillis) {
+        this.authMillis = authMillis;
+    }
+
+    public void setPlanMillis(long planMillis) {
+        this.planMillis = planMillis;
+    }
+
+    public void setFilesMillis(long filesMillis) {
+        this.filesMillis = filesMillis;
+    }
+
+    public void setModsMillis(long modsMillis) {
+        this.modsMillis = modsMillis;
+    }
+
+    public void setNativesMillis(long nativesMillis) {
+        this.nativesMillis = nativesMillis;
+    }
+
+    public void setJavaMillis(long javaMillis) {
+        this.javaMillis = javaMillis;
+    }
+
+    public void setSpawnMillis(long spawnMillis) {
+        this.spawnMillis = spawnMillis;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void setReadyMillis(long readyMillis) {
+        this.readyMillis = readyMillis;
+    }
+
+    @Override
+    public void finish(boolean success) {
+        super.finish(success);
+        // Cada etapa também entra no resumo da sessão, para comparar onde o tempo foi
+        SessionMetrics session = SessionMetrics.shared();
+        recordPhase(session, "launch.auth", authMillis);
+        recordPhase(session, "launch.plan", planMillis);
+        recordPhase(session, "launch.files", filesMillis);
+        recordPhase(session, "launch.mods", modsMillis);
+        recordPhase(session, "launch.natives", nativesMillis);
+        recordPhase(session, "launch.java", javaMillis);
+        recordPhase(session, "launch.spawn", spawnMillis);
+        recordPhase(session, "launch.window", windowMillis);
+        recordPhase(session, "launch.ready", readyMillis);
+    }
+
+    private static void recordPhase(SessionMetrics session, String name, long millis) {
+        if (millis >= 0) {
+            session.record(name, millis * 1_000_000, 0, 0, true);
+        }
+    }
+
+    @Override
+    protected String operation() {
+        return "game-launch";
+    }
+}
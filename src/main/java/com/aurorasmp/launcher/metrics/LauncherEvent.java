@@ -0,0 +1,74 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+
+// Base dos eventos do JDK Flight Recorder emitidos pelo launcher. Além de ir para
+// uma gravação JFR (quando há uma ativa), cada evento terminado entra no resumo da
+// sessão, então as medições existem mesmo sem o JFR ligado.
+//
+// Uso: event.start(); ... event.addBytes(n); ... event.finish();
+@Category({"Aurora Launcher"})
+public abstract class LauncherEvent extends Event {
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    @Label("Entradas")
+    long entries;
+
+    @Label("Vazão")
+    @DataAmount(DataAmount.BYTES)
+    @Frequency
+    long bytesPerSecond;
+
+    @Label("Sucesso")
+    boolean success;
+
+    // transient: fica fora do evento gravado
+    private transient long startNanos;
+
+    // Nome da operação no resumo da sessão (ex.: "download")
+    protected abstract String operation();
+
+    public void start() {
+        startNanos = System.nanoTime();
+        begin();
+    }
+
+    public void addBytes(long count) {
+        bytes += count;
+    }
+
+    public void addEntries(long count) {
+        entries += count;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setEntries(long entries) {
+        this.entries = entries;
+    }
+
+    public void finish() {
+        finish(true);
+    }
+
+    // Chamado em finally com success=false quando a operação falhou
+    public void finish(boolean success) {
+        end();
+        long nanos = System.nanoTime() - startNanos;
+        this.success = success;
+        bytesPerSecond = nanos > 0 ? (long) (bytes * 1_000_000_000.0 / nanos) : 0;
+        if (shouldCommit()) {
+            commit();
+        }
+        SessionMetrics.shared().record(operation(), nanos, bytes, entries, success);
+    }
+}
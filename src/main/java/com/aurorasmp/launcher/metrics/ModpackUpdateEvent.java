@@ -0,0 +1,46 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// entries = arquivos gravados; bytes = bytes gravados
+@Name("com.aurorasmp.ModpackUpdate")
+@Label("Atualização do modpack")
+@Description("Uma atualização completa do modpack, do manifesto ao índice salvo")
+public class ModpackUpdateEvent extends LauncherEvent {
+
+    @Label("Versão")
+    String version;
+
+    // "urls", "stream" ou "zip"
+    @Label("Modo")
+    String mode;
+
+    @Label("Arquivos removidos")
+    int removed;
+
+    @Label("Arquivos sem alteração")
+    int unchanged;
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public void setRemoved(int removed) {
+        this.removed = removed;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    @Override
+    protected String operation() {
+        return "modpack-update";
+    }
+}
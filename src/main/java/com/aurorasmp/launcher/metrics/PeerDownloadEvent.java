@@ -0,0 +1,27 @@
+package com.aurorasmp.launcher.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aurorasmp.PeerDownload")
+@Label("Download de peer na rede local")
+@Description("Um arquivo do modpack baixado de outro launcher na rede local")
+public class PeerDownloadEvent extends LauncherEvent {
+
+    @Label("Peer")
+    String peer;
+
+    @Label("SHA-256")
+    String sha256;
+
+    public PeerDownloadEvent(String peer, String sha256) {
+        this.peer = peer;
+        this.sha256 = sha256;
+    }
+
+    @Override
+    protected String operation() {
+        return "peer-download";
+    }
+}
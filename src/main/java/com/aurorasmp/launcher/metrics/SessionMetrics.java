@@ -0,0 +1,134 @@
+package com.aurorasmp.launcher.metrics;
+
+import com.aurorasmp.launcher.jvm.SystemResources;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Resumo de tudo que o launcher mediu em uma sessão (da abertura ao fechamento):
+// por operação, quantas vezes rodou, quantas falharam, tempo total e máximo, bytes
+// e entradas. No fechamento vira uma linha JSON em metrics.jsonl junto com a
+// máquina do jogador, para comparar versões e anexar em um relato de lentidão.
+//
+// Com -Daurora.jfr=true a sessão também é gravada pelo JFR em logs/launcher-*.jfr.
+public class SessionMetrics {
+
+    private static final SessionMetrics SHARED = new SessionMetrics();
+    private static final Gson GSON = new Gson();
+    // O arquivo guarda só as sessões mais recentes
+    private static final long MAX_FILE_BYTES = 512 * 1024;
+    private static final int KEEP_SESSIONS = 100;
+
+    private final Instant started = Instant.now();
+    private final Map<String, Stat> operations = new TreeMap<>();
+    private String startup;
+    private Recording recording;
+
+    public static SessionMetrics shared() {
+        return SHARED;
+    }
+
+    public synchronized void record(String operation, long nanos, long bytes, long entries, boolean success) {
+        Stat stat = operations.computeIfAbsent(operation, k -> new Stat());
+        stat.count++;
+        if (!success) {
+            stat.failures++;
+        }
+        long millis = nanos / 1_000_000;
+        stat.totalMillis += millis;
+        stat.maxMillis = Math.max(stat.maxMillis, millis);
+        stat.bytes += bytes;
+        stat.entries += entries;
+    }
+
+    // Resumo do StartupTimer, guardado junto da sessão
+    public synchronized void setStartup(String startup) {
+        this.startup = startup;
+    }
+
+    // Grava a sessão inteira com o JFR (configuração "default", baixo custo) até o close
+    public synchronized void startRecording(Path file) throws IOException {
+        if (recording != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName("aurora-launcher");
+            started.setDestination(file);
+            started.setToDisk(true);
+            started.start();
+            recording = started;
+        } catch (ParseException e) {
+            throw new IOException("Configuração do JFR inválida", e);
+        }
+    }
+
+    // Para a gravação do JFR (se houver) e acrescenta a sessão ao arquivo de métricas
+    public void close(Path metricsFile, String launcherVersion) throws IOException {
+        Recording active;
+        String line;
+        synchronized (this) {
+            active = recording;
+            recording = null;
+            line = toJson(launcherVersion);
+        }
+        if (active != null) {
+            // Com destino definido, stop() grava o arquivo .jfr
+            active.stop();
+            active.close();
+        }
+        append(metricsFile, line);
+    }
+
+    private String toJson(String launcherVersion) {
+        JsonObject session = new JsonObject();
+        session.addProperty("started", started.toString());
+        session.addProperty("seconds", (System.currentTimeMillis() - started.toEpochMilli()) / 1000);
+        session.addProperty("launcher", launcherVersion);
+        session.addProperty("java", System.getProperty("java.version"));
+        session.addProperty("os", System.getProperty("os.name") + " " + System.getProperty("os.version")
+                + " " + System.getProperty("os.arch"));
+        SystemResources machine = SystemResources.detect();
+        session.addProperty("cores", machine.getCores());
+        session.addProperty("memoryMb", machine.getTotalMemoryMb());
+        if (startup != null) {
+            session.addProperty("startup", startup);
+        }
+        session.add("operations", GSON.toJsonTree(operations));
+        return GSON.toJson(session);
+    }
+
+    private static void append(Path file, String line) throws IOException {
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file) && Files.size(file) > MAX_FILE_BYTES) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            Files.write(file, lines.subList(Math.max(0, lines.size() - KEEP_SESSIONS), lines.size()),
+                    StandardCharsets.UTF_8);
+        }
+        Files.write(file, (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Serializado pelo Gson com estes nomes
+    private static final class Stat {
+        long count;
+        long failures;
+        long totalMillis;
+        long maxMillis;
+        long bytes;
+        long entries;
+    }
+}
@@ -0,0 +1,70 @@
+package com.aurorasmp.launcher.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Registra os tempos da abertura do launcher: marcos contados a partir do início
+// da JVM (ex.: first-frame, ready) e a duração de cada etapa executada em paralelo.
+// Cada abertura vira uma linha no log, para comparar uma versão com a outra.
+public class StartupTimer {
+
+    private final long originNanos;
+    private final Map<String, Long> marks = new LinkedHashMap<>();
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+
+    public StartupTimer() {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        this.originNanos = System.nanoTime() - uptimeMillis * 1_000_000;
+    }
+
+    // Marco: milissegundos desde o início da JVM
+    public synchronized void mark(String name) {
+        marks.putIfAbsent(name, (System.nanoTime() - originNanos) / 1_000_000);
+    }
+
+    public void time(String name, Runnable task) {
+        time(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> T time(String name, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            recordDuration(name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public synchronized void recordDuration(String name, long millis) {
+        durations.put(name, millis);
+    }
+
+    public synchronized Long getMark(String name) {
+        return marks.get(name);
+    }
+
+    // Ex.: "first-frame=412ms ready=1180ms | directories=2ms accounts=9ms banner=85ms version-check=702ms"
+    public synchronized String summary() {
+        StringBuilder text = new StringBuilder();
+        marks.forEach((name, millis) -> text.append(name).append('=').append(millis).append("ms "));
+        text.append('|');
+        durations.forEach((name, millis) -> text.append(' ').append(name).append('=').append(millis).append("ms"));
+        return text.toString();
+    }
+
+    public void append(Path log, String launcherVersion) throws IOException {
+        String line = Instant.now() + " " + launcherVersion + " " + summary() + System.lineSeparator();
+        Files.write(log, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,66 @@
+package com.aurorasmp.launcher.mods;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Metadados dos jars já lidos (nome do arquivo → ModJar). Se tamanho e data do
+// jar continuam iguais, o que está aqui vale e o jar não é aberto.
+class ModIndex {
+
+    private static final Gson GSON = new Gson();
+
+    private Map<String, ModJar> jars = new TreeMap<>();
+
+    static ModIndex load(Path file) {
+        if (!Files.exists(file)) {
+            return new ModIndex();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ModIndex index = GSON.fromJson(reader, ModIndex.class);
+            if (index == null || index.jars == null) {
+                return new ModIndex();
+            }
+            return index;
+        } catch (IOException | JsonParseException e) {
+            // Índice corrompido: os jars são lidos de novo
+            e.printStackTrace();
+            return new ModIndex();
+        }
+    }
+
+    void save(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    ModJar get(String name) {
+        return jars.get(name);
+    }
+
+    int size() {
+        return jars.size();
+    }
+
+    void replace(Map<String, ModJar> current) {
+        jars = new TreeMap<>(current);
+    }
+}
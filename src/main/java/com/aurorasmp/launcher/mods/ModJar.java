@@ -0,0 +1,155 @@
+package com.aurorasmp.launcher.mods;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// O que o scanner sabe de um jar da pasta mods: tamanho e data (para saber se
+// precisa ler de novo) e o que está no META-INF/mods.toml e no manifesto.
+public class ModJar {
+
+    public enum Kind {
+        // Tem META-INF/mods.toml
+        FORGE,
+        // Biblioteca sem mods (FMLModType LIBRARY/GAMELIBRARY ou só classes)
+        LIBRARY,
+        // fabric.mod.json / quilt.mod.json: não carrega no Forge
+        FABRIC,
+        // mcmod.info: Forge 1.12 ou anterior
+        LEGACY
+    }
+
+    private String file;
+    private long size;
+    private long modified;
+    private Kind kind;
+    private String modLoader;
+    private String loaderVersion;
+    private List<Mod> mods = new ArrayList<>();
+    private List<Dependency> dependencies = new ArrayList<>();
+    // Preenchido quando o jar não pôde ser lido (ZIP corrompido, mods.toml inválido)
+    private String error;
+
+    ModJar(String file, long size, long modified) {
+        this.file = file;
+        this.size = size;
+        this.modified = modified;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getModified() {
+        return modified;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getModLoader() {
+        return modLoader;
+    }
+
+    public String getLoaderVersion() {
+        return loaderVersion;
+    }
+
+    void setLoader(String modLoader, String loaderVersion) {
+        this.modLoader = modLoader;
+        this.loaderVersion = loaderVersion;
+    }
+
+    public List<Mod> getMods() {
+        return mods;
+    }
+
+    public List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void setError(String error) {
+        this.error = error;
+    }
+
+    public static class Mod {
+        private String id;
+        private String version;
+        private String displayName;
+        // Veio de um jar dentro deste (META-INF/jarjar); o Forge escolhe entre as cópias
+        private boolean embedded;
+
+        Mod(String id, String version, String displayName, boolean embedded) {
+            this.id = id;
+            this.version = version;
+            this.displayName = displayName;
+            this.embedded = embedded;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        // null quando o mods.toml usa um valor que só o Forge resolve
+        public String getVersion() {
+            return version;
+        }
+
+        public String getDisplayName() {
+            return displayName != null ? displayName : id;
+        }
+
+        public boolean isEmbedded() {
+            return embedded;
+        }
+    }
+
+    public static class Dependency {
+        private String owner;
+        private String modId;
+        private boolean mandatory;
+        private String versionRange;
+        private String side;
+
+        Dependency(String owner, String modId, boolean mandatory, String versionRange, String side) {
+            this.owner = owner;
+            this.modId = modId;
+            this.mandatory = mandatory;
+            this.versionRange = versionRange;
+            this.side = side;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getModId() {
+            return modId;
+        }
+
+        public boolean isMandatory() {
+            return mandatory;
+        }
+
+        public String getVersionRange() {
+            return versionRange;
+        }
+
+        // BOTH, CLIENT ou SERVER
+        public String getSide() {
+            return side;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.aurorasmp.launcher.mods;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+// Lê os metadados de um jar sem ler o jar: o ZipFile carrega só o diretório
+// central, e daí só as entradas pequenas que interessam (mods.toml, manifesto)
+// são descomprimidas. Jars embutidos (META-INF/jarjar) são lidos em fluxo até o
+// mods.toml deles.
+final class ModJarReader {
+
+    private static final String MODS_TOML = "META-INF/mods.toml";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final String JARJAR_DIR = "META-INF/jarjar/";
+    // Um mods.toml maior que isso não é um mods.toml
+    private static final int MAX_METADATA_BYTES = 1024 * 1024;
+
+    private ModJarReader() {
+    }
+
+    static ModJar read(Path file, String name, long size, long modified) {
+        ModJar jar = new ModJar(name, size, modified);
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Attributes manifest = manifest(zip);
+            String jarVersion = manifest != null ? manifest.getValue("Implementation-Version") : null;
+
+            ZipEntry toml = zip.getEntry(MODS_TOML);
+            if (toml != null) {
+                jar.setKind(ModJar.Kind.FORGE);
+                readModsToml(jar, text(zip, toml), jarVersion, false);
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.getName().startsWith(JARJAR_DIR) && entry.getName().endsWith(".jar")) {
+                        readEmbedded(jar, zip, entry);
+                    }
+                }
+            } else if (zip.getEntry("fabric.mod.json") != null || zip.getEntry("quilt.mod.json") != null) {
+                jar.setKind(ModJar.Kind.FABRIC);
+            } else if (zip.getEntry("mcmod.info") != null) {
+                jar.setKind(ModJar.Kind.LEGACY);
+            } else {
+                jar.setKind(ModJar.Kind.LIBRARY);
+            }
+        } catch (IOException | RuntimeException e) {
+            jar.setError(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+        return jar;
+    }
+
+    // Mods de um jar dentro do jar; só o necessário do fluxo é descomprimido
+    private static void readEmbedded(ModJar jar, ZipFile zip, ZipEntry entry) {
+        try (ZipInputStream nested = new ZipInputStream(zip.getInputStream(entry))) {
+            String toml = null;
+            String jarVersion = null;
+            boolean manifestRead = false;
+            ZipEntry inner;
+            // O manifesto costuma ser a primeira entrada; para assim que tiver os dois
+            while ((toml == null || !manifestRead) && (inner = nested.getNextEntry()) != null) {
+                if (inner.getName().equals(MODS_TOML)) {
+                    toml = new String(readLimited(nested), StandardCharsets.UTF_8);
+                } else if (inner.getName().equals(MANIFEST)) {
+                    jarVersion = new Manifest(new ByteArrayInputStream(readLimited(nested)))
+                            .getMainAttributes().getValue("Implementation-Version");
+                    manifestRead = true;
+                }
+            }
+            if (toml != null) {
+                readModsToml(jar, toml, jarVersion, true);
+            }
+        } catch (IOException e) {
+            // Jar embutido ilegível: o de fora continua valendo
+            System.err.println("Jar embutido ilegível em " + jar.getFile() + ": " + entry.getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readModsToml(ModJar jar, String text, String jarVersion, boolean embedded) throws IOException {
+        Map<String, Object> toml = TomlReader.parse(text);
+        if (!embedded) {
+            jar.setLoader(string(toml.get("modLoader")), string(toml.get("loaderVersion")));
+        }
+
+        Object mods = toml.get("mods");
+        if (mods instanceof List) {
+            for (Object item : (List<Object>) mods) {
+                if (!(item instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> mod = (Map<String, Object>) item;
+                String id = string(mod.get("modId"));
+                if (id == null) {
+                    continue;
+                }
+                String version = string(mod.get("version"));
+                if ("${file.jarVersion}".equals(version)) {
+                    version = jarVersion;
+                } else if (version != null && version.contains("${")) {
+                    version = null;
+                }
+                jar.getMods().add(new ModJar.Mod(id, version, string(mod.get("displayName")), embedded));
+            }
+        }
+
+        // Dependências dos jars embutidos costumam ser resolvidas entre eles; só as de fora contam
+        Object dependencies = toml.get("dependencies");
+        if (embedded || !(dependencies instanceof Map)) {
+            return;
+        }
+        for (Map.Entry<String, Object> owner : ((Map<String, Object>) dependencies).entrySet()) {
+            if (!(owner.getValue() instanceof List)) {
+                continue;
+            }
+            for (Object item : (List<Object>) owner.getValue()) {
+                if (!(item instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> dependency = (Map<String, Object>) item;
+                String modId = string(dependency.get("modId"));
+                if (modId == null) {
+                    continue;
+                }
+                // Forge 1.19 usa mandatory=true/false; versões mais novas usam type="required"
+                Object mandatory = dependency.get("mandatory");
+                boolean required = Boolean.TRUE.equals(mandatory)
+                        || (mandatory == null && "required".equalsIgnoreCase(string(dependency.get("type"))));
+                String side = string(dependency.get("side"));
+                jar.getDependencies().add(new ModJar.Dependency(owner.getKey(), modId, required,
+                        string(dependency.get("versionRange")), side != null ? side.toUpperCase(Locale.ROOT) : "BOTH"));
+            }
+        }
+    }
+
+    private static Attributes manifest(ZipFile zip) throws IOException {
+        ZipEntry entry = zip.getEntry(MANIFEST);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            return new Manifest(in).getMainAttributes();
+        }
+    }
+
+    private static String text(ZipFile zip, ZipEntry entry) throws IOException {
+        try (InputStream in = zip.getInputStream(entry)) {
+            return new String(readLimited(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] readLimited(InputStream in) throws IOException {
+        byte[] data = in.readNBytes(MAX_METADATA_BYTES + 1);
+        if (data.length > MAX_METADATA_BYTES) {
+            throw new IOException("Metadados grandes demais");
+        }
+        return data;
+    }
+
+    private static String string(Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+}
@@ -0,0 +1,151 @@
+package com.aurorasmp.launcher.mods;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Resultado de uma varredura da pasta mods e a conferência antes de abrir o jogo:
+// tudo que faria o Forge parar no carregamento (mod duplicado, dependência
+// faltando ou na versão errada, carregador errado, jar de outro loader ou
+// ilegível) vira uma linha de problema.
+public class ModScan {
+
+    private final List<ModJar> jars;
+    private final int read;
+    private final long millis;
+
+    ModScan(List<ModJar> jars, int read, long millis) {
+        this.jars = jars;
+        this.read = read;
+        this.millis = millis;
+    }
+
+    public List<ModJar> getJars() {
+        return jars;
+    }
+
+    // Jars abertos nesta varredura; os outros vieram do índice
+    public int getRead() {
+        return read;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public int getModCount() {
+        int count = 0;
+        for (ModJar jar : jars) {
+            for (ModJar.Mod mod : jar.getMods()) {
+                if (!mod.isEmbedded()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Problemas para o cliente com este Minecraft e este Forge (ex.: "1.19.2", "43.2.0")
+    public List<String> problems(String minecraftVersion, String forgeVersion) {
+        List<String> problems = new ArrayList<>();
+        Map<String, Provider> provided = new HashMap<>();
+        provided.put("minecraft", new Provider(minecraftVersion, "Minecraft"));
+        provided.put("forge", new Provider(forgeVersion, "Forge"));
+
+        for (ModJar jar : jars) {
+            if (jar.getError() != null) {
+                problems.add(jar.getFile() + " não pôde ser lido: " + jar.getError());
+            } else if (jar.getKind() == ModJar.Kind.FABRIC) {
+                problems.add(jar.getFile() + " é um mod para Fabric/Quilt e não funciona no Forge");
+            } else if (jar.getKind() == ModJar.Kind.LEGACY) {
+                problems.add(jar.getFile() + " é para uma versão antiga do Minecraft (mcmod.info)");
+            }
+            for (ModJar.Mod mod : jar.getMods()) {
+                if (mod.isEmbedded()) {
+                    continue;
+                }
+                Provider existing = provided.get(mod.getId());
+                if (existing != null) {
+                    problems.add("Mod duplicado: " + mod.getId() + " em " + existing.source + " e " + jar.getFile());
+                } else {
+                    provided.put(mod.getId(), new Provider(mod.getVersion(), jar.getFile()));
+                }
+            }
+        }
+        // Embutidos só contam quando não há um jar próprio do mesmo mod
+        for (ModJar jar : jars) {
+            for (ModJar.Mod mod : jar.getMods()) {
+                if (mod.isEmbedded()) {
+                    provided.putIfAbsent(mod.getId(), new Provider(mod.getVersion(), jar.getFile()));
+                }
+            }
+        }
+
+        for (ModJar jar : jars) {
+            if (jar.getKind() != ModJar.Kind.FORGE || jar.getError() != null) {
+                continue;
+            }
+            checkLoader(jar, forgeVersion, provided, problems);
+            for (ModJar.Dependency dependency : jar.getDependencies()) {
+                // Dependências só do servidor não precisam estar no cliente
+                if ("SERVER".equals(dependency.getSide())) {
+                    continue;
+                }
+                Provider provider = provided.get(dependency.getModId());
+                if (provider == null) {
+                    if (dependency.isMandatory()) {
+                        problems.add(dependency.getOwner() + " (" + jar.getFile() + ") precisa de "
+                                + describe(dependency) + ", que não está instalado");
+                    }
+                } else if (provider.version != null && !accepts(dependency.getVersionRange(), provider.version)) {
+                    // Mesmo opcional, se estiver instalado o Forge exige a faixa
+                    problems.add(dependency.getOwner() + " (" + jar.getFile() + ") precisa de " + describe(dependency)
+                            + ", mas " + provider.source + " tem a versão " + provider.version);
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static void checkLoader(ModJar jar, String forgeVersion, Map<String, Provider> provided,
+                                    List<String> problems) {
+        String loader = jar.getModLoader();
+        if (loader == null) {
+            return;
+        }
+        if (loader.equals("javafml") || loader.equals("lowcodefml")) {
+            if (!accepts(jar.getLoaderVersion(), forgeVersion)) {
+                problems.add(jar.getFile() + " precisa do Forge " + jar.getLoaderVersion()
+                        + "; o modpack usa o Forge " + forgeVersion);
+            }
+        } else if (!provided.containsKey(loader)) {
+            // Carregadores de linguagem (ex.: kotlinforforge) são mods com o mesmo id
+            problems.add(jar.getFile() + " precisa do carregador " + loader + ", que não está instalado");
+        }
+    }
+
+    // Uma faixa que não conseguimos interpretar não bloqueia o jogo; o Forge decide
+    private static boolean accepts(String range, String version) {
+        try {
+            return VersionRange.parse(range).contains(version);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static String describe(ModJar.Dependency dependency) {
+        String range = dependency.getVersionRange();
+        return dependency.getModId() + (range == null || range.isBlank() || range.equals("*") ? "" : " " + range);
+    }
+
+    private static final class Provider {
+        final String version;
+        final String source;
+
+        Provider(String version, String source) {
+            this.version = version;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.aurorasmp.launcher.mods;
+
+import com.aurorasmp.launcher.util.Pools;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lê os metadados de todos os jars da pasta mods. Só os jars novos ou alterados
+// (tamanho ou data diferentes do índice) são abertos, em paralelo; o resultado
+// fica em um índice no disco, então depois de uma atualização só o que mudou é
+// lido e, sem mudanças, a varredura é só uma listagem do diretório.
+public class ModScanner {
+
+    public static final int DEFAULT_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Path indexFile;
+    private final int threads;
+    private ModIndex index;
+
+    public ModScanner(Path indexFile) {
+        this(indexFile, DEFAULT_THREADS);
+    }
+
+    public ModScanner(Path indexFile, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads deve ser >= 1");
+        }
+        this.indexFile = indexFile;
+        this.threads = threads;
+    }
+
+    // O Forge só carrega os jars direto na pasta mods, não em subpastas
+    public synchronized ModScan scan(Path modsDir) throws IOException {
+        long start = System.nanoTime();
+        if (index == null) {
+            index = ModIndex.load(indexFile);
+        }
+
+        Map<String, ModJar> jars = new TreeMap<>();
+        Map<String, Path> changed = new TreeMap<>();
+        if (Files.isDirectory(modsDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(modsDir, "*.jar")) {
+                for (Path file : files) {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (!attrs.isRegularFile()) {
+                        continue;
+                    }
+                    String name = file.getFileName().toString();
+                    ModJar known = index.get(name);
+                    if (known != null && known.getSize() == attrs.size()
+                            && known.getModified() == attrs.lastModifiedTime().toMillis()) {
+                        jars.put(name, known);
+                    } else {
+                        changed.put(name, file);
+                    }
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            jars.putAll(read(changed));
+        }
+        if (!changed.isEmpty() || jars.size() != index.size()) {
+            index.replace(jars);
+            index.save(indexFile);
+        }
+        return new ModScan(new ArrayList<>(jars.values()), changed.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Map<String, ModJar> read(Map<String, Path> files) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()), r -> {
+            Thread thread = new Thread(r, "aurora-mod-scan-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        boolean interrupted = false;
+        try {
+            List<Future<ModJar>> futures = new ArrayList<>(files.size());
+            for (Map.Entry<String, Path> entry : files.entrySet()) {
+                Path file = entry.getValue();
+                futures.add(executor.submit(() -> {
+                    // Data e tamanho antes da leitura: se o jar mudar durante, a próxima varredura lê de novo
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    return ModJarReader.read(file, entry.getKey(), attrs.size(), attrs.lastModifiedTime().toMillis());
+                }));
+            }
+            Map<String, ModJar> read = new TreeMap<>();
+            for (Future<ModJar> future : futures) {
+                try {
+                    ModJar jar = future.get();
+                    read.put(jar.getFile(), jar);
+                } catch (ExecutionException e) {
+                    // Jar apagado durante a varredura: fica de fora
+                    System.err.println("Falha ao ler mod: " + e.getCause());
+                }
+            }
+            return read;
+        } catch (InterruptedException e) {
+            interrupted = true;
+            throw new InterruptedIOException("Leitura dos mods interrompida");
+        } finally {
+            executor.shutdownNow();
+            // Nenhuma leitura pode continuar com o jar aberto depois que a varredura saiu
+            interrupted |= Pools.awaitTermination(executor, "leitura dos mods");
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.aurorasmp.launcher.mods;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Leitor de TOML suficiente para o META-INF/mods.toml do Forge: tabelas, listas de
+// tabelas ([[mods]], [[dependencies.x]]), chaves com ponto, strings dos quatro
+// tipos, listas e tabelas em linha. Números, datas e afins ficam como texto, que é
+// como o launcher os usa. Tabelas viram Map, listas de tabelas viram List<Map>.
+final class TomlReader {
+
+    private final String text;
+    private int pos;
+
+    private TomlReader(String text) {
+        this.text = text;
+    }
+
+    static Map<String, Object> parse(String text) throws IOException {
+        return new TomlReader(text).document();
+    }
+
+    private Map<String, Object> document() throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        Map<String, Object> current = root;
+        while (true) {
+            skipBlank(true);
+            if (pos >= text.length()) {
+                return root;
+            }
+            if (text.startsWith("[[", pos)) {
+                pos += 2;
+                List<String> path = key();
+                expect("]]");
+                current = appendTable(root, path);
+            } else if (text.charAt(pos) == '[') {
+                pos++;
+                List<String> path = key();
+                expect("]");
+                current = table(root, path, path.size());
+            } else {
+                keyValue(current);
+            }
+            endOfLine();
+        }
+    }
+
+    private void keyValue(Map<String, Object> table) throws IOException {
+        List<String> path = key();
+        expect("=");
+        Object value = value();
+        table(table, path, path.size() - 1).put(path.get(path.size() - 1), value);
+    }
+
+    // Chave simples, entre aspas ou com pontos ("a.b.'c'")
+    private List<String> key() throws IOException {
+        List<String> parts = new ArrayList<>();
+        while (true) {
+            skipBlank(false);
+            char c = peek();
+            if (c == '"' || c == '\'') {
+                parts.add(string());
+            } else {
+                int start = pos;
+                while (pos < text.length() && isBareKeyChar(text.charAt(pos))) {
+                    pos++;
+                }
+                if (start == pos) {
+                    throw error("chave esperada");
+                }
+                parts.add(text.substring(start, pos));
+            }
+            skipBlank(false);
+            if (peek() != '.') {
+                return parts;
+            }
+            pos++;
+        }
+    }
+
+    private Object value() throws IOException {
+        skipBlank(false);
+        char c = peek();
+        if (c == '"' || c == '\'') {
+            return string();
+        }
+        if (c == '[') {
+            pos++;
+            List<Object> list = new ArrayList<>();
+            while (true) {
+                skipBlank(true);
+                if (peek() == ']') {
+                    pos++;
+                    return list;
+                }
+                list.add(value());
+                skipBlank(true);
+                if (peek() == ',') {
+                    pos++;
+                } else if (peek() != ']') {
+                    throw error("',' ou ']' esperado");
+                }
+            }
+        }
+        if (c == '{') {
+            pos++;
+            Map<String, Object> inline = new LinkedHashMap<>();
+            skipBlank(false);
+            if (peek() == '}') {
+                pos++;
+                return inline;
+            }
+            while (true) {
+                keyValue(inline);
+                skipBlank(false);
+                char next = peek();
+                pos++;
+                if (next == '}') {
+                    return inline;
+                }
+                if (next != ',') {
+                    throw error("',' ou '}' esperado");
+                }
+            }
+        }
+        // true, false, números, datas: até o fim do valor
+        int start = pos;
+        while (pos < text.length() && ",]}#\r\n".indexOf(text.charAt(pos)) < 0) {
+            pos++;
+        }
+        String raw = text.substring(start, pos).trim();
+        if (raw.isEmpty()) {
+            throw error("valor esperado");
+        }
+        if (raw.equals("true") || raw.equals("false")) {
+            return Boolean.valueOf(raw);
+        }
+        return raw;
+    }
+
+    private String string() throws IOException {
+        char quote = text.charAt(pos);
+        boolean multiline = text.startsWith(String.valueOf(quote).repeat(3), pos);
+        boolean literal = quote == '\'';
+        pos += multiline ? 3 : 1;
+        if (multiline && peek() == '\n') {
+            pos++;
+        } else if (multiline && text.startsWith("\r\n", pos)) {
+            pos += 2;
+        }
+
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (pos >= text.length()) {
+                throw error("string sem fim");
+            }
+            char c = text.charAt(pos);
+            if (c == quote && (!multiline || text.startsWith(String.valueOf(quote).repeat(3), pos))) {
+                pos += multiline ? 3 : 1;
+                // Até duas aspas logo antes do fechamento fazem parte da string
+                for (int extra = 0; multiline && extra < 2 && peek() == quote; extra++) {
+                    value.append(quote);
+                    pos++;
+                }
+                return value.toString();
+            }
+            if (!multiline && (c == '\n' || c == '\r')) {
+                throw error("quebra de linha dentro de string");
+            }
+            pos++;
+            if (c != '\\' || literal) {
+                value.append(c);
+                continue;
+            }
+            char escaped = peek();
+            pos++;
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 't': value.append('\t'); break;
+                case 'r': value.append('\r'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case '"': value.append('"'); break;
+                case '\\': value.append('\\'); break;
+                case 'u':
+                case 'U':
+                    int digits = escaped == 'u' ? 4 : 8;
+                    if (pos + digits > text.length()) {
+                        throw error("escape unicode incompleto");
+                    }
+                    try {
+                        value.appendCodePoint(Integer.parseInt(text.substring(pos, pos + digits), 16));
+                    } catch (IllegalArgumentException e) {
+                        throw error("escape unicode inválido");
+                    }
+                    pos += digits;
+                    break;
+                default:
+                    if (multiline && Character.isWhitespace(escaped)) {
+                        // "\" no fim da linha: junta com a próxima, sem os espaços
+                        pos--;
+                        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                            pos++;
+                        }
+                    } else {
+                        throw error("escape inválido \\" + escaped);
+                    }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> table(Map<String, Object> root, List<String> path, int depth) throws IOException {
+        Map<String, Object> table = root;
+        for (int i = 0; i < depth; i++) {
+            Object child = table.get(path.get(i));
+            if (child == null) {
+                child = new LinkedHashMap<String, Object>();
+                table.put(path.get(i), child);
+            } else if (child instanceof List && !((List<?>) child).isEmpty()
+                    && ((List<?>) child).get(((List<?>) child).size() - 1) instanceof Map) {
+                // [a.b] depois de [[a]] entra no último elemento da lista
+                List<?> list = (List<?>) child;
+                child = list.get(list.size() - 1);
+            } else if (!(child instanceof Map)) {
+                throw error("'" + path.get(i) + "' não é uma tabela");
+            }
+            table = (Map<String, Object>) child;
+        }
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> appendTable(Map<String, Object> root, List<String> path) throws IOException {
+        Map<String, Object> parent = table(root, path, path.size() - 1);
+        String name = path.get(path.size() - 1);
+        Object existing = parent.get(name);
+        List<Object> list;
+        if (existing == null) {
+            list = new ArrayList<>();
+            parent.put(name, list);
+        } else if (existing instanceof List) {
+            list = (List<Object>) existing;
+        } else {
+            throw error("'" + name + "' não é uma lista de tabelas");
+        }
+        Map<String, Object> table = new LinkedHashMap<>();
+        list.add(table);
+        return table;
+    }
+
+    // Espaços e comentários; com newlines=true, também quebras de linha
+    private void skipBlank(boolean newlines) {
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == '#') {
+                while (pos < text.length() && text.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else if (c == ' ' || c == '\t' || (newlines && (c == '\n' || c == '\r'))) {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void endOfLine() throws IOException {
+        skipBlank(false);
+        if (pos < text.length() && text.charAt(pos) != '\n' && text.charAt(pos) != '\r') {
+            throw error("fim de linha esperado");
+        }
+    }
+
+    private void expect(String token) throws IOException {
+        skipBlank(false);
+        if (!text.startsWith(token, pos)) {
+            throw error("'" + token + "' esperado");
+        }
+        pos += token.length();
+    }
+
+    private char peek() {
+        return pos < text.length() ? text.charAt(pos) : '\0';
+    }
+
+    private static boolean isBareKeyChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private IOException error(String message) {
+        int line = 1;
+        for (int i = 0; i < pos && i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return new IOException("mods.toml inválido na linha " + line + ": " + message);
+    }
+}
@@ -0,0 +1,216 @@
+package com.aurorasmp.launcher.mods;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Faixa de versões no formato Maven usado pelo Forge nos mods.toml: "[43,)",
+// "[1.19,1.20)", "(,2.0]", "[1.0]", várias faixas separadas por vírgula, ou "*" /
+// uma versão solta, que aceitam qualquer versão (como no Forge).
+final class VersionRange {
+
+    private static final VersionRange ANY = new VersionRange("*", new ArrayList<>());
+
+    // Ordem dos qualificadores conhecidos; uma versão sem qualificador é uma "release"
+    private static final List<String> QUALIFIERS = List.of("alpha", "beta", "milestone", "rc", "snapshot", "", "sp");
+    private static final int RELEASE = QUALIFIERS.indexOf("");
+
+    private final String spec;
+    // Vazia = qualquer versão
+    private final List<Restriction> restrictions;
+
+    private VersionRange(String spec, List<Restriction> restrictions) {
+        this.spec = spec;
+        this.restrictions = restrictions;
+    }
+
+    static VersionRange parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.trim().equals("*")) {
+            return ANY;
+        }
+        String rest = spec.trim();
+        if (rest.charAt(0) != '[' && rest.charAt(0) != '(') {
+            // Versão recomendada, sem restrição
+            return new VersionRange(rest, new ArrayList<>());
+        }
+        List<Restriction> restrictions = new ArrayList<>();
+        while (!rest.isEmpty()) {
+            int close = indexOfClose(rest);
+            if (close < 0) {
+                throw new IllegalArgumentException("Faixa de versão inválida: " + spec);
+            }
+            restrictions.add(Restriction.parse(rest.substring(0, close + 1), spec));
+            rest = rest.substring(close + 1).trim();
+            if (rest.startsWith(",")) {
+                rest = rest.substring(1).trim();
+            }
+        }
+        return new VersionRange(spec.trim(), restrictions);
+    }
+
+    boolean contains(String version) {
+        if (restrictions.isEmpty()) {
+            return true;
+        }
+        for (Restriction restriction : restrictions) {
+            if (restriction.contains(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static int indexOfClose(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == ']' || text.charAt(i) == ')') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Compara como o ComparableVersion do Maven, simplificado: partes numéricas
+    // como números, qualificadores pela ordem conhecida (1.0-beta < 1.0 < 1.0.1)
+    static int compare(String a, String b) {
+        List<Object> left = items(a);
+        List<Object> right = items(b);
+        for (int i = 0; i < Math.max(left.size(), right.size()); i++) {
+            Object x = i < left.size() ? left.get(i) : null;
+            Object y = i < right.size() ? right.get(i) : null;
+            int result = compareItems(x, y);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareItems(Object x, Object y) {
+        if (x == null) {
+            return -compareItems(y, null);
+        }
+        if (x instanceof Long) {
+            if (y == null) {
+                return (Long) x == 0 ? 0 : 1;
+            }
+            // Número é maior que qualificador: 1.0.1 > 1.0-rc
+            return y instanceof Long ? Long.compare((Long) x, (Long) y) : 1;
+        }
+        String qualifier = (String) x;
+        if (y == null) {
+            return Integer.compare(rank(qualifier), RELEASE);
+        }
+        if (y instanceof Long) {
+            return -1;
+        }
+        String other = (String) y;
+        int result = Integer.compare(rank(qualifier), rank(other));
+        return result != 0 ? result : qualifier.compareTo(other);
+    }
+
+    private static int rank(String qualifier) {
+        switch (qualifier) {
+            case "a": return 0;
+            case "b": return 1;
+            case "m": return 2;
+            case "cr": return QUALIFIERS.indexOf("rc");
+            case "ga":
+            case "final":
+            case "release": return RELEASE;
+            default:
+                int known = QUALIFIERS.indexOf(qualifier);
+                // Desconhecidos vêm depois de todos os conhecidos
+                return known >= 0 ? known : QUALIFIERS.size();
+        }
+    }
+
+    // "1.19.2-forge-43.2.0" → [1, 19, 2, "forge", 43, 2, 0]
+    private static List<Object> items(String version) {
+        List<Object> items = new ArrayList<>();
+        String text = version.trim().toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '.' || c == '-' || c == '_' || c == '+') {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean digits = Character.isDigit(c);
+            while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))
+                    && Character.isDigit(text.charAt(i)) == digits) {
+                i++;
+            }
+            if (start == i) {
+                i++;
+                continue;
+            }
+            String part = text.substring(start, i);
+            if (digits) {
+                try {
+                    items.add(Long.parseLong(part));
+                } catch (NumberFormatException e) {
+                    items.add(Long.MAX_VALUE);
+                }
+            } else {
+                items.add(part);
+            }
+        }
+        // Zeros no fim não contam: 1.0.0 == 1
+        while (!items.isEmpty() && Long.valueOf(0).equals(items.get(items.size() - 1))) {
+            items.remove(items.size() - 1);
+        }
+        return items;
+    }
+
+    private static final class Restriction {
+        final String lower;
+        final boolean lowerInclusive;
+        final String upper;
+        final boolean upperInclusive;
+
+        Restriction(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        static Restriction parse(String text, String spec) {
+            boolean lowerInclusive = text.charAt(0) == '[';
+            boolean upperInclusive = text.charAt(text.length() - 1) == ']';
+            String inner = text.substring(1, text.length() - 1).trim();
+            int comma = inner.indexOf(',');
+            if (comma < 0) {
+                // "[1.0]": exatamente essa versão
+                if (!lowerInclusive || !upperInclusive || inner.isEmpty()) {
+                    throw new IllegalArgumentException("Faixa de versão inválida: " + spec);
+                }
+                return new Restriction(inner, true, inner, true);
+            }
+            String lower = inner.substring(0, comma).trim();
+            String upper = inner.substring(comma + 1).trim();
+            return new Restriction(lower.isEmpty() ? null : lower, lowerInclusive,
+                    upper.isEmpty() ? null : upper, upperInclusive);
+        }
+
+        boolean contains(String version) {
+            if (lower != null) {
+                int result = compare(version, lower);
+                if (result < 0 || (result == 0 && !lowerInclusive)) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                int result = compare(version, upper);
+                return result < 0 || (result == 0 && upperInclusive);
+            }
+            return true;
+        }
+    }
+}
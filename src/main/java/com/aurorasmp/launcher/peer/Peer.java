@@ -0,0 +1,83 @@
+package com.aurorasmp.launcher.peer;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// Outro launcher visto na rede: onde ele serve os arquivos e quais SHA-256 ele tem.
+// A lista de arquivos é buscada por HTTP só quando necessária e de novo quando o
+// anúncio indica que o índice dele mudou.
+class Peer {
+
+    // Falhas seguidas (conexão ou hash errado) até o peer ser ignorado até o próximo anúncio
+    static final int MAX_FAILURES = 3;
+
+    private final String id;
+    private volatile InetAddress address;
+    private volatile int port;
+    private volatile String tag;
+    private volatile long lastSeen;
+
+    private String loadedTag;
+    private Set<String> files = Collections.emptySet();
+    private int failures;
+
+    Peer(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    void seen(InetAddress address, int port, String tag) {
+        this.address = address;
+        this.port = port;
+        this.tag = tag;
+        this.lastSeen = System.currentTimeMillis();
+    }
+
+    long getLastSeen() {
+        return lastSeen;
+    }
+
+    String url(String path) {
+        String host = address.getHostAddress();
+        if (address instanceof Inet6Address) {
+            host = "[" + host + "]";
+        }
+        return "http://" + host + ":" + port + path;
+    }
+
+    // A lista de arquivos carregada ainda corresponde ao último anúncio?
+    synchronized boolean isCurrent() {
+        return tag != null && tag.equals(loadedTag);
+    }
+
+    synchronized void setFiles(Set<String> files, String tag) {
+        this.files = new HashSet<>(files);
+        this.loadedTag = tag;
+        this.failures = 0;
+    }
+
+    String getTag() {
+        return tag;
+    }
+
+    synchronized boolean has(String sha256) {
+        return failures < MAX_FAILURES && files.contains(sha256);
+    }
+
+    // O arquivo veio errado ou não estava lá: não pede de novo a este peer
+    synchronized void failed(String sha256) {
+        files.remove(sha256);
+        failures++;
+    }
+
+    @Override
+    public String toString() {
+        return id + "@" + address.getHostAddress() + ":" + port;
+    }
+}
@@ -0,0 +1,388 @@
+package com.aurorasmp.launcher.peer;
+
+import com.aurorasmp.launcher.download.DownloadListener;
+import com.aurorasmp.launcher.http.HttpStatusException;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.metrics.PeerDownloadEvent;
+import com.aurorasmp.launcher.util.Hashes;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.DatagramPacket;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Cache na rede local: em um evento com muitos jogadores na mesma LAN, cada launcher
+// anuncia por multicast UDP que tem arquivos do modpack e os serve por HTTP (ver
+// PeerServer); quem está atualizando pede primeiro aos peers e só o que nenhum deles
+// tem vai para o CDN. Os arquivos são identificados pelo SHA-256 e todo arquivo
+// recebido de um peer é conferido antes de ser usado.
+//
+// O anúncio é pequeno (id, porta HTTP e uma marca do índice) para caber em um
+// datagrama; a lista de arquivos de cada peer é pedida por HTTP quando necessária.
+//
+// Configuração: -Daurora.lan.group=239.255.77.77, -Daurora.lan.port=25599 (UDP),
+// -Daurora.lan.httpPort=0 (0 = qualquer porta livre) e -Daurora.lan.interface=<nome>
+// para usar só uma interface. Para testar na mesma máquina: várias instâncias com
+// -Duser.home diferentes e -Daurora.lan.interface=lo.
+public class PeerCache implements AutoCloseable {
+
+    public static final String DEFAULT_GROUP = "239.255.77.77";
+    public static final int DEFAULT_PORT = 25599;
+
+    private static final String PROTOCOL = "aurora-lan/1";
+    private static final long ANNOUNCE_INTERVAL_MS = 5000;
+    // Sem anúncio por esse tempo, o peer saiu da rede
+    private static final long PEER_TIMEOUT_MS = 20_000;
+    private static final int MAX_DATAGRAM = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Gson GSON = new Gson();
+
+    private final String id = UUID.randomUUID().toString();
+    private final InetAddress group;
+    private final int port;
+    private final int httpPort;
+    private final List<NetworkInterface> interfaces;
+    // Interfaces em uso e a porta HTTP anunciada em cada uma; preenchida em start()
+    private final List<Link> links = new ArrayList<>();
+    private final PeerServer server;
+    private final Map<String, Peer> peers = new ConcurrentHashMap<>();
+    // Na rede local não vale esperar: um peer lento é trocado pelo próximo ou pelo CDN
+    private final LauncherHttp http = new LauncherHttp(HttpClient.Version.HTTP_1_1, Duration.ofSeconds(2),
+            Duration.ofSeconds(10), Duration.ofSeconds(10), 0);
+    private final ScheduledExecutorService announcer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-lan-announce");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MulticastSocket socket;
+    private Thread listener;
+    private volatile boolean closed;
+
+    public PeerCache(Path installDir, Path indexFile) throws IOException {
+        this(installDir, indexFile, InetAddress.getByName(System.getProperty("aurora.lan.group", DEFAULT_GROUP)),
+                Integer.getInteger("aurora.lan.port", DEFAULT_PORT), Integer.getInteger("aurora.lan.httpPort", 0),
+                System.getProperty("aurora.lan.interface"));
+    }
+
+    // interfaceName null = todas as interfaces ativas com multicast
+    public PeerCache(Path installDir, Path indexFile, InetAddress group, int port, int httpPort,
+                     String interfaceName) throws IOException {
+        this.group = group;
+        this.port = port;
+        this.httpPort = httpPort;
+        this.interfaces = interfaces(interfaceName);
+        this.server = new PeerServer(installDir, indexFile);
+    }
+
+    // Começa a servir, anunciar e ouvir anúncios
+    public void start() throws IOException {
+        socket = new MulticastSocket(port);
+        socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        for (NetworkInterface ni : interfaces) {
+            try {
+                InetAddress address = address(ni);
+                if (address == null) {
+                    continue;
+                }
+                socket.joinGroup(new InetSocketAddress(group, 0), ni);
+                links.add(new Link(ni, server.listen(address, httpPort)));
+            } catch (IOException e) {
+                System.err.println("Rede local: não foi possível usar " + ni.getName() + ": " + e.getMessage());
+            }
+        }
+        if (links.isEmpty()) {
+            socket.close();
+            server.stop();
+            throw new IOException("Nenhuma interface de rede com multicast disponível");
+        }
+
+        listener = new Thread(this::listen, "aurora-lan-discovery");
+        listener.setDaemon(true);
+        listener.start();
+        // O primeiro anúncio pede resposta, para não esperar o intervalo dos outros
+        announce(true);
+        announcer.scheduleWithFixedDelay(() -> announce(false), ANNOUNCE_INTERVAL_MS, ANNOUNCE_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        System.out.println("Rede local: servindo arquivos em " + links.size() + " interface(s): " + links);
+    }
+
+    // Peers vistos recentemente
+    public int getPeerCount() {
+        expire();
+        return peers.size();
+    }
+
+    // Tenta obter o arquivo com este SHA-256 de algum peer e gravá-lo em dest.
+    // Retorna false se nenhum peer o tem ou se todos falharam; o progresso
+    // informado de uma tentativa que falhou é descontado.
+    public boolean fetch(String sha256, long size, Path dest, DownloadListener listener) {
+        String key = sha256.toLowerCase();
+        List<Peer> candidates = new ArrayList<>();
+        expire();
+        for (Peer peer : peers.values()) {
+            if (refresh(peer) && peer.has(key)) {
+                candidates.add(peer);
+            }
+        }
+        // Espalha os pedidos para não sobrecarregar o primeiro peer da lista
+        Collections.shuffle(candidates);
+        for (Peer peer : candidates) {
+            PeerDownloadEvent event = new PeerDownloadEvent(peer.toString(), key);
+            event.start();
+            boolean success = false;
+            try {
+                event.setBytes(download(peer, key, size, dest, listener));
+                success = true;
+                return true;
+            } catch (IOException e) {
+                System.err.println("Rede local: " + peer + " falhou para " + dest.getFileName() + ": " + e.getMessage());
+                peer.failed(key);
+            } finally {
+                event.finish(success);
+            }
+        }
+        return false;
+    }
+
+    private long download(Peer peer, String sha256, long size, Path dest, DownloadListener listener) throws IOException {
+        Files.createDirectories(dest.getParent());
+        Path tmp = dest.resolveSibling(dest.getFileName() + ".peer");
+        MessageDigest digest = Hashes.sha256();
+        long written = 0;
+        try {
+            HttpResponse<InputStream> response = http.get(peer.url("/files/" + sha256));
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new HttpStatusException(response.uri().toString(), response.statusCode());
+                }
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        // Um peer com defeito não enche o disco
+                        if (size >= 0 && written + read > size) {
+                            throw new IOException("Peer enviou mais que " + size + " bytes");
+                        }
+                        out.write(buffer, 0, read);
+                        digest.update(buffer, 0, read);
+                        written += read;
+                        listener.onBytes(read);
+                    }
+                }
+            }
+            if (size >= 0 && written != size) {
+                throw new IOException("Tamanho inválido: " + written + " de " + size);
+            }
+            if (!Hashes.toHex(digest.digest()).equalsIgnoreCase(sha256)) {
+                throw new IOException("SHA-256 não confere");
+            }
+            try {
+                Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return written;
+        } catch (IOException e) {
+            listener.onBytes(-written);
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    // Busca a lista de arquivos do peer se o anúncio indicou que ela mudou
+    private boolean refresh(Peer peer) {
+        synchronized (peer) {
+            if (peer.isCurrent()) {
+                return true;
+            }
+            String tag = peer.getTag();
+            try {
+                HttpResponse<InputStream> response = http.get(peer.url("/index"));
+                try (Reader reader = new InputStreamReader(response.body(), StandardCharsets.UTF_8)) {
+                    if (response.statusCode() != 200) {
+                        throw new HttpStatusException(response.uri().toString(), response.statusCode());
+                    }
+                    RemoteIndex index = GSON.fromJson(reader, RemoteIndex.class);
+                    peer.setFiles(index != null && index.files != null
+                            ? index.files.keySet()
+                            : Collections.emptySet(), tag);
+                }
+                return true;
+            } catch (IOException | JsonParseException e) {
+                System.err.println("Rede local: índice de " + peer + " indisponível: " + e.getMessage());
+                peers.remove(peer.getId());
+                return false;
+            }
+        }
+    }
+
+    private void announce(boolean query) {
+        if (closed) {
+            return;
+        }
+        Announcement announcement = new Announcement();
+        announcement.protocol = PROTOCOL;
+        announcement.id = id;
+        announcement.tag = server.tag();
+        announcement.query = query;
+        for (Link link : links) {
+            // Cada interface anuncia a porta do servidor que escuta nela
+            announcement.port = link.httpPort;
+            byte[] data = GSON.toJson(announcement).getBytes(StandardCharsets.UTF_8);
+            try {
+                synchronized (socket) {
+                    socket.setNetworkInterface(link.ni);
+                    socket.send(new DatagramPacket(data, data.length, group, port));
+                }
+            } catch (IOException e) {
+                // Interface caiu ou não aceita envio; as outras continuam
+            }
+        }
+    }
+
+    private void listen() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Rede local: escuta interrompida: " + e.getMessage());
+                }
+                return;
+            }
+            Announcement announcement;
+            try {
+                announcement = GSON.fromJson(new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8),
+                        Announcement.class);
+            } catch (JsonParseException e) {
+                continue;
+            }
+            if (announcement == null || !PROTOCOL.equals(announcement.protocol) || announcement.id == null
+                    || id.equals(announcement.id) || announcement.port <= 0 || announcement.port > 65535) {
+                continue;
+            }
+            Peer peer = peers.computeIfAbsent(announcement.id, Peer::new);
+            peer.seen(packet.getAddress(), announcement.port, announcement.tag);
+            if (announcement.query) {
+                announcer.execute(() -> announce(false));
+            }
+        }
+    }
+
+    private void expire() {
+        long limit = System.currentTimeMillis() - PEER_TIMEOUT_MS;
+        peers.values().removeIf(peer -> peer.getLastSeen() < limit);
+    }
+
+    // Endereço em que o servidor HTTP escuta nesta interface: o IPv4, que é de onde saem
+    // os anúncios para o grupo (IPv4) e portanto o endereço que os peers vão usar
+    private static InetAddress address(NetworkInterface ni) {
+        InetAddress fallback = null;
+        Enumeration<InetAddress> addresses = ni.getInetAddresses();
+        while (addresses.hasMoreElements()) {
+            InetAddress address = addresses.nextElement();
+            if (address instanceof Inet4Address) {
+                return address;
+            }
+            if (fallback == null) {
+                fallback = address;
+            }
+        }
+        return fallback;
+    }
+
+    private static List<NetworkInterface> interfaces(String name) throws IOException {
+        List<NetworkInterface> found = new ArrayList<>();
+        if (name != null) {
+            NetworkInterface ni = NetworkInterface.getByName(name);
+            if (ni == null) {
+                throw new IOException("Interface de rede não encontrada: " + name);
+            }
+            found.add(ni);
+            return found;
+        }
+        Enumeration<NetworkInterface> all = NetworkInterface.getNetworkInterfaces();
+        while (all != null && all.hasMoreElements()) {
+            NetworkInterface ni = all.nextElement();
+            try {
+                // Loopback entra para que instâncias na mesma máquina se encontrem
+                if (ni.isUp() && (ni.supportsMulticast() || ni.isLoopback()) && ni.getInetAddresses().hasMoreElements()) {
+                    found.add(ni);
+                }
+            } catch (SocketException e) {
+                // Interface sumiu durante a listagem
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        announcer.shutdownNow();
+        if (socket != null) {
+            socket.close();
+        }
+        server.stop();
+    }
+
+    private static final class Link {
+        final NetworkInterface ni;
+        final int httpPort;
+
+        Link(NetworkInterface ni, int httpPort) {
+            this.ni = ni;
+            this.httpPort = httpPort;
+        }
+
+        @Override
+        public String toString() {
+            return ni.getName() + ":" + httpPort;
+        }
+    }
+
+    private static final class Announcement {
+        String protocol;
+        String id;
+        int port;
+        String tag;
+        boolean query;
+    }
+
+    private static final class RemoteIndex {
+        Map<String, Long> files;
+    }
+}
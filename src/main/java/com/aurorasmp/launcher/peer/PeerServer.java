@@ -0,0 +1,184 @@
+package com.aurorasmp.launcher.peer;
+
+import com.aurorasmp.launcher.update.InstallIndex;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Servidor HTTP local que entrega os arquivos do modpack instalado pelo SHA-256:
+//   GET /index         → {"version": "...", "files": {"<sha256>": tamanho, ...}}
+//   GET /files/<sha256> → o conteúdo do arquivo
+// Só arquivos do índice da instalação são servidos (nunca mundos ou configurações
+// do jogador), e só enquanto tamanho e data ainda batem com o índice.
+//
+// Escuta só nos endereços das interfaces usadas pelo PeerCache (um HttpServer por
+// interface), nunca em todas: numa rede pública ou VPN os arquivos não ficam expostos
+// por uma interface onde o launcher nem anuncia.
+class PeerServer {
+
+    // Envios simultâneos; o resto espera na fila do servidor
+    private static final int UPLOAD_THREADS = 4;
+    private static final Gson GSON = new Gson();
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Path installDir;
+    private final Path indexFile;
+    private final List<HttpServer> servers = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor;
+
+    private long loadedModified = -1;
+    private String version;
+    private Map<String, Local> content = Collections.emptyMap();
+
+    PeerServer(Path installDir, Path indexFile) {
+        this.installDir = installDir.toAbsolutePath().normalize();
+        this.indexFile = indexFile;
+        // Compartilhado entre as interfaces: o limite de envios vale para o launcher todo
+        this.executor = Executors.newFixedThreadPool(UPLOAD_THREADS, r -> {
+            Thread thread = new Thread(r, "aurora-lan-http-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Começa a servir em address; port 0 = qualquer porta livre. Retorna a porta usada.
+    int listen(InetAddress address, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.setExecutor(executor);
+        server.createContext("/index", this::serveIndex);
+        server.createContext("/files/", this::serveFile);
+        server.start();
+        servers.add(server);
+        return server.getAddress().getPort();
+    }
+
+    // Identifica a versão do índice nos anúncios: muda sempre que o índice é salvo
+    String tag() {
+        try {
+            return Long.toString(Files.getLastModifiedTime(indexFile).toMillis());
+        } catch (IOException e) {
+            return "0";
+        }
+    }
+
+    void stop() {
+        for (HttpServer server : servers) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    private void serveIndex(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, Long> files = new TreeMap<>();
+            String current;
+            synchronized (this) {
+                reload();
+                for (Map.Entry<String, Local> entry : content.entrySet()) {
+                    files.put(entry.getKey(), entry.getValue().size);
+                }
+                current = version;
+            }
+            Map<String, Object> body = new HashMap<>();
+            body.put("version", current);
+            body.put("files", files);
+            byte[] json = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+
+    private void serveFile(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String sha256 = exchange.getRequestURI().getPath().substring("/files/".length());
+            Local local;
+            synchronized (this) {
+                reload();
+                local = content.get(sha256);
+            }
+            if (local == null || !"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            // O arquivo pode ter sido trocado depois do índice (ex.: jogador editou uma config)
+            Path file = installDir.resolve(local.path).normalize();
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (IOException e) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if (!file.startsWith(installDir) || attrs.size() != local.size
+                    || attrs.lastModifiedTime().toMillis() != local.modified) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            // Tamanho 0 no HttpServer significa "chunked"; -1 é sem corpo
+            exchange.sendResponseHeaders(200, local.size > 0 ? local.size : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                Files.copy(file, out);
+            }
+        } catch (IOException e) {
+            // Quem pediu desistiu no meio; ele confere o hash e tenta outra fonte
+        }
+    }
+
+    // Relê o índice quando ele foi salvo de novo (ex.: depois de uma atualização)
+    private void reload() {
+        long modified;
+        try {
+            modified = Files.getLastModifiedTime(indexFile).toMillis();
+        } catch (IOException e) {
+            content = Collections.emptyMap();
+            loadedModified = -1;
+            return;
+        }
+        if (modified == loadedModified) {
+            return;
+        }
+        InstallIndex index = InstallIndex.load(indexFile);
+        Map<String, Local> loaded = new HashMap<>();
+        for (String path : index.paths()) {
+            InstallIndex.Entry entry = index.get(path);
+            loaded.put(entry.getSha256().toLowerCase(), new Local(path, entry.getSize(), entry.getModified()));
+        }
+        content = loaded;
+        version = index.getVersion();
+        loadedModified = modified;
+    }
+
+    private static final class Local {
+        final String path;
+        final long size;
+        final long modified;
+
+        Local(String path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
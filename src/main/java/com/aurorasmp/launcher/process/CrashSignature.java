@@ -0,0 +1,47 @@
+package com.aurorasmp.launcher.process;
+
+// Falhas conhecidas do cliente com Forge, reconhecidas por trechos fixos do log.
+// A busca é por String.contains, barata o suficiente para rodar em toda linha.
+public enum CrashSignature {
+
+    OUT_OF_MEMORY("O jogo ficou sem memória. Aumente a memória do perfil ou feche outros programas.",
+            "java.lang.OutOfMemoryError"),
+    MISSING_MOD("Falta um mod obrigatório ou a versão de algum mod é incompatível.",
+            "Missing or unsupported mandatory dependencies",
+            "Missing mods",
+            "MissingModsException"),
+    MIXIN_FAILURE("Um mod falhou ao aplicar suas alterações no jogo (Mixin). Normalmente é um mod incompatível.",
+            "MixinTransformerError",
+            "MixinApplyError",
+            "Mixin apply failed",
+            "InvalidMixinException"),
+    MOD_LOADING("O Forge não conseguiu carregar um dos mods.",
+            "net.minecraftforge.fml.ModLoadingException",
+            "Failed to create mod instance"),
+    WRONG_JAVA("O Java escolhido é antigo demais para esta versão do jogo.",
+            "UnsupportedClassVersionError"),
+    GAME_CRASHED("O jogo travou e gerou um relatório de crash.",
+            "---- Minecraft Crash Report ----",
+            "#@!@# Game crashed!");
+
+    private final String description;
+    private final String[] markers;
+
+    CrashSignature(String description, String... markers) {
+        this.description = description;
+        this.markers = markers;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    boolean matches(String line) {
+        for (String marker : markers) {
+            if (line.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.aurorasmp.launcher.process;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// Como o jogo terminou: código de saída, crashes reconhecidos e o fim do log
+public class GameExit {
+
+    static final int SUMMARY_LINES = 15;
+
+    private final int exitCode;
+    private final Map<CrashSignature, String> signatures;
+    private final Path crashReport;
+    private final List<String> tail;
+    private final Path logFile;
+
+    GameExit(int exitCode, Map<CrashSignature, String> signatures, Path crashReport, List<String> tail, Path logFile) {
+        this.exitCode = exitCode;
+        this.signatures = signatures;
+        this.crashReport = crashReport;
+        this.tail = tail;
+        this.logFile = logFile;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    // Assinatura → primeira linha do log em que ela apareceu
+    public Map<CrashSignature, String> getSignatures() {
+        return signatures;
+    }
+
+    public Path getCrashReport() {
+        return crashReport;
+    }
+
+    public List<String> getTail() {
+        return tail;
+    }
+
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    // Saída diferente de 0 é crash; o Forge sai com -1 depois de gravar o relatório
+    public boolean isCrash() {
+        return exitCode != 0;
+    }
+
+    // Texto para mostrar ao jogador: o que foi reconhecido, onde estão os arquivos
+    // e, se nada foi reconhecido, as últimas linhas do log
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append("O jogo fechou com código ").append(exitCode).append(".\n");
+        for (Map.Entry<CrashSignature, String> entry : signatures.entrySet()) {
+            text.append("\n• ").append(entry.getKey().getDescription());
+            text.append("\n  ").append(entry.getValue());
+        }
+        if (signatures.isEmpty() && !tail.isEmpty()) {
+            text.append("\nÚltimas linhas do log:\n");
+            for (String line : tail) {
+                text.append(line).append('\n');
+            }
+        }
+        if (crashReport != null) {
+            text.append("\n\nRelatório de crash: ").append(crashReport);
+        }
+        text.append("\nLog completo: ").append(logFile);
+        return text.toString();
+    }
+}
@@ -0,0 +1,193 @@
+package com.aurorasmp.launcher.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Acompanha o processo do jogo: lê stdout e stderr em threads próprias (um pipe
+// cheio trava o cliente), guarda as últimas linhas em memória, grava tudo em um
+// log com rotação e procura assinaturas de crash conforme as linhas chegam, sem
+// precisar reler o log depois que o jogo fecha.
+public class GameProcess {
+
+    private static final int TAIL_LINES = 500;
+    // Uma linha maior que isso (ex.: um dump de NBT) é cortada, para a memória ficar limitada
+    private static final int MAX_LINE_CHARS = 8192;
+    private static final long LOG_MAX_BYTES = 10L * 1024 * 1024;
+    private static final int LOG_BACKUPS = 3;
+    private static final String CRASH_REPORT_MARKER = "Crash report saved to:";
+    // Linhas que o cliente 1.19 escreve ao criar a janela e ao chegar no menu
+    private static final String WINDOW_MARKER = "Backend library: LWJGL";
+    private static final String READY_MARKER = "Sound engine started";
+    // Tempo máximo para terminar de ler os pipes depois que o processo sai; um
+    // processo filho do jogo pode herdar o pipe e mantê-lo aberto
+    private static final long DRAIN_TIMEOUT_MS = 5000;
+
+    private final Process process;
+    private final Path logFile;
+    private final LogRingBuffer tail = new LogRingBuffer(TAIL_LINES);
+    private final RotatingLog log;
+    private final Map<CrashSignature, String> signatures = Collections.synchronizedMap(new EnumMap<>(CrashSignature.class));
+    private final Consumer<CrashSignature> onSignature;
+    private final Thread stdout;
+    private final Thread stderr;
+
+    private final long startNanos = System.nanoTime();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+    private volatile Path crashReport;
+    private volatile long windowMillis = -1;
+    private volatile long readyMillis = -1;
+
+    private GameProcess(Process process, Path logFile, Consumer<CrashSignature> onSignature) throws IOException {
+        this.process = process;
+        this.logFile = logFile;
+        this.log = new RotatingLog(logFile, LOG_MAX_BYTES, LOG_BACKUPS);
+        this.onSignature = onSignature;
+        this.stdout = drainThread("aurora-game-stdout", process.getInputStream(), "");
+        this.stderr = drainThread("aurora-game-stderr", process.getErrorStream(), "[STDERR] ");
+    }
+
+    // Inicia o jogo; onSignature (pode ser null) é chamado na thread de leitura na
+    // primeira vez que cada assinatura aparece
+    public static GameProcess start(ProcessBuilder builder, Path logFile, Consumer<CrashSignature> onSignature) throws IOException {
+        Process process = builder.start();
+        // O jogo não lê da entrada padrão
+        process.getOutputStream().close();
+        GameProcess game;
+        try {
+            game = new GameProcess(process, logFile, onSignature);
+        } catch (IOException e) {
+            process.destroy();
+            throw e;
+        }
+        game.stdout.start();
+        game.stderr.start();
+        return game;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    // Completa quando o jogo chega no menu ou, se não chegar, quando o processo termina
+    public CompletableFuture<Void> whenReady() {
+        return ready;
+    }
+
+    // Milissegundos desde o início do processo até a janela aparecer; -1 se não apareceu
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    // Milissegundos desde o início do processo até o menu; -1 se não chegou
+    public long getReadyMillis() {
+        return readyMillis;
+    }
+
+    // Espera o jogo fechar e a leitura dos pipes terminar
+    public GameExit waitFor() throws InterruptedException {
+        int exitCode = process.waitFor();
+        stdout.join(DRAIN_TIMEOUT_MS);
+        stderr.join(DRAIN_TIMEOUT_MS);
+        ready.complete(null);
+        log.close();
+        Map<CrashSignature, String> found;
+        synchronized (signatures) {
+            found = new EnumMap<>(CrashSignature.class);
+            found.putAll(signatures);
+        }
+        return new GameExit(exitCode, found, crashReport, tail.tail(GameExit.SUMMARY_LINES), logFile);
+    }
+
+    private Thread drainThread(String name, InputStream stream, String prefix) {
+        Thread thread = new Thread(() -> drain(stream, prefix), name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void drain(InputStream stream, String prefix) {
+        // O jogo escreve no charset nativo do sistema
+        try (Reader reader = new InputStreamReader(stream, Charset.defaultCharset())) {
+            char[] buffer = new char[8192];
+            StringBuilder line = new StringBuilder(256);
+            boolean truncated = false;
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    char c = buffer[i];
+                    if (c == '\n') {
+                        accept(prefix, line, truncated);
+                        line.setLength(0);
+                        truncated = false;
+                    } else if (c != '\r') {
+                        if (line.length() < MAX_LINE_CHARS) {
+                            line.append(c);
+                        } else {
+                            truncated = true;
+                        }
+                    }
+                }
+                // Em rajada o BufferedWriter agrupa as gravações; quando o jogo
+                // para de escrever, o que já chegou vai para o disco
+                if (!reader.ready()) {
+                    log.flush();
+                }
+            }
+            if (line.length() > 0) {
+                accept(prefix, line, truncated);
+            }
+        } catch (IOException e) {
+            // Pipe fechado à força (processo morto); o que foi lido já está no log
+        } finally {
+            log.flush();
+        }
+    }
+
+    private void accept(String prefix, StringBuilder raw, boolean truncated) {
+        String line = prefix + raw + (truncated ? " [linha cortada]" : "");
+        tail.add(line);
+        log.write(line);
+        detect(line);
+    }
+
+    private void detect(String line) {
+        if (readyMillis < 0) {
+            if (windowMillis < 0 && line.contains(WINDOW_MARKER)) {
+                windowMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            } else if (line.contains(READY_MARKER)) {
+                readyMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                ready.complete(null);
+            }
+        }
+        for (CrashSignature signature : CrashSignature.values()) {
+            if (!signatures.containsKey(signature) && signature.matches(line)) {
+                signatures.put(signature, line.trim());
+                if (onSignature != null) {
+                    onSignature.accept(signature);
+                }
+            }
+        }
+        int marker = line.indexOf(CRASH_REPORT_MARKER);
+        if (marker >= 0) {
+            // "#@!@# Game crashed! Crash report saved to: #@!@# C:\...\crash-2023-01-01_12.00.00-client.txt"
+            String path = line.substring(marker + CRASH_REPORT_MARKER.length()).replace("#@!@#", "").trim();
+            if (!path.isEmpty()) {
+                try {
+                    crashReport = Paths.get(path);
+                } catch (RuntimeException ignored) {
+                    // Caminho ilegível; o relatório continua no log
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.aurorasmp.launcher.process;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Guarda só as últimas linhas do log do jogo, para mostrar no relatório de crash.
+// A memória é limitada pelo número de linhas e pelo tamanho de cada uma, então um
+// cliente que escreve milhares de linhas por segundo não faz o launcher crescer.
+class LogRingBuffer {
+
+    private final String[] lines;
+    private int next;
+    private int size;
+
+    LogRingBuffer(int capacity) {
+        this.lines = new String[capacity];
+    }
+
+    synchronized void add(String line) {
+        lines[next] = line;
+        next = (next + 1) % lines.length;
+        if (size < lines.length) {
+            size++;
+        }
+    }
+
+    // As últimas count linhas, da mais antiga para a mais recente
+    synchronized List<String> tail(int count) {
+        int n = Math.min(count, size);
+        List<String> result = new ArrayList<>(n);
+        int start = (next - n + lines.length) % lines.length;
+        for (int i = 0; i < n; i++) {
+            result.add(lines[(start + i) % lines.length]);
+        }
+        return result;
+    }
+}
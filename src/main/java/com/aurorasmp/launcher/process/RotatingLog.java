@@ -0,0 +1,118 @@
+package com.aurorasmp.launcher.process;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Arquivo de log com rotação por tamanho: game.log → game.log.1 → game.log.2 ...
+// O mais antigo é descartado, então o espaço em disco fica limitado a maxBytes * (backups + 1).
+class RotatingLog implements Closeable {
+
+    private static final int LINE_SEPARATOR_BYTES = System.lineSeparator().length();
+
+    private final Path file;
+    private final long maxBytes;
+    private final int backups;
+
+    private BufferedWriter writer;
+    private long written;
+
+    RotatingLog(Path file, long maxBytes, int backups) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.backups = backups;
+        Files.createDirectories(file.getParent());
+        // Cada execução do jogo começa em um arquivo novo
+        rotate();
+    }
+
+    synchronized void write(String line) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.newLine();
+            written += utf8Length(line) + LINE_SEPARATOR_BYTES;
+            if (written >= maxBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            // Disco cheio ou arquivo inacessível: o jogo continua, só perde o log em disco
+            System.err.println("Falha ao gravar o log do jogo: " + e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    synchronized void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                closeQuietly();
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        for (int i = backups - 1; i >= 1; i--) {
+            Path older = file.resolveSibling(file.getFileName() + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, file.resolveSibling(file.getFileName() + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (backups > 0 && Files.exists(file)) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        // OutputStreamWriter troca caracteres inválidos por '?'; Files.newBufferedWriter lançaria
+        // exceção e desligaria o log por causa de uma linha
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8));
+        written = 0;
+    }
+
+    // Tamanho em bytes da linha gravada em UTF-8, sem codificá-la de novo: acentos e
+    // emojis no chat ocupam 2 a 4 bytes, e contar caracteres deixava o arquivo passar de maxBytes
+    static long utf8Length(String line) {
+        long bytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                // Surrogate solto vira '?' no encoder, mas contar 3 só erra para mais
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void closeQuietly() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException ignored) {
+            // Já estamos descartando o arquivo
+        }
+        writer = null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeQuietly();
+    }
+}
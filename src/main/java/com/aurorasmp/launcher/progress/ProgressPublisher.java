@@ -0,0 +1,72 @@
+package com.aurorasmp.launcher.progress;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+
+import java.util.Locale;
+
+// Atualiza a barra e o texto de progresso a partir de um ProgressTracker, no
+// máximo FRAMES_PER_SECOND vezes por segundo. Roda no pulso de animação do
+// JavaFX, então não gera nenhum Platform.runLater por chunk baixado.
+public class ProgressPublisher extends AnimationTimer {
+
+    private static final int FRAMES_PER_SECOND = 10;
+    private static final long FRAME_NANOS = 1_000_000_000L / FRAMES_PER_SECOND;
+
+    private final ProgressTracker tracker;
+    private final ProgressBar progressBar;
+    private final Label progressLabel;
+
+    private long lastFrame;
+    private String lastText;
+
+    public ProgressPublisher(ProgressTracker tracker, ProgressBar progressBar, Label progressLabel) {
+        this.tracker = tracker;
+        this.progressBar = progressBar;
+        this.progressLabel = progressLabel;
+    }
+
+    @Override
+    public void handle(long now) {
+        if (now - lastFrame < FRAME_NANOS) {
+            return;
+        }
+        lastFrame = now;
+        publish();
+    }
+
+    // Publica o valor atual na hora; usado também ao parar, para mostrar o estado final
+    public void publish() {
+        ProgressTracker.Snapshot snapshot = tracker.snapshot();
+        double fraction = snapshot.getFraction();
+        progressBar.setProgress(fraction < 0 ? ProgressBar.INDETERMINATE_PROGRESS : fraction);
+
+        String text = format(snapshot);
+        if (!text.equals(lastText)) {
+            progressLabel.setText(text);
+            lastText = text;
+        }
+    }
+
+    static String format(ProgressTracker.Snapshot snapshot) {
+        StringBuilder text = new StringBuilder();
+        double fraction = snapshot.getFraction();
+        if (fraction >= 0) {
+            text.append((int) (fraction * 100)).append('%');
+        } else {
+            text.append(String.format(Locale.ROOT, "%.1f MB", snapshot.getDone() / (1024.0 * 1024.0)));
+        }
+
+        double speed = snapshot.getMegabytesPerSecond();
+        if (speed > 0) {
+            text.append(String.format(Locale.ROOT, " • %.1f MB/s", speed));
+        }
+
+        long eta = snapshot.getEtaSeconds();
+        if (eta >= 0 && fraction < 1) {
+            text.append(String.format(Locale.ROOT, " • %d:%02d restantes", eta / 60, eta % 60));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.aurorasmp.launcher.progress;
+
+import com.aurorasmp.launcher.download.DownloadListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Soma os bytes processados por qualquer número de threads sem bloquear nem
+// publicar nada. Quem desenha a tela lê um Snapshot quando quiser (ver
+// ProgressPublisher), então o custo por chunk é só um incremento atômico.
+public class ProgressTracker implements DownloadListener {
+
+    // Peso da amostra mais recente na média móvel da velocidade
+    private static final double SMOOTHING = 0.3;
+    private static final long MIN_SAMPLE_NANOS = 250_000_000L;
+
+    private final LongAdder done = new LongAdder();
+    private volatile long total = -1;
+
+    private long lastSampleNanos;
+    private long lastSampleBytes;
+    private double bytesPerSecond;
+
+    public synchronized void reset(long totalBytes) {
+        done.reset();
+        total = totalBytes;
+        lastSampleNanos = System.nanoTime();
+        lastSampleBytes = 0;
+        bytesPerSecond = 0;
+    }
+
+    public void add(long bytes) {
+        done.add(bytes);
+    }
+
+    @Override
+    public synchronized void onStart(long totalBytes, long alreadyDownloaded) {
+        reset(totalBytes);
+        done.add(alreadyDownloaded);
+        // Bytes retomados de um download anterior não contam na velocidade
+        lastSampleBytes = alreadyDownloaded;
+    }
+
+    @Override
+    public void onBytes(long bytes) {
+        done.add(bytes);
+    }
+
+    // Listener para vários arquivos seguidos: o total é definido uma vez por reset()
+    // e o onStart de cada arquivo é ignorado
+    public DownloadListener aggregate() {
+        return new DownloadListener() {
+            @Override
+            public void onStart(long totalBytes, long alreadyDownloaded) {
+                done.add(alreadyDownloaded);
+            }
+
+            @Override
+            public void onBytes(long bytes) {
+                done.add(bytes);
+            }
+        };
+    }
+
+    public synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        long bytes = done.sum();
+
+        long elapsed = now - lastSampleNanos;
+        if (elapsed >= MIN_SAMPLE_NANOS) {
+            double rate = (bytes - lastSampleBytes) * 1e9 / elapsed;
+            bytesPerSecond = bytesPerSecond == 0 ? rate : SMOOTHING * rate + (1 - SMOOTHING) * bytesPerSecond;
+            lastSampleNanos = now;
+            lastSampleBytes = bytes;
+        }
+        return new Snapshot(bytes, total, bytesPerSecond);
+    }
+
+    public static final class Snapshot {
+        private final long done;
+        private final long total;
+        private final double bytesPerSecond;
+
+        Snapshot(long done, long total, double bytesPerSecond) {
+            this.done = done;
+            this.total = total;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        public long getDone() {
+            return done;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        // Entre 0 e 1, ou -1 se o total não é conhecido
+        public double getFraction() {
+            return total > 0 ? Math.min(1.0, done / (double) total) : -1;
+        }
+
+        public double getMegabytesPerSecond() {
+            return bytesPerSecond / (1024 * 1024);
+        }
+
+        // Segundos restantes, ou -1 se não der para estimar
+        public long getEtaSeconds() {
+            if (total <= 0 || bytesPerSecond < 1) {
+                return -1;
+            }
+            return (long) Math.ceil(Math.max(0, total - done) / bytesPerSecond);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.aurorasmp.launcher.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Server List Ping (protocolo 1.7+), o mesmo que o jogo usa na lista de servidores:
+// handshake com próximo estado 1, pedido de status (resposta em JSON) e ping/pong
+// para a latência. Um SocketChannel sem bloqueio com um Selector: a conexão, as
+// escritas e as leituras respeitam um único prazo, e nenhuma thread fica presa em
+// um servidor que aceitou a conexão e parou de responder.
+public final class ServerPinger {
+
+    public static final int DEFAULT_PORT = 25565;
+
+    // Sem versão: o servidor responde com a dele em vez de recusar o protocolo
+    private static final int PROTOCOL_ANY = -1;
+    private static final int NEXT_STATE_STATUS = 1;
+    // Maior pacote do protocolo (VarInt de 3 bytes); o JSON com o ícone cabe com folga
+    private static final int MAX_PACKET = (1 << 21) - 1;
+
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final long deadline;
+    private ByteBuffer in = ByteBuffer.allocate(8192).flip();
+
+    private ServerPinger(SocketChannel channel, Selector selector, long deadline) {
+        this.channel = channel;
+        this.selector = selector;
+        this.deadline = deadline;
+    }
+
+    // Nunca lança: falhas de rede, de protocolo e prazo esgotado viram um status offline
+    public static ServerStatus ping(String host, int port, Duration timeout) {
+        try {
+            return query(host, port, timeout);
+        } catch (IOException | RuntimeException e) {
+            return ServerStatus.offline(describe(e));
+        }
+    }
+
+    private static ServerStatus query(String host, int port, Duration timeout) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            throw new UnknownHostException(host);
+        }
+        try (Selector selector = Selector.open(); SocketChannel channel = SocketChannel.open()) {
+            channel.configureBlocking(false);
+            ServerPinger pinger = new ServerPinger(channel, selector, deadline);
+            if (!channel.connect(address)) {
+                pinger.await(SelectionKey.OP_CONNECT);
+                while (!channel.finishConnect()) {
+                    pinger.await(SelectionKey.OP_CONNECT);
+                }
+            }
+            return pinger.status(host, port);
+        }
+    }
+
+    private ServerStatus status(String host, int port) throws IOException {
+        Packet handshake = new Packet(0x00);
+        handshake.writeVarInt(PROTOCOL_ANY);
+        handshake.writeString(host);
+        handshake.writeShort(port);
+        handshake.writeVarInt(NEXT_STATE_STATUS);
+        long requested = System.nanoTime();
+        write(handshake.frame(), new Packet(0x00).frame());
+
+        ByteBuffer response = readPacket();
+        if (readVarInt(response) != 0x00) {
+            throw new IOException("resposta inesperada ao pedido de status");
+        }
+        int length = readVarInt(response);
+        if (length < 0 || length > response.remaining()) {
+            throw new IOException("JSON de status truncado");
+        }
+        byte[] json = new byte[length];
+        response.get(json);
+        long latency = (System.nanoTime() - requested) / 1_000_000;
+
+        // A latência é a do ping; servidores que fecham a conexão depois do status ficam com a do pedido
+        long payload = ThreadLocalRandom.current().nextLong();
+        Packet ping = new Packet(0x01);
+        ping.writeLong(payload);
+        try {
+            long sent = System.nanoTime();
+            write(ping.frame());
+            ByteBuffer pong = readPacket();
+            if (readVarInt(pong) == 0x01 && pong.remaining() >= Long.BYTES && pong.getLong() == payload) {
+                latency = (System.nanoTime() - sent) / 1_000_000;
+            }
+        } catch (IOException e) {
+            // Fica a latência do pedido de status
+        }
+        return parse(new String(json, StandardCharsets.UTF_8), latency);
+    }
+
+    static ServerStatus parse(String json, long latency) throws IOException {
+        try {
+            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            int online = 0;
+            int max = 0;
+            JsonObject players = root.getAsJsonObject("players");
+            if (players != null) {
+                online = players.has("online") ? players.get("online").getAsInt() : 0;
+                max = players.has("max") ? players.get("max").getAsInt() : 0;
+            }
+            JsonObject version = root.getAsJsonObject("version");
+            String versionName = version != null && version.has("name") ? version.get("name").getAsString() : null;
+            StringBuilder motd = new StringBuilder();
+            if (root.has("description")) {
+                text(root.get("description"), motd);
+            }
+            return ServerStatus.online(online, max, latency, stripFormatting(motd.toString()).trim(), versionName);
+        } catch (JsonParseException | IllegalStateException | ClassCastException | UnsupportedOperationException e) {
+            throw new IOException("JSON de status inválido: " + e.getMessage());
+        }
+    }
+
+    // A descrição é um componente de chat: string, objeto com text/extra ou lista deles
+    private static void text(JsonElement component, StringBuilder out) {
+        if (component == null || component.isJsonNull()) {
+            return;
+        }
+        if (component.isJsonPrimitive()) {
+            out.append(component.getAsString());
+        } else if (component.isJsonArray()) {
+            for (JsonElement part : component.getAsJsonArray()) {
+                text(part, out);
+            }
+        } else if (component.isJsonObject()) {
+            JsonObject object = component.getAsJsonObject();
+            if (object.has("text")) {
+                out.append(object.get("text").getAsString());
+            }
+            JsonElement extra = object.get("extra");
+            if (extra instanceof JsonArray) {
+                text(extra, out);
+            }
+        }
+    }
+
+    // Códigos de formatação legados: § seguido de um caractere
+    private static String stripFormatting(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '§') {
+                i++;
+            } else {
+                out.append(text.charAt(i));
+            }
+        }
+        return out.toString();
+    }
+
+    private void write(ByteBuffer... buffers) throws IOException {
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                if (channel.write(buffer) == 0) {
+                    await(SelectionKey.OP_WRITE);
+                }
+            }
+        }
+    }
+
+    // Um pacote inteiro (comprimento em VarInt e conteúdo), sem o comprimento
+    private ByteBuffer readPacket() throws IOException {
+        int length = 0;
+        for (int i = 0; ; i++) {
+            if (i == 3) {
+                throw new IOException("pacote grande demais");
+            }
+            fill(1);
+            byte b = in.get();
+            length |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length <= 0 || length > MAX_PACKET) {
+            throw new IOException("tamanho de pacote inválido: " + length);
+        }
+        fill(length);
+        ByteBuffer packet = in.slice();
+        packet.limit(length);
+        in.position(in.position() + length);
+        return packet;
+    }
+
+    // Garante ao menos needed bytes em in (modo leitura)
+    private void fill(int needed) throws IOException {
+        if (in.remaining() >= needed) {
+            return;
+        }
+        if (in.capacity() < needed) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(needed, in.capacity() * 2));
+            bigger.put(in);
+            in = bigger;
+        } else {
+            in.compact();
+        }
+        while (in.position() < needed) {
+            int read = channel.read(in);
+            if (read < 0) {
+                throw new EOFException("conexão fechada pelo servidor");
+            }
+            if (read == 0) {
+                await(SelectionKey.OP_READ);
+            }
+        }
+        in.flip();
+    }
+
+    private void await(int operation) throws IOException {
+        SelectionKey key = channel.keyFor(selector);
+        if (key == null) {
+            key = channel.register(selector, operation);
+        } else {
+            key.interestOps(operation);
+        }
+        while (true) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("sem resposta do servidor");
+            }
+            if (selector.select(remaining) > 0) {
+                selector.selectedKeys().clear();
+                return;
+            }
+        }
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("VarInt truncado");
+            }
+            byte b = buffer.get();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt grande demais");
+    }
+
+    private static String describe(Exception e) {
+        if (e instanceof UnknownHostException) {
+            return "endereço desconhecido: " + e.getMessage();
+        }
+        if (e instanceof SocketTimeoutException) {
+            return "sem resposta do servidor";
+        }
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    // Pacote de saída: id e campos, emoldurado pelo comprimento em VarInt
+    private static final class Packet {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        Packet(int id) {
+            writeVarInt(id);
+        }
+
+        void writeVarInt(int value) {
+            writeVarInt(data, value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            data.writeBytes(bytes);
+        }
+
+        void writeShort(int value) {
+            data.write((value >>> 8) & 0xFF);
+            data.write(value & 0xFF);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                data.write((int) (value >>> shift) & 0xFF);
+            }
+        }
+
+        ByteBuffer frame() {
+            ByteArrayOutputStream framed = new ByteArrayOutputStream(data.size() + 5);
+            writeVarInt(framed, data.size());
+            framed.writeBytes(data.toByteArray());
+            return ByteBuffer.wrap(framed.toByteArray());
+        }
+
+        private static void writeVarInt(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.aurorasmp.launcher.server;
+
+// Resultado de um Server List Ping: como o servidor aparece na lista de
+// servidores do jogo, ou por que não respondeu.
+public class ServerStatus {
+
+    private final boolean online;
+    private final int playersOnline;
+    private final int playersMax;
+    private final long latencyMillis;
+    private final String motd;
+    private final String version;
+    private final String error;
+    private final long checkedAt;
+
+    private ServerStatus(boolean online, int playersOnline, int playersMax, long latencyMillis, String motd,
+                         String version, String error) {
+        this.online = online;
+        this.playersOnline = playersOnline;
+        this.playersMax = playersMax;
+        this.latencyMillis = latencyMillis;
+        this.motd = motd;
+        this.version = version;
+        this.error = error;
+        this.checkedAt = System.currentTimeMillis();
+    }
+
+    static ServerStatus online(int playersOnline, int playersMax, long latencyMillis, String motd, String version) {
+        return new ServerStatus(true, playersOnline, playersMax, latencyMillis, motd, version, null);
+    }
+
+    static ServerStatus offline(String error) {
+        return new ServerStatus(false, 0, 0, -1, null, null, error);
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public int getPlayersOnline() {
+        return playersOnline;
+    }
+
+    public int getPlayersMax() {
+        return playersMax;
+    }
+
+    public boolean isFull() {
+        return online && playersMax > 0 && playersOnline >= playersMax;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    // Sem os códigos de cor (§); null quando offline
+    public String getMotd() {
+        return motd;
+    }
+
+    // Nome da versão anunciado pelo servidor (ex.: "1.19.2" ou "Forge 1.19.2")
+    public String getVersion() {
+        return version;
+    }
+
+    // Motivo da falha quando offline
+    public String getError() {
+        return error;
+    }
+
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    @Override
+    public String toString() {
+        if (!online) {
+            return "offline (" + error + ")";
+        }
+        return playersOnline + "/" + playersMax + " jogadores, " + latencyMillis + " ms";
+    }
+}
@@ -0,0 +1,137 @@
+package com.aurorasmp.launcher.server;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Estado do servidor para a janela: consulta em segundo plano a cada interval e
+// guarda o último resultado por ttl. Tudo roda em uma única thread agendada, então
+// há no máximo um socket aberto por vez, não importa quantas vezes a interface
+// peça para atualizar; um pedido dentro do ttl só repete o resultado guardado.
+// Com o servidor fora do ar, o intervalo dobra a cada falha até maxBackoff.
+public class ServerStatusMonitor implements AutoCloseable {
+
+    private final String host;
+    private final int port;
+    private final Duration timeout;
+    private final Duration ttl;
+    private final Duration interval;
+    private final Duration maxBackoff;
+    private final Consumer<ServerStatus> listener;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-server-status");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Um pedido de atualização na fila basta; os demais são absorvidos por ele
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private volatile ServerStatus status;
+    // Só usados na thread do scheduler
+    private ScheduledFuture<?> next;
+    private int failures;
+
+    public ServerStatusMonitor(String host, int port, Duration timeout, Duration ttl, Duration interval,
+                               Duration maxBackoff, Consumer<ServerStatus> listener) {
+        this.host = host;
+        this.port = port;
+        this.timeout = timeout;
+        this.ttl = ttl;
+        this.interval = interval;
+        this.maxBackoff = maxBackoff;
+        this.listener = listener;
+    }
+
+    // "host" ou "host:porta"; IPv6 entre colchetes ("[::1]:25565")
+    public static ServerStatusMonitor forAddress(String address, Duration timeout, Duration ttl, Duration interval,
+                                                 Duration maxBackoff, Consumer<ServerStatus> listener) {
+        String host = address.trim();
+        int port = ServerPinger.DEFAULT_PORT;
+        if (host.startsWith("[") && host.indexOf(']') > 0) {
+            int close = host.indexOf(']');
+            if (host.startsWith("]:", close)) {
+                port = Integer.parseInt(host.substring(close + 2));
+            }
+            host = host.substring(1, close);
+        } else if (host.indexOf(':') > 0 && host.indexOf(':') == host.lastIndexOf(':')) {
+            port = Integer.parseInt(host.substring(host.indexOf(':') + 1));
+            host = host.substring(0, host.indexOf(':'));
+        }
+        return new ServerStatusMonitor(host, port, timeout, ttl, interval, maxBackoff, listener);
+    }
+
+    public void start() {
+        refresh();
+    }
+
+    // Último resultado, mesmo vencido; null antes da primeira consulta
+    public ServerStatus getStatus() {
+        return status;
+    }
+
+    public String getAddress() {
+        return host.indexOf(':') >= 0 ? "[" + host + "]:" + port : host + ":" + port;
+    }
+
+    // Consulta agora, a não ser que o resultado guardado ainda valha
+    public void refresh() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    refreshQueued.set(false);
+                    ServerStatus current = status;
+                    if (current != null && !isExpired(current)) {
+                        publish(current);
+                    } else {
+                        poll();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Já fechado
+                refreshQueued.set(false);
+            }
+        }
+    }
+
+    private boolean isExpired(ServerStatus current) {
+        return System.currentTimeMillis() - current.getCheckedAt() >= ttl.toMillis();
+    }
+
+    private void poll() {
+        if (next != null) {
+            next.cancel(false);
+        }
+        ServerStatus result = ServerPinger.ping(host, port, timeout);
+        status = result;
+        failures = result.isOnline() ? 0 : failures + 1;
+        publish(result);
+        next = scheduler.schedule(this::poll, delay(), TimeUnit.MILLISECONDS);
+    }
+
+    private void publish(ServerStatus result) {
+        try {
+            listener.accept(result);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // interval, dobrando a cada falha seguida até maxBackoff
+    private long delay() {
+        long millis = interval.toMillis();
+        for (int i = 0; i < failures && millis < maxBackoff.toMillis(); i++) {
+            millis *= 2;
+        }
+        return Math.max(Math.min(millis, maxBackoff.toMillis()), interval.toMillis());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,108 @@
+package com.aurorasmp.launcher.skin;
+
+import com.aurorasmp.launcher.http.HttpCache;
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+// Cache de avatares em duas camadas: imagens já decodificadas em memória (LRU com
+// limite de bytes) e a resposta HTTP em disco (HttpCache). Uma cópia vencida é
+// mostrada na hora e revalidada em segundo plano (stale-while-revalidate), então o
+// avatar aparece instantaneamente na abertura mesmo sem rede.
+public class AvatarCache {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 8L * 1024 * 1024;
+
+    // Sem Cache-Control do servidor, a cópia em disco vale por uma hora
+    private static final long DEFAULT_TTL_MILLIS = 60L * 60 * 1000;
+    private static final String AVATAR_URL = "https://crafatar.com/avatars/%s?overlay";
+
+    private final HttpCache httpCache;
+    private final Executor executor;
+    private final long memoryBudget;
+
+    private final LinkedHashMap<String, Image> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+
+    public AvatarCache(HttpCache httpCache, Executor executor, long memoryBudget) {
+        this.httpCache = httpCache;
+        this.executor = executor;
+        this.memoryBudget = memoryBudget;
+    }
+
+    // Entrega o avatar em onImage (em uma thread qualquer), possivelmente duas vezes:
+    // primeiro a cópia em cache e depois a versão nova, se o servidor tiver mudado.
+    // onError é chamado só se não houver nenhuma imagem para mostrar.
+    public void load(String uuid, Consumer<Image> onImage, Consumer<Exception> onError) {
+        Image cached = getFromMemory(uuid);
+        if (cached != null) {
+            onImage.accept(cached);
+        }
+
+        executor.execute(() -> {
+            String url = String.format(AVATAR_URL, uuid);
+            boolean delivered = cached != null;
+            try {
+                HttpCache.Result onDisk = httpCache.peek(url);
+                if (onDisk != null) {
+                    if (!delivered) {
+                        onImage.accept(decodeAndStore(uuid, onDisk.getBody()));
+                        delivered = true;
+                    }
+                    if (onDisk.isFresh(DEFAULT_TTL_MILLIS)) {
+                        return;
+                    }
+                }
+
+                HttpCache.Result fresh = httpCache.fetch(url);
+                if (!delivered || fresh.isModified()) {
+                    onImage.accept(decodeAndStore(uuid, fresh.getBody()));
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!delivered) {
+                    onError.accept(e);
+                }
+            }
+        });
+    }
+
+    private Image decodeAndStore(String uuid, byte[] data) throws IOException {
+        Image image = new Image(new ByteArrayInputStream(data));
+        if (image.isError()) {
+            throw new IOException("Imagem de avatar inválida", image.getException());
+        }
+        putInMemory(uuid, image);
+        return image;
+    }
+
+    private synchronized Image getFromMemory(String uuid) {
+        return memory.get(uuid);
+    }
+
+    private synchronized void putInMemory(String uuid, Image image) {
+        Image previous = memory.put(uuid, image);
+        if (previous != null) {
+            memoryBytes -= sizeOf(previous);
+        }
+        memoryBytes += sizeOf(image);
+
+        // Remove os menos usados até caber no limite, mantendo sempre o mais recente
+        Iterator<Map.Entry<String, Image>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > memoryBudget && memory.size() > 1 && eldest.hasNext()) {
+            Map.Entry<String, Image> entry = eldest.next();
+            memoryBytes -= sizeOf(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    // Imagem decodificada ocupa 4 bytes (ARGB) por pixel
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
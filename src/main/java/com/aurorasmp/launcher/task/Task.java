@@ -0,0 +1,166 @@
+package com.aurorasmp.launcher.task;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+// Uma tarefa do TaskScheduler. Cancelar interrompe a thread que a executa e cancela
+// as tarefas criadas de dentro dela e as que dependem dela. Código que roda numa tarefa
+// e usa threads próprias precisa esperá-las antes de sair, com a interrupção guardada e
+// restaurada depois (ver SegmentedDownloader.fetchSegments): senão elas continuam
+// gravando depois que a tarefa terminou.
+//
+// O resultado só fica pronto quando o corpo termina de fato, mesmo cancelado: quem
+// espera por uma atualização cancelada não começa outra enquanto a primeira ainda
+// está desfazendo o que fazia.
+public final class Task<T> {
+
+    private final String name;
+    private final String key;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    // Criadas de dentro do corpo desta tarefa; canceladas junto com ela
+    private final List<Task<?>> children = new CopyOnWriteArrayList<>();
+
+    // Protegidos por this
+    private Thread runner;
+    private boolean cancelled;
+
+    Task(String name, String key) {
+        this.name = name;
+        this.key = key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    // Cópia do resultado: completar ou cancelar o futuro devolvido não afeta a tarefa
+    public CompletableFuture<T> future() {
+        return result.copy();
+    }
+
+    public T join() {
+        return result.join();
+    }
+
+    // Espera o resultado; a falha sai como o corpo lançou, e o cancelamento como CancellationException
+    public T await() throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Devolve false se a tarefa já tinha terminado
+    public boolean cancel() {
+        synchronized (this) {
+            if (result.isDone() || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            if (runner != null) {
+                runner.interrupt();
+            } else {
+                // Ainda na fila ou esperando dependências: nunca vai rodar
+                result.completeExceptionally(cancellation());
+            }
+        }
+        for (Task<?> child : children) {
+            child.cancel();
+        }
+        return true;
+    }
+
+    // Cancela e espera o corpo terminar de fato, sem ser interrompível: para quem vai
+    // desfazer o que a tarefa fazia (ex.: apagar o staging que ela gravava). Não pode
+    // ser chamado de dentro da própria tarefa.
+    public void cancelAndWait() {
+        cancel();
+        try {
+            result.join();
+        } catch (CancellationException | CompletionException e) {
+            // Terminou; o motivo não importa para quem só queria que ela parasse
+        }
+    }
+
+    void addChild(Task<?> child) {
+        children.add(child);
+        // Filha criada depois do cancelamento já nasce cancelada
+        if (isCancelled()) {
+            child.cancel();
+        }
+    }
+
+    CompletableFuture<T> result() {
+        return result;
+    }
+
+    void fail(Throwable failure) {
+        if (failure instanceof CancellationException) {
+            synchronized (this) {
+                cancelled = true;
+            }
+            result.completeExceptionally(cancellation());
+        } else {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    void run(Callable<T> body) {
+        synchronized (this) {
+            if (result.isDone() || cancelled) {
+                return;
+            }
+            runner = Thread.currentThread();
+        }
+        T value = null;
+        Throwable failure = null;
+        try {
+            value = body.call();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            synchronized (this) {
+                runner = null;
+                // Uma interrupção do cancel() que chegou no fim não vaza para a próxima tarefa da thread
+                Thread.interrupted();
+            }
+        }
+        if (isCancelled()) {
+            result.completeExceptionally(cancellation());
+        } else if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    private CancellationException cancellation() {
+        return new CancellationException(name + " cancelada");
+    }
+
+    @Override
+    public String toString() {
+        return name + (key != null ? " [" + key + "]" : "");
+    }
+}
@@ -0,0 +1,148 @@
+package com.aurorasmp.launcher.task;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Onde o launcher roda o trabalho em segundo plano, em vez do ForkJoinPool comum
+// (que tem uma thread por núcleo e trava quando elas ficam paradas em rede/disco):
+//
+// - IO: requisições, downloads, instalação e o jogo. Threads criadas sob demanda
+//   até IO_THREADS, porque quase todas passam o tempo esperando.
+// - CPU: hash, descompressão e leitura de jars; uma thread por núcleo.
+//
+// Uma tarefa pode depender de outras (só começa quando todas terminam; se uma
+// falha ou é cancelada, ela também) e pode ter uma chave: enquanto uma tarefa com
+// a mesma chave estiver em andamento, pedir de novo devolve a mesma tarefa, ex.:
+// dois cliques no JOGAR não começam duas atualizações. Tarefas criadas de dentro
+// de outra são filhas dela e são canceladas junto.
+//
+// As threads das duas filas morrem depois de 30 s paradas.
+public class TaskScheduler implements AutoCloseable {
+
+    public enum Pool { IO, CPU }
+
+    // Bem acima do que o launcher faz ao mesmo tempo; o limite só evita um número sem fim de threads
+    private static final int IO_THREADS = 64;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final ThreadLocal<Task<?>> CURRENT = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor io = pool("aurora-io", IO_THREADS);
+    private final ThreadPoolExecutor cpu = pool("aurora-cpu", Runtime.getRuntime().availableProcessors());
+    private final Map<String, Task<?>> inFlight = new ConcurrentHashMap<>();
+
+    public <T> Task<T> io(String name, Callable<T> body) {
+        return submit(Pool.IO, name, null, List.of(), body);
+    }
+
+    public <T> Task<T> cpu(String name, Callable<T> body) {
+        return submit(Pool.CPU, name, null, List.of(), body);
+    }
+
+    // key != null: se já houver uma tarefa com essa chave em andamento, devolve ela e
+    // body não é usado. Todas as tarefas de uma chave devem ter o mesmo tipo de resultado.
+    @SuppressWarnings("unchecked")
+    public <T> Task<T> submit(Pool pool, String name, String key, List<? extends Task<?>> dependencies,
+                              Callable<T> body) {
+        Task<T> task = new Task<>(name, key);
+        if (key != null) {
+            while (true) {
+                Task<?> existing = inFlight.putIfAbsent(key, task);
+                if (existing == null) {
+                    break;
+                }
+                if (!existing.isDone()) {
+                    return (Task<T>) existing;
+                }
+                // Terminou e ainda não saiu do mapa
+                inFlight.remove(key, existing);
+            }
+            task.result().whenComplete((value, failure) -> inFlight.remove(key, task));
+        }
+        Task<?> parent = CURRENT.get();
+        if (parent != null) {
+            parent.addChild(task);
+        }
+
+        Executor executor = pool == Pool.CPU ? cpu : io;
+        CompletableFuture<?>[] waits = new CompletableFuture<?>[dependencies.size()];
+        for (int i = 0; i < waits.length; i++) {
+            waits[i] = dependencies.get(i).result();
+        }
+        CompletableFuture.allOf(waits).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                task.fail(unwrap(failure));
+                return;
+            }
+            try {
+                executor.execute(() -> run(task, body));
+            } catch (RejectedExecutionException e) {
+                task.fail(new CancellationException("launcher encerrando"));
+            }
+        });
+        return task;
+    }
+
+    // Para estágios de CompletableFuture e componentes que recebem um Executor
+    public Executor ioExecutor() {
+        return io;
+    }
+
+    public Executor cpuExecutor() {
+        return cpu;
+    }
+
+    // Cancela a tarefa em andamento com essa chave, se houver
+    public boolean cancel(String key) {
+        Task<?> task = inFlight.get(key);
+        return task != null && task.cancel();
+    }
+
+    // A tarefa desta thread foi cancelada? Para checar entre etapas que não são interrompíveis
+    public static boolean isCurrentCancelled() {
+        Task<?> task = CURRENT.get();
+        return task != null && task.isCancelled();
+    }
+
+    private static <T> void run(Task<T> task, Callable<T> body) {
+        Task<?> previous = CURRENT.get();
+        CURRENT.set(task);
+        try {
+            task.run(body);
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static ThreadPoolExecutor pool(String name, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        io.shutdownNow();
+        cpu.shutdownNow();
+    }
+}
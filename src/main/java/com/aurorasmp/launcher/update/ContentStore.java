@@ -0,0 +1,365 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.Hashes;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Armazenamento por conteúdo compartilhado entre as instâncias: cada arquivo de
+// modpack fica uma vez só em objects/<2 primeiros>/<sha256>, e as instâncias
+// recebem hardlinks dele. Uma instância nova de uma versão que outra instância já
+// tem é montada só com links, sem download e quase sem espaço em disco.
+//
+// Hardlink é o mesmo arquivo: uma gravação no lugar feita pelo jogo chegaria em
+// todas as instâncias. Por isso só recebem link os arquivos que o jogo só lê
+// (mods, resource packs, jars e zips); configurações e o resto recebem um reflink
+// (cópia copy-on-write) quando o disco suporta, senão uma cópia. As gravações do
+// launcher sempre trocam o arquivo por renomeação, nunca escrevem no lugar.
+//
+// objects.json guarda tamanho e data de cada objeto. Se um objeto mudou mesmo
+// assim, a data não bate e ele é descartado em vez de ser usado.
+public class ContentStore {
+
+    private static final Gson GSON = new Gson();
+    private static final Type OBJECTS = new TypeToken<HashMap<String, Entry>>() { }.getType();
+    private static final AtomicLong TMP_COUNTER = new AtomicLong();
+
+    private final Path objectsDir;
+    private final Path indexFile;
+    // Leitura: quem está usando o armazenamento (absorb, uma atualização em preparo).
+    // Escrita: o prune, que só roda sem nenhum uso em andamento. Os objetos que uma
+    // atualização busca só entram no índice dela no final, e um add em andamento tem
+    // um temporário que o prune apagaria como sobra.
+    private final ReadWriteLock uses = new ReentrantReadWriteLock();
+    // Carregados na primeira operação; protegidos por this
+    private Map<String, Entry> objects;
+    private Boolean clones;
+
+    public ContentStore(Path root) {
+        this.objectsDir = root.resolve("objects");
+        this.indexFile = root.resolve("objects.json");
+    }
+
+    // Arquivos que o jogo só lê podem ser compartilhados por hardlink
+    static boolean isShareable(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.startsWith("mods/") || lower.startsWith("resourcepacks/") || lower.startsWith("shaderpacks/")
+                || lower.endsWith(".jar") || lower.endsWith(".zip");
+    }
+
+    // Grava em target o objeto com esse hash; false se o armazenamento não o tem
+    public boolean materialize(String sha256, long size, String path, Path target) throws IOException {
+        String key = sha256.toLowerCase(Locale.ROOT);
+        Path object = object(key);
+        if (!isValid(key, size, object)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        // Temporário e renomeação: se target já existe, pode ser um link de outra instância
+        Path tmp = target.resolveSibling(target.getFileName() + ".store");
+        Files.deleteIfExists(tmp);
+        try {
+            place(object, tmp, isShareable(path));
+            move(tmp, target);
+            return true;
+        } catch (NoSuchFileException e) {
+            // Objeto removido no meio (prune de outro launcher): baixa normalmente
+            return false;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Marca o armazenamento como em uso até o close: enquanto isso o prune não roda.
+    // Para uma atualização inteira, do plano até o índice do staging estar salvo.
+    // O close precisa ser feito pela mesma thread.
+    public Use use() {
+        Lock lock = uses.readLock();
+        lock.lock();
+        return lock::unlock;
+    }
+
+    // Põe no armazenamento os arquivos de uma instalação que ainda não estão nele.
+    // Só entra o que ainda bate com o índice (tamanho + data), porque o hash vem dele.
+    public int absorb(Path installDir, Path installIndexFile) throws IOException {
+        try (Use use = use()) {
+            return absorbFiles(installDir, installIndexFile);
+        }
+    }
+
+    private int absorbFiles(Path installDir, Path installIndexFile) throws IOException {
+        Path base = installDir.toAbsolutePath().normalize();
+        InstallIndex index = InstallIndex.load(installIndexFile);
+        int added = 0;
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (String path : index.paths()) {
+            InstallIndex.Entry entry = index.get(path);
+            if (entry.getSha256() == null) {
+                continue;
+            }
+            String key = entry.getSha256().toLowerCase(Locale.ROOT);
+            Path object = object(key);
+            Path file = base.resolve(path).normalize();
+            if (!file.startsWith(base) || isValid(key, entry.getSize(), object)) {
+                continue;
+            }
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attrs.isRegularFile() || attrs.size() != entry.getSize()
+                        || attrs.lastModifiedTime().toMillis() != entry.getModified()) {
+                    continue;
+                }
+                if (add(key, file, object, isShareable(path))) {
+                    added++;
+                    bytes += entry.getSize();
+                }
+            } catch (NoSuchFileException e) {
+                // Apagado depois do índice: fica de fora
+            } catch (IOException e) {
+                System.err.println("Não foi possível guardar " + path + ": " + e.getMessage());
+            }
+        }
+        if (added > 0) {
+            save();
+            System.out.println("Armazenamento: " + added + " arquivos (" + bytes / (1024 * 1024) + " MB) de "
+                    + base + " em " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        }
+        return added;
+    }
+
+    // Apaga os objetos que nenhum dos índices usa. Inclua os índices de staging:
+    // uma atualização em preparo também usa o armazenamento. Com o armazenamento em
+    // uso (ver use) não apaga nada e retorna 0; fica para a próxima vez.
+    public int prune(Collection<Path> installIndexFiles) throws IOException {
+        Lock lock = uses.writeLock();
+        if (!lock.tryLock()) {
+            System.out.println("Armazenamento em uso por uma atualização: limpeza adiada");
+            return 0;
+        }
+        try {
+            return pruneUnused(installIndexFiles);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int pruneUnused(Collection<Path> installIndexFiles) throws IOException {
+        Set<String> used = new HashSet<>();
+        for (Path file : installIndexFiles) {
+            InstallIndex index = InstallIndex.load(file);
+            for (String path : index.paths()) {
+                String sha256 = index.get(path).getSha256();
+                if (sha256 != null) {
+                    used.add(sha256.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        int removed = 0;
+        synchronized (this) {
+            Map<String, Entry> known = objects();
+            for (Iterator<String> keys = known.keySet().iterator(); keys.hasNext(); ) {
+                String key = keys.next();
+                if (!used.contains(key)) {
+                    // As instâncias com link continuam com o arquivo; só o nome no armazenamento some
+                    Files.deleteIfExists(object(key));
+                    keys.remove();
+                    removed++;
+                }
+            }
+            removed += deleteUnknown(known.keySet());
+        }
+        if (removed > 0) {
+            save();
+        }
+        return removed;
+    }
+
+    public synchronized int getObjectCount() {
+        return objects().size();
+    }
+
+    public synchronized long getBytes() {
+        long total = 0;
+        for (Entry entry : objects().values()) {
+            total += entry.size;
+        }
+        return total;
+    }
+
+    private boolean add(String key, Path file, Path object, boolean shareable) throws IOException {
+        Files.createDirectories(object.getParent());
+        Path tmp = object.resolveSibling(key + ".tmp-" + TMP_COUNTER.incrementAndGet());
+        try {
+            place(file, tmp, shareable);
+            BasicFileAttributes attrs = Files.readAttributes(tmp, BasicFileAttributes.class);
+            // Uma cópia pode ter pegado o arquivo no meio de uma gravação do jogo
+            if (!Files.isSameFile(tmp, file) && !Hashes.sha256(tmp).equals(key)) {
+                return false;
+            }
+            move(tmp, object);
+            synchronized (this) {
+                objects().put(key, new Entry(attrs.size(), attrs.lastModifiedTime().toMillis()));
+            }
+            return true;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private boolean isValid(String key, long size, Path object) throws IOException {
+        Entry entry;
+        synchronized (this) {
+            entry = objects().get(key);
+        }
+        if (entry == null || entry.size != size) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(object, BasicFileAttributes.class);
+            if (attrs.size() == entry.size && attrs.lastModifiedTime().toMillis() == entry.modified) {
+                return true;
+            }
+            System.err.println("Objeto alterado no armazenamento, descartando: " + key);
+            Files.deleteIfExists(object);
+        } catch (NoSuchFileException e) {
+            // Sumiu do disco; o índice se corrige abaixo
+        }
+        synchronized (this) {
+            objects().remove(key, entry);
+        }
+        return false;
+    }
+
+    // Hardlink para o que pode ser compartilhado; senão (ou se o link falhar) reflink ou cópia
+    private void place(Path source, Path target, boolean shareable) throws IOException {
+        if (shareable) {
+            try {
+                Files.createLink(target, source);
+                return;
+            } catch (NoSuchFileException e) {
+                throw e;
+            } catch (UnsupportedOperationException | IOException e) {
+                // Disco sem hardlinks ou limite de links do arquivo: cai na cópia
+            }
+        }
+        if (supportsClones() && FileCloner.clone(source, target)) {
+            return;
+        }
+        Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+    }
+
+    private synchronized boolean supportsClones() {
+        if (clones == null) {
+            clones = FileCloner.isSupported(objectsDir);
+        }
+        return clones;
+    }
+
+    // Sobras (temporários, objetos de um objects.json perdido); com o lock de this
+    private int deleteUnknown(Set<String> known) throws IOException {
+        if (!Files.isDirectory(objectsDir)) {
+            return 0;
+        }
+        int removed = 0;
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(objectsDir)) {
+            for (Path prefix : prefixes) {
+                if (!Files.isDirectory(prefix)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(prefix)) {
+                    for (Path file : files) {
+                        if (!known.contains(file.getFileName().toString())) {
+                            Files.deleteIfExists(file);
+                            removed++;
+                        }
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    private Path object(String key) {
+        return objectsDir.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private synchronized Map<String, Entry> objects() {
+        if (objects == null) {
+            objects = load();
+        }
+        return objects;
+    }
+
+    private Map<String, Entry> load() {
+        if (!Files.exists(indexFile)) {
+            return new HashMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            Map<String, Entry> loaded = GSON.fromJson(reader, OBJECTS);
+            return loaded != null ? loaded : new HashMap<>();
+        } catch (IOException | JsonParseException e) {
+            // Sem o índice os objetos não podem ser conferidos; voltam com o próximo absorb
+            e.printStackTrace();
+            return new HashMap<>();
+        }
+    }
+
+    private synchronized void save() throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(objects(), OBJECTS, writer);
+        }
+        move(tmp, indexFile);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Uso do armazenamento devolvido por use(); o close não lança exceção
+    public interface Use extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Entry {
+        long size;
+        long modified;
+
+        Entry(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.Hashes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Patch binário entre duas versões de um arquivo, no estilo do bsdiff: trechos
+// copiados do arquivo antigo, trechos "quase iguais" guardados como diferença
+// byte a byte (que comprime muito bem quando só mudaram endereços ou números) e
+// bytes novos inseridos. Um mod de 40 MB que mudou algumas classes vira um
+// patch de poucas centenas de KB, já que as entradas não alteradas do jar são
+// idênticas byte a byte.
+//
+// Formato (big-endian):
+//   "AURDELTA" | versão (1 byte) | tamanho antigo (8) | tamanho novo (8) | SHA-256 novo (32)
+//   seguido de um fluxo deflate com operações:
+//     1 COPY   offset, tamanho                → antigo[offset .. offset+tamanho)
+//     2 ADD    offset, tamanho, bytes[tamanho] → antigo[offset+i] + bytes[i]
+//     3 INSERT tamanho, bytes[tamanho]
+//     0 FIM
+//   offsets e tamanhos em LEB128 sem sinal.
+//
+// A aplicação é em fluxo: o antigo é lido por posição, o novo é gravado em ordem
+// e o SHA-256 é calculado enquanto grava, sem carregar nenhum dos dois na memória.
+public final class DeltaPatch {
+
+    private static final byte[] MAGIC = "AURDELTA".getBytes(StandardCharsets.US_ASCII);
+    private static final int FORMAT = 1;
+    private static final int OP_END = 0;
+    private static final int OP_COPY = 1;
+    private static final int OP_ADD = 2;
+    private static final int OP_INSERT = 3;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Janela mínima de um trecho igual; abaixo disso a operação custa mais que os bytes
+    private static final int WINDOW = 32;
+    // Posições do antigo indexadas; qualquer trecho igual de WINDOW + STEP bytes é encontrado
+    private static final int STEP = 8;
+    private static final long BASE = 0x100000001B3L;
+
+    private DeltaPatch() {
+    }
+
+    // Aplica o patch sobre oldFile e grava o resultado em output. Retorna o SHA-256
+    // do que foi gravado; lança IOException se o patch não for para este arquivo,
+    // estiver corrompido ou o resultado não bater com o hash do cabeçalho.
+    public static String apply(Path oldFile, Path patchFile, Path output) throws IOException {
+        try (FileChannel old = FileChannel.open(oldFile, StandardOpenOption.READ);
+             DataInputStream header = new DataInputStream(new BufferedInputStream(Files.newInputStream(patchFile)))) {
+            byte[] magic = new byte[MAGIC.length];
+            header.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC) || header.readUnsignedByte() != FORMAT) {
+                throw new IOException("Arquivo não é um patch suportado: " + patchFile.getFileName());
+            }
+            long oldSize = header.readLong();
+            long newSize = header.readLong();
+            byte[] newSha256 = new byte[32];
+            header.readFully(newSha256);
+            if (old.size() != oldSize) {
+                throw new IOException("Patch feito para outro arquivo (tamanho " + oldSize + ", instalado " + old.size() + ")");
+            }
+
+            MessageDigest digest = Hashes.sha256();
+            DataInputStream ops = new DataInputStream(new BufferedInputStream(new InflaterInputStream(header), BUFFER_SIZE));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] diff = new byte[BUFFER_SIZE];
+            long written = 0;
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), BUFFER_SIZE)) {
+                int op;
+                while ((op = ops.readUnsignedByte()) != OP_END) {
+                    if (op > OP_INSERT) {
+                        throw new IOException("Patch corrompido: operação " + op);
+                    }
+                    long offset = op == OP_INSERT ? 0 : readVarLong(ops);
+                    long length = readVarLong(ops);
+                    if (written + length > newSize || (op != OP_INSERT && offset + length > oldSize)) {
+                        throw new IOException("Patch corrompido: operação fora dos limites");
+                    }
+                    long done = 0;
+                    while (done < length) {
+                        int chunk = (int) Math.min(BUFFER_SIZE, length - done);
+                        switch (op) {
+                            case OP_COPY:
+                                readOld(old, offset + done, buffer, chunk);
+                                break;
+                            case OP_ADD:
+                                readOld(old, offset + done, buffer, chunk);
+                                ops.readFully(diff, 0, chunk);
+                                for (int i = 0; i < chunk; i++) {
+                                    buffer[i] += diff[i];
+                                }
+                                break;
+                            default:
+                                ops.readFully(buffer, 0, chunk);
+                        }
+                        out.write(buffer, 0, chunk);
+                        digest.update(buffer, 0, chunk);
+                        done += chunk;
+                    }
+                    written += length;
+                }
+            } catch (EOFException e) {
+                throw new IOException("Patch truncado", e);
+            }
+
+            byte[] sha256 = digest.digest();
+            if (written != newSize || !MessageDigest.isEqual(sha256, newSha256)) {
+                throw new IOException("Resultado do patch não confere com o esperado");
+            }
+            return Hashes.toHex(sha256);
+        }
+    }
+
+    // Gera o patch de oldFile para newFile. Usado na publicação de uma versão
+    // (LauncherCli patch); carrega os dois arquivos na memória.
+    public static void create(Path oldFile, Path newFile, Path patchFile) throws IOException {
+        byte[] old = Files.readAllBytes(oldFile);
+        byte[] target = Files.readAllBytes(newFile);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(patchFile)))) {
+            out.write(MAGIC);
+            out.writeByte(FORMAT);
+            out.writeLong(old.length);
+            out.writeLong(target.length);
+            out.write(Hashes.sha256().digest(target));
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+                DataOutputStream ops = new DataOutputStream(deflating);
+                new Differ(old, target, ops).run();
+                ops.writeByte(OP_END);
+                ops.flush();
+                deflating.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static void readOld(FileChannel old, long position, byte[] buffer, int length) throws IOException {
+        ByteBuffer view = ByteBuffer.wrap(buffer, 0, length);
+        while (view.hasRemaining()) {
+            if (old.read(view, position + view.position()) < 0) {
+                throw new EOFException("Arquivo antigo menor que o esperado pelo patch");
+            }
+        }
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Patch corrompido: número longo demais");
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    // Encontra trechos iguais com hash de janela deslizante (como o rsync) sobre
+    // um índice de posições do antigo, e estende cada trecho para frente de forma
+    // aproximada, como o bsdiff, enquanto mais da metade dos bytes coincidir.
+    private static final class Differ {
+        private final byte[] old;
+        private final byte[] target;
+        private final DataOutputStream ops;
+        private final int[] table;
+        private final int mask;
+        private final long outFactor;
+
+        // Até onde o novo já foi emitido, e a posição correspondente no antigo
+        private int emitted;
+        private int oldCursor;
+
+        Differ(byte[] old, byte[] target, DataOutputStream ops) {
+            this.old = old;
+            this.target = target;
+            this.ops = ops;
+
+            int slots = Integer.highestOneBit(Math.max(16, old.length / STEP * 2 + 1));
+            this.table = new int[slots];
+            this.mask = slots - 1;
+            Arrays.fill(table, -1);
+            for (int p = 0; p + WINDOW <= old.length; p += STEP) {
+                table[slot(hash(old, p))] = p;
+            }
+            long factor = 1;
+            for (int i = 1; i < WINDOW; i++) {
+                factor *= BASE;
+            }
+            this.outFactor = factor;
+        }
+
+        void run() throws IOException {
+            if (target.length < WINDOW || old.length < WINDOW) {
+                flushGap(target.length);
+                return;
+            }
+            int i = 0;
+            long h = hash(target, 0);
+            while (i + WINDOW <= target.length) {
+                int candidate = table[slot(h)];
+                if (candidate >= 0 && regionEquals(candidate, i)) {
+                    // Estende para trás (sem passar do que já foi emitido) e para frente
+                    int oldStart = candidate;
+                    int newStart = i;
+                    while (newStart > emitted && oldStart > 0 && old[oldStart - 1] == target[newStart - 1]) {
+                        oldStart--;
+                        newStart--;
+                    }
+                    int length = i - newStart + WINDOW;
+                    while (newStart + length < target.length && oldStart + length < old.length
+                            && old[oldStart + length] == target[newStart + length]) {
+                        length++;
+                    }
+                    flushGap(newStart);
+                    writeOp(OP_COPY, oldStart, length);
+                    emitted = newStart + length;
+                    oldCursor = oldStart + length;
+
+                    i = emitted;
+                    if (i + WINDOW <= target.length) {
+                        h = hash(target, i);
+                    }
+                    continue;
+                }
+                if (i + WINDOW < target.length) {
+                    h = (h - (target[i] & 0xFF) * outFactor) * BASE + (target[i + WINDOW] & 0xFF);
+                }
+                i++;
+            }
+            flushGap(target.length);
+        }
+
+        // Emite target[emitted .. end): primeiro como diferença em relação ao antigo a
+        // partir de oldCursor (se compensar), o resto como bytes novos
+        private void flushGap(int end) throws IOException {
+            if (end <= emitted) {
+                return;
+            }
+            int gap = end - emitted;
+            int available = Math.min(gap, old.length - oldCursor);
+
+            // Mesmo critério do bsdiff: o comprimento que maximiza 2 * iguais - tamanho
+            int best = 0;
+            int score = 0;
+            int bestScore = 0;
+            for (int k = 0; k < available; k++) {
+                score += old[oldCursor + k] == target[emitted + k] ? 1 : -1;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = k + 1;
+                }
+            }
+            if (best >= WINDOW / 2) {
+                writeOp(OP_ADD, oldCursor, best);
+                byte[] diff = new byte[Math.min(best, BUFFER_SIZE)];
+                for (int done = 0; done < best; done += diff.length) {
+                    int chunk = Math.min(diff.length, best - done);
+                    for (int k = 0; k < chunk; k++) {
+                        diff[k] = (byte) (target[emitted + done + k] - old[oldCursor + done + k]);
+                    }
+                    ops.write(diff, 0, chunk);
+                }
+                emitted += best;
+                oldCursor += best;
+            }
+            if (emitted < end) {
+                ops.writeByte(OP_INSERT);
+                writeVarLong(ops, end - emitted);
+                ops.write(target, emitted, end - emitted);
+                emitted = end;
+            }
+        }
+
+        private void writeOp(int op, long offset, long length) throws IOException {
+            ops.writeByte(op);
+            writeVarLong(ops, offset);
+            writeVarLong(ops, length);
+        }
+
+        private boolean regionEquals(int oldPos, int newPos) {
+            return Arrays.equals(old, oldPos, oldPos + WINDOW, target, newPos, newPos + WINDOW);
+        }
+
+        private int slot(long h) {
+            return (int) (h ^ (h >>> 29) ^ (h >>> 47)) & mask;
+        }
+
+        private static long hash(byte[] data, int start) {
+            long h = 0;
+            for (int i = 0; i < WINDOW; i++) {
+                h = h * BASE + (data[start + i] & 0xFF);
+            }
+            return h;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aurorasmp.launcher.update;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+// Cópia por reflink (copy-on-write): o arquivo novo compartilha os blocos do
+// original até um dos dois ser alterado, então não custa espaço e uma gravação
+// não alcança o outro. Java não tem API para isso; usa o cp do sistema, que chama
+// o ioctl FICLONE no Linux (Btrfs, XFS, bcachefs) e o clonefile no macOS (APFS).
+final class FileCloner {
+
+    private FileCloner() {
+    }
+
+    // Testa uma vez no diretório: o suporte depende do sistema de arquivos
+    static boolean isSupported(Path dir) {
+        if (command(dir, dir) == null) {
+            return false;
+        }
+        Path probe = dir.resolve(".aurora-clone-probe");
+        Path clone = dir.resolve(".aurora-clone-probe.clone");
+        try {
+            Files.createDirectories(dir);
+            Files.deleteIfExists(clone);
+            Files.write(probe, new byte[] {1});
+            return clone(probe, clone);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            try {
+                Files.deleteIfExists(clone);
+                Files.deleteIfExists(probe);
+            } catch (IOException ignored) {
+                // Arquivos de teste de 1 byte; sobram sem prejuízo
+            }
+        }
+    }
+
+    // false se o disco não clona (aí quem chamou copia do jeito normal)
+    static boolean clone(Path source, Path target) throws IOException {
+        List<String> command = command(source, target);
+        if (command == null) {
+            return false;
+        }
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            if (process.waitFor() == 0) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Cópia interrompida", e);
+        }
+        Files.deleteIfExists(target);
+        return false;
+    }
+
+    private static List<String> command(Path source, Path target) {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (os.contains("linux")) {
+            return List.of("cp", "--reflink=always", "--", source.toString(), target.toString());
+        }
+        if (os.contains("mac")) {
+            return List.of("cp", "-c", source.toString(), target.toString());
+        }
+        return null;
+    }
+}
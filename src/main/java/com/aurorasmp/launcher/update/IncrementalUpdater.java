@@ -0,0 +1,395 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.download.DownloadListener;
+import com.aurorasmp.launcher.download.SegmentedDownloader;
+import com.aurorasmp.launcher.peer.PeerCache;
+import com.aurorasmp.launcher.util.Hashes;
+import com.aurorasmp.launcher.zip.ParallelZipExtractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Atualiza o modpack comparando o índice local com o manifesto da nova versão:
+// só os arquivos novos ou alterados são gravados e só os que saíram do pacote são
+// apagados. Arquivos criados pelo jogador (configurações, mundos) não são tocados.
+public class IncrementalUpdater {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path installDir;
+    // Onde estão as versões atuais dos arquivos, base dos patches; no staging é a instalação em uso
+    private final Path sourceDir;
+    private final Path indexFile;
+    private final InstallIndex index;
+    private final ParallelZipExtractor extractor = new ParallelZipExtractor();
+
+    public IncrementalUpdater(Path installDir, Path indexFile) {
+        this(installDir, installDir, indexFile, InstallIndex.load(indexFile));
+    }
+
+    private IncrementalUpdater(Path installDir, Path sourceDir, Path indexFile, InstallIndex index) {
+        this.installDir = installDir.toAbsolutePath().normalize();
+        this.sourceDir = sourceDir.toAbsolutePath().normalize();
+        this.indexFile = indexFile;
+        this.index = index;
+    }
+
+    // Mesmo índice (com o que plan() já conferiu), mas gravando em outro diretório
+    // e salvando o índice em outro arquivo; usado pela instalação em staging
+    IncrementalUpdater retarget(Path installDir, Path indexFile) {
+        return new IncrementalUpdater(installDir, this.installDir, indexFile, index);
+    }
+
+    public UpdatePlan plan(PackManifest manifest) throws IOException {
+        List<PackManifest.FileEntry> changed = new ArrayList<>();
+        Set<String> wanted = new HashSet<>();
+        int unchanged = 0;
+
+        for (PackManifest.FileEntry entry : manifest.getFiles()) {
+            wanted.add(entry.getPath());
+            if (isInstalled(entry)) {
+                unchanged++;
+            } else {
+                changed.add(entry);
+            }
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (String path : index.paths()) {
+            if (!wanted.contains(path)) {
+                removed.add(path);
+            }
+        }
+        return new UpdatePlan(manifest, changed, removed, unchanged);
+    }
+
+    // Grava os arquivos alterados extraindo em paralelo só as entradas necessárias do ZIP
+    public void applyFromZip(UpdatePlan plan, Path zipPath) throws IOException {
+        Map<String, String> expected = new HashMap<>();
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            expected.put(entry.getPath(), entry.getSha256());
+        }
+
+        extractor.extractVerified(zipPath, installDir, expected);
+
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            record(entry.getPath(), resolve(entry.getPath()), entry.getSha256());
+        }
+        finish(plan);
+    }
+
+    // Baixa individualmente cada arquivo alterado, sem precisar do ZIP inteiro. Se o
+    // manifesto tiver um patch a partir da versão instalada, baixa só o patch; se o
+    // patch falhar por qualquer motivo, baixa o arquivo inteiro.
+    public void applyFromUrls(UpdatePlan plan, SegmentedDownloader downloader, DownloadListener listener)
+            throws IOException {
+        int patched = 0;
+        long saved = 0;
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            Path target = resolve(entry.getPath());
+            Files.createDirectories(target.getParent());
+
+            String sha256 = null;
+            PackManifest.Patch patch = findPatch(entry);
+            if (patch != null) {
+                sha256 = applyPatch(entry, patch, target, downloader, listener);
+                if (sha256 != null) {
+                    patched++;
+                    saved += entry.getSize() - patch.getSize();
+                }
+            }
+            if (sha256 == null) {
+                // O downloader confere o hash enquanto baixa e descarta o arquivo se não bater
+                sha256 = downloader.download(entry.getUrl(), target, listener, entry.getSha256(), null);
+            }
+            record(entry.getPath(), target, sha256);
+        }
+        if (patched > 0) {
+            System.out.println("Atualizados por patch: " + patched + " arquivos, " + saved / (1024 * 1024)
+                    + " MB a menos de download");
+        }
+        finish(plan);
+    }
+
+    // Patch publicado para a versão que está instalada agora, se houver
+    private PackManifest.Patch findPatch(PackManifest.FileEntry entry) throws IOException {
+        if (entry.getPatches().isEmpty()) {
+            return null;
+        }
+        Path current = sourceDir.resolve(entry.getPath()).normalize();
+        if (!current.startsWith(sourceDir) || !Files.isRegularFile(current)) {
+            return null;
+        }
+        BasicFileAttributes attrs = Files.readAttributes(current, BasicFileAttributes.class);
+        InstallIndex.Entry known = index.get(entry.getPath());
+        String sha256 = known != null
+                && known.getSize() == attrs.size()
+                && known.getModified() == attrs.lastModifiedTime().toMillis()
+                ? known.getSha256()
+                : Hashes.sha256(current);
+        PackManifest.Patch patch = entry.patchFrom(sha256);
+        // Um patch maior que o arquivo não compensa
+        return patch != null && patch.getSize() < entry.getSize() ? patch : null;
+    }
+
+    // Retorna o SHA-256 do arquivo gerado, ou null se o patch não pôde ser usado
+    private String applyPatch(PackManifest.FileEntry entry, PackManifest.Patch patch, Path target,
+                              SegmentedDownloader downloader, DownloadListener listener) {
+        Path patchFile = target.resolveSibling(target.getFileName() + ".patch");
+        Path output = target.resolveSibling(target.getFileName() + ".tmp");
+        long counted = 0;
+        try {
+            downloader.download(patch.getUrl(), patchFile, listener, patch.getSha256(), null);
+            counted = Files.size(patchFile);
+
+            String sha256 = DeltaPatch.apply(sourceDir.resolve(entry.getPath()), patchFile, output);
+            if (!sha256.equalsIgnoreCase(entry.getSha256())) {
+                throw new IOException("SHA-256 do resultado não confere com o manifesto");
+            }
+            try {
+                Files.move(output, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(output, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // O progresso conta o tamanho do arquivo inteiro; completa o que o patch economizou
+            listener.onBytes(entry.getSize() - counted);
+            return sha256;
+        } catch (IOException e) {
+            System.err.println("Patch de " + entry.getPath() + " falhou, baixando o arquivo inteiro: " + e.getMessage());
+            listener.onBytes(-counted);
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(patchFile);
+                Files.deleteIfExists(output);
+            } catch (IOException ignored) {
+                // Sobras temporárias; a próxima atualização sobrescreve
+            }
+        }
+    }
+
+    // Grava o que os launchers da rede local já têm (conferido pelo SHA-256) e
+    // devolve o plano com o que falta, para ser buscado no CDN por um dos outros
+    // métodos. Se não faltar nada, conclua com complete().
+    public UpdatePlan applyFromPeers(UpdatePlan plan, PeerCache peers, DownloadListener listener) throws IOException {
+        List<PackManifest.FileEntry> remaining = new ArrayList<>();
+        long bytes = 0;
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            Path target = resolve(entry.getPath());
+            if (entry.getSha256() != null && peers.fetch(entry.getSha256(), entry.getSize(), target, listener)) {
+                record(entry.getPath(), target, entry.getSha256());
+                bytes += entry.getSize();
+            } else {
+                remaining.add(entry);
+            }
+        }
+        int fetched = plan.getChanged().size() - remaining.size();
+        if (fetched > 0) {
+            System.out.println("Rede local: " + fetched + " arquivos (" + bytes / (1024 * 1024)
+                    + " MB) vieram de outros launchers, " + remaining.size() + " do CDN");
+        }
+        return new UpdatePlan(plan.getManifest(), remaining, plan.getRemoved(), plan.getUnchanged());
+    }
+
+    // Grava o que o armazenamento compartilhado já tem (de outra instância ou de uma
+    // versão anterior) e devolve o plano com o que falta, como applyFromPeers
+    public UpdatePlan applyFromStore(UpdatePlan plan, ContentStore store, DownloadListener listener)
+            throws IOException {
+        List<PackManifest.FileEntry> remaining = new ArrayList<>();
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            Path target = resolve(entry.getPath());
+            if (entry.getSha256() != null
+                    && store.materialize(entry.getSha256(), entry.getSize(), entry.getPath(), target)) {
+                record(entry.getPath(), target, entry.getSha256());
+                listener.onBytes(entry.getSize());
+                bytes += entry.getSize();
+            } else {
+                remaining.add(entry);
+            }
+        }
+        int placed = plan.getChanged().size() - remaining.size();
+        if (placed > 0) {
+            System.out.println("Armazenamento: " + placed + " arquivos (" + bytes / (1024 * 1024) + " MB) em "
+                    + (System.nanoTime() - start) / 1_000_000 + "ms, " + remaining.size() + " para baixar");
+        }
+        return new UpdatePlan(plan.getManifest(), remaining, plan.getRemoved(), plan.getUnchanged());
+    }
+
+    // Confere os arquivos instalados contra o índice e devolve os que sumiram ou
+    // mudaram. Sem full, só os que mudaram de tamanho ou data têm o hash relido;
+    // com full, todos (ex.: para achar um arquivo corrompido no disco).
+    public List<String> verify(boolean full) throws IOException {
+        List<String> damaged = new ArrayList<>();
+        for (String path : new ArrayList<>(index.paths())) {
+            InstallIndex.Entry known = index.get(path);
+            Path file = resolve(path);
+            if (!Files.isRegularFile(file)) {
+                damaged.add(path);
+                continue;
+            }
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (attrs.size() != known.getSize()) {
+                damaged.add(path);
+            } else if ((full || attrs.lastModifiedTime().toMillis() != known.getModified())
+                    && !Hashes.sha256(file).equalsIgnoreCase(known.getSha256())) {
+                damaged.add(path);
+            }
+        }
+        return damaged;
+    }
+
+    // Tira arquivos do índice para que o próximo plan() os confira pelo hash (e
+    // regrave os que não baterem com o manifesto)
+    public void forget(Collection<String> paths) throws IOException {
+        for (String path : paths) {
+            index.remove(path);
+        }
+        index.save(indexFile);
+    }
+
+    // Conclui um plano sem nada a gravar: apaga o que saiu do pacote e salva o índice
+    public void complete(UpdatePlan plan) throws IOException {
+        finish(plan);
+    }
+
+    // Baixa o ZIP e, ao mesmo tempo, extrai as entradas alteradas assim que o trecho
+    // do arquivo que as contém termina de chegar. Cada entrada é conferida pelo
+    // SHA-256 do manifesto, então não é preciso esperar o hash do ZIP inteiro.
+    // O que não sair do fluxo (ou se o fluxo falhar) é extraído do ZIP completo.
+    public void applyWhileDownloading(UpdatePlan plan, String url, Path zipPath, SegmentedDownloader downloader,
+                                      DownloadListener listener, String expectedSha256) throws IOException {
+        Map<String, PackManifest.FileEntry> pending = new ConcurrentHashMap<>();
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            pending.put(entry.getPath(), entry);
+        }
+
+        downloader.download(url, zipPath, listener, expectedSha256, in -> extractStream(in, pending));
+
+        if (!pending.isEmpty()) {
+            Map<String, String> expected = new HashMap<>();
+            for (PackManifest.FileEntry entry : pending.values()) {
+                expected.put(entry.getPath(), entry.getSha256());
+            }
+            extractor.extractVerified(zipPath, installDir, expected);
+        }
+
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            record(entry.getPath(), resolve(entry.getPath()), entry.getSha256());
+        }
+        finish(plan);
+    }
+
+    private void extractStream(InputStream in, Map<String, PackManifest.FileEntry> pending) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry zipEntry;
+            while (!pending.isEmpty() && (zipEntry = zip.getNextEntry()) != null) {
+                PackManifest.FileEntry entry = pending.get(zipEntry.getName());
+                if (entry != null && !zipEntry.isDirectory() && installFromStream(entry, zip, buffer)) {
+                    pending.remove(entry.getPath());
+                }
+            }
+        } catch (IOException e) {
+            // O restante é extraído do ZIP completo depois do download
+            System.err.println("Extração durante o download interrompida: " + e.getMessage());
+        }
+    }
+
+    // Grava em um temporário e só substitui o arquivo instalado se o hash bater
+    private boolean installFromStream(PackManifest.FileEntry entry, InputStream in, byte[] buffer) throws IOException {
+        Path target = resolve(entry.getPath());
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        MessageDigest digest = Hashes.sha256();
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        if (!Hashes.toHex(digest.digest()).equalsIgnoreCase(entry.getSha256())) {
+            Files.deleteIfExists(tmp);
+            return false;
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    private void finish(UpdatePlan plan) throws IOException {
+        for (String path : plan.getRemoved()) {
+            Files.deleteIfExists(resolve(path));
+            index.remove(path);
+        }
+        index.setVersion(plan.getManifest().getVersion());
+        index.save(indexFile);
+    }
+
+    // Um arquivo está instalado se bate com o índice (tamanho + data) ou, na
+    // falta do índice, se o hash do que está no disco bate com o manifesto
+    private boolean isInstalled(PackManifest.FileEntry entry) throws IOException {
+        Path file = resolve(entry.getPath());
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        if (attrs.size() != entry.getSize()) {
+            return false;
+        }
+
+        InstallIndex.Entry known = index.get(entry.getPath());
+        // Um índice antigo pode ter entradas sem hash: essas são conferidas pelo disco
+        if (known != null && known.getSha256() != null
+                && known.getSize() == attrs.size()
+                && known.getModified() == attrs.lastModifiedTime().toMillis()) {
+            return known.getSha256().equalsIgnoreCase(entry.getSha256());
+        }
+
+        String sha256 = Hashes.sha256(file);
+        if (!sha256.equalsIgnoreCase(entry.getSha256())) {
+            return false;
+        }
+        record(entry.getPath(), file, sha256);
+        return true;
+    }
+
+    private void record(String path, Path file, String sha256) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        index.put(path, attrs.size(), attrs.lastModifiedTime().toMillis(), sha256);
+    }
+
+    // Impede que uma entrada como "../../x" escape do diretório do modpack
+    private Path resolve(String path) throws IOException {
+        Path resolved = installDir.resolve(path).normalize();
+        if (!resolved.startsWith(installDir)) {
+            throw new IOException("Caminho fora do diretório do modpack: " + path);
+        }
+        return resolved;
+    }
+}
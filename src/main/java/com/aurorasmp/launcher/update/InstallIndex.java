@@ -0,0 +1,108 @@
+package com.aurorasmp.launcher.update;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Índice local de todos os arquivos instalados pelo modpack (caminho, tamanho,
+// data de modificação e SHA-256). Se tamanho e data não mudaram, o hash salvo
+// é considerado válido e o arquivo não precisa ser lido de novo.
+public class InstallIndex {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private String version;
+    private Map<String, Entry> files = new TreeMap<>();
+
+    public static InstallIndex load(Path file) {
+        if (!Files.exists(file)) {
+            return new InstallIndex();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            InstallIndex index = GSON.fromJson(reader, InstallIndex.class);
+            if (index == null) {
+                return new InstallIndex();
+            }
+            if (index.files == null) {
+                index.files = new TreeMap<>();
+            }
+            return index;
+        } catch (IOException | JsonParseException e) {
+            // Índice corrompido: começa do zero, os arquivos serão conferidos pelo hash
+            e.printStackTrace();
+            return new InstallIndex();
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public Entry get(String path) {
+        return files.get(path);
+    }
+
+    public void put(String path, long size, long modified, String sha256) {
+        files.put(path, new Entry(size, modified, sha256));
+    }
+
+    public void remove(String path) {
+        files.remove(path);
+    }
+
+    public Set<String> paths() {
+        return files.keySet();
+    }
+
+    public static class Entry {
+        private long size;
+        private long modified;
+        private String sha256;
+
+        Entry(long size, long modified, String sha256) {
+            this.size = size;
+            this.modified = modified;
+            this.sha256 = sha256;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getModified() {
+            return modified;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+}
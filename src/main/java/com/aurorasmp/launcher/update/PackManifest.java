@@ -0,0 +1,237 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.Hashes;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Lista de arquivos de uma versão do modpack. Pode vir publicada junto com o
+// pacote (JSON) ou ser gerada a partir do próprio ZIP quando não houver manifesto.
+//
+// Formato do JSON:
+// {"version": "1.1", "files": [{"path": "mods/x.jar", "size": 123, "sha256": "...", "url": "https://...",
+//   "patches": [{"from": "<sha256 da versão anterior>", "url": "https://.../x.jar.1.0.patch", "size": 4567, "sha256": "..."}]}]}
+//
+// "patches" é opcional: um DeltaPatch para cada versão anterior do arquivo que vale a pena atualizar por patch.
+public class PackManifest {
+
+    private static final Gson GSON = new Gson();
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-fA-F]{64}");
+
+    private String version;
+    private List<FileEntry> files = new ArrayList<>();
+
+    public PackManifest() {
+    }
+
+    public PackManifest(String version, List<FileEntry> files) {
+        this.version = version;
+        this.files = files;
+    }
+
+    // Lê e confere o manifesto publicado: toda entrada precisa de um caminho seguro
+    // dentro do modpack, tamanho e SHA-256. Uma entrada sem hash iria para o índice
+    // sem ele e seria gravada sem conferência; melhor recusar o manifesto inteiro
+    // (a atualização cai no ZIP, que é conferido pelo hash da versão).
+    public static PackManifest parse(Reader reader) throws IOException {
+        PackManifest manifest;
+        try {
+            manifest = GSON.fromJson(reader, PackManifest.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Manifesto do modpack inválido: " + e.getMessage(), e);
+        }
+        if (manifest == null || manifest.files == null) {
+            throw new IOException("Manifesto do modpack vazio ou inválido");
+        }
+        Set<String> paths = new HashSet<>();
+        for (FileEntry file : manifest.files) {
+            if (file == null) {
+                throw new IOException("Manifesto do modpack com entrada vazia");
+            }
+            file.validate();
+            if (!paths.add(file.path)) {
+                throw new IOException("Arquivo repetido no manifesto: " + file.path);
+            }
+        }
+        return manifest;
+    }
+
+    // Gera o manifesto lendo o diretório central do ZIP e calculando o SHA-256 de cada entrada
+    public static PackManifest fromZip(Path zipPath, String version) throws IOException {
+        List<FileEntry> files = new ArrayList<>();
+        byte[] buffer = new byte[64 * 1024];
+
+        try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                MessageDigest digest = Hashes.sha256();
+                long size = 0;
+                try (InputStream in = zip.getInputStream(entry)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                        size += read;
+                    }
+                }
+                files.add(new FileEntry(entry.getName(), size, Hashes.toHex(digest.digest()), null));
+            }
+        }
+        return new PackManifest(version, files);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<FileEntry> getFiles() {
+        return files;
+    }
+
+    // Verdadeiro se todos os arquivos podem ser baixados individualmente, sem o ZIP
+    public boolean hasUrls() {
+        for (FileEntry file : files) {
+            if (file.url == null || file.url.isEmpty()) {
+                return false;
+            }
+        }
+        return !files.isEmpty();
+    }
+
+    public static class FileEntry {
+        private String path;
+        // Objeto para que a falta de "size" no JSON não vire 0
+        private Long size;
+        private String sha256;
+        private String url;
+        private List<Patch> patches;
+
+        public FileEntry() {
+        }
+
+        public FileEntry(String path, long size, String sha256, String url) {
+            this.path = path;
+            this.size = size;
+            this.sha256 = sha256;
+            this.url = url;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public List<Patch> getPatches() {
+            return patches != null ? patches : Collections.emptyList();
+        }
+
+        private void validate() throws IOException {
+            if (!isSafePath(path)) {
+                throw new IOException("Caminho inválido no manifesto: " + path);
+            }
+            if (size == null || size < 0) {
+                throw new IOException("Tamanho inválido no manifesto para " + path + ": " + size);
+            }
+            if (!isSha256(sha256)) {
+                throw new IOException("SHA-256 ausente ou inválido no manifesto para " + path);
+            }
+            for (Patch patch : getPatches()) {
+                if (patch == null || !isSha256(patch.from) || patch.url == null || patch.url.isEmpty()
+                        || patch.size < 0 || (patch.sha256 != null && !isSha256(patch.sha256))) {
+                    throw new IOException("Patch inválido no manifesto para " + path);
+                }
+            }
+        }
+
+        // Patch que transforma o arquivo com este SHA-256 na versão nova; null se não houver
+        public Patch patchFrom(String installedSha256) {
+            for (Patch patch : getPatches()) {
+                if (patch.from != null && patch.from.equalsIgnoreCase(installedSha256)) {
+                    return patch;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Relativo, com "/" e sem "." ou ".." em nenhum trecho: não sai do diretório do modpack
+    static boolean isSafePath(String path) {
+        if (path == null || path.isEmpty() || path.startsWith("/") || path.indexOf('\\') >= 0
+                || path.indexOf(':') >= 0 || path.indexOf('\0') >= 0) {
+            return false;
+        }
+        for (String part : path.split("/", -1)) {
+            if (part.isEmpty() || part.equals(".") || part.equals("..")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isSha256(String value) {
+        return value != null && SHA256.matcher(value).matches();
+    }
+
+    public static class Patch {
+        private String from;
+        private String url;
+        private long size;
+        private String sha256;
+
+        public Patch() {
+        }
+
+        public Patch(String from, String url, long size, String sha256) {
+            this.from = from;
+            this.url = url;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        // Hash do próprio arquivo de patch (opcional); o resultado é sempre conferido pelo sha256 do arquivo
+        public String getSha256() {
+            return sha256;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.TreeDeleter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// Atualização em staging: a nova versão é montada em um diretório irmão
+// (modpack.staging) e só entra no lugar com uma troca por renomeação. Se o
+// download ou a extração falharem, a instalação em uso nunca foi tocada.
+//
+// O staging começa com hardlinks de tudo que já está instalado (inclusive mundos
+// e configurações do jogador), então não custa espaço nem cópia; os arquivos que
+// o plano vai gravar ou remover ficam de fora, para que nenhuma gravação alcance
+// o arquivo em uso pelo link. O índice do staging (modpack-index.json.staging) é
+// salvo por último e marca o staging como completo.
+//
+// Troca: modpack → modpack.old-<ts>, modpack.staging → modpack, índice do staging
+// → índice. A instalação antiga é apagada em segundo plano. recover() completa ou
+// desfaz uma troca interrompida (ex.: energia caiu entre as renomeações).
+public class StagedInstall {
+
+    private final Path installDir;
+    private final Path indexFile;
+    private final Path stagingDir;
+    private final Path stagedIndexFile;
+    private final TreeDeleter deleter;
+
+    public StagedInstall(Path installDir, Path indexFile, TreeDeleter deleter) {
+        this.installDir = installDir.toAbsolutePath().normalize();
+        this.indexFile = indexFile;
+        this.stagingDir = this.installDir.resolveSibling(this.installDir.getFileName() + ".staging");
+        this.stagedIndexFile = indexFile.resolveSibling(indexFile.getFileName() + ".staging");
+        this.deleter = deleter;
+    }
+
+    // Hardlinks funcionam no disco da instalação? (FAT32 e alguns compartilhamentos não têm)
+    public boolean isSupported() {
+        Path parent = installDir.getParent();
+        Path probe = parent.resolve(".aurora-link-probe");
+        Path link = parent.resolve(".aurora-link-probe.link");
+        try {
+            Files.createDirectories(parent);
+            Files.deleteIfExists(link);
+            Files.write(probe, new byte[0]);
+            Files.createLink(link, probe);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        } finally {
+            try {
+                Files.deleteIfExists(link);
+                Files.deleteIfExists(probe);
+            } catch (IOException ignored) {
+                // Arquivo de teste vazio; sobra sem prejuízo
+            }
+        }
+    }
+
+    // Chamado na abertura, antes de qualquer acesso à instalação
+    public void recover() throws IOException {
+        boolean installExists = Files.isDirectory(installDir);
+        boolean stagingExists = Files.isDirectory(stagingDir);
+        boolean staged = Files.exists(stagedIndexFile);
+        List<Path> leftovers = leftovers(".old-*");
+
+        if (!installExists && stagingExists && staged) {
+            // Parou entre as duas renomeações: termina a troca
+            System.out.println("Concluindo troca de instalação interrompida");
+            move(stagingDir, installDir);
+            moveFile(stagedIndexFile, indexFile);
+            stagingExists = false;
+            staged = false;
+        } else if (installExists && !stagingExists && staged) {
+            // Trocou o diretório mas não o índice
+            moveFile(stagedIndexFile, indexFile);
+            staged = false;
+        } else if (!installExists && !leftovers.isEmpty()) {
+            // Staging incompleto: volta a instalação anterior (a mais recente)
+            System.out.println("Restaurando a instalação anterior do modpack");
+            Path newest = leftovers.get(leftovers.size() - 1);
+            move(newest, installDir);
+            leftovers.remove(newest);
+        }
+
+        if (stagingExists && !staged) {
+            discard(stagingDir);
+        } else if (!stagingExists && staged) {
+            Files.deleteIfExists(stagedIndexFile);
+        }
+        leftovers.addAll(leftovers(".trash-*"));
+        for (Path leftover : leftovers) {
+            deleter.deleteInBackground(leftover);
+        }
+    }
+
+    // Monta o staging para o plano e devolve o updater que grava nele. O plano
+    // deve ter sido feito por current, contra a instalação em uso.
+    public IncrementalUpdater prepare(IncrementalUpdater current, UpdatePlan plan) throws IOException {
+        if (Files.exists(stagingDir)) {
+            discard(stagingDir);
+        }
+        Files.deleteIfExists(stagedIndexFile);
+
+        Set<String> skip = new HashSet<>(plan.getRemoved());
+        for (PackManifest.FileEntry entry : plan.getChanged()) {
+            skip.add(entry.getPath());
+        }
+
+        long start = System.nanoTime();
+        Files.createDirectories(stagingDir);
+        int[] linked = new int[1];
+        if (Files.isDirectory(installDir)) {
+            Files.walkFileTree(installDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(stagingDir.resolve(installDir.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (!skip.contains(relative(file))) {
+                        link(file, stagingDir.resolve(installDir.relativize(file)), attrs);
+                        linked[0]++;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        System.out.println("Staging montado com " + linked[0] + " arquivos em "
+                + (System.nanoTime() - start) / 1_000_000 + "ms");
+        return current.retarget(stagingDir, stagedIndexFile);
+    }
+
+    // Há uma versão completa no staging esperando a troca?
+    public boolean isReady() {
+        return Files.isDirectory(stagingDir) && Files.exists(stagedIndexFile);
+    }
+
+    // Versão do modpack que está no staging, ou null se não houver
+    public String getStagedVersion() {
+        return isReady() ? InstallIndex.load(stagedIndexFile).getVersion() : null;
+    }
+
+    // Põe o staging no lugar da instalação. Retorna a remoção da instalação antiga,
+    // que continua em segundo plano; o jogo já pode ser iniciado.
+    public CompletableFuture<TreeDeleter.Result> commit() throws IOException {
+        if (!isReady()) {
+            throw new IOException("Nenhuma atualização completa em " + stagingDir);
+        }
+        long start = System.nanoTime();
+        syncPlayerFiles();
+
+        Path old = null;
+        if (Files.exists(installDir)) {
+            old = installDir.resolveSibling(installDir.getFileName() + ".old-" + System.currentTimeMillis());
+            // No Windows falha se algum arquivo estiver aberto (ex.: jogo rodando); nada muda
+            move(installDir, old);
+        }
+        try {
+            move(stagingDir, installDir);
+        } catch (IOException e) {
+            if (old != null) {
+                move(old, installDir);
+            }
+            throw e;
+        }
+        moveFile(stagedIndexFile, indexFile);
+        System.out.println("Instalação trocada em " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        return old != null ? deleter.deleteInBackground(old) : CompletableFuture.completedFuture(null);
+    }
+
+    // O jogador pode ter mexido em arquivos fora do modpack (mundos, opções) depois
+    // de o staging ser montado: traz para o staging o que mudou e remove o que sumiu.
+    // Só compara tamanho e data, então é rápido mesmo com mundos grandes.
+    private void syncPlayerFiles() throws IOException {
+        Set<String> packFiles = new HashSet<>(InstallIndex.load(stagedIndexFile).paths());
+        packFiles.addAll(InstallIndex.load(indexFile).paths());
+        Set<String> present = new HashSet<>();
+
+        if (Files.isDirectory(installDir)) {
+            Files.walkFileTree(installDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    String path = relative(file);
+                    if (packFiles.contains(path)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    present.add(path);
+                    Path target = stagingDir.resolve(installDir.relativize(file));
+                    if (!sameFile(target, attrs)) {
+                        Files.createDirectories(target.getParent());
+                        Files.deleteIfExists(target);
+                        link(file, target, attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        Files.walkFileTree(stagingDir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String path = stagingDir.relativize(file).toString().replace(File.separatorChar, '/');
+                if (!packFiles.contains(path) && !present.contains(path)) {
+                    Files.delete(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean sameFile(Path target, BasicFileAttributes source) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(target, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            return attrs.size() == source.size()
+                    && attrs.lastModifiedTime().equals(source.lastModifiedTime());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Hardlink; se o disco recusar para este arquivo, cópia preservando a data
+    // (o índice compara tamanho e data)
+    private static void link(Path source, Path target, BasicFileAttributes attrs) throws IOException {
+        if (!attrs.isSymbolicLink()) {
+            try {
+                Files.createLink(target, source);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                // Cai na cópia
+            }
+        }
+        Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    // Caminho no formato do manifesto ("mods/x.jar"), independente do sistema
+    private String relative(Path file) {
+        return installDir.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    // Renomeia para fora do caminho na hora e apaga em segundo plano
+    private void discard(Path dir) throws IOException {
+        Path trash = installDir.resolveSibling(installDir.getFileName() + ".trash-" + System.nanoTime());
+        move(dir, trash);
+        deleter.deleteInBackground(trash);
+    }
+
+    // Sobras de trocas anteriores (modpack.old-<ms> ou modpack.trash-<ns>), da mais antiga para a mais recente
+    private List<Path> leftovers(String pattern) throws IOException {
+        List<Path> found = new ArrayList<>();
+        Path parent = installDir.getParent();
+        if (!Files.isDirectory(parent)) {
+            return found;
+        }
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(parent, installDir.getFileName() + pattern)) {
+            for (Path sibling : siblings) {
+                found.add(sibling);
+            }
+        }
+        found.sort((a, b) -> Long.compare(suffix(a), suffix(b)));
+        return found;
+    }
+
+    private long suffix(Path old) {
+        String name = old.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(name.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Não é static para os testes simularem uma renomeação que falha no meio da troca
+    void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private static void moveFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.aurorasmp.launcher.update;
+
+import java.util.List;
+
+// Diferença entre o que está instalado e o manifesto da nova versão
+public class UpdatePlan {
+
+    private final PackManifest manifest;
+    private final List<PackManifest.FileEntry> changed;
+    private final List<String> removed;
+    private final int unchanged;
+
+    UpdatePlan(PackManifest manifest, List<PackManifest.FileEntry> changed, List<String> removed, int unchanged) {
+        this.manifest = manifest;
+        this.changed = changed;
+        this.removed = removed;
+        this.unchanged = unchanged;
+    }
+
+    public PackManifest getManifest() {
+        return manifest;
+    }
+
+    // Arquivos novos ou alterados que precisam ser gravados
+    public List<PackManifest.FileEntry> getChanged() {
+        return changed;
+    }
+
+    // Arquivos da versão anterior que não existem mais no modpack
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public long getBytesToWrite() {
+        long total = 0;
+        for (PackManifest.FileEntry entry : changed) {
+            total += entry.getSize();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return changed.isEmpty() && removed.isEmpty();
+    }
+}
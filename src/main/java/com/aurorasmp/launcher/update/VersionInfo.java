@@ -0,0 +1,73 @@
+package com.aurorasmp.launcher.update;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Descrição de uma versão do modpack: a publicada pelo servidor (versão mais
+// recente, URL do ZIP e SHA-256 esperado) e a gravada em versions.json depois de
+// instalar.
+//
+// Formato: {"version": "1.1", "url": "https://...zip", "sha256": "..."}
+public class VersionInfo {
+
+    private static final Gson GSON = new Gson();
+
+    private String version;
+    private String url;
+    private String sha256;
+
+    public VersionInfo() {
+    }
+
+    public VersionInfo(String version, String url, String sha256) {
+        this.version = version;
+        this.url = url;
+        this.sha256 = sha256;
+    }
+
+    public static VersionInfo parse(Reader reader) {
+        VersionInfo info = GSON.fromJson(reader, VersionInfo.class);
+        if (info == null || info.version == null) {
+            throw new JsonParseException("Informação de versão sem o campo \"version\"");
+        }
+        return info;
+    }
+
+    // Retorna null se o arquivo não existir ou estiver inválido
+    public static VersionInfo load(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+}
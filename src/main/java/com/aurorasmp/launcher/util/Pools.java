@@ -0,0 +1,31 @@
+package com.aurorasmp.launcher.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Encerramento dos pools de threads usados dentro de tarefas canceláveis
+public final class Pools {
+
+    private static final long WAIT_MS = 10_000;
+
+    private Pools() {
+    }
+
+    // Espera o pool (já desligado com shutdown ou shutdownNow) terminar, mesmo que
+    // a thread seja interrompida: cancelar a tarefa não pode deixar threads do pool
+    // gravando depois que ela saiu. Limpa a interrupção pendente e devolve se houve
+    // alguma; quem chama faz a limpeza (ex.: salvar o índice) e depois a restaura.
+    public static boolean awaitTermination(ExecutorService executor, String name) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                if (executor.awaitTermination(WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    return interrupted;
+                }
+                System.err.println("Aguardando as threads de " + name + " terminarem...");
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.aurorasmp.launcher.util;
+
+import com.aurorasmp.launcher.metrics.DeleteEvent;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Apaga uma árvore de diretórios percorrendo-a uma vez com um FileVisitor: os
+// arquivos vão sendo apagados em paralelo enquanto o percurso continua, sem montar
+// e ordenar a lista de todos os caminhos. Diretórios são apagados no fim, filhos
+// antes dos pais. Uma falha (ex.: jar aberto no Windows) não interrompe o resto;
+// tudo que não pôde ser apagado é informado no final.
+public class TreeDeleter {
+
+    public static final int DEFAULT_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    // Quantas remoções podem estar na fila ao mesmo tempo por thread; limita a memória em árvores enormes
+    private static final int QUEUED_PER_THREAD = 256;
+    private static final int MAX_REPORTED_FAILURES = 20;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    // Remoções em segundo plano, uma de cada vez e com prioridade baixa
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "aurora-delete-background");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final int threads;
+
+    public TreeDeleter() {
+        this(DEFAULT_THREADS);
+    }
+
+    public TreeDeleter(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads deve ser >= 1");
+        }
+        this.threads = threads;
+    }
+
+    // Apaga root e tudo dentro dele; não existir não é erro. Se algo não puder
+    // ser apagado, lança IOException depois de tentar todo o resto.
+    public Result delete(Path root) throws IOException {
+        DeleteEvent event = new DeleteEvent(root.toString());
+        event.start();
+        Result result = new Result();
+        try {
+            if (Files.exists(root)) {
+                deleteTree(root, result);
+            }
+            event.setEntries(result.getFiles() + result.getDirectories());
+            event.setBytes(result.getBytes());
+        } finally {
+            event.finish(result.failures.isEmpty());
+        }
+
+        if (!result.failures.isEmpty()) {
+            IOException failure = new IOException(result.failureCount.get() + " item(ns) não puderam ser apagados em " + root
+                    + ", ex.: " + result.failures.peek().getMessage());
+            result.failures.forEach(failure::addSuppressed);
+            throw failure;
+        }
+        return result;
+    }
+
+    // Apaga em uma thread de fundo, para quem não precisa esperar (ex.: a instalação antiga)
+    public CompletableFuture<Result> deleteInBackground(Path root) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        BACKGROUND.execute(() -> {
+            try {
+                future.complete(delete(root));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Falha ao apagar " + root + " em segundo plano: " + e.getMessage());
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void deleteTree(Path root, Result result) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "aurora-delete-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore queued = new Semaphore(threads * QUEUED_PER_THREAD);
+        // Em pós-ordem: cada diretório aparece depois de tudo que está dentro dele
+        List<Path> directories = new ArrayList<>();
+
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    long size = attrs.isRegularFile() ? attrs.size() : 0;
+                    try {
+                        queued.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Remoção interrompida");
+                    }
+                    executor.execute(() -> {
+                        try {
+                            deleteFile(file);
+                            result.files.incrementAndGet();
+                            result.bytes.addAndGet(size);
+                        } catch (IOException e) {
+                            result.fail(e);
+                        } finally {
+                            queued.release();
+                        }
+                    });
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    result.fail(e);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+                    if (e != null) {
+                        result.fail(e);
+                    }
+                    directories.add(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } finally {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    System.err.println("Aguardando remoção de arquivos em " + root);
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Remoção interrompida");
+            }
+        }
+
+        for (Path dir : directories) {
+            try {
+                Files.deleteIfExists(dir);
+                result.directories.incrementAndGet();
+            } catch (IOException e) {
+                // Normalmente porque um arquivo lá dentro não pôde ser apagado; esse já foi informado
+                if (result.failures.isEmpty()) {
+                    result.fail(e);
+                }
+            }
+        }
+    }
+
+    private static void deleteFile(Path file) throws IOException {
+        try {
+            Files.delete(file);
+        } catch (NoSuchFileException e) {
+            // Já foi apagado por outro processo
+        } catch (AccessDeniedException e) {
+            // No Windows, arquivos somente leitura não podem ser apagados até perderem o atributo
+            if (!file.toFile().setWritable(true)) {
+                throw e;
+            }
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public static final class Result {
+        private final AtomicLong files = new AtomicLong();
+        private final AtomicLong directories = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicInteger failureCount = new AtomicInteger();
+        private final ConcurrentLinkedQueue<IOException> failures = new ConcurrentLinkedQueue<>();
+
+        private void fail(IOException e) {
+            if (failureCount.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+                failures.add(e);
+            }
+        }
+
+        public long getFiles() {
+            return files.get();
+        }
+
+        public long getDirectories() {
+            return directories.get();
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.aurorasmp.launcher.zip;
+
+import com.aurorasmp.launcher.metrics.ExtractionEvent;
+import com.aurorasmp.launcher.util.Hashes;
+import com.aurorasmp.launcher.util.Pools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+// Extrai um ZIP em paralelo a partir do diretório central. Entradas STORED são
+// copiadas direto do arquivo, conferindo o CRC32; entradas DEFLATED são descomprimidas
+// pelo ZipFile com buffers grandes. A árvore de diretórios é criada uma única vez
+// antes de distribuir as entradas entre as threads.
+public class ParallelZipExtractor {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final int threads;
+    private final ThreadLocal<byte[]> heapBuffers = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    private final ThreadLocal<ByteBuffer> directBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    public ParallelZipExtractor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelZipExtractor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads deve ser >= 1");
+        }
+        this.threads = threads;
+    }
+
+    // Extrai todas as entradas; retorna os nomes dos arquivos gravados
+    public List<String> extract(Path zipPath, Path destDir) throws IOException {
+        return extract(zipPath, destDir, name -> true, Collections.emptyMap());
+    }
+
+    // Extrai só as entradas do mapa, conferindo o SHA-256 de cada uma antes de
+    // substituir o arquivo existente
+    public List<String> extractVerified(Path zipPath, Path destDir, Map<String, String> expectedSha256)
+            throws IOException {
+        // Sem hash a entrada seria gravada direto no lugar, sem conferência
+        for (Map.Entry<String, String> entry : expectedSha256.entrySet()) {
+            if (entry.getValue() == null) {
+                throw new IOException("Entrada sem SHA-256 para conferir: " + entry.getKey());
+            }
+        }
+        List<String> extracted = extract(zipPath, destDir, expectedSha256::containsKey, expectedSha256);
+        if (extracted.size() != expectedSha256.size()) {
+            for (String name : expectedSha256.keySet()) {
+                if (!extracted.contains(name)) {
+                    throw new ZipException("Arquivo ausente no ZIP: " + name);
+                }
+            }
+        }
+        return extracted;
+    }
+
+    private List<String> extract(Path zipPath, Path destDir, Predicate<String> include,
+                                 Map<String, String> expectedSha256) throws IOException {
+        ExtractionEvent event = new ExtractionEvent(zipPath.getFileName().toString(), threads);
+        event.start();
+        boolean success = false;
+        try {
+            List<String> extracted = extract(zipPath, destDir, include, expectedSha256, event);
+            success = true;
+            return extracted;
+        } finally {
+            event.finish(success);
+        }
+    }
+
+    private List<String> extract(Path zipPath, Path destDir, Predicate<String> include,
+                                 Map<String, String> expectedSha256, ExtractionEvent event) throws IOException {
+        Path root = destDir.toAbsolutePath().normalize();
+
+        try (FileChannel archive = FileChannel.open(zipPath, StandardOpenOption.READ);
+             ZipFile zip = new ZipFile(zipPath.toFile())) {
+
+            List<ZipCentralDirectory.Record> selected = new ArrayList<>();
+            TreeSet<Path> directories = new TreeSet<>();
+            directories.add(root);
+            for (ZipCentralDirectory.Record record : ZipCentralDirectory.read(archive)) {
+                if (record.isDirectory()) {
+                    if (include.test(record.name)) {
+                        directories.add(resolve(root, record.name));
+                    }
+                    continue;
+                }
+                if (include.test(record.name)) {
+                    selected.add(record);
+                    event.addBytes(record.size);
+                    directories.add(resolve(root, record.name).getParent());
+                }
+            }
+
+            event.setEntries(selected.size());
+
+            // Ordenado, cada pai é criado antes dos filhos e as chamadas seguintes são baratas
+            for (Path directory : directories) {
+                Files.createDirectories(directory);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, selected.size())), r -> {
+                Thread thread = new Thread(r, "aurora-extract-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            List<Future<?>> futures = new ArrayList<>(selected.size());
+            // Sem shutdownNow: a interrupção de uma thread lendo o archive fecharia o canal para todas
+            AtomicBoolean aborted = new AtomicBoolean();
+            boolean interrupted = false;
+            try {
+                for (ZipCentralDirectory.Record record : selected) {
+                    futures.add(executor.submit(() -> {
+                        extractEntry(archive, zip, record, resolve(root, record.name),
+                                expectedSha256.get(record.name), aborted);
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        }
+                        throw new IOException("Falha ao extrair o ZIP", cause);
+                    }
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } finally {
+                aborted.set(true);
+                futures.forEach(f -> f.cancel(false));
+                executor.shutdown();
+                // O archive e o ZipFile são fechados na saída: nenhuma entrada pode estar sendo gravada
+                interrupted |= Pools.awaitTermination(executor, "extração");
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (interrupted) {
+                throw new InterruptedIOException("Extração interrompida");
+            }
+
+            List<String> names = new ArrayList<>(selected.size());
+            for (ZipCentralDirectory.Record record : selected) {
+                names.add(record.name);
+            }
+            return names;
+        }
+    }
+
+    private void extractEntry(FileChannel archive, ZipFile zip, ZipCentralDirectory.Record record, Path target,
+                              String expectedSha256, AtomicBoolean aborted) throws IOException {
+        // Com verificação, grava em um temporário para nunca deixar um arquivo inválido no lugar
+        Path output = expectedSha256 == null ? target : target.resolveSibling(target.getFileName() + ".tmp");
+        MessageDigest digest = expectedSha256 == null ? null : Hashes.sha256();
+
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (record.method == ZipEntry.STORED) {
+                copyStored(archive, ZipCentralDirectory.dataOffset(archive, record), record, out, digest, aborted);
+            } else {
+                ZipEntry entry = zip.getEntry(record.name);
+                if (entry == null) {
+                    throw new ZipException("Entrada não encontrada: " + record.name);
+                }
+                try (InputStream in = zip.getInputStream(entry)) {
+                    copyStream(in, out, digest, aborted);
+                }
+            }
+        }
+
+        if (digest != null) {
+            String sha256 = Hashes.toHex(digest.digest());
+            if (!sha256.equalsIgnoreCase(expectedSha256)) {
+                Files.deleteIfExists(output);
+                throw new IOException("Hash inválido ao extrair: " + record.name);
+            }
+            try {
+                Files.move(output, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(output, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    // Sem SHA-256 para conferir, as entradas STORED são conferidas pelo CRC32 do
+    // diretório central (as DEFLATED já são conferidas pelo próprio ZipFile)
+    private void copyStored(FileChannel archive, long offset, ZipCentralDirectory.Record record,
+                            FileChannel out, MessageDigest digest, AtomicBoolean aborted) throws IOException {
+        CRC32 crc = digest == null ? new CRC32() : null;
+        ByteBuffer buffer = directBuffers.get();
+        long size = record.size;
+        long copied = 0;
+        while (copied < size) {
+            checkAborted(aborted);
+            buffer.clear();
+            if (size - copied < buffer.capacity()) {
+                buffer.limit((int) (size - copied));
+            }
+            int read = archive.read(buffer, offset + copied);
+            if (read < 0) {
+                throw new ZipException("ZIP truncado");
+            }
+            buffer.flip();
+            if (digest != null) {
+                digest.update(buffer);
+            } else {
+                crc.update(buffer);
+            }
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            copied += read;
+        }
+        if (crc != null && crc.getValue() != record.crc) {
+            throw new ZipException("CRC inválido ao extrair: " + record.name);
+        }
+    }
+
+    private void copyStream(InputStream in, FileChannel out, MessageDigest digest, AtomicBoolean aborted)
+            throws IOException {
+        byte[] data = heapBuffers.get();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int read;
+        while ((read = in.read(data)) != -1) {
+            checkAborted(aborted);
+            if (digest != null) {
+                digest.update(data, 0, read);
+            }
+            buffer.clear().limit(read);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    // Outra entrada falhou ou a extração foi cancelada: para no próximo bloco
+    private static void checkAborted(AtomicBoolean aborted) throws InterruptedIOException {
+        if (aborted.get()) {
+            throw new InterruptedIOException("Extração interrompida");
+        }
+    }
+
+    // Impede que uma entrada como "../../x" escape do diretório de destino
+    private static Path resolve(Path root, String name) throws IOException {
+        Path resolved = root.resolve(name).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new ZipException("Entrada fora do diretório de destino: " + name);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,165 @@
+package com.aurorasmp.launcher.zip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipException;
+
+// Leitura do diretório central de um ZIP direto do FileChannel. O ZipEntry do JDK
+// não expõe o offset do cabeçalho local, que precisamos para copiar entradas
+// STORED com transferTo sem passar os bytes pela memória da JVM.
+final class ZipCentralDirectory {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+    private static final int EOCD_MIN_SIZE = 22;
+    private static final int MAX_COMMENT = 0xFFFF;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private ZipCentralDirectory() {
+    }
+
+    static List<Record> read(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        int tailSize = (int) Math.min(fileSize, EOCD_MIN_SIZE + MAX_COMMENT);
+        ByteBuffer tail = readFully(channel, fileSize - tailSize, tailSize);
+
+        int eocd = -1;
+        for (int i = tailSize - EOCD_MIN_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == EOCD_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            throw new ZipException("Fim do diretório central não encontrado");
+        }
+
+        long entries = tail.getShort(eocd + 10) & 0xFFFF;
+        long cdSize = tail.getInt(eocd + 12) & 0xFFFFFFFFL;
+        long cdOffset = tail.getInt(eocd + 16) & 0xFFFFFFFFL;
+
+        if (entries == 0xFFFF || cdSize == ZIP64_MAGIC || cdOffset == ZIP64_MAGIC) {
+            long locatorPos = fileSize - tailSize + eocd - 20;
+            ByteBuffer locator = readFully(channel, locatorPos, 20);
+            if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+                throw new ZipException("Localizador ZIP64 ausente");
+            }
+            ByteBuffer zip64 = readFully(channel, locator.getLong(8), 56);
+            if (zip64.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+                throw new ZipException("Fim do diretório central ZIP64 inválido");
+            }
+            entries = zip64.getLong(32);
+            cdSize = zip64.getLong(40);
+            cdOffset = zip64.getLong(48);
+        }
+
+        if (cdSize > Integer.MAX_VALUE) {
+            throw new ZipException("Diretório central grande demais");
+        }
+        ByteBuffer cd = readFully(channel, cdOffset, (int) cdSize);
+
+        List<Record> records = new ArrayList<>((int) Math.min(entries, 1 << 16));
+        int pos = 0;
+        for (long i = 0; i < entries; i++) {
+            if (cd.getInt(pos) != CENTRAL_SIGNATURE) {
+                throw new ZipException("Registro do diretório central inválido na entrada " + i);
+            }
+            int method = cd.getShort(pos + 10) & 0xFFFF;
+            long crc = cd.getInt(pos + 16) & 0xFFFFFFFFL;
+            long compressedSize = cd.getInt(pos + 20) & 0xFFFFFFFFL;
+            long size = cd.getInt(pos + 24) & 0xFFFFFFFFL;
+            int nameLength = cd.getShort(pos + 28) & 0xFFFF;
+            int extraLength = cd.getShort(pos + 30) & 0xFFFF;
+            int commentLength = cd.getShort(pos + 32) & 0xFFFF;
+            long localOffset = cd.getInt(pos + 42) & 0xFFFFFFFFL;
+
+            byte[] nameBytes = new byte[nameLength];
+            cd.position(pos + 46);
+            cd.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            // Campos ZIP64 aparecem no extra, na ordem, só para os valores que estouraram
+            int extra = pos + 46 + nameLength;
+            int extraEnd = extra + extraLength;
+            while (extra + 4 <= extraEnd) {
+                int id = cd.getShort(extra) & 0xFFFF;
+                int length = cd.getShort(extra + 2) & 0xFFFF;
+                if (id == 0x0001) {
+                    int field = extra + 4;
+                    if (size == ZIP64_MAGIC) {
+                        size = cd.getLong(field);
+                        field += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC) {
+                        compressedSize = cd.getLong(field);
+                        field += 8;
+                    }
+                    if (localOffset == ZIP64_MAGIC) {
+                        localOffset = cd.getLong(field);
+                    }
+                    break;
+                }
+                extra += 4 + length;
+            }
+
+            records.add(new Record(name, method, crc, compressedSize, size, localOffset));
+            pos += 46 + nameLength + extraLength + commentLength;
+        }
+        return records;
+    }
+
+    // Offset dos dados da entrada: o tamanho do nome e do extra no cabeçalho
+    // local podem ser diferentes dos do diretório central
+    static long dataOffset(FileChannel channel, Record record) throws IOException {
+        ByteBuffer header = readFully(channel, record.localHeaderOffset, 30);
+        if (header.getInt(0) != LOCAL_SIGNATURE) {
+            throw new ZipException("Cabeçalho local inválido: " + record.name);
+        }
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+        return record.localHeaderOffset + 30 + nameLength + extraLength;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("ZIP truncado");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    static final class Record {
+        final String name;
+        final int method;
+        final long crc;
+        final long compressedSize;
+        final long size;
+        final long localHeaderOffset;
+
+        Record(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.aurorasmp.launcher.account;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AccountStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void offlineUuidMatchesServerOfflineMode() {
+        String expected = UUID.nameUUIDFromBytes("OfflinePlayer:Steve".getBytes(StandardCharsets.UTF_8))
+                .toString().replace("-", "");
+        assertEquals(expected, new Account("Steve", false).getUuid());
+        assertEquals(expected, Account.offlineUuid("Steve"));
+        assertNotEquals(expected, Account.offlineUuid("steve"));
+    }
+
+    @Test
+    void closeWritesPendingSave() throws IOException {
+        TokenCipher cipher = TokenCipher.forKeyFile(dir.resolve("key"));
+        AccountStore store = new AccountStore(dir.resolve("accounts.json"), cipher);
+        store.add(new Account("Steve", false));
+        // Fecha antes do atraso de SAVE_DELAY_MS: a gravação agendada não pode se perder
+        store.close();
+
+        AccountStore reopened = new AccountStore(dir.resolve("accounts.json"), cipher);
+        assertEquals("Steve", reopened.loadActive().getUsername());
+        reopened.close();
+    }
+
+    @Test
+    void offlineLoginReplacesSameName() throws IOException {
+        TokenCipher cipher = TokenCipher.forKeyFile(dir.resolve("key"));
+        AccountStore store = new AccountStore(dir.resolve("accounts.json"), cipher);
+        // Conta salva por uma versão antiga, com UUID aleatório
+        store.add(new Account("Steve", UUID.randomUUID().toString().replace("-", ""), "", false));
+        store.add(new Account("Alex", false));
+        store.add(new Account("Steve", false));
+        store.add(new Account("Steve", false));
+
+        List<Account> accounts = store.getAccounts();
+        assertEquals(2, accounts.size());
+        assertEquals(Account.offlineUuid("Steve"), store.getActive().getUuid());
+        store.close();
+    }
+}
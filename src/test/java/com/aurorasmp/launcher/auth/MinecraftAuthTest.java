@@ -0,0 +1,272 @@
+package com.aurorasmp.launcher.auth;
+
+import com.aurorasmp.launcher.account.TokenCipher;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cadeia Xbox Live → XSTS → Minecraft contra um servidor local em AuthEndpoints.local;
+// a etapa da Microsoft é substituída, já que o MSAL só fala com autoridades https.
+class MinecraftAuthTest {
+
+    private static final long MARGIN_MS = 1_000;
+
+    private HttpServer server;
+    private AuthEndpoints endpoints;
+    private final LauncherHttp http = new LauncherHttp(Duration.ofSeconds(2), Duration.ofSeconds(5),
+            Duration.ofSeconds(5), 0);
+    private final Map<String, JsonObject> received = new ConcurrentHashMap<>();
+    private final List<String> bearers = new CopyOnWriteArrayList<>();
+    private volatile long xstsError;
+    private volatile int profileStatus = 200;
+    private volatile long expiresIn = 86400;
+    private MinecraftAuth auth;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/user/authenticate", exchange -> {
+            JsonObject body = read(exchange);
+            received.put("xbl", body);
+            respond(exchange, 200, xboxToken("xbl-" + body.getAsJsonObject("Properties").get("RpsTicket").getAsString()));
+        });
+        server.createContext("/xsts/authorize", exchange -> {
+            JsonObject body = read(exchange);
+            received.put("xsts", body);
+            if (xstsError != 0) {
+                JsonObject error = new JsonObject();
+                error.addProperty("XErr", xstsError);
+                respond(exchange, 401, error);
+                return;
+            }
+            respond(exchange, 200, xboxToken("xsts-token"));
+        });
+        server.createContext("/authentication/login_with_xbox", exchange -> {
+            received.put("minecraft", read(exchange));
+            JsonObject login = new JsonObject();
+            login.addProperty("access_token", "mc-token");
+            login.addProperty("expires_in", expiresIn);
+            respond(exchange, 200, login);
+        });
+        server.createContext("/minecraft/profile", exchange -> {
+            bearers.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            JsonObject profile = new JsonObject();
+            profile.addProperty("id", "069a79f444e94726a5befca90e38aaf5");
+            profile.addProperty("name", "Notch");
+            respond(exchange, profileStatus, profile);
+        });
+        server.start();
+        endpoints = AuthEndpoints.local("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (auth != null) {
+            auth.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void chainPassesEachTokenToTheNextStep() {
+        auth = auth(accountId -> CompletableFuture.completedFuture("msa-" + accountId));
+        MinecraftSession session = auth.refresh("conta").join();
+
+        assertEquals("d=msa-conta",
+                received.get("xbl").getAsJsonObject("Properties").get("RpsTicket").getAsString());
+        assertEquals("xbl-d=msa-conta", received.get("xsts").getAsJsonObject("Properties")
+                .getAsJsonArray("UserTokens").get(0).getAsString());
+        assertEquals("XBL3.0 x=uhs-xsts-token;xsts-token",
+                received.get("minecraft").get("identityToken").getAsString());
+        assertEquals(List.of("Bearer mc-token"), bearers);
+
+        assertEquals("Notch", session.getUsername());
+        assertEquals("069a79f444e94726a5befca90e38aaf5", session.getUuid());
+        assertEquals("mc-token", session.getAccessToken());
+        assertEquals("conta", session.getMicrosoftAccountId());
+        assertTrue(session.getExpiresAt() > System.currentTimeMillis() + TimeUnit.HOURS.toMillis(23));
+    }
+
+    @Test
+    void xstsErrorCodesBecomeReadableMessages() {
+        auth = auth(accountId -> CompletableFuture.completedFuture("msa"));
+        assertEquals("Esta conta Microsoft não tem um perfil Xbox. Crie um em xbox.com e tente de novo.",
+                xstsFailure(2148916233L));
+        assertEquals("O Xbox Live não está disponível no país desta conta.", xstsFailure(2148916235L));
+        assertEquals("Contas de menores precisam ser adicionadas a uma Família Microsoft por um adulto.",
+                xstsFailure(2148916238L));
+        assertEquals("O Xbox Live recusou o login (XErr 123).", xstsFailure(123));
+    }
+
+    @Test
+    void accountWithoutGameIsReported() {
+        auth = auth(accountId -> CompletableFuture.completedFuture("msa"));
+        profileStatus = 404;
+        AuthException e = MinecraftAuth.unwrap(assertThrows(CompletionException.class,
+                () -> auth.refresh("conta").join()));
+        assertEquals("Esta conta não possui o Minecraft: Java Edition.", e.getMessage());
+    }
+
+    @Test
+    void keepFreshRenewsBeforeExpiry() throws InterruptedException {
+        auth = auth(accountId -> CompletableFuture.completedFuture("msa"));
+        // Cada token novo vence 2 s depois: a próxima renovação vem 1 s antes disso
+        expiresIn = 2;
+        List<Long> refreshedAt = new CopyOnWriteArrayList<>();
+        CountDownLatch twice = new CountDownLatch(2);
+        long start = System.currentTimeMillis();
+        auth.keepFresh("conta", start + MARGIN_MS + 200, session -> {
+            refreshedAt.add(System.currentTimeMillis());
+            twice.countDown();
+        }, failure -> {
+        });
+
+        assertTrue(twice.await(10, TimeUnit.SECONDS));
+        assertTrue(refreshedAt.get(0) - start >= 150, "renovou cedo demais: " + (refreshedAt.get(0) - start));
+        assertTrue(refreshedAt.get(1) - refreshedAt.get(0) >= 800,
+                "segunda renovação fora da folga: " + (refreshedAt.get(1) - refreshedAt.get(0)));
+    }
+
+    @Test
+    void keepFreshRetriesNetworkFailures() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        auth = auth(accountId -> calls.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new AuthException("sem rede"))
+                : CompletableFuture.completedFuture("msa"));
+        CountDownLatch refreshed = new CountDownLatch(1);
+        List<AuthException> failures = new CopyOnWriteArrayList<>();
+        auth.keepFresh("conta", System.currentTimeMillis(), session -> refreshed.countDown(), failures::add);
+
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void keepFreshStopsWhenInteractionIsRequired() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        auth = auth(accountId -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new AuthException("Login expirado.", true, null));
+        });
+        CountDownLatch failed = new CountDownLatch(1);
+        auth.keepFresh("conta", System.currentTimeMillis(), session -> {
+        }, failure -> failed.countDown());
+
+        assertTrue(failed.await(10, TimeUnit.SECONDS));
+        Thread.sleep(500);
+        assertEquals(1, calls.get());
+        assertTrue(bearers.isEmpty());
+    }
+
+    // Trocar de conta cancela o ciclo no meio de uma renovação: o resultado dela não
+    // pode chegar à conta antiga nem agendar outra renovação
+    @Test
+    void cancelDropsRefreshAlreadyInFlight() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CountDownLatch started = new CountDownLatch(1);
+        auth = auth(accountId -> {
+            calls.incrementAndGet();
+            started.countDown();
+            return accountId.equals("antiga") ? pending : CompletableFuture.completedFuture("msa");
+        });
+        List<MinecraftSession> stale = new CopyOnWriteArrayList<>();
+        auth.keepFresh("antiga", System.currentTimeMillis(), stale::add, failure -> {
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        auth.cancelRefresh();
+        pending.complete("msa");
+        // A cadeia Xbox termina (o perfil é pedido), mas o resultado é descartado
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (bearers.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(500);
+        assertEquals(1, bearers.size());
+        assertTrue(stale.isEmpty(), "renovação cancelada chegou ao callback");
+        assertEquals(1, calls.get());
+
+        // Um ciclo novo continua funcionando
+        CountDownLatch refreshed = new CountDownLatch(1);
+        auth.keepFresh("nova", System.currentTimeMillis(), session -> refreshed.countDown(), failure -> {
+        });
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+        assertTrue(stale.isEmpty());
+    }
+
+    @Test
+    void localHttpEndpointsKeepMicrosoftAuthority(@TempDir Path dir) throws IOException {
+        assertEquals(AuthEndpoints.DEFAULT.getMicrosoftAuthority(), endpoints.getMicrosoftAuthority());
+        assertFalse(endpoints.getXstsAuthorize().startsWith("https:"));
+        // Com a autoridade http o MSAL recusaria montar o cliente
+        new MinecraftAuth("client", dir.resolve("msal.bin"), TokenCipher.forKeyFile(dir.resolve("key")), http,
+                endpoints).close();
+    }
+
+    private String xstsFailure(long code) {
+        xstsError = code;
+        CompletionException e = assertThrows(CompletionException.class, () -> auth.refresh("conta").join());
+        return MinecraftAuth.unwrap(e).getMessage();
+    }
+
+    private MinecraftAuth auth(MinecraftAuth.SilentLogin silent) {
+        return new MinecraftAuth(silent, http, endpoints, MARGIN_MS, 200);
+    }
+
+    private static JsonObject xboxToken(String token) {
+        JsonObject claim = new JsonObject();
+        claim.addProperty("uhs", "uhs-" + token);
+        JsonObject claims = new JsonObject();
+        JsonArray xui = new JsonArray();
+        xui.add(claim);
+        claims.add("xui", xui);
+        JsonObject response = new JsonObject();
+        response.addProperty("Token", token);
+        response.add("DisplayClaims", claims);
+        return response;
+    }
+
+    private static JsonObject read(HttpExchange exchange) throws IOException {
+        return JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                .getAsJsonObject();
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (exchange) {
+            exchange.getResponseBody().write(body);
+        }
+    }
+}
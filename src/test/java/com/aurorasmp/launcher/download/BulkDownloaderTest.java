@@ -0,0 +1,165 @@
+package com.aurorasmp.launcher.download;
+
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.util.Hashes;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Downloads em lote contra um servidor HTTP local com arquivos rápidos e lentos
+class BulkDownloaderTest {
+
+    private static final int SLOW_SIZE = 2 * 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+    private final LauncherHttp http = new LauncherHttp(Duration.ofSeconds(2), Duration.ofSeconds(10),
+            Duration.ofSeconds(5), 0);
+    private final CountDownLatch slowStarted = new CountDownLatch(2);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::serve);
+        server.setExecutor(serverThreads);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void downloadsOnceAndSkipsIndexedFilesAfterwards() throws IOException {
+        List<RemoteFile> files = List.of(file("fast-1"), file("fast-2"));
+        BulkDownloader.Result first = new BulkDownloader(http, indexFile(), 2).fetch(files, DownloadListener.NONE);
+        assertEquals(2, first.getDownloaded());
+        assertEquals(content("fast-1").length, Files.size(target("fast-1")));
+
+        BulkDownloader.Result second = new BulkDownloader(http, indexFile(), 2).fetch(files, DownloadListener.NONE);
+        assertEquals(2, second.getSkipped());
+        assertEquals(0, second.getDownloaded());
+    }
+
+    // Cancelar uma tarefa interrompe a thread do fetch: os downloads em andamento
+    // precisam parar antes de o índice ser salvo e de o fetch sair
+    @Test
+    @Timeout(30)
+    void interruptWaitsForDownloadsBeforeSavingIndex() throws Exception {
+        List<RemoteFile> files = List.of(file("fast-1"), file("fast-2"), file("slow-1"), file("slow-2"));
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread fetch = new Thread(() -> {
+            try {
+                new BulkDownloader(http, indexFile(), 4).fetch(files, DownloadListener.NONE);
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        fetch.start();
+        assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+        fetch.interrupt();
+        fetch.join();
+
+        assertTrue(thrown.get() instanceof InterruptedIOException, "esperava InterruptedIOException: " + thrown.get());
+        assertTrue(stillInterrupted.get(), "a interrupção deveria continuar marcada");
+        assertTrue(partFiles().isEmpty(), "sobrou .part: " + partFiles());
+        // Nenhum download continuou gravando depois que o fetch saiu
+        Thread.sleep(300);
+        assertTrue(partFiles().isEmpty(), "download ainda rodando: " + partFiles());
+        assertFalse(Files.exists(target("slow-1")));
+        assertFalse(Files.exists(target("slow-2")));
+
+        // Tudo o que terminou entrou no índice salvo
+        FileIndex index = FileIndex.load(indexFile());
+        for (String name : List.of("fast-1", "fast-2")) {
+            if (Files.exists(target(name))) {
+                assertNotNull(index.get(target(name).toString()), name + " fora do índice");
+            }
+        }
+    }
+
+    private List<String> partFiles() throws IOException {
+        List<String> parts = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(path -> path.toString().endsWith(".part")).forEach(path -> parts.add(path.toString()));
+        }
+        return parts;
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String name = exchange.getRequestURI().getPath().substring(1);
+        byte[] data = content(name);
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(200, data.length);
+            if (!name.startsWith("slow")) {
+                out.write(data);
+                return;
+            }
+            slowStarted.countDown();
+            for (int sent = 0; sent < data.length; sent += 16 * 1024) {
+                out.write(data, sent, Math.min(16 * 1024, data.length - sent));
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private RemoteFile file(String name) {
+        byte[] data = content(name);
+        return new RemoteFile("http://127.0.0.1:" + server.getAddress().getPort() + "/" + name,
+                Hashes.toHex(Hashes.sha1().digest(data)), data.length, target(name));
+    }
+
+    private static byte[] content(String name) {
+        if (name.startsWith("slow")) {
+            byte[] data = new byte[SLOW_SIZE];
+            data[0] = (byte) name.hashCode();
+            return data;
+        }
+        return ("conteúdo de " + name).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path target(String name) {
+        return dir.resolve("files").resolve(name);
+    }
+
+    private Path indexFile() {
+        return dir.resolve("index.json");
+    }
+}
@@ -0,0 +1,300 @@
+package com.aurorasmp.launcher.download;
+
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.util.Hashes;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Downloads contra um servidor HTTP local que responde Range (ou não), derruba
+// conexões no meio e troca o arquivo entre pedidos.
+class SegmentedDownloaderTest {
+
+    private static final int SIZE = 3 * 1024 * 1024 + 12345;
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private final LauncherHttp http = new LauncherHttp(Duration.ofSeconds(2), Duration.ofSeconds(10),
+            Duration.ofSeconds(5), 0);
+
+    private volatile byte[] content = random(SIZE, 1);
+    private volatile String etag = "\"v1\"";
+    private volatile boolean rangesSupported = true;
+    // Se >= 0, cada resposta de segmento cai depois desse número de bytes
+    private volatile long dropAfter = -1;
+    // Pausa entre pedaços do corpo, para o teste conseguir interromper no meio
+    private volatile long chunkDelayMs;
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/pack.zip", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void downloadsInParallelRanges() throws IOException {
+        Path dest = dir.resolve("pack.zip");
+        String sha256 = new SegmentedDownloader(http, 3, 0).download(url(), dest, new Counter(), sha(content), null);
+
+        assertEquals(sha(content), sha256);
+        assertArrayEquals(content, Files.readAllBytes(dest));
+        // Sonda + 3 segmentos
+        assertEquals(4, ranges.size());
+        assertFalse(Files.exists(dir.resolve("pack.zip.state")));
+        assertFalse(Files.exists(dir.resolve("pack.zip.part")));
+    }
+
+    @Test
+    void fallsBackToSingleStreamWithoutRange() throws IOException {
+        rangesSupported = false;
+        Path dest = dir.resolve("pack.zip");
+        Counter counter = new Counter();
+        String sha256 = new SegmentedDownloader(http, 4, 0).download(url(), dest, counter, null, null);
+
+        assertEquals(sha(content), sha256);
+        assertArrayEquals(content, Files.readAllBytes(dest));
+        assertEquals(SIZE, counter.bytes.get());
+        assertFalse(Files.exists(dir.resolve("pack.zip.state")));
+    }
+
+    @Test
+    void resumesFromStateAfterDisconnect() throws IOException {
+        Path dest = dir.resolve("pack.zip");
+        dropAfter = 256 * 1024;
+        assertThrows(IOException.class,
+                () -> new SegmentedDownloader(http, 3, 0).download(url(), dest, new Counter(), null, null));
+        assertTrue(Files.exists(dir.resolve("pack.zip.state")));
+        assertTrue(Files.exists(dir.resolve("pack.zip.part")));
+        assertFalse(Files.exists(dest));
+
+        // Nova sessão: só o que faltava é pedido, a partir das posições salvas no .state
+        dropAfter = -1;
+        ranges.clear();
+        bytesServed.set(0);
+        Counter counter = new Counter();
+        String sha256 = new SegmentedDownloader(http, 3, 0).download(url(), dest, counter, sha(content), null);
+
+        assertEquals(sha(content), sha256);
+        assertArrayEquals(content, Files.readAllBytes(dest));
+        assertTrue(counter.alreadyDownloaded > 0, "deveria retomar do .state");
+        assertTrue(bytesServed.get() < SIZE, "baixou de novo o que já estava gravado");
+        assertTrue(ranges.stream().skip(1).noneMatch(range -> range.startsWith("bytes=0-")),
+                "segmento recomeçou do início: " + ranges);
+    }
+
+    // Cancelar uma tarefa interrompe a thread do download: os segmentos precisam
+    // terminar antes do checkpoint, e o .state guarda o que já chegou
+    @Test
+    @Timeout(30)
+    void resumesAfterInterruptMidDownload() throws Exception {
+        Path dest = dir.resolve("pack.zip");
+        chunkDelayMs = 5;
+        Counter first = new Counter();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<Boolean> stillInterrupted = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                new SegmentedDownloader(http, 4, 0).download(url(), dest, first, null, null);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        thread.start();
+        while (first.bytes.get() < 512 * 1024) {
+            assertTrue(thread.isAlive(), "terminou antes da interrupção");
+            Thread.sleep(10);
+        }
+        thread.interrupt();
+        thread.join(20_000);
+
+        assertFalse(thread.isAlive());
+        assertTrue(failure.get() instanceof InterruptedIOException, String.valueOf(failure.get()));
+        assertTrue(stillInterrupted.get(), "a interrupção deveria continuar marcada");
+        assertFalse(Files.exists(dest));
+        DownloadState saved = DownloadState.load(dir.resolve("pack.zip.state"));
+        assertEquals(3, saved.segments());
+        // Tudo o que o listener viu chegou ao disco e ao estado: nenhum segmento continuou depois
+        assertEquals(first.bytes.get(), saved.totalWritten());
+        assertTrue(saved.totalWritten() > 0);
+
+        chunkDelayMs = 0;
+        ranges.clear();
+        Counter counter = new Counter();
+        String sha256 = new SegmentedDownloader(http, 4, 0).download(url(), dest, counter, sha(content), null);
+
+        assertEquals(sha(content), sha256);
+        assertArrayEquals(content, Files.readAllBytes(dest));
+        assertEquals(saved.totalWritten(), counter.alreadyDownloaded);
+        // Só o que faltava foi pedido. Conta pelos Range e não pelos bytes servidos:
+        // as respostas da primeira sessão ainda podem estar saindo do servidor
+        long requested = 0;
+        for (String range : ranges.subList(1, ranges.size())) {
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            requested += Long.parseLong(bounds[1]) - Long.parseLong(bounds[0]) + 1;
+        }
+        assertEquals(SIZE - saved.totalWritten(), requested);
+    }
+
+    @Test
+    void restartsWhenFileChangesBetweenSessions() throws IOException {
+        Path dest = dir.resolve("pack.zip");
+        dropAfter = 256 * 1024;
+        assertThrows(IOException.class,
+                () -> new SegmentedDownloader(http, 3, 0).download(url(), dest, new Counter(), null, null));
+
+        // Publicado de novo com o mesmo tamanho: o estado salvo não vale mais
+        dropAfter = -1;
+        content = random(SIZE, 2);
+        etag = "\"v2\"";
+        Counter counter = new Counter();
+        String sha256 = new SegmentedDownloader(http, 3, 0).download(url(), dest, counter, null, null);
+
+        assertEquals(sha(content), sha256);
+        assertEquals(0, counter.alreadyDownloaded);
+        assertArrayEquals(content, Files.readAllBytes(dest));
+    }
+
+    @Test
+    void rejectsSha256Mismatch() {
+        Path dest = dir.resolve("pack.zip");
+        IOException e = assertThrows(IOException.class, () -> new SegmentedDownloader(http, 3, 0)
+                .download(url(), dest, new Counter(), "00".repeat(32), null));
+
+        assertTrue(e.getMessage().contains("SHA-256"), e.getMessage());
+        assertFalse(Files.exists(dest));
+        assertFalse(Files.exists(dir.resolve("pack.zip.part")));
+        assertFalse(Files.exists(dir.resolve("pack.zip.state")));
+    }
+
+    @Test
+    @Timeout(30)
+    void listenerFailureDoesNotHangStreamConsumer() {
+        Path dest = dir.resolve("pack.zip");
+        DownloadListener failing = new DownloadListener() {
+            @Override
+            public void onStart(long totalBytes, long alreadyDownloaded) {
+            }
+
+            @Override
+            public void onBytes(long bytes) {
+                throw new IllegalStateException("listener quebrado");
+            }
+        };
+        // Sem a falha repassada à fronteira, o consumidor esperaria bytes para sempre
+        IOException e = assertThrows(IOException.class, () -> new SegmentedDownloader(http, 1, 0)
+                .download(url(), dest, failing, null, in -> in.transferTo(OutputStream.nullOutputStream())));
+        assertTrue(e.getCause() instanceof IllegalStateException, String.valueOf(e.getCause()));
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        byte[] data = content;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        exchange.getResponseHeaders().set("ETag", etag);
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            if (!rangesSupported || range == null || (ifRange != null && !ifRange.equals(etag))) {
+                exchange.sendResponseHeaders(200, data.length);
+                write(out, data, 0, data.length, -1);
+                return;
+            }
+            ranges.add(range);
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            int start = Integer.parseInt(bounds[0]);
+            int end = bounds.length > 1 && !bounds[1].isEmpty() ? Integer.parseInt(bounds[1]) : data.length - 1;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + data.length);
+            exchange.sendResponseHeaders(206, end - start + 1);
+            // A sonda (bytes=0-0) nunca cai
+            write(out, data, start, end - start + 1, end > start ? dropAfter : -1);
+        }
+    }
+
+    private void write(OutputStream out, byte[] data, int offset, int length, long limit) throws IOException {
+        int sent = 0;
+        while (sent < length) {
+            int chunk = Math.min(16 * 1024, length - sent);
+            if (limit >= 0 && sent + chunk > limit) {
+                // Fecha a conexão no meio do corpo
+                throw new IOException("queda simulada");
+            }
+            out.write(data, offset + sent, chunk);
+            sent += chunk;
+            bytesServed.addAndGet(chunk);
+            if (chunkDelayMs > 0) {
+                try {
+                    Thread.sleep(chunkDelayMs);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/pack.zip";
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static String sha(byte[] data) {
+        try {
+            return Hashes.toHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Counter implements DownloadListener {
+        final AtomicLong bytes = new AtomicLong();
+        volatile long alreadyDownloaded = -1;
+
+        @Override
+        public void onStart(long totalBytes, long alreadyDownloaded) {
+            this.alreadyDownloaded = alreadyDownloaded;
+        }
+
+        @Override
+        public void onBytes(long bytes) {
+            this.bytes.addAndGet(bytes);
+        }
+    }
+}
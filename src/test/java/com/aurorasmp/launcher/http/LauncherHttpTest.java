@@ -0,0 +1,101 @@
+package com.aurorasmp.launcher.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LauncherHttpTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    // Quantos pedidos derrubar antes de responder; -1 responde com o status abaixo
+    private volatile int dropFirst;
+    private volatile int status = 200;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesGetAfterNetworkError() throws IOException {
+        dropFirst = 1;
+        HttpResponse<InputStream> response = client(HttpClient.Version.HTTP_1_1).get(url());
+        response.body().close();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void doesNotRetryPostAfterNetworkError() {
+        dropFirst = 1;
+        assertThrows(IOException.class,
+                () -> client(HttpClient.Version.HTTP_1_1).post(url(), Map.of(), new byte[]{1}));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void retriesPostOnlyOn429() throws IOException {
+        status = 503;
+        HttpResponse<InputStream> response = client(HttpClient.Version.HTTP_1_1).post(url(), Map.of(), new byte[]{1});
+        response.body().close();
+        assertEquals(503, response.statusCode());
+        assertEquals(1, requests.get());
+
+        requests.set(0);
+        status = 429;
+        response = client(HttpClient.Version.HTTP_1_1).post(url(), Map.of(), new byte[]{1});
+        response.body().close();
+        assertEquals(429, response.statusCode());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void downloadClientSpeaksHttp11() throws IOException {
+        HttpResponse<InputStream> response = LauncherHttp.downloads().get(url());
+        response.body().close();
+        assertEquals(HttpClient.Version.HTTP_1_1, response.version());
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (requests.incrementAndGet() <= dropFirst) {
+            // Sem resposta: o servidor fecha a conexão e o cliente vê um erro de rede
+            throw new IOException("queda simulada");
+        }
+        exchange.getResponseHeaders().set("Retry-After", "0");
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static LauncherHttp client(HttpClient.Version version) {
+        return new LauncherHttp(version, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(5), 2);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+}
@@ -0,0 +1,248 @@
+package com.aurorasmp.launcher.launch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Resolução de um Forge que herda do vanilla, a partir de JSONs de versão reduzidos
+// (src/test/resources): merge do inheritsFrom, bibliotecas repetidas, caminhos Maven,
+// regras, substituição de ${...} e a chave do cache de planos.
+class VersionResolverTest {
+
+    private static final String VANILLA = "1.19.2";
+    private static final String FORGE = "1.19.2-forge-43.2.0";
+
+    @TempDir
+    Path dir;
+
+    private Path versionsDir;
+    private Path librariesDir;
+
+    @BeforeEach
+    void copyFixtures() throws IOException {
+        versionsDir = dir.resolve("versions");
+        librariesDir = dir.resolve("libraries");
+        install(VANILLA);
+        install(FORGE);
+    }
+
+    @Test
+    void forgeInheritsFromVanilla() throws IOException {
+        LaunchPlan plan = engine(Map.of()).plan(FORGE);
+
+        assertEquals(FORGE, plan.getVersionId());
+        // O Forge define a mainClass; o resto vem do vanilla
+        assertEquals("cpw.mods.bootstraplauncher.BootstrapLauncher", plan.getMainClass());
+        assertEquals("release", plan.getVersionType());
+        assertEquals("1.19", plan.getAssetsId());
+        assertEquals(17, plan.getJavaMajor());
+        assertNotNull(plan.getAssetIndex());
+        assertEquals("indexes/1.19.json", plan.getAssetIndex().getPath());
+
+        // Jar do cliente é o do vanilla, por último no classpath e baixado pela URL dele
+        String clientJar = versionsDir.resolve(VANILLA).resolve(VANILLA + ".jar").toString();
+        assertEquals(clientJar, plan.getClasspath().get(plan.getClasspath().size() - 1));
+        assertTrue(download(plan, clientJar).getUrl().endsWith("/client.jar"));
+
+        // Argumentos do vanilla primeiro, depois os do Forge
+        List<String> game = plan.getGameArguments();
+        assertEquals("--username", game.get(0));
+        assertTrue(game.indexOf("--accessToken") < game.indexOf("--launchTarget"));
+        List<String> jvm = plan.getJvmArguments();
+        assertTrue(jvm.indexOf("-cp") < jvm.indexOf("-DlibraryDirectory=${library_directory}"));
+    }
+
+    @Test
+    void mostSpecificVersionWinsForRepeatedLibraries() throws IOException {
+        LaunchPlan plan = engine(Map.of()).plan(FORGE);
+
+        assertTrue(plan.getClasspath().contains(library("org/ow2/asm/asm/9.5/asm-9.5.jar")));
+        assertFalse(plan.getClasspath().contains(library("org/ow2/asm/asm/9.1/asm-9.1.jar")));
+        assertEquals(1, plan.getClasspath().stream().filter(path -> path.contains("asm-9.")).count());
+        assertTrue(download(plan, library("org/ow2/asm/asm/9.5/asm-9.5.jar")).getUrl()
+                .startsWith("https://maven.minecraftforge.net/"));
+        // As bibliotecas do Forge vêm antes das do vanilla
+        assertTrue(plan.getClasspath().indexOf(library("cpw/mods/bootstraplauncher/1.1.2/bootstraplauncher-1.1.2.jar"))
+                < plan.getClasspath().indexOf(library("com/mojang/logging/1.0.0/logging-1.0.0.jar")));
+    }
+
+    @Test
+    void librariesWithoutDownloadsUseMavenPathOnTheirRepository() throws IOException {
+        LaunchPlan plan = engine(Map.of()).plan(FORGE);
+
+        // "url" sem barra no fim
+        String jar = library("cpw/mods/securejarhandler/2.1.4/securejarhandler-2.1.4.jar");
+        assertTrue(plan.getClasspath().contains(jar));
+        assertEquals("https://maven.minecraftforge.net/cpw/mods/securejarhandler/2.1.4/securejarhandler-2.1.4.jar",
+                download(plan, jar).getUrl());
+        assertEquals(-1, download(plan, jar).getSize());
+
+        // Extensão depois do @
+        String zip = library("de/oceanlabs/mcp/mcp_config/1.19.2-20220805.130853/mcp_config-1.19.2-20220805.130853.zip");
+        assertTrue(plan.getClasspath().contains(zip));
+
+        // O jar do Forge é gerado pelo instalador (URL vazia): vai para o classpath sem download
+        String forge = library("net/minecraftforge/forge/1.19.2-43.2.0/forge-1.19.2-43.2.0-universal.jar");
+        assertTrue(plan.getClasspath().contains(forge));
+        assertTrue(plan.getDownloads().stream().noneMatch(download -> download.getPath().equals(forge)));
+    }
+
+    @Test
+    void mavenPath() {
+        assertEquals("org/ow2/asm/asm/9.5/asm-9.5.jar", VersionResolver.mavenPath("org.ow2.asm:asm:9.5", null));
+        assertEquals("net/minecraftforge/forge/1.19.2-43.2.0/forge-1.19.2-43.2.0-universal.jar",
+                VersionResolver.mavenPath("net.minecraftforge:forge:1.19.2-43.2.0:universal", null));
+        assertEquals("org/lwjgl/lwjgl/lwjgl-platform/2.9.4/lwjgl-platform-2.9.4-natives-windows.jar",
+                VersionResolver.mavenPath("org.lwjgl.lwjgl:lwjgl-platform:2.9.4", "natives-windows"));
+        assertEquals("de/oceanlabs/mcp/mcp_config/1.19.2/mcp_config-1.19.2.zip",
+                VersionResolver.mavenPath("de.oceanlabs.mcp:mcp_config:1.19.2@zip", null));
+        assertEquals("com/example/lib/1.0/lib-1.0-srg.zip",
+                VersionResolver.mavenPath("com.example:lib:1.0:srg@zip", null));
+    }
+
+    @Test
+    void rulesFilterLibrariesAndArguments() throws IOException {
+        LaunchPlan plan = engine(Map.of()).plan(FORGE);
+
+        // Só os natives do sistema atual
+        List<String> natives = plan.getClasspath().stream()
+                .filter(path -> path.contains("lwjgl-3.3.1-natives-"))
+                .map(path -> path.substring(path.lastIndexOf("natives-")))
+                .collect(Collectors.toList());
+        String expected = Rules.OS_NAME.equals("osx") ? "natives-macos.jar" : "natives-" + Rules.OS_NAME + ".jar";
+        assertEquals(List.of(expected), natives);
+        assertEquals(Rules.OS_NAME.equals("osx"), plan.getJvmArguments().contains("-XstartOnFirstThread"));
+
+        // Recursos desligados por padrão
+        assertFalse(plan.getGameArguments().contains("--demo"));
+        assertFalse(plan.getGameArguments().contains("--width"));
+
+        LaunchPlan custom = engine(Map.of("has_custom_resolution", true)).plan(FORGE);
+        assertTrue(custom.getGameArguments().contains("--width"));
+        assertTrue(custom.getGameArguments().contains("${resolution_height}"));
+        assertFalse(custom.getGameArguments().contains("--demo"));
+    }
+
+    // O valor do recurso pode não ser a instância em cache de Boolean (ex.: vindo de
+    // outra desserialização): a regra compara o valor
+    @Test
+    @SuppressWarnings({"deprecation", "removal"})
+    void featureRulesCompareValues() {
+        VersionJson.Rule rule = new VersionJson.Rule();
+        rule.action = "allow";
+        rule.features = Map.of("has_custom_resolution", new Boolean(true));
+
+        assertTrue(Rules.allowed(List.of(rule), Map.of("has_custom_resolution", new Boolean(true))));
+        assertFalse(Rules.allowed(List.of(rule), Map.of("has_custom_resolution", false)));
+        assertFalse(Rules.allowed(List.of(rule), Map.of()));
+    }
+
+    @Test
+    void buildCommandSubstitutesVariables() throws IOException {
+        LaunchEngine engine = engine(Map.of("has_custom_resolution", true));
+        LaunchPlan plan = engine.plan(FORGE);
+
+        Map<String, String> variables = new HashMap<>();
+        variables.put("auth_player_name", "Steve");
+        variables.put("auth_uuid", "0000");
+        variables.put("auth_access_token", "token-secreto");
+        variables.put("resolution_width", "1280");
+        variables.put("resolution_height", "720");
+        List<String> command = engine.buildCommand(plan, "java", List.of("-Xmx4G"), variables);
+
+        assertEquals("java", command.get(0));
+        assertEquals("-Xmx4G", command.get(1));
+        assertEquals("Steve", after(command, "--username"));
+        assertEquals(FORGE, after(command, "--version"));
+        assertEquals("token-secreto", after(command, "--accessToken"));
+        assertEquals("1.19", after(command, "--assetIndex"));
+        assertEquals("1280", after(command, "--width"));
+        assertEquals(String.join(File.pathSeparator, plan.getClasspath()), after(command, "-cp"));
+        assertEquals(librariesDir + "/cpw/mods/bootstraplauncher/1.1.2/bootstraplauncher-1.1.2.jar"
+                        + File.pathSeparator + librariesDir + "/cpw/mods/securejarhandler/2.1.4/securejarhandler-2.1.4.jar",
+                after(command, "-p"));
+        assertTrue(command.contains("-DlibraryDirectory=" + librariesDir));
+        // Variável sem valor fica como está
+        assertEquals("${game_directory}", after(command, "--gameDir"));
+        assertEquals(plan.getMainClass(), command.get(command.indexOf("--username") - 1));
+    }
+
+    @Test
+    void planIsCachedByChainAndFeatures() throws IOException {
+        LaunchEngine engine = engine(Map.of());
+        LaunchPlan first = engine.plan(FORGE);
+        assertFalse(engine.wasLastFromCache());
+
+        LaunchPlan cached = engine.plan(FORGE);
+        assertTrue(engine.wasLastFromCache());
+        assertEquals(first.getKey(), cached.getKey());
+        assertEquals(first.getClasspath(), cached.getClasspath());
+        assertEquals(first.getGameArguments(), cached.getGameArguments());
+
+        // Outros recursos, outro plano
+        LaunchEngine custom = engine(Map.of("has_custom_resolution", true));
+        assertNotEquals(first.getKey(), custom.plan(FORGE).getKey());
+        assertFalse(custom.wasLastFromCache());
+
+        // Qualquer mudança em um JSON da cadeia (aqui o vanilla) gera outra chave
+        Path vanilla = versionsDir.resolve(VANILLA).resolve(VANILLA + ".json");
+        Files.writeString(vanilla, Files.readString(vanilla).replace("\"majorVersion\": 17", "\"majorVersion\": 18"));
+        LaunchPlan changed = engine.plan(FORGE);
+        assertFalse(engine.wasLastFromCache());
+        assertNotEquals(first.getKey(), changed.getKey());
+        assertEquals(18, changed.getJavaMajor());
+    }
+
+    private LaunchEngine engine(Map<String, Boolean> features) {
+        return new LaunchEngine(versionsDir, librariesDir, dir.resolve("assets"), dir.resolve("launch-cache"),
+                null, features);
+    }
+
+    private void install(String id) throws IOException {
+        Path target = versionsDir.resolve(id).resolve(id + ".json");
+        Files.createDirectories(target.getParent());
+        try (InputStream in = VersionResolverTest.class.getResourceAsStream(id + ".json")) {
+            assertNotNull(in, "fixture ausente: " + id);
+            Files.writeString(target, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private String library(String path) {
+        return librariesDir.resolve(path).toString();
+    }
+
+    private static LaunchPlan.Download download(LaunchPlan plan, String path) {
+        List<LaunchPlan.Download> found = new ArrayList<>();
+        for (LaunchPlan.Download download : plan.getDownloads()) {
+            if (download.getPath().equals(path)) {
+                found.add(download);
+            }
+        }
+        assertEquals(1, found.size(), "downloads de " + path);
+        return found.get(0);
+    }
+
+    private static String after(List<String> command, String option) {
+        int index = command.indexOf(option);
+        assertTrue(index >= 0 && index + 1 < command.size(), option + " ausente");
+        return command.get(index + 1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.aurorasmp.launcher.peer;
+
+import com.aurorasmp.launcher.download.DownloadListener;
+import com.aurorasmp.launcher.update.InstallIndex;
+import com.aurorasmp.launcher.util.Hashes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dois PeerCache na interface de loopback: descoberta por multicast, /index, download
+// conferido e um peer que serve conteúdo com hash diferente do anunciado.
+class PeerCacheTest {
+
+    private static final byte[] MOD = "conteúdo do mod".repeat(1000).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CONFIG = "config=original".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private PeerCache seeder;
+    private PeerCache leecher;
+
+    @AfterEach
+    void close() {
+        if (leecher != null) {
+            leecher.close();
+        }
+        if (seeder != null) {
+            seeder.close();
+        }
+    }
+
+    @Test
+    void fetchesVerifiedFilesFromPeer() throws Exception {
+        int httpPort = freePort();
+        String configSha = start(httpPort);
+
+        Path dest = dir.resolve("leecher/mods/mod.jar");
+        AtomicLong progress = new AtomicLong();
+        assertTrue(leecher.fetch(sha(MOD), MOD.length, dest, counting(progress)));
+        assertArrayEquals(MOD, Files.readAllBytes(dest));
+        assertEquals(MOD.length, progress.get());
+
+        // Fora do índice do peer: nem chega a pedir o arquivo
+        assertFalse(leecher.fetch(sha("outro".getBytes(StandardCharsets.UTF_8)), 5, dir.resolve("leecher/x"),
+                DownloadListener.NONE));
+
+        // O índice do peer promete um hash, mas o arquivo no disco é outro
+        Path config = dir.resolve("leecher/config/a.toml");
+        progress.set(0);
+        assertFalse(leecher.fetch(configSha, CONFIG.length, config, counting(progress)));
+        assertFalse(Files.exists(config));
+        assertFalse(Files.exists(dir.resolve("leecher/config/a.toml.peer")));
+        assertEquals(0, progress.get());
+    }
+
+    @Test
+    void servesOnlyOnTheMulticastInterface() throws Exception {
+        int httpPort = freePort();
+        start(httpPort);
+
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), httpPort), 2000);
+        }
+        InetAddress external = externalAddress();
+        if (external != null) {
+            assertThrows(IOException.class, () -> {
+                try (Socket socket = new Socket()) {
+                    socket.connect(new InetSocketAddress(external, httpPort), 2000);
+                }
+            });
+        }
+    }
+
+    // Sobe os dois caches em lo e espera um achar o outro; retorna o hash falso da config
+    private String start(int seederHttpPort) throws Exception {
+        Path seederDir = Files.createDirectories(dir.resolve("seeder"));
+        Files.createDirectories(seederDir.resolve("mods"));
+        Files.createDirectories(seederDir.resolve("config"));
+        Path mod = Files.write(seederDir.resolve("mods/mod.jar"), MOD);
+        Path config = Files.write(seederDir.resolve("config/a.toml"), CONFIG);
+
+        InstallIndex index = InstallIndex.load(dir.resolve("seeder-index.json"));
+        index.setVersion("1.0.0");
+        index.put("mods/mod.jar", MOD.length, Files.getLastModifiedTime(mod).toMillis(), sha(MOD));
+        String fakeSha = sha("config=editada".getBytes(StandardCharsets.UTF_8));
+        index.put("config/a.toml", CONFIG.length, Files.getLastModifiedTime(config).toMillis(), fakeSha);
+        index.save(dir.resolve("seeder-index.json"));
+
+        InetAddress group = InetAddress.getByName("239.255.77.78");
+        int udpPort = 30000 + ThreadLocalRandom.current().nextInt(20000);
+        seeder = new PeerCache(seederDir, dir.resolve("seeder-index.json"), group, udpPort, seederHttpPort, "lo");
+        seeder.start();
+        leecher = new PeerCache(Files.createDirectories(dir.resolve("leecher")), dir.resolve("leecher-index.json"),
+                group, udpPort, 0, "lo");
+        leecher.start();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (leecher.getPeerCount() == 0 || seeder.getPeerCount() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "os peers não se encontraram");
+            Thread.sleep(50);
+        }
+        return fakeSha;
+    }
+
+    private static InetAddress externalAddress() throws IOException {
+        for (NetworkInterface ni : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            if (ni.isUp() && !ni.isLoopback()) {
+                for (InetAddress address : Collections.list(ni.getInetAddresses())) {
+                    if (address instanceof Inet4Address) {
+                        return address;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static DownloadListener counting(AtomicLong bytes) {
+        return new DownloadListener() {
+            @Override
+            public void onStart(long totalBytes, long alreadyDownloaded) {
+            }
+
+            @Override
+            public void onBytes(long read) {
+                bytes.addAndGet(read);
+            }
+        };
+    }
+
+    private static String sha(byte[] data) {
+        return Hashes.toHex(Hashes.sha256().digest(data));
+    }
+}
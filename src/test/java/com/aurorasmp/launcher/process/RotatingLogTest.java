@@ -0,0 +1,53 @@
+package com.aurorasmp.launcher.process;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotatingLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void countsEncodedBytes() {
+        for (String line : new String[]{"", "ascii", "ação", "日本語", "gg 🎉", "§aVerde"}) {
+            assertEquals(line.getBytes(StandardCharsets.UTF_8).length, RotatingLog.utf8Length(line), line);
+        }
+        // Surrogate solto: nunca conta menos do que o '?' gravado
+        assertTrue(RotatingLog.utf8Length("\uD83D") >= 1);
+    }
+
+    @Test
+    void rotatesByBytesNotChars() throws IOException {
+        Path file = dir.resolve("game.log");
+        // 100 caracteres, 200 bytes por linha
+        String line = "é".repeat(100);
+        try (RotatingLog log = new RotatingLog(file, 1000, 2)) {
+            for (int i = 0; i < 12; i++) {
+                log.write(line);
+            }
+        }
+
+        long limit = 1000 + line.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+        assertTrue(Files.size(dir.resolve("game.log.1")) <= limit, "passou de maxBytes: " + Files.size(dir.resolve("game.log.1")));
+        assertTrue(Files.exists(dir.resolve("game.log.2")));
+    }
+
+    @Test
+    void loneSurrogateDoesNotDisableLog() throws IOException {
+        Path file = dir.resolve("game.log");
+        try (RotatingLog log = new RotatingLog(file, 1 << 20, 1)) {
+            log.write("quebrado \uD83D");
+            log.write("depois");
+        }
+        assertTrue(Files.readString(file).contains("depois"));
+    }
+}
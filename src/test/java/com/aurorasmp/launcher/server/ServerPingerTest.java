@@ -0,0 +1,349 @@
+package com.aurorasmp.launcher.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Server List Ping contra um servidor falso em um ServerSocketChannel local, com
+// respostas certas, silêncio e pacotes quebrados; e o agendamento do monitor.
+class ServerPingerTest {
+
+    private static final String STATUS_JSON = "{\"version\":{\"name\":\"1.20.1\",\"protocol\":763},"
+            + "\"players\":{\"max\":100,\"online\":7},"
+            + "\"description\":{\"text\":\"§aAurora \",\"extra\":[{\"text\":\"SMP\"}]}}";
+
+    private enum Behavior { NORMAL, NO_PONG, SILENT, OVERSIZED, TRUNCATED, TRUNCATED_JSON }
+
+    private FakeServer server;
+
+    @AfterEach
+    void stop() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void handshakeStatusAndPong() throws IOException {
+        server = new FakeServer(Behavior.NORMAL);
+        ServerStatus status = ServerPinger.ping("127.0.0.1", server.port(), Duration.ofSeconds(5));
+
+        assertTrue(status.isOnline(), status.toString());
+        assertEquals(7, status.getPlayersOnline());
+        assertEquals(100, status.getPlayersMax());
+        assertEquals("Aurora SMP", status.getMotd());
+        assertEquals("1.20.1", status.getVersion());
+        // Handshake: protocolo -1, o host e a porta pedidos, próximo estado 1
+        assertEquals(List.of("-1", "127.0.0.1", String.valueOf(server.port()), "1"), server.handshake);
+        assertTrue(server.pinged);
+    }
+
+    @Test
+    void keepsStatusLatencyWhenServerSkipsPong() throws IOException {
+        server = new FakeServer(Behavior.NO_PONG);
+        ServerStatus status = ServerPinger.ping("127.0.0.1", server.port(), Duration.ofSeconds(5));
+
+        assertTrue(status.isOnline(), status.toString());
+        assertTrue(status.getLatencyMillis() >= 0);
+    }
+
+    @Test
+    void silentServerHitsDeadline() throws IOException {
+        server = new FakeServer(Behavior.SILENT);
+        long start = System.nanoTime();
+        ServerStatus status = ServerPinger.ping("127.0.0.1", server.port(), Duration.ofMillis(500));
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(status.isOnline());
+        assertEquals("sem resposta do servidor", status.getError());
+        assertTrue(elapsed >= 450 && elapsed < 3000, "prazo não respeitado: " + elapsed + " ms");
+    }
+
+    @Test
+    void rejectsOversizedPacket() throws IOException {
+        server = new FakeServer(Behavior.OVERSIZED);
+        ServerStatus status = ServerPinger.ping("127.0.0.1", server.port(), Duration.ofSeconds(5));
+
+        assertFalse(status.isOnline());
+        assertEquals("pacote grande demais", status.getError());
+    }
+
+    @Test
+    void rejectsTruncatedPacket() throws IOException {
+        server = new FakeServer(Behavior.TRUNCATED);
+        ServerStatus status = ServerPinger.ping("127.0.0.1", server.port(), Duration.ofSeconds(5));
+
+        assertFalse(status.isOnline());
+        assertEquals("conexão fechada pelo servidor", status.getError());
+    }
+
+    @Test
+    void rejectsTruncatedJson() throws IOException {
+        server = new FakeServer(Behavior.TRUNCATED_JSON);
+        ServerStatus status = ServerPinger.ping("127.0.0.1", server.port(), Duration.ofSeconds(5));
+
+        assertFalse(status.isOnline());
+        assertEquals("JSON de status truncado", status.getError());
+    }
+
+    @Test
+    void refusedConnectionIsOffline() throws IOException {
+        ServerStatus status = ServerPinger.ping("127.0.0.1", closedPort(), Duration.ofSeconds(5));
+        assertFalse(status.isOnline());
+    }
+
+    @Test
+    void monitorServesCachedStatusWithinTtlAndCoalescesRefreshes() throws Exception {
+        server = new FakeServer(Behavior.NORMAL);
+        List<ServerStatus> published = new CopyOnWriteArrayList<>();
+        server.responseDelayMs = 300;
+        try (ServerStatusMonitor monitor = new ServerStatusMonitor("127.0.0.1", server.port(), Duration.ofSeconds(2),
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMinutes(5), published::add)) {
+            monitor.start();
+            // Com a consulta em andamento, 20 pedidos viram um só na fila
+            waitFor(() -> server.connections.get() == 1);
+            for (int i = 0; i < 20; i++) {
+                monitor.refresh();
+            }
+            waitFor(() -> published.size() == 2);
+            Thread.sleep(200);
+            assertEquals(2, published.size());
+
+            // Dentro do ttl: repete o resultado guardado sem abrir outra conexão
+            monitor.refresh();
+            waitFor(() -> published.size() == 3);
+            assertEquals(1, server.connections.get());
+            assertTrue(published.stream().allMatch(ServerStatus::isOnline));
+            assertTrue(monitor.getStatus().isOnline());
+        }
+    }
+
+    @Test
+    void monitorPollsAgainAfterTtl() throws Exception {
+        server = new FakeServer(Behavior.NORMAL);
+        List<ServerStatus> published = new CopyOnWriteArrayList<>();
+        try (ServerStatusMonitor monitor = new ServerStatusMonitor("127.0.0.1", server.port(), Duration.ofSeconds(2),
+                Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofMinutes(5), published::add)) {
+            monitor.start();
+            waitFor(() -> published.size() == 1);
+            Thread.sleep(300);
+            monitor.refresh();
+            waitFor(() -> published.size() == 2);
+            assertEquals(2, server.connections.get());
+        }
+    }
+
+    @Test
+    void monitorBacksOffWhileOffline() throws Exception {
+        int port = closedPort();
+        List<Long> times = new CopyOnWriteArrayList<>();
+        try (ServerStatusMonitor monitor = new ServerStatusMonitor("127.0.0.1", port, Duration.ofSeconds(1),
+                Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(400),
+                status -> times.add(System.nanoTime() / 1_000_000))) {
+            monitor.start();
+            waitFor(() -> times.size() >= 5);
+        }
+        // 100 ms dobrando a cada falha: 200, 400 e então fica em maxBackoff
+        long[] expected = {200, 400, 400, 400};
+        for (int i = 0; i < expected.length; i++) {
+            long gap = times.get(i + 1) - times.get(i);
+            assertTrue(gap >= expected[i] - 20 && gap < expected[i] + 300,
+                    "intervalo " + i + " foi " + gap + " ms, esperado ~" + expected[i]);
+        }
+    }
+
+    private static void waitFor(Check check) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!check.ok()) {
+            assertTrue(System.currentTimeMillis() < deadline, "tempo esgotado");
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Check {
+        boolean ok();
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Servidor SLP mínimo: uma thread por conexão, em modo bloqueante
+    private static final class FakeServer implements AutoCloseable {
+        final AtomicInteger connections = new AtomicInteger();
+        final List<String> handshake = new CopyOnWriteArrayList<>();
+        // Marcado antes do pong: quando o cliente termina, já está visível
+        volatile boolean pinged;
+        volatile long responseDelayMs;
+
+        private final Behavior behavior;
+        private final ServerSocketChannel channel;
+        private final List<SocketChannel> clients = new CopyOnWriteArrayList<>();
+
+        FakeServer(Behavior behavior) throws IOException {
+            this.behavior = behavior;
+            this.channel = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Thread acceptor = new Thread(this::accept, "fake-slp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() throws IOException {
+            return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        }
+
+        private void accept() {
+            while (channel.isOpen()) {
+                try {
+                    SocketChannel client = channel.accept();
+                    connections.incrementAndGet();
+                    clients.add(client);
+                    Thread thread = new Thread(() -> serve(client), "fake-slp-client");
+                    thread.setDaemon(true);
+                    thread.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(SocketChannel client) {
+            try (client) {
+                DataInputStream in = new DataInputStream(Channels.newInputStream(client));
+                OutputStream out = Channels.newOutputStream(client);
+
+                DataInputStream packet = readPacket(in);
+                readVarInt(packet);
+                handshake.add(String.valueOf(readVarInt(packet)));
+                byte[] host = new byte[readVarInt(packet)];
+                packet.readFully(host);
+                handshake.add(new String(host, StandardCharsets.UTF_8));
+                handshake.add(String.valueOf(packet.readUnsignedShort()));
+                handshake.add(String.valueOf(readVarInt(packet)));
+                readPacket(in);
+
+                switch (behavior) {
+                    case SILENT:
+                        // Aceitou e nunca responde; o cliente desiste pelo prazo
+                        in.read();
+                        return;
+                    case OVERSIZED:
+                        out.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F});
+                        in.read();
+                        return;
+                    case TRUNCATED:
+                        writeVarInt(out, 100);
+                        out.write(new byte[10]);
+                        return;
+                    case TRUNCATED_JSON: {
+                        ByteArrayOutputStream body = new ByteArrayOutputStream();
+                        writeVarInt(body, 0x00);
+                        writeVarInt(body, 500);
+                        body.writeBytes("{}".getBytes(StandardCharsets.UTF_8));
+                        frame(out, body);
+                        in.read();
+                        return;
+                    }
+                    default:
+                        break;
+                }
+
+                if (responseDelayMs > 0) {
+                    Thread.sleep(responseDelayMs);
+                }
+                ByteArrayOutputStream status = new ByteArrayOutputStream();
+                writeVarInt(status, 0x00);
+                byte[] json = STATUS_JSON.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(status, json.length);
+                status.writeBytes(json);
+                frame(out, status);
+                if (behavior == Behavior.NO_PONG) {
+                    return;
+                }
+
+                DataInputStream ping = readPacket(in);
+                readVarInt(ping);
+                long payload = ping.readLong();
+                pinged = true;
+                ByteArrayOutputStream pong = new ByteArrayOutputStream();
+                writeVarInt(pong, 0x01);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    pong.write((int) (payload >>> shift) & 0xFF);
+                }
+                frame(out, pong);
+            } catch (IOException e) {
+                // O cliente desistiu
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static DataInputStream readPacket(DataInputStream in) throws IOException {
+            byte[] packet = new byte[readVarInt(in)];
+            in.readFully(packet);
+            return new DataInputStream(new ByteArrayInputStream(packet));
+        }
+
+        private static int readVarInt(InputStream in) throws IOException {
+            int value = 0;
+            for (int i = 0; i < 5; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new IOException("fim do fluxo");
+                }
+                value |= (b & 0x7F) << (7 * i);
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("VarInt grande demais");
+        }
+
+        private static void writeVarInt(OutputStream out, int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        private static void frame(OutputStream out, ByteArrayOutputStream body) throws IOException {
+            ByteArrayOutputStream framed = new ByteArrayOutputStream();
+            writeVarInt(framed, body.size());
+            framed.writeBytes(body.toByteArray());
+            out.write(framed.toByteArray());
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+        }
+    }
+}
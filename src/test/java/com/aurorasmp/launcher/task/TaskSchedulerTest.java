@@ -0,0 +1,148 @@
+package com.aurorasmp.launcher.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSchedulerTest {
+
+    @TempDir
+    Path dir;
+
+    private final TaskScheduler tasks = new TaskScheduler();
+
+    @AfterEach
+    void close() {
+        tasks.close();
+    }
+
+    // Mesmo fluxo do JOGAR: a atualização espera o preparo em segundo plano e é cancelada
+    // durante a espera. O preparo ainda grava um último pedaço depois da interrupção;
+    // a recuperação só pode apagar o staging depois disso.
+    @Test
+    void cancelWhileWaitingOnPrefetchStopsItBeforeRecovery() throws Exception {
+        Path staging = Files.createDirectories(dir.resolve("modpack.staging"));
+        CountDownLatch writing = new CountDownLatch(3);
+        AtomicBoolean prefetchExited = new AtomicBoolean();
+        Task<Void> prefetch = tasks.io("preparo", () -> {
+            try {
+                for (int i = 0; ; i++) {
+                    Files.write(staging.resolve("file-" + i), new byte[1024]);
+                    writing.countDown();
+                    Thread.sleep(20);
+                }
+            } catch (InterruptedException e) {
+                // Termina o pedaço em andamento antes de sair, como um download faria
+                Files.write(staging.resolve("last.part"), new byte[1024]);
+                throw e;
+            } finally {
+                prefetchExited.set(true);
+            }
+        });
+
+        AtomicBoolean recoveredAfterPrefetch = new AtomicBoolean();
+        Task<Void> update = tasks.submit(TaskScheduler.Pool.IO, "atualização", "update", List.of(), () -> {
+            try {
+                prefetch.await();
+            } catch (InterruptedException e) {
+                prefetch.cancelAndWait();
+                recoveredAfterPrefetch.set(prefetchExited.get());
+                delete(staging);
+                throw e;
+            }
+            return null;
+        });
+
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(tasks.cancel("update"));
+        assertThrows(CancellationException.class, update::join);
+
+        assertTrue(recoveredAfterPrefetch.get(), "staging apagado com o preparo ainda rodando");
+        assertTrue(prefetch.isDone());
+        assertTrue(prefetch.isCancelled());
+        Thread.sleep(100);
+        assertFalse(Files.exists(staging), "o preparo continuou gravando depois da recuperação");
+    }
+
+    @Test
+    void cancelAndWaitReturnsAfterBodyExits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean exited = new AtomicBoolean();
+        Task<Void> task = tasks.io("lenta", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                // Ignora a interrupção por um tempo, como uma etapa que não é interrompível
+                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            exited.set(true);
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        task.cancelAndWait();
+        assertTrue(exited.get());
+        assertTrue(task.isCancelled());
+    }
+
+    @Test
+    void cancelAndWaitOnQueuedTaskDoesNotRunIt() {
+        AtomicInteger runs = new AtomicInteger();
+        Task<Void> blocker = tasks.io("bloqueia", () -> {
+            Thread.sleep(10_000);
+            return null;
+        });
+        Task<Void> dependent = tasks.submit(TaskScheduler.Pool.IO, "depende", null, List.of(blocker), () -> {
+            runs.incrementAndGet();
+            return null;
+        });
+
+        dependent.cancelAndWait();
+        blocker.cancelAndWait();
+        assertEquals(0, runs.get());
+        assertTrue(dependent.isCancelled());
+    }
+
+    @Test
+    void sameKeyReturnsRunningTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Task<String> first = tasks.submit(TaskScheduler.Pool.IO, "a", "chave", List.of(), () -> {
+            release.await();
+            return "primeira";
+        });
+        Task<String> second = tasks.submit(TaskScheduler.Pool.IO, "b", "chave", List.of(), () -> "segunda");
+
+        assertSame(first, second);
+        release.countDown();
+        assertEquals("primeira", second.await());
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted((a, b) -> b.compareTo(a))::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.Hashes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentStoreTest {
+
+    private static final byte[] MOD = "conteúdo do mod".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    // Uma atualização em preparo segura o armazenamento: o prune não apaga nem os
+    // objetos sem índice nem os temporários de um add em andamento
+    @Test
+    void pruneWaitsForUpdatesInProgress() throws Exception {
+        ContentStore store = new ContentStore(dir.resolve("store"));
+        String sha = absorbMod(store);
+        Path object = dir.resolve("store/objects").resolve(sha.substring(0, 2)).resolve(sha);
+        Path tmp = object.resolveSibling(sha + ".tmp-99");
+        Files.write(tmp, MOD);
+
+        CountDownLatch using = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread update = new Thread(() -> {
+            try (ContentStore.Use use = store.use()) {
+                using.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        update.start();
+        assertTrue(using.await(5, TimeUnit.SECONDS));
+        try {
+            assertEquals(0, store.prune(List.of()));
+            assertTrue(Files.exists(object));
+            assertTrue(Files.exists(tmp));
+        } finally {
+            release.countDown();
+            update.join();
+        }
+
+        // Sem uso em andamento: o objeto sem índice e a sobra do temporário saem
+        assertEquals(2, store.prune(List.of()));
+        assertFalse(Files.exists(object));
+        assertFalse(Files.exists(tmp));
+        assertEquals(0, store.getObjectCount());
+    }
+
+    @Test
+    void pruneKeepsObjectsOfStagingIndexes() throws Exception {
+        ContentStore store = new ContentStore(dir.resolve("store"));
+        String sha = absorbMod(store);
+        Path staging = dir.resolve("modpack-index.json.staging");
+        InstallIndex index = InstallIndex.load(staging);
+        index.put("mods/mod.jar", MOD.length, 0, sha);
+        index.save(staging);
+
+        assertEquals(0, store.prune(List.of(staging)));
+        assertEquals(1, store.getObjectCount());
+    }
+
+    private String absorbMod(ContentStore store) throws Exception {
+        Path install = Files.createDirectories(dir.resolve("modpack/mods"));
+        Path mod = Files.write(install.resolve("mod.jar"), MOD);
+        String sha = Hashes.toHex(Hashes.sha256().digest(MOD));
+        Path indexFile = dir.resolve("modpack-index.json");
+        InstallIndex index = InstallIndex.load(indexFile);
+        index.put("mods/mod.jar", MOD.length, Files.getLastModifiedTime(mod).toMillis(), sha);
+        index.save(indexFile);
+
+        assertEquals(1, store.absorb(dir.resolve("modpack"), indexFile));
+        return sha;
+    }
+}
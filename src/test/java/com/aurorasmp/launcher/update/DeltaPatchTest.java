@@ -0,0 +1,198 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.download.DownloadListener;
+import com.aurorasmp.launcher.download.SegmentedDownloader;
+import com.aurorasmp.launcher.http.LauncherHttp;
+import com.aurorasmp.launcher.util.Hashes;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaPatchTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrips() throws IOException {
+        byte[] old = random(300_000, 1);
+        // Classes alteradas no meio, um endereço deslocado e bytes novos no fim
+        byte[] changed = Arrays.copyOf(old, old.length + 5000);
+        System.arraycopy(random(2000, 2), 0, changed, 100_000, 2000);
+        for (int i = 200_000; i < 210_000; i += 4) {
+            changed[i]++;
+        }
+        System.arraycopy(random(5000, 3), 0, changed, old.length, 5000);
+
+        Path patch = roundTrip(old, changed);
+        assertTrue(Files.size(patch) < changed.length / 10, "patch grande demais: " + Files.size(patch));
+
+        // Casos de borda: idênticos, vazio dos dois lados, menores que a janela, sem nada em comum
+        roundTrip(old, old);
+        roundTrip(new byte[0], random(1000, 4));
+        roundTrip(random(1000, 5), new byte[0]);
+        roundTrip(new byte[] {1, 2, 3}, new byte[] {3, 2, 1, 0});
+        roundTrip(random(50_000, 6), random(50_000, 7));
+    }
+
+    @Test
+    void rejectsWrongBaseFile() throws IOException {
+        byte[] old = random(100_000, 1);
+        byte[] changed = old.clone();
+        changed[500]++;
+        Path patch = create(old, changed);
+
+        // Outro tamanho: recusado pelo cabeçalho
+        Path shorter = Files.write(dir.resolve("menor"), Arrays.copyOf(old, old.length - 1));
+        assertThrows(IOException.class, () -> DeltaPatch.apply(shorter, patch, dir.resolve("out")));
+
+        // Mesmo tamanho, conteúdo diferente: o resultado não bate com o hash do cabeçalho
+        byte[] other = old.clone();
+        other[50_000]++;
+        Path wrong = Files.write(dir.resolve("outro"), other);
+        IOException e = assertThrows(IOException.class, () -> DeltaPatch.apply(wrong, patch, dir.resolve("out")));
+        assertTrue(e.getMessage().contains("não confere"), e.getMessage());
+    }
+
+    @Test
+    void rejectsCorruptOrTruncatedPatch() throws IOException {
+        byte[] old = random(100_000, 1);
+        byte[] changed = old.clone();
+        System.arraycopy(random(3000, 2), 0, changed, 40_000, 3000);
+        Path patch = create(old, changed);
+        Path oldFile = Files.write(dir.resolve("antigo"), old);
+        byte[] bytes = Files.readAllBytes(patch);
+
+        Path truncated = Files.write(dir.resolve("truncado.patch"), Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> DeltaPatch.apply(oldFile, truncated, dir.resolve("out")));
+
+        // Um byte trocado no fluxo comprimido
+        byte[] flipped = bytes.clone();
+        flipped[flipped.length - 20] ^= 0x5A;
+        Path corrupt = Files.write(dir.resolve("corrompido.patch"), flipped);
+        assertThrows(IOException.class, () -> DeltaPatch.apply(oldFile, corrupt, dir.resolve("out")));
+
+        Path notPatch = Files.write(dir.resolve("x.patch"), "não é um patch".getBytes());
+        assertThrows(IOException.class, () -> DeltaPatch.apply(oldFile, notPatch, dir.resolve("out")));
+    }
+
+    // O patch vem do servidor: se ele estiver bom, o arquivo inteiro nem é pedido;
+    // se não aplicar, o updater baixa o arquivo inteiro
+    @Test
+    void applyFromUrlsUsesPatchAndFallsBackToFullDownload() throws IOException {
+        byte[] v1 = random(200_000, 1);
+        byte[] v2 = v1.clone();
+        System.arraycopy(random(1000, 2), 0, v2, 120_000, 1000);
+        byte[] goodPatch = Files.readAllBytes(create(v1, v2));
+        byte[] badPatch = goodPatch.clone();
+        badPatch[badPatch.length - 10] ^= 0x5A;
+
+        Map<String, byte[]> files = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            byte[] data = files.get(path);
+            try (exchange; OutputStream out = exchange.getResponseBody()) {
+                if (data == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                exchange.sendResponseHeaders(200, data.length);
+                out.write(data);
+            }
+        });
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            files.put("/a.jar", v2);
+            files.put("/a.jar.patch", goodPatch);
+            files.put("/b.jar.patch", badPatch);
+            SegmentedDownloader downloader = new SegmentedDownloader(
+                    new LauncherHttp(Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofSeconds(5), 0), 1, 0);
+
+            update(v1, v2, base + "/a.jar", base + "/a.jar.patch", goodPatch.length, downloader, "bom");
+            assertFalse(requests.containsKey("/a.jar"), "baixou o arquivo inteiro com um patch bom");
+
+            update(v1, v2, base + "/a.jar", base + "/b.jar.patch", badPatch.length, downloader, "ruim");
+            assertTrue(requests.containsKey("/b.jar.patch"));
+            assertTrue(requests.containsKey("/a.jar"), "não caiu para o arquivo inteiro");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // Instala v1, atualiza para v2 pelo manifesto com o patch e confere o resultado
+    private void update(byte[] v1, byte[] v2, String url, String patchUrl, long patchSize,
+                        SegmentedDownloader downloader, String name) throws IOException {
+        Path install = Files.createDirectories(dir.resolve(name + "/modpack/mods"));
+        Files.write(install.resolve("a.jar"), v1);
+        Path indexFile = dir.resolve(name + "/modpack-index.json");
+        IncrementalUpdater updater = new IncrementalUpdater(dir.resolve(name + "/modpack"), indexFile);
+        updater.complete(updater.plan(new PackManifest("1.0", List.of(
+                new PackManifest.FileEntry("mods/a.jar", v1.length, sha(v1), url)))));
+
+        // Pelo JSON, como o manifesto publicado chega
+        PackManifest manifest = PackManifest.parse(new StringReader(
+                "{\"version\": \"2.0\", \"files\": [{\"path\": \"mods/a.jar\", \"size\": " + v2.length
+                        + ", \"sha256\": \"" + sha(v2) + "\", \"url\": \"" + url + "\", \"patches\": ["
+                        + "{\"from\": \"" + sha(v1) + "\", \"url\": \"" + patchUrl + "\", \"size\": " + patchSize
+                        + "}]}]}"));
+        updater = new IncrementalUpdater(dir.resolve(name + "/modpack"), indexFile);
+        UpdatePlan plan = updater.plan(manifest);
+        assertEquals(1, plan.getChanged().size());
+        updater.applyFromUrls(plan, downloader, DownloadListener.NONE);
+
+        assertArrayEquals(v2, Files.readAllBytes(install.resolve("a.jar")));
+        assertEquals(sha(v2), InstallIndex.load(indexFile).get("mods/a.jar").getSha256());
+    }
+
+    private Path roundTrip(byte[] old, byte[] changed) throws IOException {
+        Path patch = create(old, changed);
+        Path oldFile = Files.write(dir.resolve("base"), old);
+        Path out = dir.resolve("resultado");
+        assertEquals(sha(changed), DeltaPatch.apply(oldFile, patch, out));
+        assertArrayEquals(changed, Files.readAllBytes(out));
+        return patch;
+    }
+
+    private Path create(byte[] old, byte[] changed) throws IOException {
+        Path oldFile = Files.write(dir.resolve("antigo.bin"), old);
+        Path newFile = Files.write(dir.resolve("novo.bin"), changed);
+        Path patch = dir.resolve("delta-" + System.nanoTime() + ".patch");
+        DeltaPatch.create(oldFile, newFile, patch);
+        return patch;
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static String sha(byte[] data) {
+        return Hashes.toHex(Hashes.sha256().digest(data));
+    }
+}
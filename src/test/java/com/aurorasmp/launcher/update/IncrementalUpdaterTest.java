@@ -0,0 +1,168 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.Hashes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// O núcleo da atualização: o que o plano manda gravar, manter e apagar, e o que
+// o apply deixa no disco e no índice.
+class IncrementalUpdaterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void firstInstallWritesEverythingAndSecondPlanIsEmpty() throws IOException {
+        Map<String, String> v1 = files("mods/a.jar", "mod a", "config/b.toml", "b=1");
+        apply(v1, "1.0");
+
+        assertEquals("mod a", read("mods/a.jar"));
+        assertEquals("b=1", read("config/b.toml"));
+        InstallIndex index = InstallIndex.load(indexFile());
+        assertEquals("1.0", index.getVersion());
+        assertEquals(sha("mod a"), index.get("mods/a.jar").getSha256());
+
+        UpdatePlan again = updater().plan(manifest("1.0", v1));
+        assertTrue(again.isEmpty());
+        assertEquals(2, again.getUnchanged());
+    }
+
+    @Test
+    void updateWritesOnlyChangesAndKeepsPlayerFiles() throws IOException {
+        apply(files("mods/a.jar", "mod a", "mods/velho.jar", "sai", "config/b.toml", "b=1"), "1.0");
+        write("options.txt", "do jogador");
+        write("saves/mundo/level.dat", "mundo");
+
+        Map<String, String> v2 = files("mods/a.jar", "mod a 2", "config/b.toml", "b=1", "mods/novo.jar", "entra");
+        UpdatePlan plan = updater().plan(manifest("2.0", v2));
+        List<String> changed = new ArrayList<>();
+        plan.getChanged().forEach(entry -> changed.add(entry.getPath()));
+        assertEquals(List.of("mods/a.jar", "mods/novo.jar"), changed);
+        assertEquals(List.of("mods/velho.jar"), plan.getRemoved());
+        assertEquals(1, plan.getUnchanged());
+        assertEquals("mod a 2".length() + "entra".length(), plan.getBytesToWrite());
+
+        updater().applyFromZip(plan, zip(v2));
+
+        assertEquals("mod a 2", read("mods/a.jar"));
+        assertEquals("entra", read("mods/novo.jar"));
+        assertFalse(Files.exists(install().resolve("mods/velho.jar")));
+        assertEquals("do jogador", read("options.txt"));
+        assertEquals("mundo", read("saves/mundo/level.dat"));
+        InstallIndex index = InstallIndex.load(indexFile());
+        assertEquals("2.0", index.getVersion());
+        assertNull(index.get("mods/velho.jar"));
+        assertEquals(sha("mod a 2"), index.get("mods/a.jar").getSha256());
+    }
+
+    @Test
+    void fileChangedOnDiskIsWrittenAgain() throws IOException {
+        Map<String, String> v1 = files("mods/a.jar", "mod a");
+        apply(v1, "1.0");
+        // Mesmo tamanho, outro conteúdo e outra data: o índice não vale, o hash decide
+        write("mods/a.jar", "mod X");
+        Files.setLastModifiedTime(install().resolve("mods/a.jar"), FileTime.fromMillis(1_000_000));
+
+        UpdatePlan plan = updater().plan(manifest("1.0", v1));
+        assertEquals(1, plan.getChanged().size());
+    }
+
+    @Test
+    void filesAlreadyOnDiskAreRecognizedWithoutIndex() throws IOException {
+        write("mods/a.jar", "mod a");
+        UpdatePlan plan = updater().plan(manifest("1.0", files("mods/a.jar", "mod a", "mods/b.jar", "mod b")));
+
+        assertEquals(1, plan.getUnchanged());
+        assertEquals(1, plan.getChanged().size());
+        assertEquals("mods/b.jar", plan.getChanged().get(0).getPath());
+    }
+
+    // Um índice gravado antes da validação do manifesto pode ter entradas sem hash
+    @Test
+    void indexEntryWithoutHashIsCheckedOnDisk() throws IOException {
+        Path file = write("mods/a.jar", "mod a");
+        InstallIndex index = InstallIndex.load(indexFile());
+        index.put("mods/a.jar", Files.size(file), Files.getLastModifiedTime(file).toMillis(), null);
+        index.save(indexFile());
+
+        UpdatePlan plan = updater().plan(manifest("1.0", files("mods/a.jar", "mod a")));
+        assertEquals(1, plan.getUnchanged());
+        assertTrue(plan.isEmpty());
+    }
+
+    private void apply(Map<String, String> files, String version) throws IOException {
+        IncrementalUpdater updater = updater();
+        UpdatePlan plan = updater.plan(manifest(version, files));
+        updater.applyFromZip(plan, zip(files));
+    }
+
+    private IncrementalUpdater updater() {
+        return new IncrementalUpdater(install(), indexFile());
+    }
+
+    private Path install() {
+        return dir.resolve("modpack");
+    }
+
+    private Path indexFile() {
+        return dir.resolve("modpack-index.json");
+    }
+
+    private static Map<String, String> files(String... pathsAndContents) {
+        Map<String, String> files = new LinkedHashMap<>();
+        for (int i = 0; i < pathsAndContents.length; i += 2) {
+            files.put(pathsAndContents[i], pathsAndContents[i + 1]);
+        }
+        return files;
+    }
+
+    private static PackManifest manifest(String version, Map<String, String> files) {
+        List<PackManifest.FileEntry> entries = new ArrayList<>();
+        files.forEach((path, content) -> entries.add(new PackManifest.FileEntry(path,
+                content.getBytes(StandardCharsets.UTF_8).length, sha(content), null)));
+        return new PackManifest(version, entries);
+    }
+
+    private Path zip(Map<String, String> files) throws IOException {
+        Path zip = dir.resolve("modpack-" + System.nanoTime() + ".zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                out.putNextEntry(new ZipEntry(file.getKey()));
+                out.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = install().resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private String read(String path) throws IOException {
+        return Files.readString(install().resolve(path));
+    }
+
+    private static String sha(String content) {
+        return Hashes.toHex(Hashes.sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
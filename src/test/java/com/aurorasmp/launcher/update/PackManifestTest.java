@@ -0,0 +1,70 @@
+package com.aurorasmp.launcher.update;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackManifestTest {
+
+    private static final String SHA = "ab".repeat(32);
+
+    @Test
+    void parsesValidManifest() throws IOException {
+        PackManifest manifest = parse(entry("\"mods/a.jar\"", "10", "\"" + SHA + "\"")
+                + ", {\"path\": \"config/b.toml\", \"size\": 0, \"sha256\": \"" + SHA.toUpperCase() + "\","
+                + " \"patches\": [{\"from\": \"" + SHA + "\", \"url\": \"https://x/p\", \"size\": 3}]}");
+
+        assertEquals("2.0", manifest.getVersion());
+        assertEquals(2, manifest.getFiles().size());
+        assertEquals(10, manifest.getFiles().get(0).getSize());
+        assertEquals(1, manifest.getFiles().get(1).getPatches().size());
+    }
+
+    @Test
+    void rejectsEntriesWithoutPathSizeOrHash() {
+        rejects(entry("null", "10", "\"" + SHA + "\""), "Caminho");
+        rejects("{\"size\": 10, \"sha256\": \"" + SHA + "\"}", "Caminho");
+        rejects("{\"path\": \"mods/a.jar\", \"sha256\": \"" + SHA + "\"}", "Tamanho");
+        rejects(entry("\"mods/a.jar\"", "-1", "\"" + SHA + "\""), "Tamanho");
+        rejects("{\"path\": \"mods/a.jar\", \"size\": 10}", "SHA-256");
+        rejects(entry("\"mods/a.jar\"", "10", "\"abc\""), "SHA-256");
+        rejects(entry("\"mods/a.jar\"", "10", "\"" + "zz".repeat(32) + "\""), "SHA-256");
+    }
+
+    @Test
+    void rejectsUnsafePaths() {
+        for (String path : new String[]{"", "/etc/passwd", "../fora", "mods/../../fora", "mods//a.jar",
+                "./mods/a.jar", "mods\\\\a.jar", "C:/Windows/x", "mods/"}) {
+            rejects(entry("\"" + path + "\"", "10", "\"" + SHA + "\""), "Caminho");
+        }
+    }
+
+    @Test
+    void rejectsDuplicatesBadPatchesAndBrokenJson() {
+        rejects(entry("\"mods/a.jar\"", "1", "\"" + SHA + "\"") + ", " + entry("\"mods/a.jar\"", "1", "\"" + SHA + "\""),
+                "repetido");
+        rejects("{\"path\": \"mods/a.jar\", \"size\": 10, \"sha256\": \"" + SHA + "\", \"patches\": [{\"url\": \"u\"}]}",
+                "Patch");
+        IOException e = assertThrows(IOException.class, () -> PackManifest.parse(new StringReader("{\"files\": [")));
+        assertTrue(e.getMessage().contains("inválido"), e.getMessage());
+        assertThrows(IOException.class, () -> PackManifest.parse(new StringReader("")));
+    }
+
+    private static String entry(String path, String size, String sha256) {
+        return "{\"path\": " + path + ", \"size\": " + size + ", \"sha256\": " + sha256 + "}";
+    }
+
+    private static PackManifest parse(String files) throws IOException {
+        return PackManifest.parse(new StringReader("{\"version\": \"2.0\", \"files\": [" + files + "]}"));
+    }
+
+    private static void rejects(String files, String message) {
+        IOException e = assertThrows(IOException.class, () -> parse(files), files);
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+}
@@ -0,0 +1,230 @@
+package com.aurorasmp.launcher.update;
+
+import com.aurorasmp.launcher.util.Hashes;
+import com.aurorasmp.launcher.util.TreeDeleter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// As promessas do staging: uma troca interrompida é concluída ou desfeita na
+// abertura, e uma atualização que falha nunca estraga a instalação em uso.
+class StagedInstallTest {
+
+    @TempDir
+    Path dir;
+
+    // Apaga na hora, para o teste conferir o resultado sem esperar a thread de fundo
+    private final TreeDeleter deleter = new TreeDeleter(1) {
+        @Override
+        public CompletableFuture<Result> deleteInBackground(Path root) {
+            try {
+                return CompletableFuture.completedFuture(delete(root));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    };
+
+    @Test
+    void recoverFinishesSwapInterruptedBetweenRenames() throws IOException {
+        // modpack → modpack.old-1 feito, modpack.staging → modpack não
+        write("modpack.old-1/mods/a.jar", "v1");
+        write("modpack.staging/mods/b.jar", "v2");
+        index("modpack-index.json", "1.0");
+        index("modpack-index.json.staging", "2.0");
+
+        staged().recover();
+
+        assertEquals("v2", read("modpack/mods/b.jar"));
+        assertEquals("2.0", InstallIndex.load(dir.resolve("modpack-index.json")).getVersion());
+        assertGone("modpack.staging", "modpack-index.json.staging", "modpack.old-1");
+    }
+
+    @Test
+    void recoverMovesIndexWhenOnlyDirectoryWasSwapped() throws IOException {
+        write("modpack/mods/b.jar", "v2");
+        write("modpack.old-1/mods/a.jar", "v1");
+        index("modpack-index.json", "1.0");
+        index("modpack-index.json.staging", "2.0");
+
+        staged().recover();
+
+        assertEquals("v2", read("modpack/mods/b.jar"));
+        assertEquals("2.0", InstallIndex.load(dir.resolve("modpack-index.json")).getVersion());
+        assertGone("modpack-index.json.staging", "modpack.old-1");
+    }
+
+    @Test
+    void recoverRestoresNewestOldInstallWhenStagingIsIncomplete() throws IOException {
+        // A instalação saiu do lugar, mas o staging não tem índice: não pode entrar
+        write("modpack.old-100/mods/a.jar", "mais antiga");
+        write("modpack.old-200/mods/a.jar", "v1");
+        write("modpack.staging/mods/b.jar", "pela metade");
+        index("modpack-index.json", "1.0");
+
+        staged().recover();
+
+        assertEquals("v1", read("modpack/mods/a.jar"));
+        assertEquals("1.0", InstallIndex.load(dir.resolve("modpack-index.json")).getVersion());
+        assertGone("modpack.staging", "modpack.old-100", "modpack.old-200");
+    }
+
+    @Test
+    void recoverDiscardsStagingInterruptedDuringPrepare() throws IOException {
+        write("modpack/mods/a.jar", "v1");
+        write("modpack.staging/mods/b.jar", "pela metade");
+        write("modpack.trash-5/x", "sobra");
+        index("modpack-index.json", "1.0");
+
+        staged().recover();
+
+        assertEquals("v1", read("modpack/mods/a.jar"));
+        assertEquals("1.0", InstallIndex.load(dir.resolve("modpack-index.json")).getVersion());
+        assertGone("modpack.staging", "modpack.trash-5");
+        assertTrue(siblings().stream().noneMatch(name -> name.startsWith("modpack.")
+                && Files.isDirectory(dir.resolve(name))), "sobrou diretório ao lado da instalação");
+    }
+
+    // Depois de o staging ser montado o jogador mexeu nas opções e apagou um mundo:
+    // a troca leva as mudanças dele, não a foto do momento do staging
+    @Test
+    void commitKeepsPlayerChangesMadeAfterStaging() throws Exception {
+        StagedInstall staged = installAndStage();
+
+        Path options = dir.resolve("modpack/options.txt");
+        // O jogo grava por cima com um arquivo novo; o link do staging fica com o antigo
+        Files.delete(options);
+        Files.writeString(options, "fov:110\nrenderDistance:16");
+        Files.delete(dir.resolve("modpack/saves/mundo/level.dat"));
+        write("modpack/screenshots/tela.png", "png");
+
+        staged.commit().join();
+
+        assertEquals("fov:110\nrenderDistance:16", read("modpack/options.txt"));
+        assertFalse(Files.exists(dir.resolve("modpack/saves/mundo/level.dat")));
+        assertEquals("png", read("modpack/screenshots/tela.png"));
+        assertEquals("mod b", read("modpack/mods/b.jar"));
+        assertFalse(Files.exists(dir.resolve("modpack/mods/a.jar")));
+        InstallIndex index = InstallIndex.load(dir.resolve("modpack-index.json"));
+        assertEquals("2.0", index.getVersion());
+        assertNotNull(index.get("mods/b.jar"));
+        assertNull(index.get("mods/a.jar"));
+        assertGone("modpack.staging", "modpack-index.json.staging");
+        assertTrue(siblings().stream().noneMatch(name -> name.startsWith("modpack.old-")));
+    }
+
+    // A segunda renomeação falhou (ex.: antivírus segurando o staging): a instalação
+    // original volta para o lugar e o staging continua pronto para outra tentativa
+    @Test
+    void failedSecondRenameRestoresOriginalInstall() throws Exception {
+        installAndStage();
+        Path install = dir.resolve("modpack").toAbsolutePath().normalize();
+        StagedInstall failing = new StagedInstall(dir.resolve("modpack"), dir.resolve("modpack-index.json"), deleter) {
+            @Override
+            void move(Path source, Path target) throws IOException {
+                if (target.equals(install) && source.getFileName().toString().equals("modpack.staging")) {
+                    throw new IOException("renomeação recusada");
+                }
+                super.move(source, target);
+            }
+        };
+
+        assertThrows(IOException.class, failing::commit);
+
+        assertEquals("mod a", read("modpack/mods/a.jar"));
+        assertEquals("sem mudanças", read("modpack/saves/mundo/level.dat"));
+        assertFalse(Files.exists(dir.resolve("modpack/mods/b.jar")));
+        assertEquals("1.0", InstallIndex.load(dir.resolve("modpack-index.json")).getVersion());
+        assertTrue(siblings().stream().noneMatch(name -> name.startsWith("modpack.old-")));
+        assertTrue(failing.isReady());
+
+        // Na próxima tentativa a troca acontece
+        staged().commit().join();
+        assertEquals("mod b", read("modpack/mods/b.jar"));
+    }
+
+    // Instalação 1.0 com um mod e arquivos do jogador, e a 2.0 (troca a.jar por b.jar) pronta no staging
+    private StagedInstall installAndStage() throws Exception {
+        write("modpack/mods/a.jar", "mod a");
+        write("modpack/options.txt", "fov:70");
+        write("modpack/saves/mundo/level.dat", "sem mudanças");
+        Path indexFile = dir.resolve("modpack-index.json");
+        IncrementalUpdater current = new IncrementalUpdater(dir.resolve("modpack"), indexFile);
+        current.complete(current.plan(manifest("1.0", "mods/a.jar", "mod a")));
+
+        Path zip = dir.resolve("modpack.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("mods/b.jar"));
+            out.write("mod b".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        StagedInstall staged = staged();
+        current = new IncrementalUpdater(dir.resolve("modpack"), indexFile);
+        UpdatePlan plan = current.plan(manifest("2.0", "mods/b.jar", "mod b"));
+        staged.prepare(current, plan).applyFromZip(plan, zip);
+        assertTrue(staged.isReady());
+        assertEquals("2.0", staged.getStagedVersion());
+        // Nada da instalação em uso foi tocado
+        assertEquals("mod a", read("modpack/mods/a.jar"));
+        return staged;
+    }
+
+    private StagedInstall staged() {
+        return new StagedInstall(dir.resolve("modpack"), dir.resolve("modpack-index.json"), deleter);
+    }
+
+    private static PackManifest manifest(String version, String path, String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return new PackManifest(version, List.of(new PackManifest.FileEntry(path, data.length,
+                Hashes.toHex(Hashes.sha256().digest(data)), null)));
+    }
+
+    private void index(String name, String version) throws IOException {
+        InstallIndex index = InstallIndex.load(dir.resolve(name));
+        index.setVersion(version);
+        index.save(dir.resolve(name));
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = dir.resolve(path);
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String read(String path) throws IOException {
+        return Files.readString(dir.resolve(path));
+    }
+
+    private List<String> siblings() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).collect(Collectors.toList());
+        }
+    }
+
+    private void assertGone(String... paths) {
+        for (String path : paths) {
+            assertFalse(Files.exists(dir.resolve(path)), path + " deveria ter sido removido");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.aurorasmp.launcher.zip;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelZipExtractorTest {
+
+    private static final byte[] STORED = "conteúdo guardado sem compressão".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DEFLATED = "conteúdo comprimido ".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void extractsStoredAndDeflatedEntries() throws IOException {
+        Path zip = writeZip();
+        List<String> names = new ParallelZipExtractor(2).extract(zip, dir.resolve("out"));
+
+        assertEquals(2, names.size());
+        assertArrayEquals(STORED, Files.readAllBytes(dir.resolve("out/config/stored.txt")));
+        assertArrayEquals(DEFLATED, Files.readAllBytes(dir.resolve("out/mods/deflated.txt")));
+    }
+
+    @Test
+    void rejectsCorruptedStoredEntry() throws IOException {
+        Path zip = writeZip();
+        byte[] bytes = Files.readAllBytes(zip);
+        int at = indexOf(bytes, STORED);
+        bytes[at] ^= 0x01;
+        Files.write(zip, bytes);
+
+        ZipException e = assertThrows(ZipException.class,
+                () -> new ParallelZipExtractor(2).extract(zip, dir.resolve("out")));
+        assertTrue(e.getMessage().contains("stored.txt"), e.getMessage());
+    }
+
+    // Cancelar a tarefa interrompe a thread da extração: as threads do pool param e
+    // são esperadas antes de o ZIP ser fechado, e a interrupção continua marcada
+    @Test
+    @Timeout(60)
+    void interruptStopsWorkersBeforeReturning() throws Exception {
+        Path zip = dir.resolve("big.zip");
+        byte[] block = new byte[1024 * 1024];
+        try (OutputStream file = Files.newOutputStream(zip); ZipOutputStream out = new ZipOutputStream(file)) {
+            for (int i = 0; i < 8; i++) {
+                out.putNextEntry(new ZipEntry("mods/big-" + i + ".jar"));
+                for (int mb = 0; mb < 32; mb++) {
+                    out.write(block);
+                }
+                out.closeEntry();
+            }
+        }
+
+        Path dest = dir.resolve("out");
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread extract = new Thread(() -> {
+            try {
+                new ParallelZipExtractor(2).extract(zip, dest);
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        extract.start();
+        while (!Files.exists(dest.resolve("mods/big-0.jar")) && extract.isAlive()) {
+            Thread.sleep(1);
+        }
+        extract.interrupt();
+        extract.join();
+
+        assertTrue(thrown.get() instanceof InterruptedIOException, "esperava InterruptedIOException: " + thrown.get());
+        assertTrue(stillInterrupted.get(), "a interrupção deveria continuar marcada");
+        // Nenhuma entrada continua sendo gravada depois da saída
+        Map<Path, Long> sizes = sizes(dest);
+        Thread.sleep(300);
+        assertEquals(sizes, sizes(dest));
+    }
+
+    private static Map<Path, Long> sizes(Path root) throws IOException {
+        Map<Path, Long> sizes = new HashMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                sizes.put(file, Files.size(file));
+            }
+        }
+        return sizes;
+    }
+
+    private Path writeZip() throws IOException {
+        Path zip = dir.resolve("pack.zip");
+        try (OutputStream file = Files.newOutputStream(zip); ZipOutputStream out = new ZipOutputStream(file)) {
+            CRC32 crc = new CRC32();
+            crc.update(STORED);
+            ZipEntry stored = new ZipEntry("config/stored.txt");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(STORED.length);
+            stored.setCompressedSize(STORED.length);
+            stored.setCrc(crc.getValue());
+            out.putNextEntry(stored);
+            out.write(STORED);
+            out.closeEntry();
+
+            out.putNextEntry(new ZipEntry("mods/deflated.txt"));
+            out.write(DEFLATED);
+            out.closeEntry();
+        }
+        return zip;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalArgumentException("não encontrado");
+    }
+}